@@ -8,5 +8,11 @@ public class Constants {
 	public static final String INVALID_PARAMETER_CATEGORY = "Invalid value for enum Category: %s";
 	public static final String INVALID_PARAMETER_CUSTOMER_TYPE = "Invalid value for enum CustomerType: %s";
 	public static final String INVALID_PARAMETER_AGGREGATION = "Invalid value for enum Aggregation: %s";
+	public static final String INVALID_PARAMETER_PAGING_MODE = "Invalid value for enum PagingMode: %s";
+	public static final String INVALID_PARAMETER_SORT = "Invalid sort property: %s";
+	public static final String INVALID_CONTINUATION_TOKEN = "Invalid value for continuationToken: %s";
+	public static final String PAGING_MODE_NOT_SUPPORTED = "Paging mode %s is not supported for this resource";
+	public static final String PAGING_MODE_NOT_SUPPORTED_FOR_AGGREGATION = "Paging mode %s is not supported for aggregation %s";
+	public static final String FILTER_REQUIRED_FOR_AGGREGATION = "Aggregation %s requires partyId or facilityId";
 	public static final String UNKNOWN_CUSTOMER_TYPE = "Customer repository result contains an unknown value for enum CustomerType: %s";
 }
@@ -8,26 +8,45 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import se.sundsvall.datawarehousereader.api.model.Category;
 import se.sundsvall.datawarehousereader.api.model.measurement.Aggregation;
+import se.sundsvall.datawarehousereader.api.model.measurement.Measurement;
 import se.sundsvall.datawarehousereader.api.model.measurement.MeasurementParameters;
 import se.sundsvall.datawarehousereader.api.model.measurement.MeasurementResponse;
+import se.sundsvall.datawarehousereader.api.model.measurement.MeasurementSeriesResponse;
 import se.sundsvall.datawarehousereader.service.MeasurementService;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 import org.zalando.problem.Problem;
+import org.zalando.problem.ThrowableProblem;
 import org.zalando.problem.violations.ConstraintViolationProblem;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Optional;
+
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
 
+import static com.fasterxml.jackson.core.JsonGenerator.Feature.AUTO_CLOSE_TARGET;
+import static org.springframework.http.HttpHeaders.ACCEPT;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
 import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
+import static org.springframework.http.MediaType.APPLICATION_NDJSON_VALUE;
 import static org.springframework.http.MediaType.APPLICATION_PROBLEM_JSON_VALUE;
+import static org.zalando.problem.Status.INTERNAL_SERVER_ERROR;
 
 @RestController
 @Validated
@@ -37,20 +56,115 @@ public class MeasurementResource {
 
 	private static final Logger LOGGER = LoggerFactory.getLogger(MeasurementResource.class);
 
+	public static final String APPLICATION_MEASUREMENT_SERIES_JSON_VALUE = "application/vnd.sundsvall.measurement-series+json";
+
+	private static final MediaType APPLICATION_MEASUREMENT_SERIES_JSON = MediaType.valueOf(APPLICATION_MEASUREMENT_SERIES_JSON_VALUE);
+
+	private static final int LINE_SEPARATOR = '\n';
+
 	@Autowired
 	private MeasurementService service;
 
-	@GetMapping(path="/{category}/{aggregateOn}", produces = { APPLICATION_JSON_VALUE, APPLICATION_PROBLEM_JSON_VALUE })
-	@Operation(summary = "Get measurement information", description = "Resource returns measurement data matching provided search parameters")
-	@ApiResponse(responseCode = "200", description = "Successful operation", content = @Content(mediaType = APPLICATION_JSON_VALUE, schema = @Schema(implementation = MeasurementResponse.class)))
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@GetMapping(path="/{category}/{aggregateOn}", produces = { APPLICATION_JSON_VALUE, APPLICATION_MEASUREMENT_SERIES_JSON_VALUE, APPLICATION_PROBLEM_JSON_VALUE })
+	@Operation(summary = "Get measurement information", description = "Resource returns measurement data matching provided search parameters. When " + APPLICATION_MEASUREMENT_SERIES_JSON_VALUE + " is requested, the measurements are grouped into compact series with one entry per facility, measurement type and unit")
+	@ApiResponse(responseCode = "200", description = "Successful operation", content = {
+		@Content(mediaType = APPLICATION_JSON_VALUE, schema = @Schema(implementation = MeasurementResponse.class)),
+		@Content(mediaType = APPLICATION_MEASUREMENT_SERIES_JSON_VALUE, schema = @Schema(implementation = MeasurementSeriesResponse.class)) })
 	@ApiResponse(responseCode = "400", description = "Bad request", content = @Content(mediaType = APPLICATION_PROBLEM_JSON_VALUE, schema = @Schema(oneOf = {Problem.class, ConstraintViolationProblem.class})))
 	@ApiResponse(responseCode = "500", description = "Internal Server error", content = @Content(mediaType = APPLICATION_PROBLEM_JSON_VALUE, schema = @Schema(implementation = Problem.class)))
-	public ResponseEntity<MeasurementResponse> getMeasurements(
+	public ResponseEntity<Object> getMeasurements(
 			@Parameter(name = "category", schema = @Schema(implementation = Category.class), required = true) @PathVariable(name = "category") Category category,
 			@Parameter(name = "aggregateOn", schema = @Schema(implementation = Aggregation.class), required = true) @PathVariable(name = "aggregateOn") Aggregation aggregateOn,
-			@Valid MeasurementParameters searchParams) {
+			@Valid MeasurementParameters searchParams,
+			@Parameter(hidden = true) @RequestHeader(name = ACCEPT, required = false) String accept) {
 		LOGGER.debug("Received getMeasurements()-request: category='{}', aggregateOn='{}', searchParams='{}' ", category, aggregateOn, searchParams);
 
+		if (isSeriesRequested(accept)) {
+			return ResponseEntity.ok()
+				.contentType(APPLICATION_MEASUREMENT_SERIES_JSON)
+				.body(service.getMeasurementSeries(category, aggregateOn, searchParams));
+		}
+
 		return ResponseEntity.ok(service.getMeasurements(category, aggregateOn, searchParams));
 	}
+
+	@GetMapping(path="/{category}/{aggregateOn}/export", produces = { APPLICATION_NDJSON_VALUE, APPLICATION_PROBLEM_JSON_VALUE })
+	@Operation(summary = "Export measurement information", description = "Resource streams all measurement data matching provided search parameters as newline delimited json, one measurement per line. Paging parameters are ignored. If the export fails after measurements have been sent, the stream ends with a line containing the problem")
+	@ApiResponse(responseCode = "200", description = "Successful operation", content = @Content(mediaType = APPLICATION_NDJSON_VALUE, schema = @Schema(implementation = Measurement.class)))
+	@ApiResponse(responseCode = "400", description = "Bad request", content = @Content(mediaType = APPLICATION_PROBLEM_JSON_VALUE, schema = @Schema(oneOf = {Problem.class, ConstraintViolationProblem.class})))
+	@ApiResponse(responseCode = "500", description = "Internal Server error", content = @Content(mediaType = APPLICATION_PROBLEM_JSON_VALUE, schema = @Schema(implementation = Problem.class)))
+	public void exportMeasurements(
+			@Parameter(name = "category", schema = @Schema(implementation = Category.class), required = true) @PathVariable(name = "category") Category category,
+			@Parameter(name = "aggregateOn", schema = @Schema(implementation = Aggregation.class), required = true) @PathVariable(name = "aggregateOn") Aggregation aggregateOn,
+			@Valid MeasurementParameters searchParams, HttpServletResponse response) throws IOException {
+		LOGGER.debug("Received exportMeasurements()-request: category='{}', aggregateOn='{}', searchParams='{}' ", category, aggregateOn, searchParams);
+
+		final var output = new NdjsonOutput(objectMapper.writer().without(AUTO_CLOSE_TARGET), response);
+		try {
+			service.exportMeasurements(category, aggregateOn, searchParams, output::write);
+		} catch (RuntimeException e) {
+			if (!response.isCommitted()) {
+				// Nothing has reached the client yet, buffered lines are discarded and the problem is returned instead
+				throw e;
+			}
+			LOGGER.error("Export of measurements failed after the response was committed", e);
+			output.write(e instanceof ThrowableProblem problem ? problem : Problem.valueOf(INTERNAL_SERVER_ERROR));
+		}
+		output.close();
+	}
+
+	/**
+	 * Writes values to the response as newline delimited json. The response is not touched until the first value is
+	 * written, hence a failure in validation or lookup of parameters before that is returned as a problem.
+	 */
+	private static class NdjsonOutput {
+
+		private final ObjectWriter writer;
+		private final HttpServletResponse response;
+		private OutputStream outputStream;
+
+		NdjsonOutput(ObjectWriter writer, HttpServletResponse response) {
+			this.writer = writer;
+			this.response = response;
+		}
+
+		void write(Object value) {
+			try {
+				writer.writeValue(outputStream(), value);
+				outputStream.write(LINE_SEPARATOR);
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+
+		void close() throws IOException {
+			outputStream().flush();
+		}
+
+		private OutputStream outputStream() throws IOException {
+			if (outputStream == null) {
+				response.setContentType(APPLICATION_NDJSON_VALUE);
+				outputStream = response.getOutputStream();
+			}
+			return outputStream;
+		}
+	}
+
+	/**
+	 * Series representation is returned when it is the preferred representation of the request, i.e. when it
+	 * has a higher specificity or quality than any other accepted json representation.
+	 */
+	private static boolean isSeriesRequested(String accept) {
+		final var mediaTypes = MediaType.parseMediaTypes(Optional.ofNullable(accept).orElse(MediaType.ALL_VALUE));
+		MediaType.sortBySpecificityAndQuality(mediaTypes);
+
+		return mediaTypes.stream()
+			.filter(mediaType -> mediaType.equalsTypeAndSubtype(APPLICATION_MEASUREMENT_SERIES_JSON) || mediaType.isCompatibleWith(APPLICATION_JSON))
+			.findFirst()
+			.map(APPLICATION_MEASUREMENT_SERIES_JSON::equalsTypeAndSubtype)
+			.orElse(false);
+	}
 }
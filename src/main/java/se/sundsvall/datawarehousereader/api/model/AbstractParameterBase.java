@@ -40,6 +40,9 @@ public abstract class AbstractParameterBase {
 	@Schema(description = "The sort order direction", example = "ASC", enumAsRef = true)
 	protected Direction sortDirection = DEFAULT_DIRECTION;
 
+	@Schema(implementation = PagingMode.class, description = "Paging mode. When SLICE is used, no total amount of hits is calculated and the response only signals if there is a next page")
+	protected PagingMode pagingMode = PagingMode.OFFSET;
+
 	public int getPage() {
 		return page;
 	}
@@ -72,6 +75,14 @@ public abstract class AbstractParameterBase {
 		this.sortDirection = sortDirection;
 	}
 
+	public PagingMode getPagingMode() {
+		return pagingMode;
+	}
+
+	public void setPagingMode(PagingMode pagingMode) {
+		this.pagingMode = pagingMode;
+	}
+
 	@JsonIgnore
 	public Sort sort() {
 		return Optional.ofNullable(this.sortBy)
@@ -81,7 +92,7 @@ public abstract class AbstractParameterBase {
 
 	@Override
 	public int hashCode() {
-		return Objects.hash(limit, page, sortBy, sortDirection);
+		return Objects.hash(limit, page, pagingMode, sortBy, sortDirection);
 	}
 
 	@Override
@@ -96,6 +107,6 @@ public abstract class AbstractParameterBase {
 			return false;
 		}
 		AbstractParameterBase other = (AbstractParameterBase) obj;
-		return limit == other.limit && page == other.page && Objects.equals(sortBy, other.sortBy) && sortDirection == other.sortDirection;
+		return limit == other.limit && page == other.page && Objects.equals(sortBy, other.sortBy) && sortDirection == other.sortDirection && pagingMode == other.pagingMode;
 	}
 }
@@ -1,5 +1,6 @@
 package se.sundsvall.datawarehousereader.api.model;
 
+import static com.fasterxml.jackson.annotation.JsonInclude.Include.NON_NULL;
 import static io.swagger.v3.oas.annotations.media.Schema.AccessMode.READ_ONLY;
 
 import java.util.List;
@@ -7,6 +8,8 @@ import java.util.Objects;
 
 import org.springframework.data.domain.Sort.Direction;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 import io.swagger.v3.oas.annotations.media.Schema;
 
 @Schema(description = "Metadata model")
@@ -21,11 +24,17 @@ public class MetaData {
 	@Schema(description = "Displayed objects on current page", example = "13", accessMode = READ_ONLY)
 	private int count;
 
-	@Schema(description = "Total amount of hits based on provided search parameters", example = "98", accessMode = READ_ONLY)
-	private long totalRecords;
+	@Schema(description = "Total amount of hits based on provided search parameters. Not present when paging mode is SLICE or KEYSET", example = "98", accessMode = READ_ONLY)
+	@JsonInclude(NON_NULL)
+	private Long totalRecords;
+
+	@Schema(description = "Total amount of pages based on provided search parameters. Not present when paging mode is SLICE or KEYSET", example = "23", accessMode = READ_ONLY)
+	@JsonInclude(NON_NULL)
+	private Integer totalPages;
 
-	@Schema(description = "Total amount of pages based on provided search parameters", example = "23", accessMode = READ_ONLY)
-	private int totalPages;
+	@Schema(description = "Signal if there are more pages after the current one. Only present when paging mode is SLICE", example = "true", accessMode = READ_ONLY)
+	@JsonInclude(NON_NULL)
+	private Boolean hasNext;
 
 	@Schema(description = "The properties to sort by", example = "property", accessMode = READ_ONLY)
 	private List<String> sortBy;
@@ -33,36 +42,53 @@ public class MetaData {
 	@Schema(description = "The sort order direction", example = "ASC", enumAsRef = true)
 	private Direction sortDirection;
 
+	@Schema(description = "Token for fetching next page when paging mode is KEYSET. Not present when there are no more pages", example = "NzM1OTk5MTA5MTEyNTAxMTcw.MjAxOS0wNy0wM1QwMDowMA", accessMode = READ_ONLY)
+	@JsonInclude(NON_NULL)
+	private String continuationToken;
+
 	public static MetaData create() {
 		return new MetaData();
 	}
 
-	public long getTotalRecords() {
+	public Long getTotalRecords() {
 		return totalRecords;
 	}
 
-	public void setTotalRecords(long totalRecords) {
+	public void setTotalRecords(Long totalRecords) {
 		this.totalRecords = totalRecords;
 	}
 
-	public MetaData withTotalRecords(long totalRecords) {
+	public MetaData withTotalRecords(Long totalRecords) {
 		this.totalRecords = totalRecords;
 		return this;
 	}
 
-	public int getTotalPages() {
+	public Integer getTotalPages() {
 		return totalPages;
 	}
 
-	public void setTotalPages(int totalPages) {
+	public void setTotalPages(Integer totalPages) {
 		this.totalPages = totalPages;
 	}
 
-	public MetaData withTotalPages(int totalPages) {
+	public MetaData withTotalPages(Integer totalPages) {
 		this.totalPages = totalPages;
 		return this;
 	}
 
+	public Boolean getHasNext() {
+		return hasNext;
+	}
+
+	public void setHasNext(Boolean hasNext) {
+		this.hasNext = hasNext;
+	}
+
+	public MetaData withHasNext(Boolean hasNext) {
+		this.hasNext = hasNext;
+		return this;
+	}
+
 	public int getPage() {
 		return page;
 	}
@@ -128,9 +154,22 @@ public class MetaData {
 		return this;
 	}
 
+	public String getContinuationToken() {
+		return continuationToken;
+	}
+
+	public void setContinuationToken(String continuationToken) {
+		this.continuationToken = continuationToken;
+	}
+
+	public MetaData withContinuationToken(String continuationToken) {
+		this.continuationToken = continuationToken;
+		return this;
+	}
+
 	@Override
 	public int hashCode() {
-		return Objects.hash(count, limit, page, sortBy, sortDirection, totalPages, totalRecords);
+		return Objects.hash(continuationToken, count, hasNext, limit, page, sortBy, sortDirection, totalPages, totalRecords);
 	}
 
 	@Override
@@ -145,14 +184,14 @@ public class MetaData {
 			return false;
 		}
 		MetaData other = (MetaData) obj;
-		return count == other.count && limit == other.limit && page == other.page && sortBy == other.sortBy && sortDirection == other.sortDirection && totalPages == other.totalPages && totalRecords == other.totalRecords;
+		return count == other.count && limit == other.limit && page == other.page && sortBy == other.sortBy && sortDirection == other.sortDirection && Objects.equals(totalPages, other.totalPages) && Objects.equals(totalRecords, other.totalRecords) && Objects.equals(hasNext, other.hasNext) && Objects.equals(continuationToken, other.continuationToken);
 	}
 
 	@Override
 	public String toString() {
 		StringBuilder builder = new StringBuilder();
-		builder.append("MetaData [page=").append(page).append(", limit=").append(limit).append(", count=").append(count).append(", totalRecords=").append(totalRecords).append(", totalPages=").append(totalPages).append(", sortBy=").append(sortBy)
-			.append(", sortDirection=").append(sortDirection).append("]");
+		builder.append("MetaData [page=").append(page).append(", limit=").append(limit).append(", count=").append(count).append(", totalRecords=").append(totalRecords).append(", totalPages=").append(totalPages).append(", hasNext=").append(hasNext).append(", sortBy=").append(sortBy)
+			.append(", sortDirection=").append(sortDirection).append(", continuationToken=").append(continuationToken).append("]");
 		return builder.toString();
 	}
 }
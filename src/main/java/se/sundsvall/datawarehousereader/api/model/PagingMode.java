@@ -0,0 +1,10 @@
+package se.sundsvall.datawarehousereader.api.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Paging mode. OFFSET uses page and limit and returns total amount of hits, SLICE uses page and limit but only signals if there is a next page and KEYSET uses limit and continuationToken from previous response", enumAsRef = true)
+public enum PagingMode {
+	OFFSET,
+	SLICE,
+	KEYSET
+}
@@ -241,7 +241,7 @@ public class AgreementParameters extends AbstractParameterBase {
 		StringBuilder builder = new StringBuilder();
 		builder.append("AgreementParameters [partyId=").append(partyId).append(", customerNumber=").append(customerNumber).append(", facilityId=").append(facilityId).append(", category=").append(category).append(", billingId=").append(billingId)
 			.append(", agreementId=").append(agreementId).append(", description=").append(description).append(", mainAgreement=").append(mainAgreement).append(", binding=").append(binding).append(", bindingRule=").append(bindingRule).append(
-				", fromDate=").append(fromDate).append(", toDate=").append(toDate).append(", page=").append(page).append(", limit=").append(limit).append(", sortBy=").append(sortBy).append(", sortDirection=").append(sortDirection).append("]");
+				", fromDate=").append(fromDate).append(", toDate=").append(toDate).append(", page=").append(page).append(", limit=").append(limit).append(", sortBy=").append(sortBy).append(", sortDirection=").append(sortDirection).append(", pagingMode=").append(pagingMode).append("]");
 		return builder.toString();
 	}
 
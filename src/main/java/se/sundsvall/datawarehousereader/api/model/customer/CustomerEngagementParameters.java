@@ -25,6 +25,9 @@ public class CustomerEngagementParameters extends AbstractParameterBase {
 	@Schema(description = "Organization name for counterpart of engagement", example = "Sundsvall Elnät")
 	private String organizationName;
 
+	@Schema(description = "Whether partyId should be resolved for each engagement. Set to false to skip the lookup of partyIds when they are not needed, partyId is then omitted from the response", example = "false", defaultValue = "true")
+	private Boolean resolvePartyIds;
+
 	public CustomerEngagementParameters() {
 		this.sortBy = DEFAULT_SORT_BY_PROPERTY;
 	}
@@ -85,11 +88,24 @@ public class CustomerEngagementParameters extends AbstractParameterBase {
 		return this;
 	}
 
+	public Boolean getResolvePartyIds() {
+		return resolvePartyIds;
+	}
+
+	public void setResolvePartyIds(Boolean resolvePartyIds) {
+		this.resolvePartyIds = resolvePartyIds;
+	}
+
+	public CustomerEngagementParameters withResolvePartyIds(Boolean resolvePartyIds) {
+		this.resolvePartyIds = resolvePartyIds;
+		return this;
+	}
+
 	@Override
 	public int hashCode() {
 		final int prime = 31;
 		int result = super.hashCode();
-		result = prime * result + Objects.hash(customerNumber, organizationName, organizationNumber, partyId);
+		result = prime * result + Objects.hash(customerNumber, organizationName, organizationNumber, partyId, resolvePartyIds);
 		return result;
 	}
 
@@ -102,14 +118,14 @@ public class CustomerEngagementParameters extends AbstractParameterBase {
 		if (getClass() != obj.getClass())
 			return false;
 		CustomerEngagementParameters other = (CustomerEngagementParameters) obj;
-		return Objects.equals(customerNumber, other.customerNumber) && Objects.equals(organizationName, other.organizationName) && Objects.equals(organizationNumber, other.organizationNumber) && Objects.equals(partyId, other.partyId);
+		return Objects.equals(customerNumber, other.customerNumber) && Objects.equals(organizationName, other.organizationName) && Objects.equals(organizationNumber, other.organizationNumber) && Objects.equals(partyId, other.partyId) && Objects.equals(resolvePartyIds, other.resolvePartyIds);
 	}
 
 	@Override
 	public String toString() {
 		StringBuilder builder = new StringBuilder();
 		builder.append("CustomerEngagementParameters [partyId=").append(partyId).append(", customerNumber=").append(customerNumber).append(", organizationNumber=").append(organizationNumber).append(", organizationName=").append(organizationName)
-			.append(", page=").append(page).append(", limit=").append(limit).append(", sortBy=").append(sortBy).append(", sortDirection=").append(sortDirection).append("]");
+			.append(", resolvePartyIds=").append(resolvePartyIds).append(", page=").append(page).append(", limit=").append(limit).append(", sortBy=").append(sortBy).append(", sortDirection=").append(sortDirection).append(", pagingMode=").append(pagingMode).append("]");
 		return builder.toString();
 	}
 }
@@ -35,6 +35,9 @@ public class InstalledBaseParameters extends AbstractParameterBase {
 	@Schema(description = "Property designation", example = "Södermalm 1:27")
 	private String propertyDesignation;
 
+	@Schema(description = "Include metadata of each installed base item (metaData is not set when false), defaults to true", example = "false")
+	private Boolean includeMetaData;
+
 	public static InstalledBaseParameters create() {
 		return new InstalledBaseParameters();
 	}
@@ -111,11 +114,19 @@ public class InstalledBaseParameters extends AbstractParameterBase {
 		this.propertyDesignation = propertyDesignation;
 	}
 
+	public Boolean getIncludeMetaData() {
+		return includeMetaData;
+	}
+
+	public void setIncludeMetaData(Boolean includeMetaData) {
+		this.includeMetaData = includeMetaData;
+	}
+
 	@Override
 	public int hashCode() {
 		final int prime = 31;
 		int result = super.hashCode();
-		result = prime * result + Objects.hash(careOf, city, company, customerNumber, facilityId, postCode, propertyDesignation, street, type);
+		result = prime * result + Objects.hash(careOf, city, company, customerNumber, facilityId, includeMetaData, postCode, propertyDesignation, street, type);
 		return result;
 	}
 
@@ -128,16 +139,16 @@ public class InstalledBaseParameters extends AbstractParameterBase {
 		if (getClass() != obj.getClass())
 			return false;
 		InstalledBaseParameters other = (InstalledBaseParameters) obj;
-		return Objects.equals(careOf, other.careOf) && Objects.equals(city, other.city) && Objects.equals(company, other.company) && Objects.equals(customerNumber, other.customerNumber) && Objects.equals(facilityId, other.facilityId) && Objects
-			.equals(postCode, other.postCode) && Objects.equals(propertyDesignation, other.propertyDesignation) && Objects.equals(street, other.street) && Objects.equals(type, other.type);
+		return Objects.equals(careOf, other.careOf) && Objects.equals(city, other.city) && Objects.equals(company, other.company) && Objects.equals(customerNumber, other.customerNumber) && Objects.equals(facilityId, other.facilityId) && Objects.equals(includeMetaData, other.includeMetaData)
+			&& Objects.equals(postCode, other.postCode) && Objects.equals(propertyDesignation, other.propertyDesignation) && Objects.equals(street, other.street) && Objects.equals(type, other.type);
 	}
 
 	@Override
 	public String toString() {
 		StringBuilder builder = new StringBuilder();
 		builder.append("InstalledBaseParameters [company=").append(company).append(", customerNumber=").append(customerNumber).append(", type=").append(type).append(", facilityId=").append(facilityId).append(", careOf=").append(careOf).append(
-			", street=").append(street).append(", postCode=").append(postCode).append(", city=").append(city).append(", propertyDesignation=").append(propertyDesignation).append(", page=").append(page).append(", limit=").append(limit).append(
-				", sortBy=").append(sortBy).append(", sortDirection=").append(sortDirection).append("]");
+			", street=").append(street).append(", postCode=").append(postCode).append(", city=").append(city).append(", propertyDesignation=").append(propertyDesignation).append(", includeMetaData=").append(includeMetaData).append(", page=").append(page).append(", limit=").append(limit).append(
+				", sortBy=").append(sortBy).append(", sortDirection=").append(sortDirection).append(", pagingMode=").append(pagingMode).append("]");
 		return builder.toString();
 	}
 }
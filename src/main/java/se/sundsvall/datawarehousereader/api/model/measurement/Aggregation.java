@@ -6,6 +6,8 @@ import io.swagger.v3.oas.annotations.media.Schema;
 public enum Aggregation {
 	HOUR,
 	DAY,
+	WEEK,
 	MONTH,
+	QUARTER,
 	YEAR
 }
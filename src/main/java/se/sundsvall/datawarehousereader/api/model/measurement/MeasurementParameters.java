@@ -31,6 +31,9 @@ public class MeasurementParameters extends AbstractParameterBase {
 	@DateTimeFormat(iso = ISO.DATE_TIME)
 	private OffsetDateTime toDateTime;
 
+	@Schema(description = "Opaque token returned in metadata of previous response, used for fetching next page when paging mode is KEYSET. When KEYSET is used, page and sortBy are ignored and the result is ordered on facilityId, measurementTimestamp and the key columns of the measurement")
+	private String continuationToken;
+
 	public MeasurementParameters() {
 		this.sortBy = DEFAULT_SORT_BY_PROPERTY;
 	}
@@ -71,12 +74,20 @@ public class MeasurementParameters extends AbstractParameterBase {
 		this.toDateTime = toDateTime;
 	}
 
+	public String getContinuationToken() {
+		return continuationToken;
+	}
+
+	public void setContinuationToken(String continuationToken) {
+		this.continuationToken = continuationToken;
+	}
+
 	@Override
 	public int hashCode() {
 		final int prime = 31;
 		int result = super.hashCode();
 		result = prime * result
-			+ Objects.hash(facilityId, fromDateTime, partyId, toDateTime);
+			+ Objects.hash(continuationToken, facilityId, fromDateTime, partyId, toDateTime);
 		return result;
 	}
 
@@ -89,7 +100,7 @@ public class MeasurementParameters extends AbstractParameterBase {
 		if (getClass() != obj.getClass())
 			return false;
 		MeasurementParameters other = (MeasurementParameters) obj;
-		return Objects.equals(facilityId, other.facilityId) &&
+		return Objects.equals(continuationToken, other.continuationToken) && Objects.equals(facilityId, other.facilityId) &&
 			Objects.equals(fromDateTime, other.fromDateTime) && Objects.equals(partyId, other.partyId) &&
 			Objects.equals(toDateTime, other.toDateTime);
 	}
@@ -97,8 +108,8 @@ public class MeasurementParameters extends AbstractParameterBase {
 	@Override
 	public String toString() {
 		StringBuilder builder = new StringBuilder();
-		builder.append("MeasurementParameters [partyId=").append(partyId).append(", facilityId=").append(facilityId).append(", fromDateTime=").append(fromDateTime).append(", toDateTime=").append(toDateTime).append(", page=").append(page).append(
-			", limit=").append(limit).append(", sortBy=").append(sortBy).append(", sortDirection=").append(sortDirection).append("]");
+		builder.append("MeasurementParameters [partyId=").append(partyId).append(", facilityId=").append(facilityId).append(", fromDateTime=").append(fromDateTime).append(", toDateTime=").append(toDateTime).append(", continuationToken=").append(continuationToken).append(", page=").append(page).append(
+			", limit=").append(limit).append(", sortBy=").append(sortBy).append(", sortDirection=").append(sortDirection).append(", pagingMode=").append(pagingMode).append("]");
 		return builder.toString();
 	}
 }
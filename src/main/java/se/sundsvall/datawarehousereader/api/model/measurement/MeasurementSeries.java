@@ -0,0 +1,196 @@
+package se.sundsvall.datawarehousereader.api.model.measurement;
+
+import static io.swagger.v3.oas.annotations.media.Schema.AccessMode.READ_ONLY;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Objects;
+
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Schema;
+import se.sundsvall.datawarehousereader.api.model.Category;
+
+@Schema(description = "Measurement series model, containing all measurement points for one facility, measurement type and unit as parallel arrays")
+public class MeasurementSeries {
+
+	@Schema(description = "PartyId (e.g. a personId or an organizationId)", example = "81471222-5798-11e9-ae24-57fa13b361e1", accessMode = READ_ONLY)
+	private String partyId;
+
+	@Schema(description = "Facility id", example = "735999109151401011", accessMode = READ_ONLY)
+	private String facilityId;
+
+	@Schema(implementation = Category.class, accessMode = READ_ONLY)
+	private Category category;
+
+	@Schema(implementation = Aggregation.class, accessMode = READ_ONLY)
+	private Aggregation aggregatedOn;
+
+	@Schema(description = "Measurement type", example = "Energy", accessMode = READ_ONLY)
+	private String measurementType;
+
+	@Schema(description = "Measurement unit", example = "kWh", accessMode = READ_ONLY)
+	private String unit;
+
+	@ArraySchema(schema = @Schema(description = "Date and time for measurement point as seconds since epoch (1970-01-01T00:00:00Z)", example = "1572566400", accessMode = READ_ONLY))
+	private List<Long> timestamps;
+
+	@ArraySchema(schema = @Schema(description = "Measurement value for the timestamp on the same position in timestamps", example = "1292.7500000000", accessMode = READ_ONLY))
+	private List<BigDecimal> values;
+
+	@Schema(description = "Base64 encoded bitset (little endian, as produced by java.util.BitSet.toByteArray()) where bit n is set if the value on position n has been interpolated/calculated. Empty string means that no values has been interpolated.", example = "BQ==", accessMode = READ_ONLY)
+	private String interpolated;
+
+	public static MeasurementSeries create() {
+		return new MeasurementSeries();
+	}
+
+	public String getPartyId() {
+		return partyId;
+	}
+
+	public void setPartyId(String partyId) {
+		this.partyId = partyId;
+	}
+
+	public MeasurementSeries withPartyId(String partyId) {
+		this.partyId = partyId;
+		return this;
+	}
+
+	public String getFacilityId() {
+		return facilityId;
+	}
+
+	public void setFacilityId(String facilityId) {
+		this.facilityId = facilityId;
+	}
+
+	public MeasurementSeries withFacilityId(String facilityId) {
+		this.facilityId = facilityId;
+		return this;
+	}
+
+	public Category getCategory() {
+		return category;
+	}
+
+	public void setCategory(Category category) {
+		this.category = category;
+	}
+
+	public MeasurementSeries withCategory(Category category) {
+		this.category = category;
+		return this;
+	}
+
+	public Aggregation getAggregatedOn() {
+		return aggregatedOn;
+	}
+
+	public void setAggregatedOn(Aggregation aggregatedOn) {
+		this.aggregatedOn = aggregatedOn;
+	}
+
+	public MeasurementSeries withAggregatedOn(Aggregation aggregatedOn) {
+		this.aggregatedOn = aggregatedOn;
+		return this;
+	}
+
+	public String getMeasurementType() {
+		return measurementType;
+	}
+
+	public void setMeasurementType(String measurementType) {
+		this.measurementType = measurementType;
+	}
+
+	public MeasurementSeries withMeasurementType(String measurementType) {
+		this.measurementType = measurementType;
+		return this;
+	}
+
+	public String getUnit() {
+		return unit;
+	}
+
+	public void setUnit(String unit) {
+		this.unit = unit;
+	}
+
+	public MeasurementSeries withUnit(String unit) {
+		this.unit = unit;
+		return this;
+	}
+
+	public List<Long> getTimestamps() {
+		return timestamps;
+	}
+
+	public void setTimestamps(List<Long> timestamps) {
+		this.timestamps = timestamps;
+	}
+
+	public MeasurementSeries withTimestamps(List<Long> timestamps) {
+		this.timestamps = timestamps;
+		return this;
+	}
+
+	public List<BigDecimal> getValues() {
+		return values;
+	}
+
+	public void setValues(List<BigDecimal> values) {
+		this.values = values;
+	}
+
+	public MeasurementSeries withValues(List<BigDecimal> values) {
+		this.values = values;
+		return this;
+	}
+
+	public String getInterpolated() {
+		return interpolated;
+	}
+
+	public void setInterpolated(String interpolated) {
+		this.interpolated = interpolated;
+	}
+
+	public MeasurementSeries withInterpolated(String interpolated) {
+		this.interpolated = interpolated;
+		return this;
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(aggregatedOn, category, facilityId, interpolated, measurementType, partyId, timestamps, unit,
+				values);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		MeasurementSeries other = (MeasurementSeries) obj;
+		return Objects.equals(partyId, other.partyId) && Objects.equals(facilityId, other.facilityId)
+				&& category == other.category && aggregatedOn == other.aggregatedOn
+				&& Objects.equals(measurementType, other.measurementType) && Objects.equals(unit, other.unit)
+				&& Objects.equals(timestamps, other.timestamps) && Objects.equals(values, other.values)
+				&& Objects.equals(interpolated, other.interpolated);
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder();
+		builder.append("MeasurementSeries [partyId=").append(partyId).append(", facilityId=").append(facilityId)
+				.append(", category=").append(category).append(", aggregatedOn=").append(aggregatedOn)
+				.append(", measurementType=").append(measurementType).append(", unit=").append(unit)
+				.append(", timestamps=").append(timestamps).append(", values=").append(values)
+				.append(", interpolated=").append(interpolated).append("]");
+		return builder.toString();
+	}
+}
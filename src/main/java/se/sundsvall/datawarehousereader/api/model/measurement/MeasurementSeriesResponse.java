@@ -0,0 +1,78 @@
+package se.sundsvall.datawarehousereader.api.model.measurement;
+
+import static io.swagger.v3.oas.annotations.media.Schema.AccessMode.READ_ONLY;
+
+import java.util.List;
+import java.util.Objects;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Schema;
+import se.sundsvall.datawarehousereader.api.model.MetaData;
+
+@Schema(description = "Measurement series response model")
+public class MeasurementSeriesResponse {
+
+	@JsonProperty("_meta")
+	@Schema(implementation = MetaData.class, accessMode = READ_ONLY)
+	private MetaData metaData;
+
+	@ArraySchema(schema = @Schema(implementation = MeasurementSeries.class, accessMode = READ_ONLY))
+	private List<MeasurementSeries> series;
+
+	public static MeasurementSeriesResponse create() {
+		return new MeasurementSeriesResponse();
+	}
+	
+	public MetaData getMetaData() {
+		return metaData;
+	}
+
+	public void setMetaData(MetaData metaData) {
+		this.metaData = metaData;
+	}
+
+	public MeasurementSeriesResponse withMetaData(MetaData metaData) {
+		this.metaData = metaData;
+		return this;
+	}
+
+	public List<MeasurementSeries> getSeries() {
+		return series;
+	}
+
+	public void setSeries(List<MeasurementSeries> series) {
+		this.series = series;
+	}
+
+	public MeasurementSeriesResponse withSeries(List<MeasurementSeries> series) {
+		this.series = series;
+		return this;
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(metaData, series);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		MeasurementSeriesResponse other = (MeasurementSeriesResponse) obj;
+		return Objects.equals(series, other.series) && Objects.equals(metaData, other.metaData);
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder();
+		builder.append("MeasurementSeriesResponse [metaData=").append(metaData).append(", series=").append(series)
+				.append("]");
+		return builder.toString();
+	}
+}
@@ -2,10 +2,13 @@ package se.sundsvall.datawarehousereader.integration.party;
 
 import static org.springframework.http.MediaType.APPLICATION_PROBLEM_JSON_VALUE;
 import static org.springframework.http.MediaType.TEXT_PLAIN_VALUE;
+import static se.sundsvall.datawarehousereader.integration.party.configuration.PartyCacheConfiguration.LEGAL_IDS_CACHE;
+import static se.sundsvall.datawarehousereader.integration.party.configuration.PartyCacheConfiguration.PARTY_IDS_CACHE;
 import static se.sundsvall.datawarehousereader.integration.party.configuration.PartyConfiguration.CLIENT_REGISTRATION_ID;
 
 import java.util.Optional;
 
+import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -28,10 +31,24 @@ public interface PartyClient {
 	 *         or optional.empty() if not found.
 	 * @throws org.zalando.problem.ThrowableProblem
 	 */
-	@Cacheable("legalIds")
+	@Cacheable(cacheNames = LEGAL_IDS_CACHE, key = "#p0.name() + ':' + #p1", unless = "#result == null")
 	@GetMapping(path = "/{type}/{partyId}/legalId", produces = { TEXT_PLAIN_VALUE, APPLICATION_PROBLEM_JSON_VALUE })
 	Optional<String> getLegalId(@PathVariable("type") PartyType partyType, @PathVariable("partyId") String partyId);
 
+	/**
+	 * Get legal-ID by partyId (personId or organizationId), bypassing and updating the cache. Used when refreshing
+	 * cache entries in the background.
+	 * 
+	 * @param partyType the type of party.
+	 * @param partyId   the ID of the party. I.e. the personId or organizationId.
+	 * @return an optional string containing the legalId that corresponds to the provided partyType and partyId if found,
+	 *         or optional.empty() if not found.
+	 * @throws org.zalando.problem.ThrowableProblem
+	 */
+	@CachePut(cacheNames = LEGAL_IDS_CACHE, key = "#p0.name() + ':' + #p1", unless = "#result == null")
+	@GetMapping(path = "/{type}/{partyId}/legalId", produces = { TEXT_PLAIN_VALUE, APPLICATION_PROBLEM_JSON_VALUE })
+	Optional<String> refreshLegalId(@PathVariable("type") PartyType partyType, @PathVariable("partyId") String partyId);
+
 	/**
 	 * Get party-ID by legalId (personalNumber or organizationNumber).
 	 * 
@@ -41,7 +58,21 @@ public interface PartyClient {
 	 *         or optional.empty() if not found.
 	 * @throws org.zalando.problem.ThrowableProblem
 	 */
-	@Cacheable("partyIds")
+	@Cacheable(cacheNames = PARTY_IDS_CACHE, key = "#p0.name() + ':' + #p1", unless = "#result == null")
 	@GetMapping(path = "/{type}/{legalId}/partyId", produces = { TEXT_PLAIN_VALUE, APPLICATION_PROBLEM_JSON_VALUE })
 	Optional<String> getPartyId(@PathVariable("type") PartyType partyType, @PathVariable("legalId") String legalId);
+
+	/**
+	 * Get party-ID by legalId (personalNumber or organizationNumber), bypassing and updating the cache. Used when
+	 * refreshing cache entries in the background.
+	 * 
+	 * @param partyType the type of party.
+	 * @param legalId   the legal-ID of the party. I.e. the personalNumber or organizationNumber.
+	 * @return an optional string containing the partyId that corresponds to the provided partyType and legalId if found,
+	 *         or optional.empty() if not found.
+	 * @throws org.zalando.problem.ThrowableProblem
+	 */
+	@CachePut(cacheNames = PARTY_IDS_CACHE, key = "#p0.name() + ':' + #p1", unless = "#result == null")
+	@GetMapping(path = "/{type}/{legalId}/partyId", produces = { TEXT_PLAIN_VALUE, APPLICATION_PROBLEM_JSON_VALUE })
+	Optional<String> refreshPartyId(@PathVariable("type") PartyType partyType, @PathVariable("legalId") String legalId);
 }
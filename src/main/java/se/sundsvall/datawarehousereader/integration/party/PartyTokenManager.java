@@ -0,0 +1,150 @@
+package se.sundsvall.datawarehousereader.integration.party;
+
+import static java.util.Objects.nonNull;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static se.sundsvall.datawarehousereader.integration.party.configuration.PartyConfiguration.CLIENT_REGISTRATION_ID;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.annotation.PostConstruct;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.oauth2.client.endpoint.DefaultClientCredentialsTokenResponseClient;
+import org.springframework.security.oauth2.client.endpoint.OAuth2AccessTokenResponseClient;
+import org.springframework.security.oauth2.client.endpoint.OAuth2ClientCredentialsGrantRequest;
+import org.springframework.security.oauth2.client.registration.ClientRegistrationRepository;
+import org.springframework.security.oauth2.core.OAuth2AccessToken;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import se.sundsvall.datawarehousereader.integration.party.configuration.PartyTokenProperties;
+
+/**
+ * Holds the client credentials access token used when calling Party. The token is refreshed in the background when it
+ * is about to expire, so that requests normally never wait for the token endpoint. If a request still finds the token
+ * missing or expired it refreshes it inline, and concurrent refreshes (inline or in the background) share one call to
+ * the token endpoint. The age of the current token and the latency of each refresh are published as metrics.
+ */
+@Component
+public class PartyTokenManager {
+
+	static final String TOKEN_AGE_METRIC = "datawarehousereader.party.token.age";
+	static final String TOKEN_REFRESH_METRIC = "datawarehousereader.party.token.refresh";
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(PartyTokenManager.class);
+	// Same margin as used by Spring Security when deciding if an authorized client needs a new token
+	private static final Duration CLOCK_SKEW = Duration.ofSeconds(60);
+
+	@Autowired
+	private ClientRegistrationRepository clientRepository;
+
+	@Autowired
+	private PartyTokenProperties properties;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	private OAuth2AccessTokenResponseClient<OAuth2ClientCredentialsGrantRequest> tokenResponseClient = new DefaultClientCredentialsTokenResponseClient();
+
+	private volatile OAuth2AccessToken token;
+
+	private final AtomicReference<CompletableFuture<OAuth2AccessToken>> inFlightRefresh = new AtomicReference<>();
+
+	@PostConstruct
+	void registerMetrics() {
+		TimeGauge.builder(TOKEN_AGE_METRIC, this, SECONDS, PartyTokenManager::tokenAgeInSeconds)
+			.description("Age of the access token used when calling Party")
+			.register(meterRegistry);
+	}
+
+	/**
+	 * Returns a valid access token, fetching a new one first if no token is present or the current token has expired
+	 * @return the access token value
+	 * @throws org.springframework.security.oauth2.core.OAuth2AuthorizationException if the token could not be fetched
+	 */
+	public String getToken() {
+		final var current = token;
+		if (nonNull(current) && !expiresWithin(current, CLOCK_SKEW)) {
+			return current.getTokenValue();
+		}
+		return refresh("inline").getTokenValue();
+	}
+
+	/**
+	 * Discards sent in token if it still is the current token, for example when Party has rejected it
+	 * @param tokenValue the rejected token value
+	 */
+	public void invalidate(String tokenValue) {
+		final var current = token;
+		if (nonNull(current) && current.getTokenValue().equals(tokenValue)) {
+			token = null;
+		}
+	}
+
+	/**
+	 * Refreshes the current token in the background when it expires within the configured time. No token is fetched
+	 * until the first request towards Party has been made.
+	 */
+	@Scheduled(initialDelayString = "${integration.party.token.checkInterval}", fixedDelayString = "${integration.party.token.checkInterval}")
+	public void refreshAhead() {
+		final var current = token;
+		if (!properties.refreshAhead() || current == null || !expiresWithin(current, properties.refreshBefore().plus(CLOCK_SKEW))) {
+			return;
+		}
+
+		try {
+			refresh("background");
+		} catch (RuntimeException e) {
+			LOGGER.warn("Background refresh of access token for Party failed, retrying in {}", properties.checkInterval(), e);
+		}
+	}
+
+	private OAuth2AccessToken refresh(String trigger) {
+		final var future = new CompletableFuture<OAuth2AccessToken>();
+		final var inFlight = inFlightRefresh.compareAndExchange(null, future);
+		if (nonNull(inFlight)) {
+			try {
+				return inFlight.join();
+			} catch (CompletionException e) {
+				throw e.getCause() instanceof RuntimeException runtimeException ? runtimeException : e;
+			}
+		}
+
+		final var sample = Timer.start(meterRegistry);
+		var outcome = "success";
+		try {
+			final var refreshed = tokenResponseClient.getTokenResponse(new OAuth2ClientCredentialsGrantRequest(clientRepository.findByRegistrationId(CLIENT_REGISTRATION_ID)))
+				.getAccessToken();
+			token = refreshed;
+			future.complete(refreshed);
+			return refreshed;
+		} catch (RuntimeException e) {
+			outcome = "failure";
+			future.completeExceptionally(e);
+			throw e;
+		} finally {
+			inFlightRefresh.set(null);
+			sample.stop(meterRegistry.timer(TOKEN_REFRESH_METRIC, "trigger", trigger, "outcome", outcome));
+		}
+	}
+
+	private static boolean expiresWithin(OAuth2AccessToken token, Duration duration) {
+		return nonNull(token.getExpiresAt()) && token.getExpiresAt().isBefore(Instant.now().plus(duration));
+	}
+
+	private double tokenAgeInSeconds() {
+		final var current = token;
+		return nonNull(current) && nonNull(current.getIssuedAt())
+			? Duration.between(current.getIssuedAt(), Instant.now()).toMillis() / 1000d
+			: Double.NaN;
+	}
+}
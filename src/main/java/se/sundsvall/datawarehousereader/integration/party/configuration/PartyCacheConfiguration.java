@@ -0,0 +1,175 @@
+package se.sundsvall.datawarehousereader.integration.party.configuration;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor.AbortPolicy;
+import java.util.function.BiConsumer;
+
+import org.springframework.boot.autoconfigure.cache.CacheManagerCustomizer;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.RemovalListener;
+
+import generated.se.sundsvall.party.PartyType;
+import se.sundsvall.datawarehousereader.service.logic.PartyMappingStore;
+
+/**
+ * Configuration of the caches used for Party lookups, each with their own settings:
+ * <ul>
+ * <li>the id caches use variable expiration, which makes it possible to restore entries from a snapshot with their
+ * original remaining time to live, and to find out the age of entries when deciding if they should be refreshed.
+ * Entries that expire or are evicted explicitly are also removed from the mapping store, entries evicted for size
+ * are kept in the store as it is the larger tier</li>
+ * <li>the negative cache, holding lookups that Party has answered with "not found", has a short time to live</li>
+ * <li>the stale cache, holding the last known mapping for each lookup to use while Party is unavailable, is larger and
+ * has a long time to live</li>
+ * </ul>
+ */
+@Configuration
+@EnableScheduling
+public class PartyCacheConfiguration {
+
+	public static final String PARTY_IDS_CACHE = "partyIds";
+	public static final String LEGAL_IDS_CACHE = "legalIds";
+	public static final String PARTY_NOT_FOUND_CACHE = "partyNotFound";
+	public static final String PARTY_STALE_CACHE = "partyStale";
+	public static final String PARTY_CACHE_REFRESH_EXECUTOR = "partyCacheRefreshExecutor";
+	public static final String PARTY_CACHE_WARMUP_EXECUTOR = "partyCacheWarmUpExecutor";
+
+	/**
+	 * Returns the key used in the partyIds and legalIds caches. Must match the key expression of the cached methods in
+	 * PartyClient.
+	 * @param partyType the type of party
+	 * @param id        the partyId or legalId
+	 * @return the cache key
+	 */
+	public static String toCacheKey(PartyType partyType, String id) {
+		return partyType.name() + ":" + id;
+	}
+
+	/**
+	 * Executor for refreshing cache entries in the background. Refreshes are best effort, hence tasks are rejected
+	 * (instead of run by the caller) when pool and queue are exhausted.
+	 */
+	@Bean(name = PARTY_CACHE_REFRESH_EXECUTOR, destroyMethod = "shutdown")
+	ExecutorService partyCacheRefreshExecutor(PartyCacheProperties properties) {
+		return new ThreadPoolExecutor(properties.refresh().poolSize(), properties.refresh().poolSize(), 0L, MILLISECONDS,
+			new LinkedBlockingQueue<>(properties.refresh().queueCapacity()),
+			new CustomizableThreadFactory("party-cache-refresh-"),
+			new AbortPolicy());
+	}
+
+	/**
+	 * Executor for the calls to Party made by a warm-up. The warm-up never has more calls in progress than the
+	 * configured concurrency, the queue only absorbs a call handed over before the thread of a finished call is idle.
+	 */
+	@Bean(name = PARTY_CACHE_WARMUP_EXECUTOR)
+	ThreadPoolTaskExecutor partyCacheWarmUpExecutor(PartyWarmUpProperties properties) {
+		final var executor = new ThreadPoolTaskExecutor();
+		executor.setCorePoolSize(properties.concurrency());
+		executor.setMaxPoolSize(properties.concurrency());
+		executor.setQueueCapacity(properties.concurrency());
+		executor.setThreadNamePrefix("party-cache-warmup-call-");
+		return executor;
+	}
+
+	@Bean
+	CacheManagerCustomizer<CaffeineCacheManager> partyIdCachesCustomizer(PartyCacheProperties properties, PartyMappingStore mappingStore) {
+		return cacheManager -> {
+			cacheManager.registerCustomCache(PARTY_IDS_CACHE, createIdCache(properties.timeToLive(), properties.maximumSize(), toStoreRemoval(mappingStore::removeByLegalId)));
+			cacheManager.registerCustomCache(LEGAL_IDS_CACHE, createIdCache(properties.timeToLive(), properties.maximumSize(), toStoreRemoval(mappingStore::removeByPartyId)));
+		};
+	}
+
+	@Bean
+	CacheManagerCustomizer<CaffeineCacheManager> partyNotFoundCacheCustomizer(PartyNegativeCacheProperties properties) {
+		return cacheManager -> cacheManager.registerCustomCache(PARTY_NOT_FOUND_CACHE, Caffeine.newBuilder()
+			.expireAfterWrite(properties.timeToLive())
+			.maximumSize(properties.maximumSize())
+			.recordStats()
+			.build());
+	}
+
+	@Bean
+	CacheManagerCustomizer<CaffeineCacheManager> partyStaleCacheCustomizer(PartyStaleCacheProperties properties) {
+		return cacheManager -> cacheManager.registerCustomCache(PARTY_STALE_CACHE, Caffeine.newBuilder()
+			.expireAfterWrite(properties.timeToLive())
+			.maximumSize(properties.maximumSize())
+			.recordStats()
+			.build());
+	}
+
+	/**
+	 * Creates a cache for partyIds or legalIds
+	 * @param timeToLive  time to live for entries written to the cache
+	 * @param maximumSize maximum number of entries in the cache
+	 * @return a cache with variable expiration where entries by default expire after sent in time to live
+	 */
+	public static Cache<Object, Object> createIdCache(Duration timeToLive, long maximumSize) {
+		return createIdCache(timeToLive, maximumSize, (key, value, cause) -> {});
+	}
+
+	/**
+	 * Creates a cache for partyIds or legalIds
+	 * @param timeToLive      time to live for entries written to the cache
+	 * @param maximumSize     maximum number of entries in the cache
+	 * @param removalListener listener notified when entries are removed from the cache
+	 * @return a cache with variable expiration where entries by default expire after sent in time to live
+	 */
+	public static Cache<Object, Object> createIdCache(Duration timeToLive, long maximumSize, RemovalListener<Object, Object> removalListener) {
+		return Caffeine.newBuilder()
+			.expireAfter(new ExpireAfterWrite(timeToLive.toNanos()))
+			.maximumSize(maximumSize)
+			.removalListener(removalListener)
+			.recordStats()
+			.build();
+	}
+
+	/**
+	 * Returns a removal listener applying expired and explicitly evicted entries of an id cache to the mapping store
+	 * @param remove removes the mapping from the store by party type and the id the entry is cached for
+	 * @return the removal listener
+	 */
+	static RemovalListener<Object, Object> toStoreRemoval(BiConsumer<PartyType, String> remove) {
+		return (key, value, cause) -> {
+			if ((cause == RemovalCause.EXPIRED || cause == RemovalCause.EXPLICIT) && key instanceof String cacheKey && cacheKey.indexOf(':') > 0) {
+				final var separator = cacheKey.indexOf(':');
+				remove.accept(PartyType.valueOf(cacheKey.substring(0, separator)), cacheKey.substring(separator + 1));
+			}
+		};
+	}
+
+	/**
+	 * Expiry with the same semantics as expireAfterWrite, but allowing entries to be written with a custom duration
+	 */
+	private record ExpireAfterWrite(long timeToLiveNanos) implements Expiry<Object, Object> {
+
+		@Override
+		public long expireAfterCreate(Object key, Object value, long currentTime) {
+			return timeToLiveNanos;
+		}
+
+		@Override
+		public long expireAfterUpdate(Object key, Object value, long currentTime, long currentDuration) {
+			return timeToLiveNanos;
+		}
+
+		@Override
+		public long expireAfterRead(Object key, Object value, long currentTime, long currentDuration) {
+			return currentDuration;
+		}
+	}
+}
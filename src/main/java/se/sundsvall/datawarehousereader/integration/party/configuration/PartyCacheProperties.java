@@ -0,0 +1,22 @@
+package se.sundsvall.datawarehousereader.integration.party.configuration;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties("integration.party.cache")
+public record PartyCacheProperties(Duration timeToLive, long maximumSize, Snapshot snapshot, Refresh refresh) {
+
+	/**
+	 * @param enabled  if the caches are written to a snapshot and restored from it on startup
+	 * @param path     the snapshot file, which must be on a persistent volume for the snapshot to survive a restart
+	 * @param secret   secret that the key encrypting the snapshot is derived from
+	 * @param interval interval between snapshots written while running
+	 */
+	public record Snapshot(boolean enabled, Path path, String secret, Duration interval) {
+	}
+
+	public record Refresh(boolean enabled, Duration afterWrite, double jitter, int poolSize, int queueCapacity) {
+	}
+}
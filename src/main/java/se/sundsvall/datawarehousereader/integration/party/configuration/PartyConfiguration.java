@@ -1,13 +1,22 @@
 package se.sundsvall.datawarehousereader.integration.party.configuration;
 
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
 import java.util.List;
 
 import org.springframework.cloud.openfeign.FeignBuilderCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Import;
 import org.springframework.http.HttpStatus;
-import org.springframework.security.oauth2.client.registration.ClientRegistrationRepository;
 
+import feign.Client;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.okhttp3.OkHttpConnectionPoolMetrics;
+import okhttp3.ConnectionPool;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import se.sundsvall.datawarehousereader.integration.party.PartyTokenManager;
 import se.sundsvall.dept44.configuration.feign.FeignConfiguration;
 import se.sundsvall.dept44.configuration.feign.FeignMultiCustomizer;
 import se.sundsvall.dept44.configuration.feign.decoder.ProblemErrorDecoder;
@@ -16,13 +25,33 @@ import se.sundsvall.dept44.configuration.feign.decoder.ProblemErrorDecoder;
 public class PartyConfiguration {
 
 	public static final String CLIENT_REGISTRATION_ID = "party";
+	static final String CONNECTION_POOL_METRIC_PREFIX = "datawarehousereader.party.http.pool";
 
 	@Bean
-	FeignBuilderCustomizer feignBuilderCustomizer(ClientRegistrationRepository clientRepository, PartyProperties partyProperties) {
+	FeignBuilderCustomizer feignBuilderCustomizer(PartyProperties partyProperties) {
 		return FeignMultiCustomizer.create()
 			.withErrorDecoder(new ProblemErrorDecoder(CLIENT_REGISTRATION_ID, List.of(HttpStatus.NOT_FOUND.value())))
 			.withRequestTimeoutsInSeconds(partyProperties.connectTimeout(), partyProperties.readTimeout())
-			.withRetryableOAuth2InterceptorForClientRegistration(clientRepository.findByRegistrationId(CLIENT_REGISTRATION_ID))
 			.composeCustomizersToOne();
 	}
+
+	/**
+	 * Pooled transport for the Party client. Connections are kept alive and reused between requests, idle connections
+	 * are evicted when exceeding the configured number or when idle longer than the configured keep alive. When HTTP/2
+	 * is enabled it is negotiated on TLS connections, multiplexing concurrent requests over one connection. Counts of
+	 * active and idle connections, the number of requests in flight and the time spent waiting for a connection are
+	 * published as metrics. Requests are authorized with the access token held by the token manager.
+	 */
+	@Bean
+	Client partyFeignClient(PartyConnectionPoolProperties properties, MeterRegistry meterRegistry, PartyTokenManager tokenManager) {
+		final var connectionPool = new ConnectionPool(properties.maxIdleConnections(), properties.keepAlive().toMillis(), MILLISECONDS);
+		new OkHttpConnectionPoolMetrics(connectionPool, CONNECTION_POOL_METRIC_PREFIX, Tags.empty(), properties.maxIdleConnections()).bindTo(meterRegistry);
+
+		return new feign.okhttp.OkHttpClient(new OkHttpClient.Builder()
+			.connectionPool(connectionPool)
+			.protocols(properties.http2() ? List.of(Protocol.HTTP_2, Protocol.HTTP_1_1) : List.of(Protocol.HTTP_1_1))
+			.addInterceptor(new PartyConnectionLimiter(properties.maxConnectionsPerRoute(), properties.acquireTimeout(), meterRegistry))
+			.addInterceptor(new PartyTokenInterceptor(tokenManager))
+			.build());
+	}
 }
@@ -0,0 +1,130 @@
+package se.sundsvall.datawarehousereader.integration.party.configuration;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.BufferedSource;
+import okio.ForwardingSource;
+import okio.Okio;
+
+/**
+ * Limits the number of concurrent requests, and thereby the number of HTTP/1.1 connections, towards each route (scheme,
+ * host and port). A request arriving when the limit is reached waits for a permit at most the configured acquire
+ * timeout, after which it fails with an IOException (treated by Feign as a retryable connection failure). A permit is
+ * held until the response body is closed, as the connection is not returned to the pool before the body is read. The
+ * time spent waiting for a permit and the number of permits in use are published as metrics.
+ */
+class PartyConnectionLimiter implements Interceptor {
+
+	static final String POOL_WAIT_METRIC = "datawarehousereader.party.http.pool.wait";
+	static final String POOL_IN_USE_METRIC = "datawarehousereader.party.http.pool.in.use";
+
+	private final int maxConnectionsPerRoute;
+	private final Duration acquireTimeout;
+	private final Timer waitTimer;
+	private final Map<String, Semaphore> routes = new ConcurrentHashMap<>();
+
+	PartyConnectionLimiter(int maxConnectionsPerRoute, Duration acquireTimeout, MeterRegistry meterRegistry) {
+		this.maxConnectionsPerRoute = maxConnectionsPerRoute;
+		this.acquireTimeout = acquireTimeout;
+		this.waitTimer = meterRegistry.timer(POOL_WAIT_METRIC);
+		meterRegistry.gauge(POOL_IN_USE_METRIC, this, PartyConnectionLimiter::inUse);
+	}
+
+	@Override
+	public Response intercept(Chain chain) throws IOException {
+		final var url = chain.request().url();
+		final var route = routes.computeIfAbsent(url.scheme() + "://" + url.host() + ":" + url.port(), key -> new Semaphore(maxConnectionsPerRoute));
+
+		final var start = System.nanoTime();
+		final boolean acquired;
+		try {
+			acquired = route.tryAcquire(acquireTimeout.toNanos(), NANOSECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted while waiting for connection to " + url.host());
+		} finally {
+			waitTimer.record(System.nanoTime() - start, NANOSECONDS);
+		}
+		if (!acquired) {
+			throw new IOException("Timed out after " + acquireTimeout + " waiting for connection to " + url.host());
+		}
+
+		final Response response;
+		try {
+			response = chain.proceed(chain.request());
+		} catch (IOException | RuntimeException e) {
+			route.release();
+			throw e;
+		}
+
+		final var body = response.body();
+		if (body == null) {
+			route.release();
+			return response;
+		}
+		return response.newBuilder()
+			.body(new PermitReleasingBody(body, route))
+			.build();
+	}
+
+	double inUse() {
+		return routes.values().stream()
+			.mapToInt(route -> maxConnectionsPerRoute - route.availablePermits())
+			.sum();
+	}
+
+	/**
+	 * Response body releasing the permit of its route once, when the body is closed
+	 */
+	private static class PermitReleasingBody extends ResponseBody {
+
+		private final ResponseBody delegate;
+		private final BufferedSource source;
+
+		PermitReleasingBody(ResponseBody delegate, Semaphore route) {
+			this.delegate = delegate;
+			final var released = new AtomicBoolean();
+			this.source = Okio.buffer(new ForwardingSource(delegate.source()) {
+				@Override
+				public void close() throws IOException {
+					try {
+						super.close();
+					} finally {
+						if (released.compareAndSet(false, true)) {
+							route.release();
+						}
+					}
+				}
+			});
+		}
+
+		@Override
+		public MediaType contentType() {
+			return delegate.contentType();
+		}
+
+		@Override
+		public long contentLength() {
+			return delegate.contentLength();
+		}
+
+		@Override
+		public BufferedSource source() {
+			return source;
+		}
+	}
+}
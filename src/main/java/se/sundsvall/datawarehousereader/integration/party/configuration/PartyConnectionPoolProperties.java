@@ -0,0 +1,9 @@
+package se.sundsvall.datawarehousereader.integration.party.configuration;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties("integration.party.connection-pool")
+public record PartyConnectionPoolProperties(int maxConnectionsPerRoute, int maxIdleConnections, Duration keepAlive, Duration acquireTimeout, boolean http2) {
+}
@@ -0,0 +1,7 @@
+package se.sundsvall.datawarehousereader.integration.party.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties("integration.party.store")
+public record PartyMappingStoreProperties(boolean enabled, int capacity) {
+}
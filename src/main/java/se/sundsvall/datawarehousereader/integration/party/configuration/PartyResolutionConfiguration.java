@@ -0,0 +1,31 @@
+package se.sundsvall.datawarehousereader.integration.party.configuration;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor.AbortPolicy;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+/**
+ * Configuration of the bounded executor used when resolving partyIds for a page of data in parallel. When both pool
+ * and queue are exhausted further lookups are rejected, as a lookup run by the calling thread could not be abandoned
+ * when the resolution deadline is reached.
+ */
+@Configuration
+public class PartyResolutionConfiguration {
+
+	public static final String PARTY_RESOLUTION_EXECUTOR = "partyResolutionExecutor";
+
+	@Bean(name = PARTY_RESOLUTION_EXECUTOR, destroyMethod = "shutdown")
+	ExecutorService partyResolutionExecutor(PartyResolutionProperties properties) {
+		return new ThreadPoolExecutor(properties.poolSize(), properties.poolSize(), 0L, MILLISECONDS,
+			new LinkedBlockingQueue<>(properties.queueCapacity()),
+			new CustomizableThreadFactory("party-resolution-"),
+			new AbortPolicy());
+	}
+}
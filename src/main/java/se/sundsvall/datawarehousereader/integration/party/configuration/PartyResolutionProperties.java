@@ -0,0 +1,17 @@
+package se.sundsvall.datawarehousereader.integration.party.configuration;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * @param poolSize      number of threads resolving lookups in parallel
+ * @param queueCapacity number of lookups queued when all threads are busy
+ * @param timeout       deadline for resolving the lookups of one request, must be shorter than the timeout of the
+ *                      clients calling the service so that they get a GATEWAY_TIMEOUT instead of timing out themselves
+ * @param hedgeDelay    delay after which a partyId not yet found as a private customer also is looked up as an
+ *                      enterprise customer, instead of waiting for the private lookup to answer
+ */
+@ConfigurationProperties("integration.party.resolution")
+public record PartyResolutionProperties(int poolSize, int queueCapacity, Duration timeout, Duration hedgeDelay) {
+}
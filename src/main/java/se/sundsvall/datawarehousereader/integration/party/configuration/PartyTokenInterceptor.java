@@ -0,0 +1,52 @@
+package se.sundsvall.datawarehousereader.integration.party.configuration;
+
+import static org.springframework.http.HttpHeaders.AUTHORIZATION;
+import static org.springframework.http.HttpStatus.UNAUTHORIZED;
+
+import java.io.IOException;
+
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+import se.sundsvall.datawarehousereader.integration.party.PartyTokenManager;
+
+/**
+ * Adds the access token held by the token manager to requests towards Party. If Party rejects the token, it is
+ * discarded and the request is retried once with a new token. Failures to fetch a token are reported as an
+ * IOException, i.e. handled by Feign in the same way as a failure to connect to Party.
+ */
+class PartyTokenInterceptor implements Interceptor {
+
+	private final PartyTokenManager tokenManager;
+
+	PartyTokenInterceptor(PartyTokenManager tokenManager) {
+		this.tokenManager = tokenManager;
+	}
+
+	@Override
+	public Response intercept(Chain chain) throws IOException {
+		final var token = getToken();
+		final var response = chain.proceed(withToken(chain.request(), token));
+		if (response.code() != UNAUTHORIZED.value()) {
+			return response;
+		}
+
+		response.close();
+		tokenManager.invalidate(token);
+		return chain.proceed(withToken(chain.request(), getToken()));
+	}
+
+	private String getToken() throws IOException {
+		try {
+			return tokenManager.getToken();
+		} catch (RuntimeException e) {
+			throw new IOException("Could not fetch access token for Party", e);
+		}
+	}
+
+	private static Request withToken(Request request, String token) {
+		return request.newBuilder()
+			.header(AUTHORIZATION, "Bearer " + token)
+			.build();
+	}
+}
@@ -0,0 +1,9 @@
+package se.sundsvall.datawarehousereader.integration.party.configuration;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties("integration.party.token")
+public record PartyTokenProperties(boolean refreshAhead, Duration refreshBefore, Duration checkInterval) {
+}
@@ -0,0 +1,14 @@
+package se.sundsvall.datawarehousereader.integration.party.configuration;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * @param maximumCalls    maximum number of calls to Party per warm-up, the larger of the partyIds cache size
+ *                        and the mapping store capacity also bounds the number of calls
+ * @param maximumDuration maximum duration of a warm-up, after which it is stopped
+ */
+@ConfigurationProperties("integration.party.warmup")
+public record PartyWarmUpProperties(boolean enabled, String cron, int concurrency, int ratePerSecond, int batchSize, int maximumCalls, Duration maximumDuration) {
+}
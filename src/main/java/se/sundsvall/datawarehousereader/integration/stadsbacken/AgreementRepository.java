@@ -14,26 +14,61 @@ import static se.sundsvall.datawarehousereader.integration.stadsbacken.specifica
 import static se.sundsvall.datawarehousereader.integration.stadsbacken.specification.AgreementSpecification.withMainAgreement;
 import static se.sundsvall.datawarehousereader.integration.stadsbacken.specification.AgreementSpecification.withToDate;
 
-import javax.transaction.Transactional;
+import java.util.List;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.PagingAndSortingRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 import se.sundsvall.datawarehousereader.api.model.agreement.AgreementParameters;
 import se.sundsvall.datawarehousereader.integration.stadsbacken.model.agreement.AgreementEntity;
 import se.sundsvall.datawarehousereader.integration.stadsbacken.model.agreement.AgreementKey;
+import se.sundsvall.datawarehousereader.integration.stadsbacken.support.Projection;
+import se.sundsvall.datawarehousereader.integration.stadsbacken.support.ProjectionSpecificationExecutor;
+import se.sundsvall.datawarehousereader.integration.stadsbacken.support.SliceableSpecificationExecutor;
 import se.sundsvall.datawarehousereader.service.util.ServiceUtil;
 
-@Transactional
+@Transactional(readOnly = true)
 @CircuitBreaker(name = "agreementRepository")
-public interface AgreementRepository extends PagingAndSortingRepository<AgreementEntity, AgreementKey>, JpaSpecificationExecutor<AgreementEntity> {
+public interface AgreementRepository extends PagingAndSortingRepository<AgreementEntity, AgreementKey>, JpaSpecificationExecutor<AgreementEntity>, SliceableSpecificationExecutor<AgreementEntity>,
+	ProjectionSpecificationExecutor<AgreementEntity> {
 
 	default Page<AgreementEntity> findAllByParameters(AgreementParameters agreementParameters, String customerOrgId, Pageable pageable) {
+		return this.findAll(toSpecification(agreementParameters, customerOrgId), pageable);
+	}
+
+	default Slice<AgreementEntity> findAllSlicedByParameters(AgreementParameters agreementParameters, String customerOrgId, Pageable pageable) {
+		return this.findAllSliced(toSpecification(agreementParameters, customerOrgId), pageable);
+	}
+
+	default <R> Page<R> findAllProjectedByParameters(AgreementParameters agreementParameters, String customerOrgId, Pageable pageable, Projection<R> projection) {
+		return this.findAllProjected(toSpecification(agreementParameters, customerOrgId), pageable, projection);
+	}
+
+	default <R> Slice<R> findAllSlicedProjectedByParameters(AgreementParameters agreementParameters, String customerOrgId, Pageable pageable, Projection<R> projection) {
+		return this.findAllSlicedProjected(toSpecification(agreementParameters, customerOrgId), pageable, projection);
+	}
+
+	/**
+	 * Returns the distinct customerorgids of agreements with sent in uuid (partyId)
+	 *
+	 * @param uuid     the uuid to match
+	 * @param pageable pageable limiting the number of returned customerorgids
+	 * @return List<String> with customerorgids connected to the uuid, agreements without customerorgid are excluded
+	 */
+	@Query("select distinct a.customerOrgId from AgreementEntity a where a.uuid = :uuid and a.customerOrgId is not null")
+	List<String> findDistinctCustomerOrgIdsByUuid(@Param("uuid") String uuid, Pageable pageable);
+
+	private static Specification<AgreementEntity> toSpecification(AgreementParameters agreementParameters, String customerOrgId) {
 		AgreementParameters parameters = ofNullable(agreementParameters).orElse(AgreementParameters.create());
-		return this.findAll(withAgreementId(ServiceUtil.toInteger(parameters.getAgreementId())).
+		return withAgreementId(ServiceUtil.toInteger(parameters.getAgreementId())).
 			and(withBillingId(ServiceUtil.toInteger(parameters.getBillingId()))).
 			and(withBinding(ServiceUtil.toString(parameters.getBinding()))).
 			and(withBindingRule(parameters.getBindingRule())).
@@ -44,6 +79,6 @@ public interface AgreementRepository extends PagingAndSortingRepository<Agreemen
 			and(withFacilityId(parameters.getFacilityId())).
 			and(withFromDate(parameters.getFromDate())).
 			and(withMainAgreement(ServiceUtil.toString(parameters.getMainAgreement()))).
-			and(withToDate(parameters.getToDate())), pageable);
+			and(withToDate(parameters.getToDate()));
 	}
 }
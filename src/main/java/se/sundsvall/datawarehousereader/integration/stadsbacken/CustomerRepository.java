@@ -8,28 +8,59 @@ import static se.sundsvall.datawarehousereader.integration.stadsbacken.specifica
 
 import java.util.List;
 
-import javax.transaction.Transactional;
-
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.PagingAndSortingRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 import se.sundsvall.datawarehousereader.api.model.customer.CustomerEngagementParameters;
 import se.sundsvall.datawarehousereader.integration.stadsbacken.model.customer.CustomerEntity;
 import se.sundsvall.datawarehousereader.integration.stadsbacken.model.customer.CustomerKey;
+import se.sundsvall.datawarehousereader.integration.stadsbacken.model.customer.CustomerOrgId;
+import se.sundsvall.datawarehousereader.integration.stadsbacken.support.SliceableSpecificationExecutor;
 import se.sundsvall.datawarehousereader.service.util.ServiceUtil;
 
-@Transactional
+@Transactional(readOnly = true)
 @CircuitBreaker(name = "customerRepository")
-public interface CustomerRepository extends PagingAndSortingRepository<CustomerEntity, CustomerKey>, JpaSpecificationExecutor<CustomerEntity> {
+public interface CustomerRepository extends PagingAndSortingRepository<CustomerEntity, CustomerKey>, JpaSpecificationExecutor<CustomerEntity>, SliceableSpecificationExecutor<CustomerEntity> {
 
 	default Page<CustomerEntity> findAllByParameters(CustomerEngagementParameters customerParameters, List<String> customerOrgIds, Pageable pageable) {
+		return this.findAll(toSpecification(customerParameters, customerOrgIds), pageable);
+	}
+
+	default Slice<CustomerEntity> findAllSlicedByParameters(CustomerEngagementParameters customerParameters, List<String> customerOrgIds, Pageable pageable) {
+		return this.findAllSliced(toSpecification(customerParameters, customerOrgIds), pageable);
+	}
+
+	/**
+	 * Returns the next batch of distinct customerorgid and customertype pairs following sent in pair, ordered on
+	 * customerorgid and customertype. Reading batches after the last read pair (instead of by offset) keeps each query
+	 * cheap and avoids holding a database cursor open while the pairs are processed.
+	 *
+	 * @param customerOrgId customerorgid of the last read pair (empty string to start from the beginning)
+	 * @param customerType  customertype of the last read pair (empty string to start from the beginning)
+	 * @param pageable      pageable limiting the size of the batch
+	 * @return List<CustomerOrgId> with the next batch of pairs, customers without customerorgid or customertype are
+	 *         excluded as no pair compares as greater than a null value
+	 */
+	@Query("""
+		select distinct c.customerOrgId as customerOrgId, c.customerType as customerType from CustomerEntity c
+		where c.customerOrgId is not null and c.customerType is not null
+		and (c.customerOrgId > :customerOrgId or (c.customerOrgId = :customerOrgId and c.customerType > :customerType))
+		order by c.customerOrgId, c.customerType""")
+	List<CustomerOrgId> findDistinctCustomerOrgIdsAfter(@Param("customerOrgId") String customerOrgId, @Param("customerType") String customerType, Pageable pageable);
+
+	private static Specification<CustomerEntity> toSpecification(CustomerEngagementParameters customerParameters, List<String> customerOrgIds) {
 		CustomerEngagementParameters parameters = ofNullable(customerParameters).orElse(CustomerEngagementParameters.create());
-		return this.findAll(withCustomerId(ServiceUtil.toInteger(parameters.getCustomerNumber()))
+		return withCustomerId(ServiceUtil.toInteger(parameters.getCustomerNumber()))
 			.and(withCustomerOrgIds(customerOrgIds))
 			.and(withOrganizationId(parameters.getOrganizationNumber()))
-			.and(withOrganizationName(parameters.getOrganizationName())), pageable);
+			.and(withOrganizationName(parameters.getOrganizationName()));
 	}
 }
@@ -1,13 +1,69 @@
 package se.sundsvall.datawarehousereader.integration.stadsbacken;
 
-import javax.transaction.Transactional;
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.mapping;
+import static java.util.stream.Collectors.toList;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.PagingAndSortingRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.data.repository.query.QueryByExampleExecutor;
+import org.springframework.transaction.annotation.Transactional;
 
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 import se.sundsvall.datawarehousereader.integration.stadsbacken.model.installedbase.InstalledBaseItemEntity;
+import se.sundsvall.datawarehousereader.integration.stadsbacken.model.installedbase.InstalledBaseItemMetaDataEmbeddable;
+import se.sundsvall.datawarehousereader.integration.stadsbacken.model.installedbase.InstalledBaseItemMetaDataRow;
+import se.sundsvall.datawarehousereader.integration.stadsbacken.support.SliceableSpecificationExecutor;
 
-@Transactional
+@Transactional(readOnly = true)
 @CircuitBreaker(name = "installedBaseRepository")
-public interface InstalledBaseRepository extends PagingAndSortingRepository<InstalledBaseItemEntity, Integer>, QueryByExampleExecutor<InstalledBaseItemEntity> {}
+public interface InstalledBaseRepository extends PagingAndSortingRepository<InstalledBaseItemEntity, Integer>, QueryByExampleExecutor<InstalledBaseItemEntity>, SliceableSpecificationExecutor<InstalledBaseItemEntity> {
+
+	/**
+	 * Max number of internalIds bound in one query, which is the max page size and well below the 2100 parameters
+	 * that SQL Server accepts in one statement
+	 */
+	int METADATA_BATCH_SIZE = 1000;
+
+	/**
+	 * Returns metadata of sent in installed base items, read in one query per (at most) 1000 items. Items without
+	 * metadata are not present in the returned map.
+	 *
+	 * @param internalIds internalIds of the items to read metadata for
+	 * @return Map<Integer, List<InstalledBaseItemMetaDataEmbeddable>> with metadata of each item, keyed on internalId
+	 */
+	default Map<Integer, List<InstalledBaseItemMetaDataEmbeddable>> findMetaDataByInternalIds(List<Integer> internalIds) {
+		final var distinctIds = internalIds.stream().distinct().toList();
+
+		return IntStream.iterate(0, from -> from < distinctIds.size(), from -> from + METADATA_BATCH_SIZE)
+			.mapToObj(from -> findMetaDataRows(distinctIds.subList(from, Math.min(from + METADATA_BATCH_SIZE, distinctIds.size()))))
+			.flatMap(List::stream)
+			.collect(groupingBy(InstalledBaseItemMetaDataRow::getInternalId, mapping(InstalledBaseRepository::toEmbeddable, toList())));
+	}
+
+	/**
+	 * Reads metadata straight from vInstalledBaseMetadata, as the metadata is mapped as an element collection without
+	 * an entity of its own
+	 */
+	@Query(nativeQuery = true, value = """
+		select m.internalId as internalId, m.company as company, m.[key] as [key], m.[value] as [value], m.[type] as [type], m.displayName as displayName
+		from kundinfo.vInstalledBaseMetadata m
+		where m.internalId in (:internalIds)""")
+	List<InstalledBaseItemMetaDataRow> findMetaDataRows(@Param("internalIds") Collection<Integer> internalIds);
+
+	private static InstalledBaseItemMetaDataEmbeddable toEmbeddable(InstalledBaseItemMetaDataRow row) {
+		final var embeddable = new InstalledBaseItemMetaDataEmbeddable();
+		embeddable.setCompany(row.getCompany());
+		embeddable.setKey(row.getKey());
+		embeddable.setValue(row.getValue());
+		embeddable.setType(row.getType());
+		embeddable.setDisplayName(row.getDisplayName());
+		return embeddable;
+	}
+}
@@ -2,14 +2,13 @@ package se.sundsvall.datawarehousereader.integration.stadsbacken;
 
 import java.util.List;
 
-import javax.transaction.Transactional;
-
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.transaction.annotation.Transactional;
 
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 import se.sundsvall.datawarehousereader.integration.stadsbacken.model.invoice.InvoiceDetailEntity;
 
-@Transactional
+@Transactional(readOnly = true)
 @CircuitBreaker(name = "invoiceDetailRepository")
 public interface InvoiceDetailRepository extends CrudRepository<InvoiceDetailEntity, Integer> {
 	@Deprecated(since = "2022-11-04", forRemoval = true)
@@ -3,12 +3,16 @@ package se.sundsvall.datawarehousereader.integration.stadsbacken;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.repository.PagingAndSortingRepository;
+import org.springframework.transaction.annotation.Transactional;
 import se.sundsvall.datawarehousereader.api.model.invoice.InvoiceParameters;
 import se.sundsvall.datawarehousereader.integration.stadsbacken.model.invoice.InvoiceEntity;
-
-import javax.transaction.Transactional;
+import se.sundsvall.datawarehousereader.integration.stadsbacken.support.Projection;
+import se.sundsvall.datawarehousereader.integration.stadsbacken.support.ProjectionSpecificationExecutor;
+import se.sundsvall.datawarehousereader.integration.stadsbacken.support.SliceableSpecificationExecutor;
 
 import static se.sundsvall.datawarehousereader.integration.stadsbacken.specification.InvoiceSpecification.withAdministration;
 import static se.sundsvall.datawarehousereader.integration.stadsbacken.specification.InvoiceSpecification.withCustomerIds;
@@ -25,12 +29,29 @@ import static se.sundsvall.datawarehousereader.integration.stadsbacken.specifica
 import static se.sundsvall.datawarehousereader.integration.stadsbacken.specification.InvoiceSpecification.withOrganizationId;
 import static se.sundsvall.datawarehousereader.service.util.ServiceUtil.toIntegers;
 
-@Transactional
+@Transactional(readOnly = true)
 @CircuitBreaker(name = "invoiceRepository")
-public interface InvoiceRepository extends PagingAndSortingRepository<InvoiceEntity, Integer>, JpaSpecificationExecutor<InvoiceEntity> {
+public interface InvoiceRepository extends PagingAndSortingRepository<InvoiceEntity, Integer>, JpaSpecificationExecutor<InvoiceEntity>, SliceableSpecificationExecutor<InvoiceEntity>,
+	ProjectionSpecificationExecutor<InvoiceEntity> {
 
 	default Page<InvoiceEntity> findAllByParameters(InvoiceParameters parameters, Pageable pageable) {
-		return this.findAll(withAdministration(parameters.getAdministration()).
+		return this.findAll(toSpecification(parameters), pageable);
+	}
+
+	default Slice<InvoiceEntity> findAllSlicedByParameters(InvoiceParameters parameters, Pageable pageable) {
+		return this.findAllSliced(toSpecification(parameters), pageable);
+	}
+
+	default <R> Page<R> findAllProjectedByParameters(InvoiceParameters parameters, Pageable pageable, Projection<R> projection) {
+		return this.findAllProjected(toSpecification(parameters), pageable, projection);
+	}
+
+	default <R> Slice<R> findAllSlicedProjectedByParameters(InvoiceParameters parameters, Pageable pageable, Projection<R> projection) {
+		return this.findAllSlicedProjected(toSpecification(parameters), pageable, projection);
+	}
+
+	private static Specification<InvoiceEntity> toSpecification(InvoiceParameters parameters) {
+		return withAdministration(parameters.getAdministration()).
 			and(withCustomerIds(toIntegers(parameters.getCustomerNumber())).
 			and(withCustomerType(parameters.getCustomerType())).
 			and(withDueDate(parameters.getDueDateFrom(), parameters.getDueDateTo())).
@@ -42,6 +63,6 @@ public interface InvoiceRepository extends PagingAndSortingRepository<InvoiceEnt
 			and(withInvoiceType(parameters.getInvoiceType())).
 			and(withOcrNumber(parameters.getOcrNumber())).
 			and(withOrganizationGroup(parameters.getOrganizationGroup())).
-			and(withOrganizationId(parameters.getOrganizationNumber())), pageable);
+			and(withOrganizationId(parameters.getOrganizationNumber()));
 	}
 }
@@ -1,26 +1,37 @@
 package se.sundsvall.datawarehousereader.integration.stadsbacken;
 
+import static org.springframework.data.domain.PageRequest.of;
+import static se.sundsvall.datawarehousereader.integration.stadsbacken.specification.KeysetSpecification.toKeysetSort;
+import static se.sundsvall.datawarehousereader.integration.stadsbacken.specification.MeasurementElectricityDaySpecification.KEYSET_COLUMNS;
 import static se.sundsvall.datawarehousereader.integration.stadsbacken.specification.MeasurementElectricityDaySpecification.withCustomerOrgId;
+import static se.sundsvall.datawarehousereader.integration.stadsbacken.specification.MeasurementElectricityDaySpecification.withKeysetAfter;
 import static se.sundsvall.datawarehousereader.integration.stadsbacken.specification.MeasurementElectricityDaySpecification.withMeasurementTimestamp;
 import static se.sundsvall.datawarehousereader.integration.stadsbacken.specification.MeasurementElectricityDaySpecification.withfacilityId;
 
 import java.time.LocalDateTime;
-
-import javax.transaction.Transactional;
+import java.util.List;
+import java.util.stream.Stream;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.repository.PagingAndSortingRepository;
+import org.springframework.transaction.annotation.Transactional;
 
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
+import se.sundsvall.datawarehousereader.api.model.measurement.Aggregation;
 import se.sundsvall.datawarehousereader.integration.stadsbacken.model.measurement.MeasurementElectricityDayEntity;
 import se.sundsvall.datawarehousereader.integration.stadsbacken.model.measurement.MeasurementElectricityKey;
+import se.sundsvall.datawarehousereader.integration.stadsbacken.model.measurement.MeasurementRollup;
+import se.sundsvall.datawarehousereader.integration.stadsbacken.support.RollupSpecificationExecutor;
+import se.sundsvall.datawarehousereader.integration.stadsbacken.support.SliceableSpecificationExecutor;
 
-@Transactional
+@Transactional(readOnly = true)
 @CircuitBreaker(name = "measurementElectricityDayRepository")
 public interface MeasurementElectricityDayRepository 
-	extends PagingAndSortingRepository<MeasurementElectricityDayEntity, MeasurementElectricityKey>, JpaSpecificationExecutor<MeasurementElectricityDayEntity> {
+	extends PagingAndSortingRepository<MeasurementElectricityDayEntity, MeasurementElectricityKey>, JpaSpecificationExecutor<MeasurementElectricityDayEntity>, SliceableSpecificationExecutor<MeasurementElectricityDayEntity>, RollupSpecificationExecutor<MeasurementElectricityDayEntity> {
 	
 	default Page<MeasurementElectricityDayEntity> findAllMatching(String customerOrgNumber, String facilityId, LocalDateTime dateTimeFrom, LocalDateTime dateTimeTo, Pageable pageable) {
 		return this.findAll(
@@ -29,4 +40,53 @@ public interface MeasurementElectricityDayRepository
 				and(withMeasurementTimestamp(dateTimeFrom, dateTimeTo))
 			, pageable);
 	}
+
+	default Slice<MeasurementElectricityDayEntity> findAllSlicedMatching(String customerOrgNumber, String facilityId, LocalDateTime dateTimeFrom, LocalDateTime dateTimeTo, Pageable pageable) {
+		return this.findAllSliced(
+			withCustomerOrgId(customerOrgNumber).
+				and(withfacilityId(facilityId)).
+				and(withMeasurementTimestamp(dateTimeFrom, dateTimeTo))
+			, pageable);
+	}
+
+	default Stream<MeasurementElectricityDayEntity> streamAllMatching(String customerOrgNumber, String facilityId, LocalDateTime dateTimeFrom, LocalDateTime dateTimeTo, Sort sort) {
+		return this.streamAll(
+			withCustomerOrgId(customerOrgNumber).
+				and(withfacilityId(facilityId)).
+				and(withMeasurementTimestamp(dateTimeFrom, dateTimeTo))
+			, sort);
+	}
+
+	default List<MeasurementRollup> findAllRolledUpMatching(String customerOrgNumber, String facilityId, LocalDateTime dateTimeFrom, LocalDateTime dateTimeTo, Aggregation aggregation, Sort sort) {
+		return this.findAllRolledUp(
+			withCustomerOrgId(customerOrgNumber).
+				and(withfacilityId(facilityId)).
+				and(withMeasurementTimestamp(dateTimeFrom, dateTimeTo))
+			, aggregation, sort);
+	}
+
+	default Page<MeasurementRollup> findAllRolledUpMatching(String customerOrgNumber, String facilityId, LocalDateTime dateTimeFrom, LocalDateTime dateTimeTo, Aggregation aggregation, Pageable pageable) {
+		return this.findAllRolledUp(
+			withCustomerOrgId(customerOrgNumber).
+				and(withfacilityId(facilityId)).
+				and(withMeasurementTimestamp(dateTimeFrom, dateTimeTo))
+			, aggregation, pageable);
+	}
+
+	default Slice<MeasurementRollup> findAllSlicedRolledUpMatching(String customerOrgNumber, String facilityId, LocalDateTime dateTimeFrom, LocalDateTime dateTimeTo, Aggregation aggregation, Pageable pageable) {
+		return this.findAllSlicedRolledUp(
+			withCustomerOrgId(customerOrgNumber).
+				and(withfacilityId(facilityId)).
+				and(withMeasurementTimestamp(dateTimeFrom, dateTimeTo))
+			, aggregation, pageable);
+	}
+
+	default Slice<MeasurementElectricityDayEntity> findAllMatchingAfter(String customerOrgNumber, String facilityId, LocalDateTime dateTimeFrom, LocalDateTime dateTimeTo, List<Comparable<?>> lastKey, int limit) {
+		return this.findAllSliced(
+			withCustomerOrgId(customerOrgNumber).
+				and(withfacilityId(facilityId)).
+				and(withMeasurementTimestamp(dateTimeFrom, dateTimeTo)).
+				and(withKeysetAfter(lastKey))
+			, of(0, limit, toKeysetSort(KEYSET_COLUMNS)));
+	}
 }
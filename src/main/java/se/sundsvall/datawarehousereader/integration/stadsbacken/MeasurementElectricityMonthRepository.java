@@ -1,26 +1,37 @@
 package se.sundsvall.datawarehousereader.integration.stadsbacken;
 
+import static org.springframework.data.domain.PageRequest.of;
+import static se.sundsvall.datawarehousereader.integration.stadsbacken.specification.KeysetSpecification.toKeysetSort;
+import static se.sundsvall.datawarehousereader.integration.stadsbacken.specification.MeasurementElectricityMonthSpecification.KEYSET_COLUMNS;
 import static se.sundsvall.datawarehousereader.integration.stadsbacken.specification.MeasurementElectricityMonthSpecification.withCustomerOrgId;
+import static se.sundsvall.datawarehousereader.integration.stadsbacken.specification.MeasurementElectricityMonthSpecification.withKeysetAfter;
 import static se.sundsvall.datawarehousereader.integration.stadsbacken.specification.MeasurementElectricityMonthSpecification.withMeasurementTimestamp;
 import static se.sundsvall.datawarehousereader.integration.stadsbacken.specification.MeasurementElectricityMonthSpecification.withfacilityId;
 
 import java.time.LocalDateTime;
-
-import javax.transaction.Transactional;
+import java.util.List;
+import java.util.stream.Stream;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.repository.PagingAndSortingRepository;
+import org.springframework.transaction.annotation.Transactional;
 
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
+import se.sundsvall.datawarehousereader.api.model.measurement.Aggregation;
 import se.sundsvall.datawarehousereader.integration.stadsbacken.model.measurement.MeasurementElectricityKey;
 import se.sundsvall.datawarehousereader.integration.stadsbacken.model.measurement.MeasurementElectricityMonthEntity;
+import se.sundsvall.datawarehousereader.integration.stadsbacken.model.measurement.MeasurementRollup;
+import se.sundsvall.datawarehousereader.integration.stadsbacken.support.RollupSpecificationExecutor;
+import se.sundsvall.datawarehousereader.integration.stadsbacken.support.SliceableSpecificationExecutor;
 
-@Transactional
+@Transactional(readOnly = true)
 @CircuitBreaker(name = "measurementElectricityMonthRepository")
 public interface MeasurementElectricityMonthRepository 
-	extends PagingAndSortingRepository<MeasurementElectricityMonthEntity, MeasurementElectricityKey>, JpaSpecificationExecutor<MeasurementElectricityMonthEntity> {
+	extends PagingAndSortingRepository<MeasurementElectricityMonthEntity, MeasurementElectricityKey>, JpaSpecificationExecutor<MeasurementElectricityMonthEntity>, SliceableSpecificationExecutor<MeasurementElectricityMonthEntity>, RollupSpecificationExecutor<MeasurementElectricityMonthEntity> {
 	
 	default Page<MeasurementElectricityMonthEntity> findAllMatching(String customerOrgNumber, String facilityId, LocalDateTime dateTimeFrom, LocalDateTime dateTimeTo, Pageable pageable) {
 		return this.findAll(
@@ -29,4 +40,53 @@ public interface MeasurementElectricityMonthRepository
 				and(withMeasurementTimestamp(dateTimeFrom, dateTimeTo))
 			, pageable);
 	}
+
+	default Slice<MeasurementElectricityMonthEntity> findAllSlicedMatching(String customerOrgNumber, String facilityId, LocalDateTime dateTimeFrom, LocalDateTime dateTimeTo, Pageable pageable) {
+		return this.findAllSliced(
+			withCustomerOrgId(customerOrgNumber).
+				and(withfacilityId(facilityId)).
+				and(withMeasurementTimestamp(dateTimeFrom, dateTimeTo))
+			, pageable);
+	}
+
+	default Stream<MeasurementElectricityMonthEntity> streamAllMatching(String customerOrgNumber, String facilityId, LocalDateTime dateTimeFrom, LocalDateTime dateTimeTo, Sort sort) {
+		return this.streamAll(
+			withCustomerOrgId(customerOrgNumber).
+				and(withfacilityId(facilityId)).
+				and(withMeasurementTimestamp(dateTimeFrom, dateTimeTo))
+			, sort);
+	}
+
+	default List<MeasurementRollup> findAllRolledUpMatching(String customerOrgNumber, String facilityId, LocalDateTime dateTimeFrom, LocalDateTime dateTimeTo, Aggregation aggregation, Sort sort) {
+		return this.findAllRolledUp(
+			withCustomerOrgId(customerOrgNumber).
+				and(withfacilityId(facilityId)).
+				and(withMeasurementTimestamp(dateTimeFrom, dateTimeTo))
+			, aggregation, sort);
+	}
+
+	default Page<MeasurementRollup> findAllRolledUpMatching(String customerOrgNumber, String facilityId, LocalDateTime dateTimeFrom, LocalDateTime dateTimeTo, Aggregation aggregation, Pageable pageable) {
+		return this.findAllRolledUp(
+			withCustomerOrgId(customerOrgNumber).
+				and(withfacilityId(facilityId)).
+				and(withMeasurementTimestamp(dateTimeFrom, dateTimeTo))
+			, aggregation, pageable);
+	}
+
+	default Slice<MeasurementRollup> findAllSlicedRolledUpMatching(String customerOrgNumber, String facilityId, LocalDateTime dateTimeFrom, LocalDateTime dateTimeTo, Aggregation aggregation, Pageable pageable) {
+		return this.findAllSlicedRolledUp(
+			withCustomerOrgId(customerOrgNumber).
+				and(withfacilityId(facilityId)).
+				and(withMeasurementTimestamp(dateTimeFrom, dateTimeTo))
+			, aggregation, pageable);
+	}
+
+	default Slice<MeasurementElectricityMonthEntity> findAllMatchingAfter(String customerOrgNumber, String facilityId, LocalDateTime dateTimeFrom, LocalDateTime dateTimeTo, List<Comparable<?>> lastKey, int limit) {
+		return this.findAllSliced(
+			withCustomerOrgId(customerOrgNumber).
+				and(withfacilityId(facilityId)).
+				and(withMeasurementTimestamp(dateTimeFrom, dateTimeTo)).
+				and(withKeysetAfter(lastKey))
+			, of(0, limit, toKeysetSort(KEYSET_COLUMNS)));
+	}
 }
@@ -0,0 +1,312 @@
+package se.sundsvall.datawarehousereader.integration.stadsbacken;
+
+import static java.lang.String.format;
+import static java.util.Optional.ofNullable;
+import static org.zalando.problem.Status.BAD_REQUEST;
+import static se.sundsvall.datawarehousereader.Constants.INVALID_PARAMETER_SORT;
+import static se.sundsvall.dept44.util.DateUtils.toOffsetDateTimeWithLocalOffset;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+
+import javax.annotation.PostConstruct;
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.zalando.problem.Problem;
+
+import com.microsoft.sqlserver.jdbc.ISQLServerStatement;
+
+import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import se.sundsvall.datawarehousereader.api.model.measurement.Measurement;
+import se.sundsvall.datawarehousereader.api.model.measurement.MeasurementMetaData;
+import se.sundsvall.datawarehousereader.integration.stadsbacken.configuration.QueryTuningProperties;
+import se.sundsvall.datawarehousereader.integration.stadsbacken.configuration.QueryTuningProperties.QueryTuning;
+import se.sundsvall.datawarehousereader.integration.stadsbacken.model.measurement.MeasurementView;
+import se.sundsvall.datawarehousereader.integration.stadsbacken.model.measurement.MeasurementView.MetaDataColumn;
+import se.sundsvall.datawarehousereader.integration.stadsbacken.support.QueryMetrics;
+
+/**
+ * Reads measurements from the measurement views with plain prepared statements, mapping each row straight into the
+ * response model instead of through an entity. Offers the same filtering, sorting and paging as the findAllMatching,
+ * findAllSlicedMatching and streamAllMatching methods of the measurement JPA repositories, which it is an alternative
+ * to for the reads selected by MeasurementReaderSelector. Each read is timed as metric
+ * datawarehousereader.measurement.jdbc.read, tagged with view and operation, and its rows and heap allocated are
+ * recorded through QueryMetrics under repository name measurementJdbcRepository. Pages and streams are read with the
+ * fetch sizes of the query tuning of the repository, streams with adaptive response buffering if so tuned.
+ */
+@Repository
+@CircuitBreaker(name = "measurementJdbcRepository")
+public class MeasurementJdbcRepository {
+
+	static final String MEASUREMENT_JDBC_READ_METRIC = "datawarehousereader.measurement.jdbc.read";
+
+	private static final String REPOSITORY_NAME = "measurementJdbcRepository";
+	private static final int DEFAULT_FETCH_SIZE = 1000;
+
+	// Properties that measurements of all views can be sorted on, selected under the same names
+	private static final Set<String> SORTABLE_PROPERTIES = Set.of("customerOrgId", "uuid", "facilityId", "feedType", "interpolation", "measurementTimestamp", "unit", "usage");
+
+	@Autowired
+	private DataSource dataSource;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Autowired
+	private QueryTuningProperties queryTuningProperties;
+
+	private NamedParameterJdbcTemplate jdbcTemplate;
+
+	private NamedParameterJdbcTemplate streamJdbcTemplate;
+
+	private QueryMetrics queryMetrics;
+
+	@PostConstruct
+	void initialize() {
+		final var tuning = ofNullable(queryTuningProperties.forRepository(REPOSITORY_NAME));
+		jdbcTemplate = new NamedParameterJdbcTemplate(createJdbcTemplate(
+			tuning.map(QueryTuning::fetchSize).orElse(DEFAULT_FETCH_SIZE), false));
+		streamJdbcTemplate = new NamedParameterJdbcTemplate(createJdbcTemplate(
+			tuning.map(QueryTuning::streamFetchSize).orElse(DEFAULT_FETCH_SIZE), tuning.map(QueryTuning::streamAdaptiveBuffering).orElse(false)));
+		queryMetrics = new QueryMetrics(meterRegistry);
+	}
+
+	/**
+	 * Returns a page of measurements matching the filters, together with the total number of matches
+	 * @param view            the view to read from
+	 * @param customerOrgId   the customer to read measurements for, or null for all customers
+	 * @param facilityId      the facility to read measurements for, or null for all facilities
+	 * @param dateTimeFrom    the earliest timestamp to include, or null for no lower bound
+	 * @param dateTimeTo      the latest timestamp to include, or null for no upper bound
+	 * @param pageable        page and sort to read
+	 * @param decorator       applied to each measurement after it is read
+	 * @return page of measurements
+	 * @throws org.zalando.problem.ThrowableProblem with status BAD_REQUEST if sorting on a property that measurements
+	 *                                             can not be sorted on
+	 */
+	public Page<Measurement> findAllMatching(MeasurementView view, String customerOrgId, String facilityId, LocalDateTime dateTimeFrom, LocalDateTime dateTimeTo, Pageable pageable, UnaryOperator<Measurement> decorator) {
+		return timed(view, "page", () -> recorded("findAllMatching", () -> {
+			final var parameters = new MapSqlParameterSource();
+			final var where = toWhereClause(view, customerOrgId, facilityId, dateTimeFrom, dateTimeTo, parameters);
+			final var content = jdbcTemplate.query(toSelect(view, where, pageable.getSort()) + toPaging(pageable, pageable.isPaged() ? pageable.getPageSize() : 0, parameters), parameters, toRowMapper(view, decorator));
+
+			return PageableExecutionUtils.getPage(content, pageable, () -> ofNullable(jdbcTemplate.queryForObject("select count(*) from " + view.getTable() + where, parameters, Long.class)).orElse(0L));
+		}));
+	}
+
+	/**
+	 * Returns a slice of measurements matching the filters, without counting the total number of matches
+	 * @param view            the view to read from
+	 * @param customerOrgId   the customer to read measurements for, or null for all customers
+	 * @param facilityId      the facility to read measurements for, or null for all facilities
+	 * @param dateTimeFrom    the earliest timestamp to include, or null for no lower bound
+	 * @param dateTimeTo      the latest timestamp to include, or null for no upper bound
+	 * @param pageable        page and sort to read
+	 * @param decorator       applied to each measurement after it is read
+	 * @return slice of measurements
+	 * @throws org.zalando.problem.ThrowableProblem with status BAD_REQUEST if sorting on a property that measurements
+	 *                                             can not be sorted on
+	 */
+	public Slice<Measurement> findAllSlicedMatching(MeasurementView view, String customerOrgId, String facilityId, LocalDateTime dateTimeFrom, LocalDateTime dateTimeTo, Pageable pageable, UnaryOperator<Measurement> decorator) {
+		return timed(view, "slice", () -> recorded("findAllSlicedMatching", () -> {
+			final var parameters = new MapSqlParameterSource();
+			final var where = toWhereClause(view, customerOrgId, facilityId, dateTimeFrom, dateTimeTo, parameters);
+			if (pageable.isUnpaged()) {
+				return new SliceImpl<>(jdbcTemplate.query(toSelect(view, where, pageable.getSort()), parameters, toRowMapper(view, decorator)));
+			}
+
+			// One extra row is read to find out if there is a next slice
+			final var content = new ArrayList<>(jdbcTemplate.query(toSelect(view, where, pageable.getSort()) + toPaging(pageable, pageable.getPageSize() + 1, parameters), parameters, toRowMapper(view, decorator)));
+			final var hasNext = content.size() > pageable.getPageSize();
+			return new SliceImpl<>(hasNext ? content.subList(0, pageable.getPageSize()) : content, pageable, hasNext);
+		}));
+	}
+
+	/**
+	 * Reads all measurements matching the filters, passing each measurement to the consumer as it is read
+	 * @param view            the view to read from
+	 * @param customerOrgId   the customer to read measurements for, or null for all customers
+	 * @param facilityId      the facility to read measurements for, or null for all facilities
+	 * @param dateTimeFrom    the earliest timestamp to include, or null for no lower bound
+	 * @param dateTimeTo      the latest timestamp to include, or null for no upper bound
+	 * @param sort            order to read measurements in
+	 * @param decorator       applied to each measurement after it is read
+	 * @param consumer        consumer of the read measurements
+	 * @throws org.zalando.problem.ThrowableProblem with status BAD_REQUEST if sorting on a property that measurements
+	 *                                             can not be sorted on
+	 */
+	public void streamAllMatching(MeasurementView view, String customerOrgId, String facilityId, LocalDateTime dateTimeFrom, LocalDateTime dateTimeTo, Sort sort, UnaryOperator<Measurement> decorator, Consumer<Measurement> consumer) {
+		timed(view, "stream", () -> {
+			final var parameters = new MapSqlParameterSource();
+			final var rowMapper = toRowMapper(view, decorator);
+			final var rows = new AtomicLong();
+			final RowCallbackHandler handler = resultSet -> {
+				consumer.accept(rowMapper.mapRow(resultSet, 0));
+				rows.incrementAndGet();
+			};
+			streamJdbcTemplate.query(toSelect(view, toWhereClause(view, customerOrgId, facilityId, dateTimeFrom, dateTimeTo, parameters), sort), parameters, handler);
+
+			// Allocation of a stream includes the work of the consumer, so only rows are recorded
+			queryMetrics.recordRows(REPOSITORY_NAME, "streamAllMatching", rows.get());
+			return null;
+		});
+	}
+
+	private <T> T timed(MeasurementView view, String operation, Supplier<T> read) {
+		final var sample = Timer.start(meterRegistry);
+		try {
+			return read.get();
+		} finally {
+			sample.stop(meterRegistry.timer(MEASUREMENT_JDBC_READ_METRIC, "view", view.name(), "operation", operation));
+		}
+	}
+
+	private <T> T recorded(String method, Supplier<T> read) {
+		final var allocatedBefore = queryMetrics.allocatedBytes();
+		final var result = read.get();
+		queryMetrics.record(REPOSITORY_NAME, method, allocatedBefore, result);
+		return result;
+	}
+
+	private JdbcTemplate createJdbcTemplate(int fetchSize, boolean adaptiveBuffering) {
+		final var template = new JdbcTemplate(dataSource) {
+			@Override
+			protected void applyStatementSettings(Statement statement) throws SQLException {
+				super.applyStatementSettings(statement);
+				if (adaptiveBuffering && statement.isWrapperFor(ISQLServerStatement.class)) {
+					statement.unwrap(ISQLServerStatement.class).setResponseBuffering("adaptive");
+				}
+			}
+		};
+		template.setFetchSize(fetchSize);
+		return template;
+	}
+
+	private static String toSelect(MeasurementView view, String where, Sort sort) {
+		final var select = new StringBuilder("select customerorgid as customerOrgId, uuid, facilityId, feedType, isInterpolted as interpolation, ")
+			.append(view.getTimestampColumn()).append(" as measurementTimestamp, unit, usage");
+		view.getMetaDataColumns().forEach(column -> select.append(", ").append(column.column()));
+
+		return select.append(" from ").append(view.getTable()).append(where).append(toOrderBy(view, sort)).toString();
+	}
+
+	private static String toWhereClause(MeasurementView view, String customerOrgId, String facilityId, LocalDateTime dateTimeFrom, LocalDateTime dateTimeTo, MapSqlParameterSource parameters) {
+		final List<String> conditions = new ArrayList<>();
+		if (customerOrgId != null) {
+			conditions.add("customerorgid = :customerOrgId");
+			parameters.addValue("customerOrgId", customerOrgId);
+		}
+		if (facilityId != null) {
+			conditions.add("facilityId = :facilityId");
+			parameters.addValue("facilityId", facilityId);
+		}
+		if (dateTimeFrom != null) {
+			conditions.add(view.getTimestampColumn() + " >= :dateTimeFrom");
+			parameters.addValue("dateTimeFrom", Timestamp.valueOf(dateTimeFrom));
+		}
+		if (dateTimeTo != null) {
+			conditions.add(view.getTimestampColumn() + " <= :dateTimeTo");
+			parameters.addValue("dateTimeTo", Timestamp.valueOf(dateTimeTo));
+		}
+
+		return conditions.isEmpty() ? "" : conditions.stream().collect(Collectors.joining(" and ", " where ", ""));
+	}
+
+	private static String toOrderBy(MeasurementView view, Sort sort) {
+		if (sort.isUnsorted()) {
+			return "";
+		}
+
+		return sort.stream()
+			.map(order -> toSortColumn(view, order.getProperty()) + (order.isAscending() ? " asc" : " desc"))
+			.collect(Collectors.joining(", ", " order by ", ""));
+	}
+
+	/**
+	 * Sorted properties are checked against the selectable properties of the view, as they are written into the
+	 * statement. Metadata properties are sorted on by the column they are read from, under the same key as the
+	 * corresponding property of the entity of the view.
+	 */
+	private static String toSortColumn(MeasurementView view, String property) {
+		if (SORTABLE_PROPERTIES.contains(property)) {
+			return property;
+		}
+
+		return view.getMetaDataColumns().stream()
+			.filter(column -> column.key().equals(property))
+			.map(MetaDataColumn::column)
+			.findFirst()
+			.orElseThrow(() -> Problem.valueOf(BAD_REQUEST, format(INVALID_PARAMETER_SORT, property)));
+	}
+
+	/**
+	 * SQL Server requires an order by clause to use offset and fetch, an unsorted page is read in undefined order
+	 */
+	private static String toPaging(Pageable pageable, int limit, MapSqlParameterSource parameters) {
+		if (pageable.isUnpaged()) {
+			return "";
+		}
+
+		parameters.addValue("offset", pageable.getOffset());
+		parameters.addValue("limit", limit);
+		return (pageable.getSort().isUnsorted() ? " order by (select null)" : "") + " offset :offset rows fetch next :limit rows only";
+	}
+
+	private static RowMapper<Measurement> toRowMapper(MeasurementView view, UnaryOperator<Measurement> decorator) {
+		return (resultSet, rowNumber) -> {
+			final var measurement = Measurement.create()
+				.withUnit(resultSet.getString("unit"))
+				.withMeasurementType(resultSet.getString("feedType"))
+				.withFacilityId(resultSet.getString("facilityId"))
+				.withPartyId(resultSet.getString("uuid"))
+				.withInterpolation(resultSet.getObject("interpolation", Integer.class))
+				.withValue(resultSet.getBigDecimal("usage"))
+				.withTimestamp(toOffsetDateTimeWithLocalOffset(toLocalDateTime(resultSet.getTimestamp("measurementTimestamp"))));
+
+			if (!view.getMetaDataColumns().isEmpty()) {
+				final List<MeasurementMetaData> metaData = new ArrayList<>(view.getMetaDataColumns().size());
+				for (final var column : view.getMetaDataColumns()) {
+					metaData.add(MeasurementMetaData.create().withKey(column.key()).withValue(getIntegerAsString(resultSet, column.column())));
+				}
+				measurement.withMetaData(metaData);
+			}
+
+			return decorator.apply(measurement);
+		};
+	}
+
+	private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+		return ofNullable(timestamp).map(Timestamp::toLocalDateTime).orElse(null);
+	}
+
+	private static String getIntegerAsString(ResultSet resultSet, String column) throws SQLException {
+		final var value = resultSet.getInt(column);
+		return resultSet.wasNull() ? null : String.valueOf(value);
+	}
+}
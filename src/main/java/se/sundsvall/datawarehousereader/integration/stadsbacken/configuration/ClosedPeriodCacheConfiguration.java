@@ -0,0 +1,31 @@
+package se.sundsvall.datawarehousereader.integration.stadsbacken.configuration;
+
+import java.util.List;
+
+import org.springframework.boot.autoconfigure.cache.CacheManagerCustomizer;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Configuration of the cache holding measurements of closed months. The cache is bounded on the number of cached
+ * measurement rows, as opposed to the number of entries, since an entry holds all rows of a month for a customer or
+ * facility.
+ */
+@Configuration
+public class ClosedPeriodCacheConfiguration {
+
+	public static final String CLOSED_PERIODS_CACHE = "closedMeasurementPeriods";
+
+	@Bean
+	CacheManagerCustomizer<CaffeineCacheManager> closedPeriodsCacheCustomizer(ClosedPeriodCacheProperties properties) {
+		return cacheManager -> cacheManager.registerCustomCache(CLOSED_PERIODS_CACHE, Caffeine.newBuilder()
+			.expireAfterWrite(properties.timeToLive())
+			.maximumWeight(properties.maximumRows())
+			.weigher((key, value) -> value instanceof List<?> rows ? Math.max(1, rows.size()) : 1)
+			.recordStats()
+			.build());
+	}
+}
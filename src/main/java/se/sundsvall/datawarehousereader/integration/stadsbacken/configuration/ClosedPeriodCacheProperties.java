@@ -0,0 +1,9 @@
+package se.sundsvall.datawarehousereader.integration.stadsbacken.configuration;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties("integration.stadsbacken.closed-period-cache")
+public record ClosedPeriodCacheProperties(Duration timeToLive, long maximumRows, int maximumRowsPerRequest) {
+}
@@ -0,0 +1,58 @@
+package se.sundsvall.datawarehousereader.integration.stadsbacken.configuration;
+
+import java.util.Map;
+
+import org.hibernate.boot.MetadataBuilder;
+import org.hibernate.boot.spi.MetadataBuilderContributor;
+import org.hibernate.dialect.function.SQLFunctionTemplate;
+import org.hibernate.type.LocalDateTimeType;
+import org.hibernate.type.LongType;
+
+import se.sundsvall.datawarehousereader.api.model.measurement.Aggregation;
+
+/**
+ * Registers SQL Server functions used when rolling up measurements into buckets. Each bucket function truncates a
+ * timestamp to the start of the bucket it belongs to, which makes it possible to group on the bucket in
+ * criteria queries. The rollup count function counts the groups of a grouped query, returned on every row of it.
+ * Registered through property spring.jpa.properties.hibernate.metadata_builder_contributor.
+ */
+public class MeasurementFunctionContributor implements MetadataBuilderContributor {
+
+	public static final String DAY_START = "day_start";
+	public static final String WEEK_START = "week_start";
+	public static final String MONTH_START = "month_start";
+	public static final String QUARTER_START = "quarter_start";
+	public static final String YEAR_START = "year_start";
+	public static final String ROLLUP_COUNT = "rollup_count";
+
+	// Week start is calculated to monday regardless of the DATEFIRST setting of the session
+	private static final Map<String, String> TEMPLATES = Map.of(
+		DAY_START, "CAST(CAST(?1 AS date) AS datetime)",
+		WEEK_START, "CAST(DATEADD(day, -((DATEPART(weekday, ?1) + @@DATEFIRST + 5) % 7), CAST(?1 AS date)) AS datetime)",
+		MONTH_START, "CAST(DATEFROMPARTS(YEAR(?1), MONTH(?1), 1) AS datetime)",
+		QUARTER_START, "CAST(DATEFROMPARTS(YEAR(?1), (DATEPART(quarter, ?1) - 1) * 3 + 1, 1) AS datetime)",
+		YEAR_START, "CAST(DATEFROMPARTS(YEAR(?1), 1, 1) AS datetime)");
+
+	@Override
+	public void contribute(MetadataBuilder metadataBuilder) {
+		TEMPLATES.forEach((name, template) -> metadataBuilder.applySqlFunction(name, new SQLFunctionTemplate(LocalDateTimeType.INSTANCE, template)));
+		metadataBuilder.applySqlFunction(ROLLUP_COUNT, new SQLFunctionTemplate(LongType.INSTANCE, "COUNT(*) OVER ()"));
+	}
+
+	/**
+	 * Returns name of function that truncates a timestamp to the start of the bucket for sent in aggregation
+	 * @param aggregation the aggregation to get bucket function for
+	 * @return name of registered function
+	 * @throws IllegalArgumentException if aggregation has no corresponding bucket function
+	 */
+	public static String toBucketFunction(Aggregation aggregation) {
+		return switch (aggregation) {
+			case DAY -> DAY_START;
+			case WEEK -> WEEK_START;
+			case MONTH -> MONTH_START;
+			case QUARTER -> QUARTER_START;
+			case YEAR -> YEAR_START;
+			default -> throw new IllegalArgumentException("No bucket function exists for aggregation " + aggregation);
+		};
+	}
+}
@@ -0,0 +1,7 @@
+package se.sundsvall.datawarehousereader.integration.stadsbacken.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties("integration.stadsbacken.measurement-reader")
+public record MeasurementReaderProperties(double jdbcShare) {
+}
@@ -0,0 +1,38 @@
+package se.sundsvall.datawarehousereader.integration.stadsbacken.configuration;
+
+import static java.util.Optional.ofNullable;
+
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties("integration.stadsbacken.query-tuning")
+public record QueryTuningProperties(QueryTuning defaults, Map<String, QueryTuning> repositories) {
+
+	/**
+	 * @param fetchSize               rows per round trip for page and slice queries
+	 * @param streamFetchSize         rows per round trip for streamed queries
+	 * @param streamAdaptiveBuffering if streamed queries read rows from the server as they are consumed instead of
+	 *                                buffering the full response in the driver (only where the statement is created
+	 *                                by the application, JPA queries follow the responseBuffering of the connection)
+	 */
+	public record QueryTuning(Integer fetchSize, Integer streamFetchSize, Boolean streamAdaptiveBuffering) {
+	}
+
+	/**
+	 * Returns the tuning of a repository, where settings not given for the repository are taken from the defaults
+	 * @param repository name of the repository, the repository interface or class name starting in lower case
+	 * @return tuning for the repository
+	 */
+	public QueryTuning forRepository(String repository) {
+		final var tuning = ofNullable(repositories).map(map -> map.get(repository)).orElse(null);
+		if (tuning == null) {
+			return defaults;
+		}
+
+		return new QueryTuning(
+			ofNullable(tuning.fetchSize()).orElseGet(() -> ofNullable(defaults).map(QueryTuning::fetchSize).orElse(null)),
+			ofNullable(tuning.streamFetchSize()).orElseGet(() -> ofNullable(defaults).map(QueryTuning::streamFetchSize).orElse(null)),
+			ofNullable(tuning.streamAdaptiveBuffering()).orElseGet(() -> ofNullable(defaults).map(QueryTuning::streamAdaptiveBuffering).orElse(null)));
+	}
+}
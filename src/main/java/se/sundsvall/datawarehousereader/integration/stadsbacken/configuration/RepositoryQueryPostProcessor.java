@@ -0,0 +1,65 @@
+package se.sundsvall.datawarehousereader.integration.stadsbacken.configuration;
+
+import static org.springframework.util.StringUtils.uncapitalize;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.repository.core.RepositoryInformation;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import se.sundsvall.datawarehousereader.integration.stadsbacken.support.QueryMetrics;
+import se.sundsvall.datawarehousereader.integration.stadsbacken.support.SliceableJpaRepository;
+
+/**
+ * Sets the query tuning of each repository on its SliceableJpaRepository, and records rows and heap allocated per
+ * query method through QueryMetrics. Repositories are named as their interface starting in lower case, the same
+ * names as their circuit breakers. Default methods are not recorded themselves, as the query methods they call are.
+ */
+@Component
+public class RepositoryQueryPostProcessor implements BeanPostProcessor {
+
+	// Resolved when the repositories are created, to not initialize them early as dependencies of a post processor
+	@Autowired
+	private ObjectProvider<QueryTuningProperties> properties;
+
+	@Autowired
+	private ObjectProvider<MeterRegistry> meterRegistry;
+
+	@Override
+	public Object postProcessBeforeInitialization(Object bean, String beanName) {
+		if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+			factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(this::postProcess));
+		}
+		return bean;
+	}
+
+	void postProcess(ProxyFactory proxyFactory, RepositoryInformation repositoryInformation) {
+		final var repository = uncapitalize(repositoryInformation.getRepositoryInterface().getSimpleName());
+		if (getTarget(proxyFactory) instanceof SliceableJpaRepository<?, ?> sliceableRepository) {
+			sliceableRepository.setQueryTuning(properties.getObject().forRepository(repository));
+		}
+
+		final var queryMetrics = new QueryMetrics(meterRegistry.getObject());
+		proxyFactory.addAdvice((MethodInterceptor) invocation -> {
+			if (invocation.getMethod().isDefault()) {
+				return invocation.proceed();
+			}
+
+			final var allocatedBefore = queryMetrics.allocatedBytes();
+			return queryMetrics.record(repository, invocation.getMethod().getName(), allocatedBefore, invocation.proceed());
+		});
+	}
+
+	private static Object getTarget(ProxyFactory proxyFactory) {
+		try {
+			return proxyFactory.getTargetSource().getTarget();
+		} catch (final Exception e) {
+			throw new IllegalStateException("Repository target could not be resolved", e);
+		}
+	}
+}
@@ -0,0 +1,12 @@
+package se.sundsvall.datawarehousereader.integration.stadsbacken.configuration;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+import se.sundsvall.datawarehousereader.integration.stadsbacken.AgreementRepository;
+import se.sundsvall.datawarehousereader.integration.stadsbacken.support.SliceableJpaRepository;
+
+@Configuration
+@EnableJpaRepositories(basePackageClasses = AgreementRepository.class, repositoryBaseClass = SliceableJpaRepository.class)
+public class StadsbackenConfiguration {
+}
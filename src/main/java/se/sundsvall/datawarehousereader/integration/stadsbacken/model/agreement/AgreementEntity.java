@@ -9,7 +9,10 @@ import javax.persistence.Id;
 import javax.persistence.IdClass;
 import javax.persistence.Table;
 
+import org.hibernate.annotations.Immutable;
+
 @Entity
+@Immutable
 @Table(schema = "kundinfo", name = "vAgreements")
 @IdClass(AgreementKey.class)
 public class AgreementEntity {
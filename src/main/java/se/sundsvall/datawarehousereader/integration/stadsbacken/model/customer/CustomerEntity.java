@@ -8,7 +8,10 @@ import javax.persistence.Id;
 import javax.persistence.IdClass;
 import javax.persistence.Table;
 
+import org.hibernate.annotations.Immutable;
+
 @Entity
+@Immutable
 @Table(schema = "kundinfo", name = "vCustomer")
 @IdClass(CustomerKey.class)
 public class CustomerEntity {
@@ -0,0 +1,11 @@
+package se.sundsvall.datawarehousereader.integration.stadsbacken.model.customer;
+
+/**
+ * Projection of a distinct customerorgid and customertype pair in vCustomer
+ */
+public interface CustomerOrgId {
+
+	String getCustomerOrgId();
+
+	String getCustomerType();
+}
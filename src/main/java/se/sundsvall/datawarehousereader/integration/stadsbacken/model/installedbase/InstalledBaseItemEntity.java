@@ -14,7 +14,10 @@ import javax.persistence.Id;
 import javax.persistence.JoinColumn;
 import javax.persistence.Table;
 
+import org.hibernate.annotations.Immutable;
+
 @Entity
+@Immutable
 @Table(schema = "kundinfo", name = "vInstalledBase")
 public class InstalledBaseItemEntity {
 	
@@ -55,7 +58,9 @@ public class InstalledBaseItemEntity {
 	@Column(name = "DateTo", insertable = false, updatable = false, columnDefinition = "datetime")
 	private LocalDate dateTo;
 
-	@ElementCollection(fetch = FetchType.EAGER)
+	// Loaded for a page of items at a time through InstalledBaseRepository.findMetaDataByInternalIds
+	@ElementCollection(fetch = FetchType.LAZY)
+	@Immutable
 	@CollectionTable(schema = "kundinfo", name = "vInstalledBaseMetadata", 
 		joinColumns = @JoinColumn(name = "internalId"), 
 		foreignKey = @ForeignKey(name = "fk_installed_base_metadata_installed_base"))
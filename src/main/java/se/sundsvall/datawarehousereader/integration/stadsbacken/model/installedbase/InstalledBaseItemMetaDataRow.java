@@ -0,0 +1,20 @@
+package se.sundsvall.datawarehousereader.integration.stadsbacken.model.installedbase;
+
+/**
+ * Projection of a metadata post in vInstalledBaseMetadata, together with the internalId of the installed base item it
+ * belongs to
+ */
+public interface InstalledBaseItemMetaDataRow {
+
+	Integer getInternalId();
+
+	String getCompany();
+
+	String getKey();
+
+	String getValue();
+
+	String getType();
+
+	String getDisplayName();
+}
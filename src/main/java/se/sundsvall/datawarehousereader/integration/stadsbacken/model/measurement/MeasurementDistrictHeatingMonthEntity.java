@@ -10,7 +10,10 @@ import javax.persistence.Id;
 import javax.persistence.IdClass;
 import javax.persistence.Table;
 
+import org.hibernate.annotations.Immutable;
+
 @Entity
+@Immutable
 @Table(schema = "kundinfo", name = "vMeasurementDistrictHeatingMonth")
 @IdClass(MeasurementDistrictHeatingKey.class)
 public class MeasurementDistrictHeatingMonthEntity implements DefaultMeasurementAttributesInterface {
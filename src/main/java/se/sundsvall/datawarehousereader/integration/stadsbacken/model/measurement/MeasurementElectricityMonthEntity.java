@@ -10,7 +10,10 @@ import javax.persistence.Id;
 import javax.persistence.IdClass;
 import javax.persistence.Table;
 
+import org.hibernate.annotations.Immutable;
+
 @Entity
+@Immutable
 @Table(schema = "kundinfo", name = "vMeasurementElectricityMonth")
 @IdClass(MeasurementElectricityKey.class)
 public class MeasurementElectricityMonthEntity implements DefaultMeasurementAttributesInterface {
@@ -0,0 +1,167 @@
+package se.sundsvall.datawarehousereader.integration.stadsbacken.model.measurement;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Measurement rolled up into a bucket (for example a week, quarter or year) by the database. Timestamp holds
+ * the start of the bucket, usage the sum of the usage within the bucket and interpolation is set if any of the
+ * rolled up measurements is interpolated. Customer and uuid are not part of the rollup and are hence not set.
+ */
+public class MeasurementRollup implements DefaultMeasurementAttributesInterface {
+
+	private String customerOrgId;
+
+	private String uuid;
+
+	private String facilityId;
+
+	private String feedType;
+
+	private Integer interpolation;
+
+	private LocalDateTime measurementTimestamp;
+
+	private String unit;
+
+	private BigDecimal usage;
+
+	public static MeasurementRollup create() {
+		return new MeasurementRollup();
+	}
+	
+	public String getCustomerOrgId() {
+		return customerOrgId;
+	}
+
+	public void setCustomerOrgId(String customerOrgId) {
+		this.customerOrgId = customerOrgId;
+	}
+
+	public MeasurementRollup withCustomerOrgId(String customerOrgId) {
+		this.customerOrgId = customerOrgId;
+		return this;
+	}
+
+	public String getUuid() {
+		return uuid;
+	}
+
+	public void setUuid(String uuid) {
+		this.uuid = uuid;
+	}
+
+	public MeasurementRollup withUuid(String uuid) {
+		this.uuid = uuid;
+		return this;
+	}
+
+	public String getFacilityId() {
+		return facilityId;
+	}
+
+	public void setFacilityId(String facilityId) {
+		this.facilityId = facilityId;
+	}
+
+	public MeasurementRollup withFacilityId(String facilityId) {
+		this.facilityId = facilityId;
+		return this;
+	}
+
+	public String getFeedType() {
+		return feedType;
+	}
+
+	public void setFeedType(String feedType) {
+		this.feedType = feedType;
+	}
+
+	public MeasurementRollup withFeedType(String feedType) {
+		this.feedType = feedType;
+		return this;
+	}
+
+	public Integer getInterpolation() {
+		return interpolation;
+	}
+
+	public void setInterpolation(Integer interpolatation) {
+		this.interpolation = interpolatation;
+	}
+
+	public MeasurementRollup withInterpolation(Integer interpolation) {
+		this.interpolation = interpolation;
+		return this;
+	}
+
+	public LocalDateTime getMeasurementTimestamp() {
+		return measurementTimestamp;
+	}
+
+	public void setMeasurementTimestamp(LocalDateTime measurementTimestamp) {
+		this.measurementTimestamp = measurementTimestamp;
+	}
+
+	public MeasurementRollup withMeasurementTimestamp(LocalDateTime measurementTimestamp) {
+		this.measurementTimestamp = measurementTimestamp;
+		return this;
+	}
+
+	public String getUnit() {
+		return unit;
+	}
+
+	public void setUnit(String unit) {
+		this.unit = unit;
+	}
+
+	public MeasurementRollup withUnit(String unit) {
+		this.unit = unit;
+		return this;
+	}
+
+	public BigDecimal getUsage() {
+		return usage;
+	}
+
+	public void setUsage(BigDecimal usage) {
+		this.usage = usage;
+	}
+
+	public MeasurementRollup withUsage(BigDecimal usage) {
+		this.usage = usage;
+		return this;
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(customerOrgId, facilityId, feedType, interpolation, measurementTimestamp, unit, usage, uuid);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		MeasurementRollup other = (MeasurementRollup) obj;
+		return Objects.equals(customerOrgId, other.customerOrgId) && Objects.equals(facilityId, other.facilityId)
+				&& Objects.equals(feedType, other.feedType) && Objects.equals(interpolation, other.interpolation)
+				&& Objects.equals(measurementTimestamp, other.measurementTimestamp) && Objects.equals(unit, other.unit)
+				&& Objects.equals(usage, other.usage) && Objects.equals(uuid, other.uuid);
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder();
+		builder.append("MeasurementRollup [customerOrgId=").append(customerOrgId).append(", uuid=")
+				.append(uuid).append(", facilityId=").append(facilityId).append(", feedType=").append(feedType)
+				.append(", interpolation=").append(interpolation).append(", measurementTimestamp=")
+				.append(measurementTimestamp).append(", unit=").append(unit).append(", usage=").append(usage).append("]");
+		return builder.toString();
+	}
+}
@@ -0,0 +1,39 @@
+package se.sundsvall.datawarehousereader.integration.stadsbacken.model.measurement;
+
+import java.util.List;
+
+/**
+ * Measurement views read by MeasurementJdbcRepository, with the columns that differ between them. Metadata columns
+ * are returned as metadata of each measurement, keyed and ordered as listed.
+ */
+public enum MeasurementView {
+	ELECTRICITY_DAY("kundinfo.vMeasurementElectricityDay", "Date", List.of()),
+	ELECTRICITY_MONTH("kundinfo.vMeasurementElectricityMonth", "DateFrom", List.of()),
+	DISTRICT_HEATING_MONTH("kundinfo.vMeasurementDistrictHeatingMonth", "DateAndTime", List.of(
+		new MetaDataColumn("readingSequence", "READING_SEQ"),
+		new MetaDataColumn("feedTypeId", "FeedTypeID")));
+
+	public record MetaDataColumn(String key, String column) {}
+
+	private final String table;
+	private final String timestampColumn;
+	private final List<MetaDataColumn> metaDataColumns;
+
+	MeasurementView(String table, String timestampColumn, List<MetaDataColumn> metaDataColumns) {
+		this.table = table;
+		this.timestampColumn = timestampColumn;
+		this.metaDataColumns = metaDataColumns;
+	}
+
+	public String getTable() {
+		return table;
+	}
+
+	public String getTimestampColumn() {
+		return timestampColumn;
+	}
+
+	public List<MetaDataColumn> getMetaDataColumns() {
+		return metaDataColumns;
+	}
+}
@@ -0,0 +1,18 @@
+package se.sundsvall.datawarehousereader.integration.stadsbacken.specification;
+
+import java.util.function.Function;
+
+/**
+ * Definition of a column that is part of a keyset (seek) ordering.
+ * 
+ * @param <T>       entity type that the column belongs to
+ * @param property  name of entity attribute
+ * @param extractor function for reading the attribute value from an entity
+ * @param parser    function for parsing the string representation of the attribute value
+ */
+public record KeysetColumn<T>(String property, Function<T, Comparable<?>> extractor, Function<String, Comparable<?>> parser) {
+
+	public static <T> KeysetColumn<T> of(String property, Function<T, Comparable<?>> extractor, Function<String, Comparable<?>> parser) {
+		return new KeysetColumn<>(property, extractor, parser);
+	}
+}
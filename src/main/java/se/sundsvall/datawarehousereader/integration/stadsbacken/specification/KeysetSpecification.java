@@ -0,0 +1,67 @@
+package se.sundsvall.datawarehousereader.integration.stadsbacken.specification;
+
+import static org.springframework.data.domain.Sort.Direction.ASC;
+import static org.springframework.util.CollectionUtils.isEmpty;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+public interface KeysetSpecification {
+
+	/**
+	 * Method returns the sort order that must be used together with withKeysetAfter
+	 * 
+	 * @param columns the columns that make up the keyset
+	 * @return ascending Sort on all keyset columns, in the order they are defined
+	 */
+	static <T> Sort toKeysetSort(List<KeysetColumn<T>> columns) {
+		return Sort.by(ASC, columns.stream().map(KeysetColumn::property).toArray(String[]::new));
+	}
+
+	/**
+	 * Method builds a seek filter matching all rows positioned after the sent in key when ordered
+	 * by the keyset columns, i.e. (c1 > v1) or (c1 = v1 and c2 > v2) or ... If key is null or empty,
+	 * method returns an always-true predicate (meaning that reading starts from the first row)
+	 * 
+	 * @param columns the columns that make up the keyset
+	 * @param key     values for last read row, in the same order as the columns (or null)
+	 * @return Specification<T> matching rows after sent in key
+	 */
+	static <T> Specification<T> withKeysetAfter(List<KeysetColumn<T>> columns, List<Comparable<?>> key) {
+		return (entity, cq, cb) -> {
+			if (isEmpty(key)) {
+				return cb.and();
+			}
+
+			final var disjunction = new ArrayList<Predicate>();
+			for (int i = 0; i < columns.size(); i++) {
+				final var conjunction = new ArrayList<Predicate>();
+				for (int j = 0; j < i; j++) {
+					conjunction.add(cb.equal(entity.get(columns.get(j).property()), key.get(j)));
+				}
+				conjunction.add(greaterThan(cb, entity, columns.get(i).property(), key.get(i)));
+				disjunction.add(cb.and(conjunction.toArray(new Predicate[0])));
+			}
+
+			// Leading range predicate is redundant but makes it possible for the database to seek on the first column
+			return cb.and(greaterThanOrEqualTo(cb, entity, columns.get(0).property(), key.get(0)), cb.or(disjunction.toArray(new Predicate[0])));
+		};
+	}
+
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private static <T> Predicate greaterThan(CriteriaBuilder cb, Root<T> entity, String attribute, Comparable<?> value) {
+		return cb.greaterThan(entity.<Comparable>get(attribute), (Comparable) value);
+	}
+
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private static <T> Predicate greaterThanOrEqualTo(CriteriaBuilder cb, Root<T> entity, String attribute, Comparable<?> value) {
+		return cb.greaterThanOrEqualTo(entity.<Comparable>get(attribute), (Comparable) value);
+	}
+}
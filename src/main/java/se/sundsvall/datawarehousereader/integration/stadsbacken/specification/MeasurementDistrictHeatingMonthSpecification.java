@@ -3,6 +3,7 @@ package se.sundsvall.datawarehousereader.integration.stadsbacken.specification;
 import static java.util.Objects.nonNull;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 import org.springframework.data.jpa.domain.Specification;
 
@@ -10,6 +11,16 @@ import se.sundsvall.datawarehousereader.integration.stadsbacken.model.measuremen
 
 public interface MeasurementDistrictHeatingMonthSpecification {
 
+	/**
+	 * Columns used for keyset paging, i.e. facilityId and measurementTimestamp followed by the remaining key columns
+	 * of the view in order to get a unique and stable ordering
+	 */
+	List<KeysetColumn<MeasurementDistrictHeatingMonthEntity>> KEYSET_COLUMNS = List.of(
+		KeysetColumn.of("facilityId", MeasurementDistrictHeatingMonthEntity::getFacilityId, value -> value),
+		KeysetColumn.of("measurementTimestamp", MeasurementDistrictHeatingMonthEntity::getMeasurementTimestamp, LocalDateTime::parse),
+		KeysetColumn.of("readingSequence", MeasurementDistrictHeatingMonthEntity::getReadingSequence, Integer::valueOf),
+		KeysetColumn.of("customerOrgId", MeasurementDistrictHeatingMonthEntity::getCustomerOrgId, value -> value));
+
 	static Specification<MeasurementDistrictHeatingMonthEntity> withCustomerOrgId(String customerOrgId) {
 		return buildEqualFilter("customerOrgId", customerOrgId);
 	}
@@ -22,6 +33,10 @@ public interface MeasurementDistrictHeatingMonthSpecification {
 		return buildDateFilter("measurementTimestamp", dateTimeFrom, dateTimeTo);
 	}
 
+	static Specification<MeasurementDistrictHeatingMonthEntity> withKeysetAfter(List<Comparable<?>> key) {
+		return KeysetSpecification.withKeysetAfter(KEYSET_COLUMNS, key);
+	}
+
 	/**
 	 * Method builds an equal filter if value is not null. If value is null, method returns
 	 * an always-true predicate (meaning no filtering will be applied for sent in attribute)
@@ -2,7 +2,9 @@ package se.sundsvall.datawarehousereader.integration.stadsbacken.specification;
 
 import static java.util.Objects.nonNull;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.List;
 
 import org.springframework.data.jpa.domain.Specification;
 
@@ -10,6 +12,19 @@ import se.sundsvall.datawarehousereader.integration.stadsbacken.model.measuremen
 
 public interface MeasurementElectricityDaySpecification {
 
+	/**
+	 * Columns used for keyset paging, i.e. facilityId and measurementTimestamp followed by the remaining key columns
+	 * of the view in order to get a unique and stable ordering
+	 */
+	List<KeysetColumn<MeasurementElectricityDayEntity>> KEYSET_COLUMNS = List.of(
+		KeysetColumn.of("facilityId", MeasurementElectricityDayEntity::getFacilityId, value -> value),
+		KeysetColumn.of("measurementTimestamp", MeasurementElectricityDayEntity::getMeasurementTimestamp, LocalDateTime::parse),
+		KeysetColumn.of("feedType", MeasurementElectricityDayEntity::getFeedType, value -> value),
+		KeysetColumn.of("unit", MeasurementElectricityDayEntity::getUnit, value -> value),
+		KeysetColumn.of("interpolation", MeasurementElectricityDayEntity::getInterpolation, Integer::valueOf),
+		KeysetColumn.of("usage", MeasurementElectricityDayEntity::getUsage, BigDecimal::new),
+		KeysetColumn.of("customerOrgId", MeasurementElectricityDayEntity::getCustomerOrgId, value -> value));
+
 	static Specification<MeasurementElectricityDayEntity> withCustomerOrgId(String customerOrgId) {
 		return buildEqualFilter("customerOrgId", customerOrgId);
 	}
@@ -22,6 +37,10 @@ public interface MeasurementElectricityDaySpecification {
 		return buildDateFilter("measurementTimestamp", dateTimeFrom, dateTimeTo);
 	}
 
+	static Specification<MeasurementElectricityDayEntity> withKeysetAfter(List<Comparable<?>> key) {
+		return KeysetSpecification.withKeysetAfter(KEYSET_COLUMNS, key);
+	}
+
 	/**
 	 * Method builds an equal filter if value is not null. If value is null, method returns
 	 * an always-true predicate (meaning no filtering will be applied for sent in attribute)
@@ -0,0 +1,21 @@
+package se.sundsvall.datawarehousereader.integration.stadsbacken.support;
+
+import java.util.List;
+import java.util.function.Function;
+
+import javax.persistence.Tuple;
+
+/**
+ * Projection of matching rows directly into the type returned to the caller, without materializing any entities. Only
+ * the listed entity attributes are selected, each available in the tuple passed to the mapper under its attribute name.
+ *
+ * @param <R>        type that each row is projected into
+ * @param attributes names of the entity attributes to select
+ * @param mapper     function mapping the selected attributes of one row into the projected type
+ */
+public record Projection<R>(List<String> attributes, Function<Tuple, R> mapper) {
+
+	public static <R> Projection<R> of(Function<Tuple, R> mapper, String... attributes) {
+		return new Projection<>(List.of(attributes), mapper);
+	}
+}
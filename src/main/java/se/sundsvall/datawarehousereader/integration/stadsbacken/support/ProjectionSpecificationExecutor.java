@@ -0,0 +1,33 @@
+package se.sundsvall.datawarehousereader.integration.stadsbacken.support;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+
+public interface ProjectionSpecificationExecutor<T> {
+
+	/**
+	 * Returns a page of rows matching the given specification, projected through the given projection. In contrast to
+	 * findAll(Specification, Pageable) only the attributes of the projection are selected and no entities are
+	 * materialized, which avoids the entity instance and its copy into the returned type for each row.
+	 * 
+	 * @param spec       specification to match, can be null
+	 * @param pageable   pageable to use for offset, size and sorting
+	 * @param projection projection to select and map each row with
+	 * @return Page<R> containing the projected rows for requested page
+	 */
+	<R> Page<R> findAllProjected(Specification<T> spec, Pageable pageable, Projection<R> projection);
+
+	/**
+	 * Returns a slice of rows matching the given specification, projected through the given projection. As for
+	 * findAllSliced(Specification, Pageable) no count query is executed, instead one extra row is fetched to determine
+	 * if there is a next slice or not.
+	 * 
+	 * @param spec       specification to match, can be null
+	 * @param pageable   pageable to use for offset, size and sorting
+	 * @param projection projection to select and map each row with
+	 * @return Slice<R> containing the projected rows for requested page
+	 */
+	<R> Slice<R> findAllSlicedProjected(Specification<T> spec, Pageable pageable, Projection<R> projection);
+}
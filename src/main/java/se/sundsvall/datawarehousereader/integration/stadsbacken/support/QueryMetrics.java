@@ -0,0 +1,107 @@
+package se.sundsvall.datawarehousereader.integration.stadsbacken.support;
+
+import java.lang.management.ManagementFactory;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import org.springframework.data.domain.Slice;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Records rows returned and heap allocated per repository query, as metrics datawarehousereader.repository.query.rows
+ * and datawarehousereader.repository.query.allocated tagged with repository and method. Allocation is measured on the
+ * calling thread from the start of the query until its result is mapped, which is where the driver and Hibernate
+ * buffer the rows of a page. Streamed results are consumed after the query method returns, so only their rows are
+ * recorded, when the stream is closed.
+ */
+public class QueryMetrics {
+
+	public static final String QUERY_ROWS_METRIC = "datawarehousereader.repository.query.rows";
+	public static final String QUERY_ALLOCATED_METRIC = "datawarehousereader.repository.query.allocated";
+
+	private static final com.sun.management.ThreadMXBean THREAD_BEAN = initializeThreadBean();
+
+	private final MeterRegistry meterRegistry;
+
+	public QueryMetrics(MeterRegistry meterRegistry) {
+		this.meterRegistry = meterRegistry;
+	}
+
+	/**
+	 * @return bytes allocated so far by the current thread, or -1 if not supported by the JVM
+	 */
+	public long allocatedBytes() {
+		return THREAD_BEAN == null ? -1 : THREAD_BEAN.getCurrentThreadAllocatedBytes();
+	}
+
+	/**
+	 * Records rows and allocation of a query result
+	 * @param repository      name of the repository
+	 * @param method          name of the query method
+	 * @param allocatedBefore bytes allocated by the current thread before the query, as returned by allocatedBytes
+	 * @param result          result of the query
+	 * @return the result, where streams are wrapped to count their rows
+	 */
+	public Object record(String repository, String method, long allocatedBefore, Object result) {
+		if (result instanceof Stream<?> stream) {
+			final var rows = new AtomicLong();
+			return stream.peek(row -> rows.incrementAndGet()).onClose(() -> recordRows(repository, method, rows.get()));
+		}
+
+		countRows(result).ifPresent(rows -> recordRows(repository, method, rows));
+		recordAllocated(repository, method, allocatedBefore);
+		return result;
+	}
+
+	public void recordRows(String repository, String method, long rows) {
+		DistributionSummary.builder(QUERY_ROWS_METRIC)
+			.baseUnit("rows")
+			.tags("repository", repository, "method", method)
+			.register(meterRegistry)
+			.record(rows);
+	}
+
+	public void recordAllocated(String repository, String method, long allocatedBefore) {
+		final var allocatedAfter = allocatedBytes();
+		if (allocatedBefore < 0 || allocatedAfter < 0) {
+			return;
+		}
+
+		DistributionSummary.builder(QUERY_ALLOCATED_METRIC)
+			.baseUnit("bytes")
+			.tags("repository", repository, "method", method)
+			.register(meterRegistry)
+			.record(allocatedAfter - allocatedBefore);
+	}
+
+	static OptionalLong countRows(Object result) {
+		if (result instanceof Slice<?> slice) {
+			return OptionalLong.of(slice.getNumberOfElements());
+		}
+		if (result instanceof Collection<?> collection) {
+			return OptionalLong.of(collection.size());
+		}
+		if (result instanceof Map<?, ?> map) {
+			// Rows grouped per key, as the installed base metadata
+			return OptionalLong.of(map.values().stream().mapToLong(value -> value instanceof Collection<?> collection ? collection.size() : 1).sum());
+		}
+		if (result instanceof Optional<?> optional) {
+			return OptionalLong.of(optional.isPresent() ? 1 : 0);
+		}
+		return OptionalLong.empty();
+	}
+
+	private static com.sun.management.ThreadMXBean initializeThreadBean() {
+		if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threadBean && threadBean.isThreadAllocatedMemorySupported()) {
+			threadBean.setThreadAllocatedMemoryEnabled(true);
+			return threadBean;
+		}
+		return null;
+	}
+}
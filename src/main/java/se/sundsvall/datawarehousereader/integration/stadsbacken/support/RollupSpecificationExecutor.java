@@ -0,0 +1,58 @@
+package se.sundsvall.datawarehousereader.integration.stadsbacken.support;
+
+import java.util.List;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import se.sundsvall.datawarehousereader.api.model.measurement.Aggregation;
+import se.sundsvall.datawarehousereader.integration.stadsbacken.model.measurement.MeasurementRollup;
+
+public interface RollupSpecificationExecutor<T> {
+
+	/**
+	 * Returns measurements matching the given specification rolled up into buckets by the database. Rows are
+	 * grouped per facilityId, feedType, unit and start of bucket (calculated from measurementTimestamp), where
+	 * usage is summed and interpolation is set if any row in the bucket is interpolated. Entity must have the
+	 * attributes defined in DefaultMeasurementAttributesInterface.
+	 * 
+	 * @param spec        specification to match, can be null
+	 * @param aggregation size of bucket to roll up measurements into
+	 * @param sort        sort order of the result, where measurementTimestamp sorts on start of bucket and usage
+	 *                    on summed usage
+	 * @return List<MeasurementRollup> containing one element per bucket
+	 * @throws org.zalando.problem.ThrowableProblem with status BAD_REQUEST if sorting on a property that is not part of
+	 *                                             the rollup (facilityId, feedType, unit, measurementTimestamp, usage
+	 *                                             and interpolation)
+	 */
+	List<MeasurementRollup> findAllRolledUp(Specification<T> spec, Aggregation aggregation, Sort sort);
+
+	/**
+	 * Returns a page of rolled up measurements, as described for findAllRolledUp, where the database pages the
+	 * buckets and counts the total number of buckets.
+	 * 
+	 * @param spec        specification to match, can be null
+	 * @param aggregation size of bucket to roll up measurements into
+	 * @param pageable    page and sort order of the result
+	 * @return Page<MeasurementRollup> containing one element per bucket
+	 * @throws org.zalando.problem.ThrowableProblem with status BAD_REQUEST if sorting on a property that is not part of
+	 *                                             the rollup
+	 */
+	Page<MeasurementRollup> findAllRolledUp(Specification<T> spec, Aggregation aggregation, Pageable pageable);
+
+	/**
+	 * Returns a slice of rolled up measurements, as described for findAllRolledUp, where the database pages the
+	 * buckets without counting them.
+	 * 
+	 * @param spec        specification to match, can be null
+	 * @param aggregation size of bucket to roll up measurements into
+	 * @param pageable    page and sort order of the result
+	 * @return Slice<MeasurementRollup> containing one element per bucket
+	 * @throws org.zalando.problem.ThrowableProblem with status BAD_REQUEST if sorting on a property that is not part of
+	 *                                             the rollup
+	 */
+	Slice<MeasurementRollup> findAllSlicedRolledUp(Specification<T> spec, Aggregation aggregation, Pageable pageable);
+}
@@ -0,0 +1,294 @@
+package se.sundsvall.datawarehousereader.integration.stadsbacken.support;
+
+import static java.lang.String.format;
+import static java.util.Optional.ofNullable;
+import static org.hibernate.annotations.QueryHints.FETCH_SIZE;
+import static org.hibernate.annotations.QueryHints.READ_ONLY;
+import static org.zalando.problem.Status.BAD_REQUEST;
+import static se.sundsvall.datawarehousereader.Constants.INVALID_PARAMETER_SORT;
+import static se.sundsvall.datawarehousereader.integration.stadsbacken.configuration.MeasurementFunctionContributor.ROLLUP_COUNT;
+import static se.sundsvall.datawarehousereader.integration.stadsbacken.configuration.MeasurementFunctionContributor.toBucketFunction;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+import javax.persistence.EntityManager;
+import javax.persistence.Tuple;
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.Expression;
+import javax.persistence.criteria.Order;
+import javax.persistence.criteria.Selection;
+
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.convert.QueryByExamplePredicateBuilder;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.jpa.repository.support.JpaEntityInformation;
+import org.springframework.data.jpa.repository.support.SimpleJpaRepository;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.lang.Nullable;
+import org.zalando.problem.Problem;
+
+import se.sundsvall.datawarehousereader.api.model.measurement.Aggregation;
+import se.sundsvall.datawarehousereader.integration.stadsbacken.configuration.QueryTuningProperties.QueryTuning;
+import se.sundsvall.datawarehousereader.integration.stadsbacken.model.measurement.MeasurementRollup;
+
+/**
+ * Repository base class adding support for fetching slices (pages without total count) and streams
+ * to all repositories extending SliceableSpecificationExecutor, projections without entity
+ * materialization to all repositories extending ProjectionSpecificationExecutor, and database side
+ * rollups to all measurement repositories extending RollupSpecificationExecutor. Queries are read
+ * with the fetch sizes of the query tuning set for the repository, see RepositoryQueryPostProcessor.
+ */
+public class SliceableJpaRepository<T, I extends Serializable> extends SimpleJpaRepository<T, I> implements SliceableSpecificationExecutor<T>, ProjectionSpecificationExecutor<T>, RollupSpecificationExecutor<T> {
+
+	private static final int DEFAULT_STREAM_FETCH_SIZE = 1000;
+
+	private static final String FACILITY_ID = "facilityId";
+	private static final String FEED_TYPE = "feedType";
+	private static final String UNIT = "unit";
+	private static final String MEASUREMENT_TIMESTAMP = "measurementTimestamp";
+	private static final String USAGE = "usage";
+	private static final String INTERPOLATION = "interpolation";
+
+	private final EntityManager entityManager;
+
+	private QueryTuning queryTuning;
+
+	public SliceableJpaRepository(JpaEntityInformation<T, ?> entityInformation, EntityManager entityManager) {
+		super(entityInformation, entityManager);
+		this.entityManager = entityManager;
+	}
+
+	public void setQueryTuning(QueryTuning queryTuning) {
+		this.queryTuning = queryTuning;
+	}
+
+	/**
+	 * All specification and example queries of SimpleJpaRepository, and the slices and streams of this class, are
+	 * created here
+	 */
+	@Override
+	protected <S extends T> TypedQuery<S> getQuery(@Nullable Specification<S> spec, Class<S> domainClass, Sort sort) {
+		return withFetchSize(super.getQuery(spec, domainClass, sort));
+	}
+
+	@Override
+	public Slice<T> findAllSliced(Specification<T> spec, Pageable pageable) {
+		return toSlice(getQuery(spec, pageable.getSort()), pageable);
+	}
+
+	@Override
+	public <S extends T> Slice<S> findAllSliced(Example<S> example, Pageable pageable) {
+		final Specification<S> spec = (root, query, criteriaBuilder) -> QueryByExamplePredicateBuilder.getPredicate(root, criteriaBuilder, example);
+		return toSlice(getQuery(spec, example.getProbeType(), pageable.getSort()), pageable);
+	}
+
+	@Override
+	public Stream<T> streamAll(Specification<T> spec, Sort sort) {
+		return getQuery(spec, sort)
+			.setHint(FETCH_SIZE, getStreamFetchSize())
+			.setHint(READ_ONLY, true)
+			.getResultStream()
+			.peek(entityManager::detach); // Keep the persistence context from growing while streaming
+	}
+
+	@Override
+	public <R> Page<R> findAllProjected(Specification<T> spec, Pageable pageable, Projection<R> projection) {
+		final var query = getProjectionQuery(spec, pageable.getSort(), projection);
+		if (pageable.isUnpaged()) {
+			return new PageImpl<>(toProjected(query.getResultList(), projection));
+		}
+
+		query.setFirstResult((int) pageable.getOffset());
+		query.setMaxResults(pageable.getPageSize());
+
+		return PageableExecutionUtils.getPage(toProjected(query.getResultList(), projection), pageable, () -> count(spec));
+	}
+
+	@Override
+	public <R> Slice<R> findAllSlicedProjected(Specification<T> spec, Pageable pageable, Projection<R> projection) {
+		return toSlice(getProjectionQuery(spec, pageable.getSort(), projection), pageable)
+			.map(projection.mapper());
+	}
+
+	@Override
+	public List<MeasurementRollup> findAllRolledUp(Specification<T> spec, Aggregation aggregation, Sort sort) {
+		return toRollups(getRollupQuery(spec, aggregation, sort).getResultList());
+	}
+
+	@Override
+	public Page<MeasurementRollup> findAllRolledUp(Specification<T> spec, Aggregation aggregation, Pageable pageable) {
+		final var query = getRollupQuery(spec, aggregation, pageable.getSort());
+		if (pageable.isUnpaged()) {
+			return new PageImpl<>(toRollups(query.getResultList()));
+		}
+
+		query.setFirstResult((int) pageable.getOffset());
+		query.setMaxResults(pageable.getPageSize());
+
+		return PageableExecutionUtils.getPage(toRollups(query.getResultList()), pageable, () -> countRolledUp(spec, aggregation));
+	}
+
+	@Override
+	public Slice<MeasurementRollup> findAllSlicedRolledUp(Specification<T> spec, Aggregation aggregation, Pageable pageable) {
+		return toSlice(getRollupQuery(spec, aggregation, pageable.getSort()), pageable)
+			.map(SliceableJpaRepository::toMeasurementRollup);
+	}
+
+	/**
+	 * Creates a tuple query rolling up measurements into buckets, selecting facilityId, feedType, unit, start of bucket,
+	 * summed usage and max interpolation
+	 * @throws org.zalando.problem.ThrowableProblem with status BAD_REQUEST if sorting on a property that is not part of
+	 *                                             the rollup
+	 */
+	private TypedQuery<Tuple> getRollupQuery(Specification<T> spec, Aggregation aggregation, Sort sort) {
+		final var criteriaBuilder = entityManager.getCriteriaBuilder();
+		final var query = criteriaBuilder.createTupleQuery();
+		final var root = query.from(getDomainClass());
+
+		final var facilityId = root.<String>get(FACILITY_ID);
+		final var feedType = root.<String>get(FEED_TYPE);
+		final var unit = root.<String>get(UNIT);
+		final var bucket = criteriaBuilder.function(toBucketFunction(aggregation), LocalDateTime.class, root.get(MEASUREMENT_TIMESTAMP));
+		final var usage = criteriaBuilder.sum(root.<BigDecimal>get(USAGE));
+		final var interpolation = criteriaBuilder.max(root.<Integer>get(INTERPOLATION));
+
+		// Sortable properties mapped to their rolled up counterpart
+		final Map<String, Expression<?>> sortExpressions = Map.of(
+			FACILITY_ID, facilityId,
+			FEED_TYPE, feedType,
+			UNIT, unit,
+			MEASUREMENT_TIMESTAMP, bucket,
+			USAGE, usage,
+			INTERPOLATION, interpolation);
+
+		final List<Order> orders = sort.stream()
+			.map(order -> {
+				final var expression = ofNullable(sortExpressions.get(order.getProperty()))
+					.orElseThrow(() -> Problem.valueOf(BAD_REQUEST, format(INVALID_PARAMETER_SORT, order.getProperty())));
+				return order.isAscending() ? criteriaBuilder.asc(expression) : criteriaBuilder.desc(expression);
+			})
+			.toList();
+
+		query.multiselect(facilityId, feedType, unit, bucket, usage, interpolation)
+			.groupBy(facilityId, feedType, unit, bucket)
+			.orderBy(orders);
+
+		if (Objects.nonNull(spec)) {
+			query.where(spec.toPredicate(root, query, criteriaBuilder));
+		}
+
+		return withFetchSize(entityManager.createQuery(query))
+			.setHint(READ_ONLY, true);
+	}
+
+	/**
+	 * Counts the buckets of a rollup in the database, reading a single row holding the number of groups
+	 */
+	private long countRolledUp(Specification<T> spec, Aggregation aggregation) {
+		final var criteriaBuilder = entityManager.getCriteriaBuilder();
+		final var query = criteriaBuilder.createQuery(Long.class);
+		final var root = query.from(getDomainClass());
+
+		query.select(criteriaBuilder.function(ROLLUP_COUNT, Long.class))
+			.groupBy(root.get(FACILITY_ID), root.get(FEED_TYPE), root.get(UNIT),
+				criteriaBuilder.function(toBucketFunction(aggregation), LocalDateTime.class, root.get(MEASUREMENT_TIMESTAMP)));
+
+		if (Objects.nonNull(spec)) {
+			query.where(spec.toPredicate(root, query, criteriaBuilder));
+		}
+
+		return entityManager.createQuery(query)
+			.setHint(READ_ONLY, true)
+			.setMaxResults(1)
+			.getResultStream()
+			.findFirst()
+			.orElse(0L);
+	}
+
+	/**
+	 * Creates a tuple query selecting the attributes of the projection, each aliased with its attribute name
+	 */
+	private TypedQuery<Tuple> getProjectionQuery(Specification<T> spec, Sort sort, Projection<?> projection) {
+		final var criteriaBuilder = entityManager.getCriteriaBuilder();
+		final var query = criteriaBuilder.createTupleQuery();
+		final var root = query.from(getDomainClass());
+
+		query.multiselect(projection.attributes().stream()
+			.<Selection<?>>map(attribute -> root.get(attribute).alias(attribute))
+			.toList());
+
+		if (Objects.nonNull(spec)) {
+			final var predicate = spec.toPredicate(root, query, criteriaBuilder);
+			if (Objects.nonNull(predicate)) {
+				query.where(predicate);
+			}
+		}
+
+		if (sort.isSorted()) {
+			query.orderBy(QueryUtils.toOrders(sort, root, criteriaBuilder));
+		}
+
+		return withFetchSize(entityManager.createQuery(query))
+			.setHint(READ_ONLY, true);
+	}
+
+	private <S> TypedQuery<S> withFetchSize(TypedQuery<S> query) {
+		if (Objects.nonNull(queryTuning) && Objects.nonNull(queryTuning.fetchSize())) {
+			query.setHint(FETCH_SIZE, queryTuning.fetchSize());
+		}
+		return query;
+	}
+
+	private int getStreamFetchSize() {
+		return Objects.nonNull(queryTuning) && Objects.nonNull(queryTuning.streamFetchSize()) ? queryTuning.streamFetchSize() : DEFAULT_STREAM_FETCH_SIZE;
+	}
+
+	private static <R> List<R> toProjected(List<Tuple> tuples, Projection<R> projection) {
+		return tuples.stream()
+			.map(projection.mapper())
+			.toList();
+	}
+
+	private static List<MeasurementRollup> toRollups(List<Tuple> tuples) {
+		return tuples.stream()
+			.map(SliceableJpaRepository::toMeasurementRollup)
+			.toList();
+	}
+
+	private static MeasurementRollup toMeasurementRollup(Tuple tuple) {
+		return MeasurementRollup.create()
+			.withFacilityId(tuple.get(0, String.class))
+			.withFeedType(tuple.get(1, String.class))
+			.withUnit(tuple.get(2, String.class))
+			.withMeasurementTimestamp(tuple.get(3, LocalDateTime.class))
+			.withUsage(tuple.get(4, BigDecimal.class))
+			.withInterpolation(tuple.get(5, Integer.class));
+	}
+
+	private <S> Slice<S> toSlice(TypedQuery<S> query, Pageable pageable) {
+		if (pageable.isUnpaged()) {
+			return new SliceImpl<>(query.getResultList(), pageable, false);
+		}
+
+		query.setFirstResult((int) pageable.getOffset());
+		query.setMaxResults(pageable.getPageSize() + 1); // One extra row to determine if there is a next slice
+
+		final List<S> content = query.getResultList();
+		final var hasNext = content.size() > pageable.getPageSize();
+
+		return new SliceImpl<>(hasNext ? content.subList(0, pageable.getPageSize()) : content, pageable, hasNext);
+	}
+}
@@ -0,0 +1,46 @@
+package se.sundsvall.datawarehousereader.integration.stadsbacken.support;
+
+import java.util.stream.Stream;
+
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+public interface SliceableSpecificationExecutor<T> {
+
+	/**
+	 * Returns a slice of entities matching the given specification. In contrast to
+	 * findAll(Specification, Pageable) no count query is executed, instead one extra row is fetched
+	 * to determine if there is a next slice or not.
+	 * 
+	 * @param spec     specification to match, can be null
+	 * @param pageable pageable to use for offset, size and sorting
+	 * @return Slice<T> containing the matching entities for requested page
+	 */
+	Slice<T> findAllSliced(Specification<T> spec, Pageable pageable);
+
+	/**
+	 * Returns a slice of entities matching the given example. In contrast to findAll(Example, Pageable)
+	 * no count query is executed, instead one extra row is fetched to determine if there is a next
+	 * slice or not.
+	 * 
+	 * @param example  example to match, must not be null
+	 * @param pageable pageable to use for offset, size and sorting
+	 * @return Slice<T> containing the matching entities for requested page
+	 */
+	<S extends T> Slice<S> findAllSliced(Example<S> example, Pageable pageable);
+
+	/**
+	 * Returns a stream of all entities matching the given specification. Rows are fetched from the
+	 * database in batches as the stream is consumed and each entity is detached from the persistence
+	 * context when read, hence memory consumption is constant regardless of the size of the result.
+	 * The stream must be consumed and closed within the surrounding transaction.
+	 * 
+	 * @param spec specification to match, can be null
+	 * @param sort sort order of the stream
+	 * @return Stream<T> of the matching entities
+	 */
+	Stream<T> streamAll(Specification<T> spec, Sort sort);
+}
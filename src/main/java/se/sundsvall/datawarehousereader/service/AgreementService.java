@@ -3,7 +3,8 @@ package se.sundsvall.datawarehousereader.service;
 import static java.util.Collections.emptyList;
 import static java.util.Optional.ofNullable;
 import static org.springframework.data.domain.PageRequest.of;
-import static se.sundsvall.datawarehousereader.service.mapper.AgreementMapper.toAgreements;
+import static se.sundsvall.datawarehousereader.service.mapper.AgreementMapper.AGREEMENT_PROJECTION;
+import static se.sundsvall.datawarehousereader.service.util.ServiceUtil.isSliced;
 
 import java.util.List;
 
@@ -15,7 +16,7 @@ import se.sundsvall.datawarehousereader.api.model.agreement.Agreement;
 import se.sundsvall.datawarehousereader.api.model.agreement.AgreementParameters;
 import se.sundsvall.datawarehousereader.api.model.agreement.AgreementResponse;
 import se.sundsvall.datawarehousereader.integration.stadsbacken.AgreementRepository;
-import se.sundsvall.datawarehousereader.service.logic.PartyProvider;
+import se.sundsvall.datawarehousereader.service.logic.LegalIdProvider;
 
 @Service
 public class AgreementService {
@@ -24,13 +25,17 @@ public class AgreementService {
 	private AgreementRepository repository;
 
 	@Autowired
-	private PartyProvider partyProvider;
+	private LegalIdProvider legalIdProvider;
 
 	public AgreementResponse getAgreements(AgreementParameters parameters) {
-		final var matches = repository.findAllByParameters(parameters, getCustomerOrgId(parameters.getPartyId()), of(parameters.getPage() - 1, parameters.getLimit(), parameters.sort()));
+		if (isSliced(parameters.getPagingMode())) {
+			return getSlicedAgreements(parameters);
+		}
+
+		final var matches = repository.findAllProjectedByParameters(parameters, getCustomerOrgId(parameters.getPartyId()), of(parameters.getPage() - 1, parameters.getLimit(), parameters.sort()), AGREEMENT_PROJECTION);
 
 		// If page larger than last page is requested, a empty list is returned otherwise the current page
-		List<Agreement> agreements = matches.getTotalPages() < parameters.getPage() ? emptyList() : toAgreements(matches.getContent());
+		List<Agreement> agreements = matches.getTotalPages() < parameters.getPage() ? emptyList() : matches.getContent();
 
 		return AgreementResponse.create()
 			.withMetaData(MetaData.create()
@@ -44,9 +49,24 @@ public class AgreementService {
 			.withAgreements(agreements);
 	}
 
+	private AgreementResponse getSlicedAgreements(AgreementParameters parameters) {
+		final var matches = repository.findAllSlicedProjectedByParameters(parameters, getCustomerOrgId(parameters.getPartyId()), of(parameters.getPage() - 1, parameters.getLimit(), parameters.sort()), AGREEMENT_PROJECTION);
+		final var agreements = matches.getContent();
+
+		return AgreementResponse.create()
+			.withMetaData(MetaData.create()
+				.withPage(parameters.getPage())
+				.withSortBy(parameters.getSortBy())
+				.withSortDirection(parameters.getSortDirection())
+				.withHasNext(matches.hasNext())
+				.withCount(agreements.size())
+				.withLimit(parameters.getLimit()))
+			.withAgreements(agreements);
+	}
+
 	private String getCustomerOrgId(String partyId) {
 		return ofNullable(partyId)
-			.map(partyProvider::translateToLegalId)
+			.map(legalIdProvider::translateToLegalId)
 			.orElse(null);
 	}
 }
@@ -1,14 +1,19 @@
 package se.sundsvall.datawarehousereader.service;
 
+import static java.lang.Boolean.FALSE;
 import static java.util.Collections.emptyList;
+import static java.util.Collections.emptyMap;
 import static java.util.Optional.ofNullable;
 import static org.springframework.data.domain.PageRequest.of;
 import static org.springframework.util.StringUtils.hasText;
 import static se.sundsvall.datawarehousereader.service.mapper.CustomerMapper.toCustomerEngagements;
 import static se.sundsvall.datawarehousereader.service.mapper.CustomerMapper.toPartyType;
+import static se.sundsvall.datawarehousereader.service.util.ServiceUtil.isSliced;
 import static se.sundsvall.datawarehousereader.service.util.ServiceUtil.removeHyphen;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -21,6 +26,7 @@ import se.sundsvall.datawarehousereader.api.model.customer.CustomerEngagementPar
 import se.sundsvall.datawarehousereader.api.model.customer.CustomerEngagementResponse;
 import se.sundsvall.datawarehousereader.integration.stadsbacken.CustomerRepository;
 import se.sundsvall.datawarehousereader.service.logic.PartyProvider;
+import se.sundsvall.datawarehousereader.service.logic.PartyProvider.PartyKey;
 
 @Service
 public class CustomerService {
@@ -34,12 +40,16 @@ public class CustomerService {
 	private PartyProvider partyProvider;
 
 	public CustomerEngagementResponse getCustomerEngagements(CustomerEngagementParameters parameters) {
+		if (isSliced(parameters.getPagingMode())) {
+			return getSlicedCustomerEngagements(parameters);
+		}
+
 		final var matches = repository.findAllByParameters(parameters, getCustomerOrgIdList(parameters.getPartyId()), of(parameters.getPage() - 1, parameters.getLimit(), parameters.sort()));
 
 		LOGGER.debug("Database query results: {} with content: {}", matches, matches.getContent());
 
 		// If page larger than last page is requested, a empty list is returned otherwise the current page
-		List<CustomerEngagement> customerEngagements = matches.getTotalPages() < parameters.getPage() ? emptyList() : switchToPartyId(toCustomerEngagements(matches.getContent()));
+		List<CustomerEngagement> customerEngagements = matches.getTotalPages() < parameters.getPage() ? emptyList() : switchToPartyId(toCustomerEngagements(matches.getContent()), parameters);
 
 		return CustomerEngagementResponse.create()
 			.withMetaData(MetaData.create()
@@ -53,26 +63,63 @@ public class CustomerService {
 			.withCustomerEngagements(customerEngagements);
 	}
 
+	private CustomerEngagementResponse getSlicedCustomerEngagements(CustomerEngagementParameters parameters) {
+		final var matches = repository.findAllSlicedByParameters(parameters, getCustomerOrgIdList(parameters.getPartyId()), of(parameters.getPage() - 1, parameters.getLimit(), parameters.sort()));
+
+		LOGGER.debug("Database query results: {} with content: {}", matches, matches.getContent());
+
+		final var customerEngagements = switchToPartyId(toCustomerEngagements(matches.getContent()), parameters);
+
+		return CustomerEngagementResponse.create()
+			.withMetaData(MetaData.create()
+				.withPage(parameters.getPage())
+				.withSortBy(parameters.getSortBy())
+				.withSortDirection(parameters.getSortDirection())
+				.withHasNext(matches.hasNext())
+				.withCount(customerEngagements.size())
+				.withLimit(parameters.getLimit()))
+			.withCustomerEngagements(customerEngagements);
+	}
+
 	private List<String> getCustomerOrgIdList(List<String> partyIds) {
-		return ofNullable(partyIds).orElse(emptyList()).stream()
-			.map(partyProvider::translateToLegalId)
-			.toList();
+		return ofNullable(partyIds)
+			.filter(list -> !list.isEmpty())
+			.map(partyProvider::translateToLegalIds)
+			.orElse(emptyList());
 	}
 
-	private List<CustomerEngagement> switchToPartyId(List<CustomerEngagement> customerEngagements) {
-		customerEngagements.stream()
-			.forEach(engagement -> engagement
-				.withPartyId(fetchPartyId(engagement))
-				.withCustomerOrgNumber(null)); // Needs to be reset to not expose person/organization number in response
+	private List<CustomerEngagement> switchToPartyId(List<CustomerEngagement> customerEngagements, CustomerEngagementParameters parameters) {
+		if (FALSE.equals(parameters.getResolvePartyIds())) {
+			// Client has opted out of partyIds, only reset person/organization number to not expose it in response
+			customerEngagements.forEach(engagement -> engagement.withCustomerOrgNumber(null));
+			return customerEngagements;
+		}
+
+		final var partyKeys = customerEngagements.stream()
+			.map(CustomerService::toPartyKey)
+			.toList();
+
+		// Resolve all distinct legalIds on the page at once instead of one call per engagement
+		final var keysToResolve = partyKeys.stream()
+			.filter(Objects::nonNull)
+			.distinct()
+			.toList();
+		final Map<PartyKey, String> partyIds = keysToResolve.isEmpty() ? emptyMap() : partyProvider.translateToPartyIds(keysToResolve);
+
+		for (int i = 0; i < customerEngagements.size(); i++) {
+			customerEngagements.get(i)
+				.withPartyId(ofNullable(partyKeys.get(i)).map(partyIds::get).orElse(null))
+				.withCustomerOrgNumber(null); // Needs to be reset to not expose person/organization number in response
+		}
 
 		return customerEngagements;
 	}
 
-	private String fetchPartyId(CustomerEngagement engagement) {
+	private static PartyKey toPartyKey(CustomerEngagement engagement) {
 		if (!hasText(engagement.getCustomerOrgNumber())) {
 			LOGGER.info("CustomerEngagement did not contain a 'customerOrgNumber'. Skipping call to Party-service. {}", engagement);
 			return null;
 		}
-		return partyProvider.translateToPartyId(toPartyType(engagement.getCustomerType()), removeHyphen(engagement.getCustomerOrgNumber()));
+		return new PartyKey(toPartyType(engagement.getCustomerType()), removeHyphen(engagement.getCustomerOrgNumber()));
 	}
 }
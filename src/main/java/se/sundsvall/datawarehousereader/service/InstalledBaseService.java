@@ -3,9 +3,11 @@ package se.sundsvall.datawarehousereader.service;
 import static org.springframework.data.domain.PageRequest.of;
 import static se.sundsvall.datawarehousereader.integration.stadsbacken.mapper.InstalledBaseMapper.toExample;
 import static se.sundsvall.datawarehousereader.service.mapper.InstalledBaseMapper.toInstalledBaseItems;
+import static se.sundsvall.datawarehousereader.service.util.ServiceUtil.isSliced;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -15,6 +17,8 @@ import se.sundsvall.datawarehousereader.api.model.installedbase.InstalledBaseIte
 import se.sundsvall.datawarehousereader.api.model.installedbase.InstalledBaseParameters;
 import se.sundsvall.datawarehousereader.api.model.installedbase.InstalledBaseResponse;
 import se.sundsvall.datawarehousereader.integration.stadsbacken.InstalledBaseRepository;
+import se.sundsvall.datawarehousereader.integration.stadsbacken.model.installedbase.InstalledBaseItemEntity;
+import se.sundsvall.datawarehousereader.integration.stadsbacken.model.installedbase.InstalledBaseItemMetaDataEmbeddable;
 
 @Service
 public class InstalledBaseService {
@@ -23,10 +27,14 @@ public class InstalledBaseService {
 	private InstalledBaseRepository repository;
 
 	public InstalledBaseResponse getInstalledBase(InstalledBaseParameters parameters) {
+		if (isSliced(parameters.getPagingMode())) {
+			return getSlicedInstalledBase(parameters);
+		}
+
 		final var matches = repository.findAll(toExample(parameters), of(parameters.getPage() - 1, parameters.getLimit(), parameters.sort()));
 
 		// If page larger than last page is requested, a empty list is returned otherwise the current page
-		List<InstalledBaseItem> installedBase = matches.getTotalPages() < parameters.getPage() ? Collections.emptyList() : toInstalledBaseItems(matches.getContent());
+		List<InstalledBaseItem> installedBase = matches.getTotalPages() < parameters.getPage() ? Collections.emptyList() : toInstalledBaseItems(matches.getContent(), findMetaData(parameters, matches.getContent()));
 
 		return InstalledBaseResponse.create()
 			.withMetaData(MetaData.create()
@@ -39,4 +47,33 @@ public class InstalledBaseService {
 				.withLimit(parameters.getLimit()))
 			.withInstalledBase(installedBase);
 	}
+
+	private InstalledBaseResponse getSlicedInstalledBase(InstalledBaseParameters parameters) {
+		final var matches = repository.findAllSliced(toExample(parameters), of(parameters.getPage() - 1, parameters.getLimit(), parameters.sort()));
+		final var installedBase = toInstalledBaseItems(matches.getContent(), findMetaData(parameters, matches.getContent()));
+
+		return InstalledBaseResponse.create()
+			.withMetaData(MetaData.create()
+				.withPage(parameters.getPage())
+				.withSortBy(parameters.getSortBy())
+				.withSortDirection(parameters.getSortDirection())
+				.withHasNext(matches.hasNext())
+				.withCount(installedBase.size())
+				.withLimit(parameters.getLimit()))
+			.withInstalledBase(installedBase);
+	}
+
+	/**
+	 * Reads metadata of all items on the page in one query, instead of one query per item
+	 * @return metadata keyed on internalId, or null if metadata is not included in the request
+	 */
+	private Map<Integer, List<InstalledBaseItemMetaDataEmbeddable>> findMetaData(InstalledBaseParameters parameters, List<InstalledBaseItemEntity> entities) {
+		if (Boolean.FALSE.equals(parameters.getIncludeMetaData())) {
+			return null;
+		}
+
+		return repository.findMetaDataByInternalIds(entities.stream()
+			.map(InstalledBaseItemEntity::getInternalId)
+			.toList());
+	}
 }
@@ -1,8 +1,9 @@
 package se.sundsvall.datawarehousereader.service;
 
 import static org.springframework.data.domain.PageRequest.of;
+import static se.sundsvall.datawarehousereader.service.mapper.InvoiceMapper.INVOICE_PROJECTION;
 import static se.sundsvall.datawarehousereader.service.mapper.InvoiceMapper.toDetails;
-import static se.sundsvall.datawarehousereader.service.mapper.InvoiceMapper.toInvoices;
+import static se.sundsvall.datawarehousereader.service.util.ServiceUtil.isSliced;
 
 import java.util.Collections;
 import java.util.List;
@@ -31,10 +32,14 @@ public class InvoiceService {
 	private InvoiceDetailRepository invoiceDetailRepository;
 
 	public InvoiceResponse getInvoices(InvoiceParameters parameters) {
-		final var matches = invoiceRepository.findAllByParameters(parameters, of(parameters.getPage() - 1, parameters.getLimit(), parameters.sort()));
+		if (isSliced(parameters.getPagingMode())) {
+			return getSlicedInvoices(parameters);
+		}
+
+		final var matches = invoiceRepository.findAllProjectedByParameters(parameters, of(parameters.getPage() - 1, parameters.getLimit(), parameters.sort()), INVOICE_PROJECTION);
 
 		// If page larger than last page is requested, a empty list is returned otherwise the current page
-		List<Invoice> invoices = matches.getTotalPages() < parameters.getPage() ? Collections.emptyList() : toInvoices(matches.getContent());
+		List<Invoice> invoices = matches.getTotalPages() < parameters.getPage() ? Collections.emptyList() : matches.getContent();
 
 		return InvoiceResponse.create()
 			.withMetaData(MetaData.create()
@@ -48,6 +53,21 @@ public class InvoiceService {
 			.withInvoices(invoices);
 	}
 
+	private InvoiceResponse getSlicedInvoices(InvoiceParameters parameters) {
+		final var matches = invoiceRepository.findAllSlicedProjectedByParameters(parameters, of(parameters.getPage() - 1, parameters.getLimit(), parameters.sort()), INVOICE_PROJECTION);
+		final var invoices = matches.getContent();
+
+		return InvoiceResponse.create()
+			.withMetaData(MetaData.create()
+				.withPage(parameters.getPage())
+				.withSortBy(parameters.getSortBy())
+				.withSortDirection(parameters.getSortDirection())
+				.withHasNext(matches.hasNext())
+				.withCount(invoices.size())
+				.withLimit(parameters.getLimit()))
+			.withInvoices(invoices);
+	}
+
 	@Deprecated(since = "2022-11-04", forRemoval = true)
 	public List<InvoiceDetail> getInvoiceDetails(long invoiceNumber) {
 		final var entities = invoiceDetailRepository.findAllByInvoiceNumber(invoiceNumber);
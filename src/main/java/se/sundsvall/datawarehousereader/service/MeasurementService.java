@@ -1,7 +1,10 @@
 package se.sundsvall.datawarehousereader.service;
 
+import static se.sundsvall.datawarehousereader.service.mapper.MeasurementMapper.toMeasurementSeriesResponse;
+
 import java.time.OffsetDateTime;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -10,11 +13,13 @@ import org.zalando.problem.Status;
 
 import se.sundsvall.datawarehousereader.api.model.Category;
 import se.sundsvall.datawarehousereader.api.model.measurement.Aggregation;
+import se.sundsvall.datawarehousereader.api.model.measurement.Measurement;
 import se.sundsvall.datawarehousereader.api.model.measurement.MeasurementParameters;
 import se.sundsvall.datawarehousereader.api.model.measurement.MeasurementResponse;
+import se.sundsvall.datawarehousereader.api.model.measurement.MeasurementSeriesResponse;
 import se.sundsvall.datawarehousereader.service.logic.DistrictHeatingMeasurementProvider;
 import se.sundsvall.datawarehousereader.service.logic.ElectricityMeasurementProvider;
-import se.sundsvall.datawarehousereader.service.logic.PartyProvider;
+import se.sundsvall.datawarehousereader.service.logic.LegalIdProvider;
 
 @Service
 public class MeasurementService {
@@ -27,10 +32,10 @@ public class MeasurementService {
 	private ElectricityMeasurementProvider electricityMeasurementProvider;
 
 	@Autowired
-	private PartyProvider partyProvider;
+	private LegalIdProvider legalIdProvider;
 	
 	public MeasurementResponse getMeasurements(Category category, Aggregation aggregateOn, MeasurementParameters parameters) {
-		var legalId = Optional.ofNullable(parameters.getPartyId()).map(partyProvider::translateToLegalId).orElse(null);
+		var legalId = Optional.ofNullable(parameters.getPartyId()).map(legalIdProvider::translateToLegalId).orElse(null);
 		var fromDateTime = Optional.ofNullable(parameters.getFromDateTime()).map(OffsetDateTime::toLocalDateTime).orElse(null);
 		var toDateTime = Optional.ofNullable(parameters.getToDateTime()).map(OffsetDateTime::toLocalDateTime).orElse(null);
 
@@ -40,4 +45,20 @@ public class MeasurementService {
 			default -> throw Problem.valueOf(Status.NOT_IMPLEMENTED, String.format(CATEGORY_NOT_IMPLEMENTED, category));
 		};
 	}
+
+	public MeasurementSeriesResponse getMeasurementSeries(Category category, Aggregation aggregateOn, MeasurementParameters parameters) {
+		return toMeasurementSeriesResponse(getMeasurements(category, aggregateOn, parameters));
+	}
+
+	public void exportMeasurements(Category category, Aggregation aggregateOn, MeasurementParameters parameters, Consumer<Measurement> consumer) {
+		var legalId = Optional.ofNullable(parameters.getPartyId()).map(legalIdProvider::translateToLegalId).orElse(null);
+		var fromDateTime = Optional.ofNullable(parameters.getFromDateTime()).map(OffsetDateTime::toLocalDateTime).orElse(null);
+		var toDateTime = Optional.ofNullable(parameters.getToDateTime()).map(OffsetDateTime::toLocalDateTime).orElse(null);
+
+		switch (category) {
+			case DISTRICT_HEATING -> districtHeatingMeasurementProvider.streamMeasurements(legalId, aggregateOn, fromDateTime, toDateTime, parameters, consumer);
+			case ELECTRICITY -> electricityMeasurementProvider.streamMeasurements(legalId, aggregateOn, fromDateTime, toDateTime, parameters, consumer);
+			default -> throw Problem.valueOf(Status.NOT_IMPLEMENTED, String.format(CATEGORY_NOT_IMPLEMENTED, category));
+		}
+	}
 }
@@ -0,0 +1,181 @@
+package se.sundsvall.datawarehousereader.service.logic;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import static java.util.stream.Collectors.groupingBy;
+import static se.sundsvall.datawarehousereader.integration.stadsbacken.configuration.ClosedPeriodCacheConfiguration.CLOSED_PERIODS_CACHE;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.support.PropertyComparator;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import se.sundsvall.datawarehousereader.api.model.Category;
+import se.sundsvall.datawarehousereader.api.model.measurement.Aggregation;
+import se.sundsvall.datawarehousereader.integration.stadsbacken.configuration.ClosedPeriodCacheProperties;
+import se.sundsvall.datawarehousereader.integration.stadsbacken.model.measurement.DefaultMeasurementAttributesInterface;
+
+/**
+ * Cache for measurements belonging to closed months, i.e. months before the current month. Readings for closed
+ * months never change in the data warehouse, hence they are cached per month and only the open (current) period
+ * and closed months not yet present in the cache are read from the database. Only requests narrowed to a customer or a
+ * facility are served through the cache, and at most the configured number of rows per request, larger results are
+ * left to be paged and counted by the database.
+ */
+@Component
+public class ClosedPeriodMeasurementCache {
+
+	static final String CACHE_NAME = CLOSED_PERIODS_CACHE;
+
+	@Autowired
+	private CacheManager cacheManager;
+
+	@Autowired
+	private ClosedPeriodCacheProperties properties;
+
+	private record PeriodKey(Category category, Aggregation aggregation, String legalId, String facilityId, YearMonth month) {}
+
+	/**
+	 * Query for measurements between two (inclusive) timestamps
+	 */
+	@FunctionalInterface
+	public interface RangeQuery<T> {
+
+		/**
+		 * @param from  start of the range
+		 * @param to    end of the range (or null)
+		 * @param limit maximum number of measurements to return
+		 * @return at most limit measurements within the range
+		 */
+		List<T> find(LocalDateTime from, LocalDateTime to, int limit);
+	}
+
+	/**
+	 * Returns true if the request is narrowed to a customer or a facility and the requested range starts in a closed
+	 * month, and hence has a part that can be served by the cache
+	 * @param legalId      legalId used in the query (or null)
+	 * @param facilityId   facilityId used in the query (or null)
+	 * @param fromDateTime start of the requested range (or null)
+	 * @return true if request is narrowed and range starts before current month, false otherwise
+	 */
+	public boolean coversClosedPeriod(String legalId, String facilityId, LocalDateTime fromDateTime) {
+		return (nonNull(legalId) || nonNull(facilityId)) && nonNull(fromDateTime) && fromDateTime.isBefore(startOfOpenPeriod());
+	}
+
+	/**
+	 * Returns all measurements within the requested range, sorted according to sent in sort. Closed months are read from
+	 * the cache when present, missing closed months are read from the database with one query and added to the cache,
+	 * and the open period is always read from the database. Nothing is returned, and nothing is cached, when the
+	 * missing months or the requested range hold more rows than the configured maximum per request.
+	 *
+	 * @param category     category of measurements, part of the cache key
+	 * @param aggregation  aggregation of measurements, part of the cache key
+	 * @param legalId      legalId used in the query (or null), part of the cache key
+	 * @param facilityId   facilityId used in the query (or null), part of the cache key
+	 * @param fromDateTime start of the requested range, must not be null
+	 * @param toDateTime   end of the requested range (or null)
+	 * @param sort         sort order of the returned list
+	 * @param query        query returning measurements between two (inclusive) timestamps
+	 * @return Optional<List<T>> with all measurements in the requested range, or empty if there are too many to cache
+	 */
+	public <T extends DefaultMeasurementAttributesInterface> Optional<List<T>> findAll(Category category, Aggregation aggregation, String legalId, String facilityId,
+		LocalDateTime fromDateTime, LocalDateTime toDateTime, Sort sort, RangeQuery<T> query) {
+
+		final var cache = cacheManager.getCache(CACHE_NAME);
+		final var openPeriodStart = startOfOpenPeriod();
+		final var lastClosedMonth = YearMonth.from(openPeriodStart).minusMonths(1);
+		final var lastMonth = isNull(toDateTime) || YearMonth.from(toDateTime).isAfter(lastClosedMonth) ? lastClosedMonth : YearMonth.from(toDateTime);
+
+		final Map<YearMonth, List<T>> closedMonths = new TreeMap<>();
+		final List<YearMonth> missingMonths = new ArrayList<>();
+		for (var month = YearMonth.from(fromDateTime); !month.isAfter(lastMonth); month = month.plusMonths(1)) {
+			final List<T> cached = getCached(cache, new PeriodKey(category, aggregation, legalId, facilityId, month));
+			if (nonNull(cached)) {
+				closedMonths.put(month, cached);
+			} else {
+				missingMonths.add(month);
+			}
+		}
+
+		final var maximumRows = properties.maximumRowsPerRequest();
+		if (!missingMonths.isEmpty()) {
+			final var fetched = fetchMissingMonths(cache, category, aggregation, legalId, facilityId, missingMonths, maximumRows, query);
+			if (fetched.isEmpty()) {
+				return Optional.empty();
+			}
+			closedMonths.putAll(fetched.get());
+		}
+
+		final List<T> result = new ArrayList<>();
+		closedMonths.values().stream()
+			.flatMap(List::stream)
+			.filter(entity -> isWithin(entity.getMeasurementTimestamp(), fromDateTime, toDateTime))
+			.forEach(result::add);
+
+		if ((isNull(toDateTime) || !toDateTime.isBefore(openPeriodStart)) && result.size() <= maximumRows) {
+			result.addAll(query.find(fromDateTime.isAfter(openPeriodStart) ? fromDateTime : openPeriodStart, toDateTime, maximumRows + 1 - result.size()));
+		}
+		if (result.size() > maximumRows) {
+			return Optional.empty();
+		}
+
+		toComparator(sort).ifPresent(result::sort);
+		return Optional.of(result);
+	}
+
+	/**
+	 * Reads all missing months in one query, returning empty (without caching any month) if they hold more than
+	 * maximumRows rows
+	 */
+	private <T extends DefaultMeasurementAttributesInterface> Optional<Map<YearMonth, List<T>>> fetchMissingMonths(Cache cache, Category category, Aggregation aggregation,
+		String legalId, String facilityId, List<YearMonth> missingMonths, int maximumRows, RangeQuery<T> query) {
+
+		// The end is inclusive, hence rows starting the following month are read as well and discarded
+		final var rows = query.find(missingMonths.get(0).atDay(1).atStartOfDay(), missingMonths.get(missingMonths.size() - 1).plusMonths(1).atDay(1).atStartOfDay(), maximumRows + 1);
+		if (rows.size() > maximumRows) {
+			return Optional.empty();
+		}
+		final var fetched = rows.stream()
+			.collect(groupingBy(entity -> YearMonth.from(entity.getMeasurementTimestamp())));
+
+		final Map<YearMonth, List<T>> months = new TreeMap<>();
+		missingMonths.forEach(month -> {
+			final var entities = List.copyOf(fetched.getOrDefault(month, List.of()));
+			if (nonNull(cache)) {
+				cache.put(new PeriodKey(category, aggregation, legalId, facilityId, month), entities);
+			}
+			months.put(month, entities);
+		});
+		return Optional.of(months);
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T> List<T> getCached(Cache cache, PeriodKey key) {
+		return isNull(cache) ? null : cache.get(key, List.class);
+	}
+
+	private static boolean isWithin(LocalDateTime timestamp, LocalDateTime fromDateTime, LocalDateTime toDateTime) {
+		return !timestamp.isBefore(fromDateTime) && (isNull(toDateTime) || !timestamp.isAfter(toDateTime));
+	}
+
+	private static <T> Optional<Comparator<T>> toComparator(Sort sort) {
+		return sort.stream()
+			.<Comparator<T>>map(order -> new PropertyComparator<>(order.getProperty(), order.isIgnoreCase(), order.isAscending()))
+			.reduce(Comparator::thenComparing);
+	}
+
+	private static LocalDateTime startOfOpenPeriod() {
+		return YearMonth.now().atDay(1).atStartOfDay();
+	}
+}
@@ -2,27 +2,42 @@ package se.sundsvall.datawarehousereader.service.logic;
 import static java.util.Collections.emptyList;
 import static java.util.Optional.ofNullable;
 import static org.springframework.data.domain.PageRequest.of;
+import static se.sundsvall.datawarehousereader.Constants.PAGING_MODE_NOT_SUPPORTED_FOR_AGGREGATION;
 import static se.sundsvall.datawarehousereader.api.model.Category.DISTRICT_HEATING;
 import static se.sundsvall.datawarehousereader.api.model.measurement.Aggregation.MONTH;
+import static se.sundsvall.datawarehousereader.api.model.measurement.Aggregation.QUARTER;
+import static se.sundsvall.datawarehousereader.api.model.measurement.Aggregation.YEAR;
+import static se.sundsvall.datawarehousereader.integration.stadsbacken.model.measurement.MeasurementView.DISTRICT_HEATING_MONTH;
+import static se.sundsvall.datawarehousereader.integration.stadsbacken.specification.MeasurementDistrictHeatingMonthSpecification.KEYSET_COLUMNS;
 import static se.sundsvall.datawarehousereader.service.mapper.MeasurementMapper.decorateMeasurement;
 import static se.sundsvall.datawarehousereader.service.mapper.MeasurementMapper.toMeasurementResponse;
+import static se.sundsvall.datawarehousereader.service.mapper.MeasurementMapper.toPagedMeasurementResponse;
+import static se.sundsvall.datawarehousereader.service.mapper.MeasurementMapper.toSlicedMeasurementResponse;
+import static se.sundsvall.datawarehousereader.service.util.ContinuationTokenUtil.toKey;
+import static se.sundsvall.datawarehousereader.service.util.ContinuationTokenUtil.toNextToken;
+import static se.sundsvall.datawarehousereader.service.util.ServiceUtil.requireRollupFilter;
 
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 import org.zalando.problem.Problem;
 import org.zalando.problem.Status;
 
+import se.sundsvall.datawarehousereader.api.model.PagingMode;
 import se.sundsvall.datawarehousereader.api.model.measurement.Aggregation;
 import se.sundsvall.datawarehousereader.api.model.measurement.Measurement;
 import se.sundsvall.datawarehousereader.api.model.measurement.MeasurementMetaData;
 import se.sundsvall.datawarehousereader.api.model.measurement.MeasurementParameters;
 import se.sundsvall.datawarehousereader.api.model.measurement.MeasurementResponse;
 import se.sundsvall.datawarehousereader.integration.stadsbacken.MeasurementDistrictHeatingMonthRepository;
+import se.sundsvall.datawarehousereader.integration.stadsbacken.MeasurementJdbcRepository;
 import se.sundsvall.datawarehousereader.integration.stadsbacken.model.measurement.MeasurementDistrictHeatingMonthEntity;
 import se.sundsvall.datawarehousereader.service.mapper.MeasurementMapper;
 
@@ -32,15 +47,55 @@ public class DistrictHeatingMeasurementProvider {
 	@Autowired
 	private MeasurementDistrictHeatingMonthRepository districtHeatingMonthRepository;
 
+	@Autowired
+	private ClosedPeriodMeasurementCache closedPeriodCache;
+
+	@Autowired
+	private MeasurementJdbcRepository measurementJdbcRepository;
+
+	@Autowired
+	private MeasurementReaderSelector measurementReaderSelector;
+
 	private static final String AGGREGATION_NOT_IMPLEMENTED = "aggregation '%s' and category '%s'";
 	private static final String READING_SEQUENCE_KEY = "readingSequence";
 	private static final String FEED_TYPE_ID_KEY = "feedTypeId";
 
 	public MeasurementResponse getMeasurements(String legalId, Aggregation aggregation, LocalDateTime fromDateTime, LocalDateTime toDateTime, MeasurementParameters searchParams) {
+		if (isRolledUp(aggregation)) {
+			return getRolledUpMeasurements(legalId, aggregation, fromDateTime, toDateTime, searchParams);
+		}
+
 		if (aggregation != MONTH) {
 			throw Problem.valueOf(Status.NOT_IMPLEMENTED, String.format(AGGREGATION_NOT_IMPLEMENTED, aggregation, DISTRICT_HEATING));
 		}
 
+		if (searchParams.getPagingMode() == PagingMode.KEYSET) {
+			return getMeasurementsAfter(legalId, aggregation, fromDateTime, toDateTime, searchParams);
+		}
+
+		if (closedPeriodCache.coversClosedPeriod(legalId, searchParams.getFacilityId(), fromDateTime)) {
+			var entities = closedPeriodCache.findAll(DISTRICT_HEATING, aggregation, legalId, searchParams.getFacilityId(), fromDateTime, toDateTime, searchParams.sort(),
+				(from, to, limit) -> districtHeatingMonthRepository.findAllSlicedMatching(legalId, searchParams.getFacilityId(), from, to, of(0, limit)).getContent());
+
+			// Results too large to cache are paged and counted by the database below
+			if (entities.isPresent()) {
+				var measurements = toMeasurements(entities.get(), searchParams, aggregation);
+
+				return searchParams.getPagingMode() == PagingMode.SLICE ? toSlicedMeasurementResponse(searchParams, measurements) : toPagedMeasurementResponse(searchParams, measurements);
+			}
+		}
+
+		if (measurementReaderSelector.useJdbc()) {
+			return getMeasurementsFromJdbc(legalId, aggregation, fromDateTime, toDateTime, searchParams);
+		}
+
+		if (searchParams.getPagingMode() == PagingMode.SLICE) {
+			var slice = districtHeatingMonthRepository.findAllSlicedMatching(legalId, searchParams.getFacilityId(), fromDateTime, toDateTime,
+				of(searchParams.getPage() - 1, searchParams.getLimit(), searchParams.sort()));
+
+			return toMeasurementResponse(searchParams, slice.hasNext(), toMeasurements(slice.getContent(), searchParams, aggregation));
+		}
+
 		var matches = districtHeatingMonthRepository.findAllMatching(legalId, searchParams.getFacilityId(), fromDateTime, toDateTime,
 			of(searchParams.getPage() - 1, searchParams.getLimit(), searchParams.sort()));
 
@@ -50,6 +105,97 @@ public class DistrictHeatingMeasurementProvider {
 		return toMeasurementResponse(searchParams, matches.getTotalPages(), matches.getTotalElements(), measurements);
 	}
 
+	@Transactional(readOnly = true)
+	public void streamMeasurements(String legalId, Aggregation aggregation, LocalDateTime fromDateTime, LocalDateTime toDateTime, MeasurementParameters searchParams, Consumer<Measurement> consumer) {
+		if (isRolledUp(aggregation)) {
+			requireRollupFilter(aggregation, legalId, searchParams.getFacilityId());
+			districtHeatingMonthRepository.findAllRolledUpMatching(legalId, searchParams.getFacilityId(), fromDateTime, toDateTime, aggregation, searchParams.sort()).stream()
+				.map(MeasurementMapper::toMeasurement)
+				.map(measurement -> decorateMeasurement(measurement, searchParams.getPartyId(), aggregation, DISTRICT_HEATING))
+				.forEach(consumer);
+			return;
+		}
+
+		if (aggregation != MONTH) {
+			throw Problem.valueOf(Status.NOT_IMPLEMENTED, String.format(AGGREGATION_NOT_IMPLEMENTED, aggregation, DISTRICT_HEATING));
+		}
+
+		if (measurementReaderSelector.useJdbc()) {
+			measurementJdbcRepository.streamAllMatching(DISTRICT_HEATING_MONTH, legalId, searchParams.getFacilityId(), fromDateTime, toDateTime, searchParams.sort(),
+				toDecorator(searchParams, aggregation), consumer);
+			return;
+		}
+
+		try (var entities = districtHeatingMonthRepository.streamAllMatching(legalId, searchParams.getFacilityId(), fromDateTime, toDateTime, searchParams.sort())) {
+			entities
+				.map(this::toMeasurement)
+				.map(measurement -> decorateMeasurement(measurement, searchParams.getPartyId(), aggregation, DISTRICT_HEATING))
+				.forEach(consumer);
+		}
+	}
+
+	/**
+	 * Quarters and years are rolled up from month measurements, and paged, by the database. A rollup reads every
+	 * measurement in range, hence it must be limited to a party or a facility.
+	 */
+	private MeasurementResponse getRolledUpMeasurements(String legalId, Aggregation aggregation, LocalDateTime fromDateTime, LocalDateTime toDateTime, MeasurementParameters searchParams) {
+		if (searchParams.getPagingMode() == PagingMode.KEYSET) {
+			throw Problem.valueOf(Status.BAD_REQUEST, String.format(PAGING_MODE_NOT_SUPPORTED_FOR_AGGREGATION, PagingMode.KEYSET, aggregation));
+		}
+
+		requireRollupFilter(aggregation, legalId, searchParams.getFacilityId());
+
+		if (searchParams.getPagingMode() == PagingMode.SLICE) {
+			var slice = districtHeatingMonthRepository.findAllSlicedRolledUpMatching(legalId, searchParams.getFacilityId(), fromDateTime, toDateTime, aggregation,
+				of(searchParams.getPage() - 1, searchParams.getLimit(), searchParams.sort()));
+
+			return toMeasurementResponse(searchParams, slice.hasNext(), MeasurementMapper.toMeasurements(slice.getContent(), searchParams, aggregation, DISTRICT_HEATING));
+		}
+
+		var matches = districtHeatingMonthRepository.findAllRolledUpMatching(legalId, searchParams.getFacilityId(), fromDateTime, toDateTime, aggregation,
+			of(searchParams.getPage() - 1, searchParams.getLimit(), searchParams.sort()));
+
+		// If page larger than last page is requested, an empty list is returned otherwise the current page
+		List<Measurement> measurements = matches.getTotalPages() < searchParams.getPage() ? Collections.emptyList() : MeasurementMapper.toMeasurements(matches.getContent(), searchParams, aggregation, DISTRICT_HEATING);
+
+		return toMeasurementResponse(searchParams, matches.getTotalPages(), matches.getTotalElements(), measurements);
+	}
+
+	/**
+	 * Reads a page or slice of measurements with plain JDBC, straight into the response model
+	 */
+	private MeasurementResponse getMeasurementsFromJdbc(String legalId, Aggregation aggregation, LocalDateTime fromDateTime, LocalDateTime toDateTime, MeasurementParameters searchParams) {
+		if (searchParams.getPagingMode() == PagingMode.SLICE) {
+			var slice = measurementJdbcRepository.findAllSlicedMatching(DISTRICT_HEATING_MONTH, legalId, searchParams.getFacilityId(), fromDateTime, toDateTime,
+				of(searchParams.getPage() - 1, searchParams.getLimit(), searchParams.sort()), toDecorator(searchParams, aggregation));
+
+			return toMeasurementResponse(searchParams, slice.hasNext(), slice.getContent());
+		}
+
+		var matches = measurementJdbcRepository.findAllMatching(DISTRICT_HEATING_MONTH, legalId, searchParams.getFacilityId(), fromDateTime, toDateTime,
+			of(searchParams.getPage() - 1, searchParams.getLimit(), searchParams.sort()), toDecorator(searchParams, aggregation));
+
+		// If page larger than last page is requested, an empty list is returned otherwise the current page
+		List<Measurement> measurements = matches.getTotalPages() < searchParams.getPage() ? Collections.emptyList() : matches.getContent();
+
+		return toMeasurementResponse(searchParams, matches.getTotalPages(), matches.getTotalElements(), measurements);
+	}
+
+	private UnaryOperator<Measurement> toDecorator(MeasurementParameters searchParams, Aggregation aggregation) {
+		return measurement -> decorateMeasurement(measurement, searchParams.getPartyId(), aggregation, DISTRICT_HEATING);
+	}
+
+	private boolean isRolledUp(Aggregation aggregation) {
+		return aggregation == QUARTER || aggregation == YEAR;
+	}
+
+	private MeasurementResponse getMeasurementsAfter(String legalId, Aggregation aggregation, LocalDateTime fromDateTime, LocalDateTime toDateTime, MeasurementParameters searchParams) {
+		var matches = districtHeatingMonthRepository.findAllMatchingAfter(legalId, searchParams.getFacilityId(), fromDateTime, toDateTime,
+			toKey(searchParams.getContinuationToken(), KEYSET_COLUMNS), searchParams.getLimit());
+
+		return toMeasurementResponse(searchParams, toNextToken(matches, KEYSET_COLUMNS), toMeasurements(matches.getContent(), searchParams, aggregation));
+	}
+
 	private List<Measurement> toMeasurements(List<MeasurementDistrictHeatingMonthEntity> entities, MeasurementParameters searchParams, Aggregation aggregation) {
 		return ofNullable(entities).orElse(emptyList()).stream()
 			.filter(Objects::nonNull)
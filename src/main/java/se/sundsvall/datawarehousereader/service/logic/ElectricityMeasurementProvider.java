@@ -1,26 +1,49 @@
 package se.sundsvall.datawarehousereader.service.logic;
 
 import static org.springframework.data.domain.PageRequest.of;
+import static se.sundsvall.datawarehousereader.Constants.PAGING_MODE_NOT_SUPPORTED_FOR_AGGREGATION;
 import static se.sundsvall.datawarehousereader.api.model.Category.ELECTRICITY;
 import static se.sundsvall.datawarehousereader.api.model.measurement.Aggregation.DAY;
 import static se.sundsvall.datawarehousereader.api.model.measurement.Aggregation.MONTH;
+import static se.sundsvall.datawarehousereader.api.model.measurement.Aggregation.WEEK;
+import static se.sundsvall.datawarehousereader.integration.stadsbacken.model.measurement.MeasurementView.ELECTRICITY_DAY;
+import static se.sundsvall.datawarehousereader.integration.stadsbacken.model.measurement.MeasurementView.ELECTRICITY_MONTH;
+import static se.sundsvall.datawarehousereader.service.mapper.MeasurementMapper.decorateMeasurement;
 import static se.sundsvall.datawarehousereader.service.mapper.MeasurementMapper.toMeasurementResponse;
+import static se.sundsvall.datawarehousereader.service.mapper.MeasurementMapper.toPagedMeasurementResponse;
+import static se.sundsvall.datawarehousereader.service.mapper.MeasurementMapper.toSlicedMeasurementResponse;
+import static se.sundsvall.datawarehousereader.service.util.ContinuationTokenUtil.toKey;
+import static se.sundsvall.datawarehousereader.service.util.ContinuationTokenUtil.toNextToken;
+import static se.sundsvall.datawarehousereader.service.util.ServiceUtil.requireRollupFilter;
 
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 import org.zalando.problem.Problem;
 import org.zalando.problem.Status;
 
+import se.sundsvall.datawarehousereader.api.model.PagingMode;
 import se.sundsvall.datawarehousereader.api.model.measurement.Aggregation;
 import se.sundsvall.datawarehousereader.api.model.measurement.Measurement;
 import se.sundsvall.datawarehousereader.api.model.measurement.MeasurementParameters;
 import se.sundsvall.datawarehousereader.api.model.measurement.MeasurementResponse;
 import se.sundsvall.datawarehousereader.integration.stadsbacken.MeasurementElectricityDayRepository;
 import se.sundsvall.datawarehousereader.integration.stadsbacken.MeasurementElectricityMonthRepository;
+import se.sundsvall.datawarehousereader.integration.stadsbacken.MeasurementJdbcRepository;
+import se.sundsvall.datawarehousereader.integration.stadsbacken.model.measurement.MeasurementRollup;
+import se.sundsvall.datawarehousereader.integration.stadsbacken.model.measurement.MeasurementView;
+import se.sundsvall.datawarehousereader.integration.stadsbacken.specification.MeasurementElectricityDaySpecification;
+import se.sundsvall.datawarehousereader.integration.stadsbacken.specification.MeasurementElectricityMonthSpecification;
 import se.sundsvall.datawarehousereader.service.mapper.MeasurementMapper;
 
 @Component
@@ -32,18 +55,126 @@ public class ElectricityMeasurementProvider {
 	@Autowired
 	private MeasurementElectricityDayRepository electricityDayRepositoryRepository;
 
+	@Autowired
+	private ClosedPeriodMeasurementCache closedPeriodCache;
+
+	@Autowired
+	private MeasurementJdbcRepository measurementJdbcRepository;
+
+	@Autowired
+	private MeasurementReaderSelector measurementReaderSelector;
+
 	private static final String AGGREGATION_NOT_IMPLEMENTED = "aggregation '%s' and category '%s'";
 
 	public MeasurementResponse getMeasurements(String legalId, Aggregation aggregateOn, LocalDateTime fromDateTime, LocalDateTime toDateTime, MeasurementParameters parameters) {
+		final var keyset = parameters.getPagingMode() == PagingMode.KEYSET;
 
 		return switch (aggregateOn) {
-			case DAY -> getElectricityDay(legalId, fromDateTime, toDateTime, parameters);
-			case MONTH -> getElectricityMonth(legalId, fromDateTime, toDateTime, parameters);
+			case DAY -> keyset ? getElectricityDayAfter(legalId, fromDateTime, toDateTime, parameters) : getElectricityDay(legalId, fromDateTime, toDateTime, parameters);
+			case MONTH -> keyset ? getElectricityMonthAfter(legalId, fromDateTime, toDateTime, parameters) : getElectricityMonth(legalId, fromDateTime, toDateTime, parameters);
+			case WEEK, QUARTER, YEAR -> getElectricityRolledUp(legalId, aggregateOn, fromDateTime, toDateTime, parameters);
+			default -> throw Problem.valueOf(Status.NOT_IMPLEMENTED, String.format(AGGREGATION_NOT_IMPLEMENTED, aggregateOn, ELECTRICITY));
+		};
+	}
+
+	@Transactional(readOnly = true)
+	public void streamMeasurements(String legalId, Aggregation aggregateOn, LocalDateTime fromDateTime, LocalDateTime toDateTime, MeasurementParameters parameters, Consumer<Measurement> consumer) {
+		if ((aggregateOn == DAY || aggregateOn == MONTH) && measurementReaderSelector.useJdbc()) {
+			measurementJdbcRepository.streamAllMatching(aggregateOn == DAY ? ELECTRICITY_DAY : ELECTRICITY_MONTH, legalId, parameters.getFacilityId(), fromDateTime, toDateTime, parameters.sort(),
+				toDecorator(parameters, aggregateOn), consumer);
+			return;
+		}
+
+		final Stream<Measurement> measurements = switch (aggregateOn) {
+			case DAY -> electricityDayRepositoryRepository.streamAllMatching(legalId, parameters.getFacilityId(), fromDateTime, toDateTime, parameters.sort())
+				.map(MeasurementMapper::toMeasurement)
+				.map(measurement -> decorateMeasurement(measurement, parameters.getPartyId(), DAY, ELECTRICITY));
+			case MONTH -> electricityMonthRepository.streamAllMatching(legalId, parameters.getFacilityId(), fromDateTime, toDateTime, parameters.sort())
+				.map(MeasurementMapper::toMeasurement)
+				.map(measurement -> decorateMeasurement(measurement, parameters.getPartyId(), MONTH, ELECTRICITY));
+			case WEEK, QUARTER, YEAR -> findAllRolledUp(legalId, aggregateOn, fromDateTime, toDateTime, parameters).stream()
+				.map(MeasurementMapper::toMeasurement)
+				.map(measurement -> decorateMeasurement(measurement, parameters.getPartyId(), aggregateOn, ELECTRICITY));
 			default -> throw Problem.valueOf(Status.NOT_IMPLEMENTED, String.format(AGGREGATION_NOT_IMPLEMENTED, aggregateOn, ELECTRICITY));
 		};
+
+		try (measurements) {
+			measurements.forEach(consumer);
+		}
+	}
+
+	private MeasurementResponse getElectricityRolledUp(String legalId, Aggregation aggregateOn, LocalDateTime fromDateTime, LocalDateTime toDateTime, MeasurementParameters parameters) {
+		if (parameters.getPagingMode() == PagingMode.KEYSET) {
+			throw Problem.valueOf(Status.BAD_REQUEST, String.format(PAGING_MODE_NOT_SUPPORTED_FOR_AGGREGATION, PagingMode.KEYSET, aggregateOn));
+		}
+
+		requireRollupFilter(aggregateOn, legalId, parameters.getFacilityId());
+		final var pageable = of(parameters.getPage() - 1, parameters.getLimit(), parameters.sort());
+
+		if (parameters.getPagingMode() == PagingMode.SLICE) {
+			var slice = findAllSlicedRolledUp(legalId, aggregateOn, fromDateTime, toDateTime, parameters.getFacilityId(), pageable);
+
+			return toMeasurementResponse(parameters, slice.hasNext(), MeasurementMapper.toMeasurements(slice.getContent(), parameters, aggregateOn, ELECTRICITY));
+		}
+
+		var matches = findAllRolledUp(legalId, aggregateOn, fromDateTime, toDateTime, parameters.getFacilityId(), pageable);
+
+		// If page larger than last page is requested, an empty list is returned otherwise the current page
+		List<Measurement> measurements = matches.getTotalPages() < parameters.getPage() ? Collections.emptyList() : MeasurementMapper.toMeasurements(matches.getContent(), parameters, aggregateOn, ELECTRICITY);
+
+		return toMeasurementResponse(parameters, matches.getTotalPages(), matches.getTotalElements(), measurements);
+	}
+
+	/**
+	 * Weeks are rolled up from day measurements, quarters and years from month measurements
+	 */
+	private List<MeasurementRollup> findAllRolledUp(String legalId, Aggregation aggregateOn, LocalDateTime fromDateTime, LocalDateTime toDateTime, MeasurementParameters parameters) {
+		requireRollupFilter(aggregateOn, legalId, parameters.getFacilityId());
+
+		if (aggregateOn == WEEK) {
+			return electricityDayRepositoryRepository.findAllRolledUpMatching(legalId, parameters.getFacilityId(), fromDateTime, toDateTime, aggregateOn, parameters.sort());
+		}
+		return electricityMonthRepository.findAllRolledUpMatching(legalId, parameters.getFacilityId(), fromDateTime, toDateTime, aggregateOn, parameters.sort());
+	}
+
+	private Page<MeasurementRollup> findAllRolledUp(String legalId, Aggregation aggregateOn, LocalDateTime fromDateTime, LocalDateTime toDateTime, String facilityId, Pageable pageable) {
+		if (aggregateOn == WEEK) {
+			return electricityDayRepositoryRepository.findAllRolledUpMatching(legalId, facilityId, fromDateTime, toDateTime, aggregateOn, pageable);
+		}
+		return electricityMonthRepository.findAllRolledUpMatching(legalId, facilityId, fromDateTime, toDateTime, aggregateOn, pageable);
+	}
+
+	private Slice<MeasurementRollup> findAllSlicedRolledUp(String legalId, Aggregation aggregateOn, LocalDateTime fromDateTime, LocalDateTime toDateTime, String facilityId, Pageable pageable) {
+		if (aggregateOn == WEEK) {
+			return electricityDayRepositoryRepository.findAllSlicedRolledUpMatching(legalId, facilityId, fromDateTime, toDateTime, aggregateOn, pageable);
+		}
+		return electricityMonthRepository.findAllSlicedRolledUpMatching(legalId, facilityId, fromDateTime, toDateTime, aggregateOn, pageable);
 	}
 
 	private MeasurementResponse getElectricityMonth(String legalId, LocalDateTime fromDateTime, LocalDateTime toDateTime, MeasurementParameters parameters) {
+		if (closedPeriodCache.coversClosedPeriod(legalId, parameters.getFacilityId(), fromDateTime)) {
+			var entities = closedPeriodCache.findAll(ELECTRICITY, MONTH, legalId, parameters.getFacilityId(), fromDateTime, toDateTime, parameters.sort(),
+				(from, to, limit) -> electricityMonthRepository.findAllSlicedMatching(legalId, parameters.getFacilityId(), from, to, of(0, limit)).getContent());
+
+			// Results too large to cache are paged and counted by the database below
+			if (entities.isPresent()) {
+				var measurements = MeasurementMapper.toMeasurements(entities.get(), parameters, MONTH, ELECTRICITY);
+
+				return parameters.getPagingMode() == PagingMode.SLICE ? toSlicedMeasurementResponse(parameters, measurements) : toPagedMeasurementResponse(parameters, measurements);
+			}
+		}
+
+		if (measurementReaderSelector.useJdbc()) {
+			return getElectricityFromJdbc(ELECTRICITY_MONTH, MONTH, legalId, fromDateTime, toDateTime, parameters);
+		}
+
+		if (parameters.getPagingMode() == PagingMode.SLICE) {
+			var slice = electricityMonthRepository.findAllSlicedMatching(legalId, parameters.getFacilityId(), fromDateTime, toDateTime,
+				of(parameters.getPage() - 1, parameters.getLimit(), parameters.sort()));
+
+			return toMeasurementResponse(parameters, slice.hasNext(), MeasurementMapper.toMeasurements(slice.getContent(), parameters, MONTH, ELECTRICITY));
+		}
+
 		var matches = electricityMonthRepository.findAllMatching(legalId, parameters.getFacilityId(), fromDateTime, toDateTime,
 			of(parameters.getPage() - 1, parameters.getLimit(), parameters.sort()));
 
@@ -54,6 +185,17 @@ public class ElectricityMeasurementProvider {
 	}
 
 	private MeasurementResponse getElectricityDay(String legalId, LocalDateTime fromDateTime, LocalDateTime toDateTime, MeasurementParameters parameters) {
+		if (measurementReaderSelector.useJdbc()) {
+			return getElectricityFromJdbc(ELECTRICITY_DAY, DAY, legalId, fromDateTime, toDateTime, parameters);
+		}
+
+		if (parameters.getPagingMode() == PagingMode.SLICE) {
+			var slice = electricityDayRepositoryRepository.findAllSlicedMatching(legalId, parameters.getFacilityId(), fromDateTime, toDateTime,
+				of(parameters.getPage() - 1, parameters.getLimit(), parameters.sort()));
+
+			return toMeasurementResponse(parameters, slice.hasNext(), MeasurementMapper.toMeasurements(slice.getContent(), parameters, DAY, ELECTRICITY));
+		}
+
 		var matches = electricityDayRepositoryRepository.findAllMatching(legalId, parameters.getFacilityId(), fromDateTime, toDateTime,
 			of(parameters.getPage() - 1, parameters.getLimit(), parameters.sort()));
 
@@ -62,4 +204,46 @@ public class ElectricityMeasurementProvider {
 
 		return toMeasurementResponse(parameters, matches.getTotalPages(), matches.getTotalElements(), measurements);
 	}
+
+	/**
+	 * Reads a page or slice of measurements with plain JDBC, straight into the response model
+	 */
+	private MeasurementResponse getElectricityFromJdbc(MeasurementView view, Aggregation aggregateOn, String legalId, LocalDateTime fromDateTime, LocalDateTime toDateTime, MeasurementParameters parameters) {
+		if (parameters.getPagingMode() == PagingMode.SLICE) {
+			var slice = measurementJdbcRepository.findAllSlicedMatching(view, legalId, parameters.getFacilityId(), fromDateTime, toDateTime,
+				of(parameters.getPage() - 1, parameters.getLimit(), parameters.sort()), toDecorator(parameters, aggregateOn));
+
+			return toMeasurementResponse(parameters, slice.hasNext(), slice.getContent());
+		}
+
+		var matches = measurementJdbcRepository.findAllMatching(view, legalId, parameters.getFacilityId(), fromDateTime, toDateTime,
+			of(parameters.getPage() - 1, parameters.getLimit(), parameters.sort()), toDecorator(parameters, aggregateOn));
+
+		// If page larger than last page is requested, an empty list is returned otherwise the current page
+		List<Measurement> measurements = matches.getTotalPages() < parameters.getPage() ? Collections.emptyList() : matches.getContent();
+
+		return toMeasurementResponse(parameters, matches.getTotalPages(), matches.getTotalElements(), measurements);
+	}
+
+	private UnaryOperator<Measurement> toDecorator(MeasurementParameters parameters, Aggregation aggregateOn) {
+		return measurement -> decorateMeasurement(measurement, parameters.getPartyId(), aggregateOn, ELECTRICITY);
+	}
+
+	private MeasurementResponse getElectricityMonthAfter(String legalId, LocalDateTime fromDateTime, LocalDateTime toDateTime, MeasurementParameters parameters) {
+		var matches = electricityMonthRepository.findAllMatchingAfter(legalId, parameters.getFacilityId(), fromDateTime, toDateTime,
+			toKey(parameters.getContinuationToken(), MeasurementElectricityMonthSpecification.KEYSET_COLUMNS), parameters.getLimit());
+
+		List<Measurement> measurements = MeasurementMapper.toMeasurements(matches.getContent(), parameters, MONTH, ELECTRICITY);
+
+		return toMeasurementResponse(parameters, toNextToken(matches, MeasurementElectricityMonthSpecification.KEYSET_COLUMNS), measurements);
+	}
+
+	private MeasurementResponse getElectricityDayAfter(String legalId, LocalDateTime fromDateTime, LocalDateTime toDateTime, MeasurementParameters parameters) {
+		var matches = electricityDayRepositoryRepository.findAllMatchingAfter(legalId, parameters.getFacilityId(), fromDateTime, toDateTime,
+			toKey(parameters.getContinuationToken(), MeasurementElectricityDaySpecification.KEYSET_COLUMNS), parameters.getLimit());
+
+		List<Measurement> measurements = MeasurementMapper.toMeasurements(matches.getContent(), parameters, DAY, ELECTRICITY);
+
+		return toMeasurementResponse(parameters, toNextToken(matches, MeasurementElectricityDaySpecification.KEYSET_COLUMNS), measurements);
+	}
 }
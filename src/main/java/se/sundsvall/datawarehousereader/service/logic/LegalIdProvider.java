@@ -0,0 +1,52 @@
+package se.sundsvall.datawarehousereader.service.logic;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import se.sundsvall.datawarehousereader.integration.stadsbacken.AgreementRepository;
+
+/**
+ * Translates a partyId to legalId using the uuid column in the data warehouse, which holds the partyId of the
+ * customer. Party is only called when the data warehouse has no customer connected to the partyId, or when the
+ * partyId is connected to more than one customer (in which case Party decides which legalId is correct).
+ */
+@Component
+public class LegalIdProvider {
+
+	static final String LEGAL_ID_LOOKUP_METRIC = "datawarehousereader.legalid.lookups";
+
+	@Autowired
+	private AgreementRepository agreementRepository;
+
+	@Autowired
+	private PartyProvider partyProvider;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	/**
+	 * Translates a partyId to legalId
+	 *
+	 * @param partyId the partyId to translate
+	 * @return the legalId connected to the partyId
+	 * @throws org.zalando.problem.ThrowableProblem with status NOT_FOUND if partyId is neither present in the data
+	 *                                             warehouse nor found in Party
+	 */
+	public String translateToLegalId(String partyId) {
+		// Two rows are enough to tell if the partyId is connected to exactly one customer
+		final var customerOrgIds = agreementRepository.findDistinctCustomerOrgIdsByUuid(partyId, PageRequest.ofSize(2));
+		if (customerOrgIds.size() == 1) {
+			count("datawarehouse");
+			return customerOrgIds.get(0);
+		}
+
+		count("party");
+		return partyProvider.translateToLegalId(partyId);
+	}
+
+	private void count(String source) {
+		meterRegistry.counter(LEGAL_ID_LOOKUP_METRIC, "source", source).increment();
+	}
+}
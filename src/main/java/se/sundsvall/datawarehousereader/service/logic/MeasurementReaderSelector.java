@@ -0,0 +1,28 @@
+package se.sundsvall.datawarehousereader.service.logic;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import se.sundsvall.datawarehousereader.integration.stadsbacken.configuration.MeasurementReaderProperties;
+
+/**
+ * Selects, per request, whether measurements are read through the JPA repositories or through
+ * MeasurementJdbcRepository. The share of requests read through JDBC is configured by property
+ * integration.stadsbacken.measurement-reader.jdbcShare, from 0 (never) to 1 (always).
+ */
+@Component
+public class MeasurementReaderSelector {
+
+	@Autowired
+	private MeasurementReaderProperties properties;
+
+	/**
+	 * @return true if the current request should read measurements through JDBC
+	 */
+	public boolean useJdbc() {
+		final var share = properties.jdbcShare();
+		return share > 0 && (share >= 1 || ThreadLocalRandom.current().nextDouble() < share);
+	}
+}
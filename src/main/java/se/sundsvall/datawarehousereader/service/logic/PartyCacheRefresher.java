@@ -0,0 +1,159 @@
+package se.sundsvall.datawarehousereader.service.logic;
+
+import static java.util.Optional.ofNullable;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static se.sundsvall.datawarehousereader.integration.party.configuration.PartyCacheConfiguration.LEGAL_IDS_CACHE;
+import static se.sundsvall.datawarehousereader.integration.party.configuration.PartyCacheConfiguration.PARTY_CACHE_REFRESH_EXECUTOR;
+import static se.sundsvall.datawarehousereader.integration.party.configuration.PartyCacheConfiguration.PARTY_IDS_CACHE;
+import static se.sundsvall.datawarehousereader.integration.party.configuration.PartyCacheConfiguration.toCacheKey;
+
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Policy.VarExpiration;
+
+import generated.se.sundsvall.party.PartyType;
+import io.micrometer.core.instrument.MeterRegistry;
+import se.sundsvall.datawarehousereader.integration.party.PartyClient;
+import se.sundsvall.datawarehousereader.integration.party.configuration.PartyCacheProperties;
+
+/**
+ * Refresh-ahead for the partyIds and legalIds caches. When an entry is read and has passed its refresh point it is
+ * reloaded from Party in the background, while the current (stale) value still is served. The refresh point of each
+ * entry is the configured refresh time reduced by a per key jitter, which spreads out refreshes of entries written at
+ * the same time (for example after a deploy) instead of having them all reloaded, or expired, at once. Entries no
+ * longer found in Party are evicted.
+ */
+@Component
+public class PartyCacheRefresher {
+
+	static final String PARTY_CACHE_REFRESH_METRIC = "datawarehousereader.party.cache.refreshes";
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(PartyCacheRefresher.class);
+
+	@Autowired
+	private PartyClient partyClient;
+
+	@Autowired
+	private CacheManager cacheManager;
+
+	@Autowired
+	private PartyMappingStore mappingStore;
+
+	@Autowired
+	private PartyCacheProperties properties;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Autowired
+	@Qualifier(PARTY_CACHE_REFRESH_EXECUTOR)
+	private ExecutorService refreshExecutor;
+
+	private final Set<String> refreshesInProgress = ConcurrentHashMap.newKeySet();
+
+	/**
+	 * Schedules a background refresh of the cached partyId for sent in party type and legalId if the entry has passed
+	 * its refresh point
+	 * @param partyType the type of party
+	 * @param legalId   the legalId of the cached entry
+	 */
+	public void refreshPartyIdIfStale(PartyType partyType, String legalId) {
+		refreshIfStale(PARTY_IDS_CACHE, toCacheKey(partyType, legalId), () -> partyClient.refreshPartyId(partyType, legalId)
+			.ifPresentOrElse(partyId -> mappingStore.put(partyType, legalId, partyId), () -> evict(PARTY_IDS_CACHE, toCacheKey(partyType, legalId))));
+	}
+
+	/**
+	 * Schedules a background refresh of the cached legalId for sent in party type and partyId if the entry has passed
+	 * its refresh point
+	 * @param partyType the type of party
+	 * @param partyId   the partyId of the cached entry
+	 */
+	public void refreshLegalIdIfStale(PartyType partyType, String partyId) {
+		refreshIfStale(LEGAL_IDS_CACHE, toCacheKey(partyType, partyId), () -> partyClient.refreshLegalId(partyType, partyId)
+			.ifPresentOrElse(legalId -> mappingStore.put(partyType, legalId, partyId), () -> evict(LEGAL_IDS_CACHE, toCacheKey(partyType, partyId))));
+	}
+
+	private void refreshIfStale(String cacheName, String key, Runnable refresh) {
+		if (!properties.refresh().enabled() || !isStale(cacheName, key)) {
+			return;
+		}
+
+		// Only one refresh at a time per entry
+		final var refreshKey = cacheName + "/" + key;
+		if (!refreshesInProgress.add(refreshKey)) {
+			return;
+		}
+
+		try {
+			refreshExecutor.execute(() -> {
+				try {
+					refresh.run();
+					count("success");
+				} catch (RuntimeException e) {
+					LOGGER.debug("Background refresh of {} in cache {} failed, keeping current value", key, cacheName, e);
+					count("failure");
+				} finally {
+					refreshesInProgress.remove(refreshKey);
+				}
+			});
+		} catch (RejectedExecutionException e) {
+			refreshesInProgress.remove(refreshKey);
+			count("rejected");
+		}
+	}
+
+	/**
+	 * Evicts an entry no longer found in Party, the removal listener of the cache also removes it from the store
+	 */
+	private void evict(String cacheName, String key) {
+		ofNullable(cacheManager.getCache(cacheName)).ifPresent(cache -> cache.evict(key));
+	}
+
+	private boolean isStale(String cacheName, String key) {
+		final var expiresAfter = getExpiration(cacheName)
+			.map(expiration -> expiration.getExpiresAfter(key, NANOSECONDS))
+			.orElse(OptionalLong.empty());
+
+		return expiresAfter.isPresent() && properties.timeToLive().toNanos() - expiresAfter.getAsLong() >= refreshPoint(key);
+	}
+
+	/**
+	 * Returns the age in nanos at which the entry with sent in key should be refreshed, i.e. the configured refresh time
+	 * reduced by a fraction (between 0 and the configured jitter) derived from the key
+	 */
+	long refreshPoint(String key) {
+		final var fraction = Math.floorMod(mix(key.hashCode()), 10_000) / 10_000d;
+		return (long) (properties.refresh().afterWrite().toNanos() * (1 - properties.refresh().jitter() * fraction));
+	}
+
+	private Optional<VarExpiration<Object, Object>> getExpiration(String cacheName) {
+		return cacheManager.getCache(cacheName) instanceof CaffeineCache caffeineCache
+			? caffeineCache.getNativeCache().policy().expireVariably()
+			: Optional.empty();
+	}
+
+	private void count(String result) {
+		meterRegistry.counter(PARTY_CACHE_REFRESH_METRIC, "result", result).increment();
+	}
+
+	/**
+	 * Spreads the bits of the hash code, as keys often only differ in their last characters
+	 */
+	private static int mix(int hash) {
+		final var mixed = hash * 0x9E3779B9;
+		return mixed ^ (mixed >>> 16);
+	}
+}
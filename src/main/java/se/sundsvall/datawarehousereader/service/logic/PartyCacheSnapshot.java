@@ -0,0 +1,188 @@
+package se.sundsvall.datawarehousereader.service.logic;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.util.Objects.isNull;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.springframework.util.StringUtils.hasText;
+import static se.sundsvall.datawarehousereader.integration.party.configuration.PartyCacheConfiguration.LEGAL_IDS_CACHE;
+import static se.sundsvall.datawarehousereader.integration.party.configuration.PartyCacheConfiguration.PARTY_IDS_CACHE;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.security.GeneralSecurityException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import javax.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Policy.VarExpiration;
+
+import se.sundsvall.datawarehousereader.integration.party.configuration.PartyCacheProperties;
+import se.sundsvall.datawarehousereader.service.util.SecretCipher;
+
+/**
+ * Writes the content of the partyIds and legalIds caches to a snapshot file on shutdown and on a schedule, and reads it
+ * back on startup (before the application reports ready). Each entry is stored with its point of expiry, hence
+ * restored entries expire at the same time as they would have done without the restart. Snapshots only survive a
+ * restart of a container if the path is on a persistent volume mounted for the replica, hence there is no default path.
+ *
+ * The entries map legalIds to partyIds, so the snapshot is encrypted and authenticated by SecretCipher using the
+ * configured secret, and written readable by the owner only. The snapshot consists of the format version followed by
+ * the encrypted, gzipped, stream of: number of entries and for each entry the cache name, key, value and expiry as
+ * epoch milliseconds. The snapshot is a best effort optimization, failures are logged and ignored.
+ */
+@Component
+public class PartyCacheSnapshot {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(PartyCacheSnapshot.class);
+	private static final int FORMAT_VERSION = 3;
+	private static final List<String> CACHE_NAMES = List.of(PARTY_IDS_CACHE, LEGAL_IDS_CACHE);
+
+	@Autowired
+	private CacheManager cacheManager;
+
+	@Autowired
+	private PartyCacheProperties properties;
+
+	private SecretCipher cipher;
+
+	private record Entry(String cacheName, String key, String value, long expiresAt) {}
+
+	@EventListener(ApplicationStartedEvent.class)
+	public void restore() {
+		if (!isConfigured() || !Files.isRegularFile(properties.snapshot().path())) {
+			return;
+		}
+
+		try (var file = new DataInputStream(Files.newInputStream(properties.snapshot().path()))) {
+			if (file.readInt() != FORMAT_VERSION) {
+				LOGGER.info("Ignoring party cache snapshot {} written in unknown format", properties.snapshot().path());
+				return;
+			}
+
+			// The authentication tag is verified first when the end is reached, hence entries are put into the caches first
+			// when the whole snapshot has been read
+			final List<Entry> entries = new ArrayList<>();
+			try (var input = new DataInputStream(new GZIPInputStream(getCipher().decrypt(file)))) {
+				for (int i = input.readInt(); i > 0; i--) {
+					entries.add(new Entry(input.readUTF(), input.readUTF(), input.readUTF(), input.readLong()));
+				}
+			}
+
+			final var now = System.currentTimeMillis();
+			var restored = 0;
+			for (final var entry : entries) {
+				final var expiration = getExpiration(entry.cacheName());
+				if (expiration.isPresent() && entry.expiresAt() > now) {
+					expiration.get().put(entry.key(), entry.value(), entry.expiresAt() - now, MILLISECONDS);
+					restored++;
+				}
+			}
+			LOGGER.info("Restored {} party cache entries from snapshot {}", restored, properties.snapshot().path());
+		} catch (IOException | GeneralSecurityException | RuntimeException e) {
+			LOGGER.warn("Could not restore party caches from snapshot {}", properties.snapshot().path(), e);
+		}
+	}
+
+	@PreDestroy
+	public void saveOnShutdown() {
+		save();
+	}
+
+	@Scheduled(initialDelayString = "${integration.party.cache.snapshot.interval}", fixedDelayString = "${integration.party.cache.snapshot.interval}")
+	public void saveOnSchedule() {
+		save();
+	}
+
+	/**
+	 * @return true if snapshots are enabled with a path and a secret, a warning is logged if enabled without them
+	 */
+	boolean isConfigured() {
+		if (!properties.snapshot().enabled()) {
+			return false;
+		}
+		if (isNull(properties.snapshot().path()) || !hasText(properties.snapshot().secret())) {
+			LOGGER.warn("Snapshot of party caches is enabled but path or secret is not configured, no snapshot is read or written");
+			return false;
+		}
+		return true;
+	}
+
+	// Synchronized as the scheduled snapshot may still be running when the application shuts down
+	private synchronized void save() {
+		if (!isConfigured()) {
+			return;
+		}
+
+		final var entries = collectEntries();
+		final var path = properties.snapshot().path();
+		try {
+			Files.createDirectories(path.toAbsolutePath().getParent());
+			// Temporary files are created readable and writable by the owner only
+			final var tempFile = Files.createTempFile(path.toAbsolutePath().getParent(), path.getFileName().toString(), ".tmp");
+			try (var file = new DataOutputStream(Files.newOutputStream(tempFile))) {
+				file.writeInt(FORMAT_VERSION);
+
+				// Closing the output finishes the gzip stream and writes the authentication tag
+				try (var output = new DataOutputStream(new GZIPOutputStream(getCipher().encrypt(file)))) {
+					output.writeInt(entries.size());
+					for (final var entry : entries) {
+						output.writeUTF(entry.cacheName());
+						output.writeUTF(entry.key());
+						output.writeUTF(entry.value());
+						output.writeLong(entry.expiresAt());
+					}
+				}
+			}
+			// Replace snapshot in one operation to never leave a partially written snapshot behind
+			Files.move(tempFile, path, ATOMIC_MOVE, REPLACE_EXISTING);
+			LOGGER.debug("Wrote {} party cache entries to snapshot {}", entries.size(), path);
+		} catch (IOException | GeneralSecurityException | RuntimeException e) {
+			LOGGER.warn("Could not write party caches to snapshot {}", path, e);
+		}
+	}
+
+	private synchronized SecretCipher getCipher() {
+		if (isNull(cipher)) {
+			cipher = new SecretCipher(properties.snapshot().secret());
+		}
+		return cipher;
+	}
+
+	private List<Entry> collectEntries() {
+		final var now = System.currentTimeMillis();
+		final List<Entry> entries = new ArrayList<>();
+		CACHE_NAMES.forEach(cacheName -> getExpiration(cacheName).ifPresent(expiration -> getNativeCache(cacheName).asMap().forEach((key, value) -> {
+			final var expiresAfter = expiration.getExpiresAfter(key, MILLISECONDS);
+			if (key instanceof String stringKey && value instanceof String stringValue && expiresAfter.isPresent()) {
+				entries.add(new Entry(cacheName, stringKey, stringValue, now + expiresAfter.getAsLong()));
+			}
+		})));
+		return entries;
+	}
+
+	private Optional<VarExpiration<Object, Object>> getExpiration(String cacheName) {
+		return Optional.ofNullable(getNativeCache(cacheName))
+			.flatMap(nativeCache -> nativeCache.policy().expireVariably());
+	}
+
+	private com.github.benmanes.caffeine.cache.Cache<Object, Object> getNativeCache(String cacheName) {
+		return cacheManager.getCache(cacheName) instanceof CaffeineCache caffeineCache ? caffeineCache.getNativeCache() : null;
+	}
+}
@@ -0,0 +1,93 @@
+package se.sundsvall.datawarehousereader.service.logic;
+
+import static java.lang.Boolean.TRUE;
+import static java.util.Optional.ofNullable;
+import static se.sundsvall.datawarehousereader.integration.party.configuration.PartyCacheConfiguration.PARTY_NOT_FOUND_CACHE;
+import static se.sundsvall.datawarehousereader.integration.party.configuration.PartyCacheConfiguration.toCacheKey;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+/**
+ * The caching in front of Party, except for the partyIds and legalIds caches of PartyClient at the end of the chain:
+ * <ul>
+ * <li>schedules a background refresh of the cached mapping of a lookup if it is about to expire</li>
+ * <li>serves mappings held by the mapping store, and writes mappings found by the inner tiers to the store</li>
+ * <li>remembers lookups not found in Party in the negative cache, and returns an empty result directly for them</li>
+ * </ul>
+ */
+@Component
+class PartyCacheTier implements PartyLookupTier {
+
+	private final PartyCacheRefresher cacheRefresher;
+	private final PartyMappingStore mappingStore;
+	private final CacheManager cacheManager;
+
+	PartyCacheTier(PartyCacheRefresher cacheRefresher, PartyMappingStore mappingStore, CacheManager cacheManager) {
+		this.cacheRefresher = cacheRefresher;
+		this.mappingStore = mappingStore;
+		this.cacheManager = cacheManager;
+	}
+
+	@Override
+	public Optional<String> resolve(PartyLookup lookup, Supplier<Optional<String>> next) {
+		refreshIfStale(lookup);
+
+		final var stored = findStored(lookup);
+		if (stored.isPresent()) {
+			return stored;
+		}
+		if (isKnownNotFound(lookup)) {
+			return Optional.empty();
+		}
+
+		final var result = next.get();
+		result.ifPresentOrElse(value -> store(lookup, value),
+			() -> ofNullable(cacheManager.getCache(PARTY_NOT_FOUND_CACHE)).ifPresent(cache -> cache.put(lookup, TRUE)));
+		return result;
+	}
+
+	/**
+	 * Knows the mappings held by the partyIds and legalIds caches and by the mapping store, so that they can be served
+	 * without dispatching a lookup
+	 */
+	@Override
+	public Optional<String> findKnown(PartyLookup lookup) {
+		final var cached = ofNullable(cacheManager.getCache(lookup.cacheName()))
+			.map(cache -> cache.get(toCacheKey(lookup.partyType(), lookup.id()), String.class));
+		cached.ifPresent(ignored -> refreshIfStale(lookup));
+		return cached.or(() -> findStored(lookup));
+	}
+
+	@Override
+	public boolean isKnownNotFound(PartyLookup lookup) {
+		return ofNullable(cacheManager.getCache(PARTY_NOT_FOUND_CACHE))
+			.map(cache -> cache.get(lookup))
+			.isPresent();
+	}
+
+	private void refreshIfStale(PartyLookup lookup) {
+		if (lookup.isLegalIdLookup()) {
+			cacheRefresher.refreshLegalIdIfStale(lookup.partyType(), lookup.id());
+		} else {
+			cacheRefresher.refreshPartyIdIfStale(lookup.partyType(), lookup.id());
+		}
+	}
+
+	private Optional<String> findStored(PartyLookup lookup) {
+		return lookup.isLegalIdLookup()
+			? mappingStore.findLegalId(lookup.partyType(), lookup.id())
+			: mappingStore.findPartyId(lookup.partyType(), lookup.id());
+	}
+
+	private void store(PartyLookup lookup, String value) {
+		if (lookup.isLegalIdLookup()) {
+			mappingStore.put(lookup.partyType(), value, lookup.id());
+		} else {
+			mappingStore.put(lookup.partyType(), lookup.id(), value);
+		}
+	}
+}
@@ -0,0 +1,185 @@
+package se.sundsvall.datawarehousereader.service.logic;
+
+import static java.util.Objects.nonNull;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.zalando.problem.Status.INTERNAL_SERVER_ERROR;
+import static se.sundsvall.datawarehousereader.Constants.UNKNOWN_CUSTOMER_TYPE;
+import static se.sundsvall.datawarehousereader.api.model.CustomerType.fromValue;
+import static se.sundsvall.datawarehousereader.integration.party.configuration.PartyCacheConfiguration.PARTY_CACHE_WARMUP_EXECUTOR;
+import static se.sundsvall.datawarehousereader.integration.party.configuration.PartyCacheConfiguration.PARTY_IDS_CACHE;
+import static se.sundsvall.datawarehousereader.integration.party.configuration.PartyCacheConfiguration.toCacheKey;
+import static se.sundsvall.datawarehousereader.service.mapper.CustomerMapper.toPartyType;
+import static se.sundsvall.datawarehousereader.service.util.ServiceUtil.removeHyphen;
+
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import generated.se.sundsvall.party.PartyType;
+import io.micrometer.core.instrument.MeterRegistry;
+import se.sundsvall.datawarehousereader.integration.party.PartyClient;
+import se.sundsvall.datawarehousereader.integration.party.configuration.PartyCacheProperties;
+import se.sundsvall.datawarehousereader.integration.party.configuration.PartyWarmUpProperties;
+import se.sundsvall.datawarehousereader.integration.stadsbacken.CustomerRepository;
+import se.sundsvall.datawarehousereader.integration.stadsbacken.model.customer.CustomerOrgId;
+
+/**
+ * Pre-resolves the partyId of customers in vCustomer into the partyIds cache, and the mapping store when enabled,
+ * before the mappings are requested by clients. The warm-up is started in the background when the application is ready
+ * and on the configured schedule. Customers are read in batches of distinct customerorgid and customertype pairs, pairs
+ * already cached or stored are skipped and the remaining pairs are resolved through the cached Party lookup at the
+ * configured rate with at most the configured number of concurrent calls. A warm-up stops after the configured maximum
+ * number of calls or the configured maximum duration. The number of calls is also bounded by the number of mappings
+ * the caches can hold, the larger of the partyIds cache size and the store capacity, as calls beyond that only evict
+ * mappings warmed by the same run.
+ */
+@Component
+public class PartyCacheWarmer {
+
+	static final String PARTY_WARMUP_METRIC = "datawarehousereader.party.cache.warmup";
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(PartyCacheWarmer.class);
+
+	@Autowired
+	private CustomerRepository customerRepository;
+
+	@Autowired
+	private PartyClient partyClient;
+
+	@Autowired
+	private PartyMappingStore mappingStore;
+
+	@Autowired
+	private CacheManager cacheManager;
+
+	@Autowired
+	private PartyWarmUpProperties properties;
+
+	@Autowired
+	private PartyCacheProperties cacheProperties;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Autowired
+	@Qualifier(PARTY_CACHE_WARMUP_EXECUTOR)
+	private TaskExecutor warmUpExecutor;
+
+	private final AtomicBoolean running = new AtomicBoolean();
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void warmUpInBackground() {
+		if (properties.enabled()) {
+			new CustomizableThreadFactory("party-cache-warmup-").newThread(this::warmUp).start();
+		}
+	}
+
+	@Scheduled(cron = "${integration.party.warmup.cron}")
+	public void warmUp() {
+		// Only one warm-up at a time, a scheduled warm-up is skipped if the previous one still is running
+		if (!properties.enabled() || !running.compareAndSet(false, true)) {
+			return;
+		}
+
+		final var permits = new Semaphore(properties.concurrency());
+		final var interval = SECONDS.toNanos(1) / properties.ratePerSecond();
+		final var maximumCalls = Math.min(properties.maximumCalls(), Math.max(cacheProperties.maximumSize(), mappingStore.capacity()));
+		final var deadline = System.nanoTime() + properties.maximumDuration().toNanos();
+		var calls = 0;
+		var nextCall = System.nanoTime();
+		var lastCustomerOrgId = "";
+		var lastCustomerType = "";
+		List<CustomerOrgId> batch;
+
+		LOGGER.info("Starting warm-up of party caches");
+		try {
+			do {
+				batch = customerRepository.findDistinctCustomerOrgIdsAfter(lastCustomerOrgId, lastCustomerType, PageRequest.ofSize(properties.batchSize()));
+				for (final var customer : batch) {
+					final var partyType = toPartyTypeOrNull(customer);
+					final var legalId = removeHyphen(customer.getCustomerOrgId());
+					if (partyType == null || isCached(partyType, legalId)) {
+						count("skipped");
+						continue;
+					}
+					if (calls >= maximumCalls || System.nanoTime() - deadline > 0) {
+						LOGGER.info("Stopping warm-up of party caches after {} calls", calls);
+						batch = List.of();
+						break;
+					}
+
+					// Spread calls evenly over time, a permit is held for as long as the call is in progress
+					NANOSECONDS.sleep(Math.max(0, nextCall - System.nanoTime()));
+					nextCall = Math.max(nextCall, System.nanoTime()) + interval;
+					permits.acquire();
+					warmUpExecutor.execute(() -> resolve(partyType, legalId, permits));
+					calls++;
+				}
+
+				if (!batch.isEmpty()) {
+					lastCustomerOrgId = batch.get(batch.size() - 1).getCustomerOrgId();
+					lastCustomerType = batch.get(batch.size() - 1).getCustomerType();
+				}
+			} while (batch.size() == properties.batchSize());
+
+			// Wait for calls in progress before reporting the warm-up as finished
+			permits.acquire(properties.concurrency());
+			LOGGER.info("Finished warm-up of party caches");
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			LOGGER.info("Warm-up of party caches was interrupted");
+		} catch (RuntimeException e) {
+			LOGGER.warn("Warm-up of party caches failed", e);
+		} finally {
+			running.set(false);
+		}
+	}
+
+	private void resolve(PartyType partyType, String legalId, Semaphore permits) {
+		try {
+			// Resolved through the cached lookup, which writes the partyIds cache
+			partyClient.getPartyId(partyType, legalId).ifPresentOrElse(partyId -> {
+				mappingStore.put(partyType, legalId, partyId);
+				count("resolved");
+			}, () -> count("notFound"));
+		} catch (RuntimeException e) {
+			LOGGER.debug("Could not resolve partyId during warm-up of party caches", e);
+			count("failed");
+		} finally {
+			permits.release();
+		}
+	}
+
+	private boolean isCached(PartyType partyType, String legalId) {
+		final var cache = cacheManager.getCache(PARTY_IDS_CACHE);
+		return (nonNull(cache) && nonNull(cache.get(toCacheKey(partyType, legalId)))) || mappingStore.findPartyId(partyType, legalId).isPresent();
+	}
+
+	private static PartyType toPartyTypeOrNull(CustomerOrgId customer) {
+		try {
+			final var customerType = fromValue(customer.getCustomerType(), INTERNAL_SERVER_ERROR, UNKNOWN_CUSTOMER_TYPE);
+			return nonNull(customerType) ? toPartyType(customerType) : null;
+		} catch (RuntimeException e) {
+			LOGGER.debug("Skipping customer with unknown customer type during warm-up of party caches", e);
+			return null;
+		}
+	}
+
+	private void count(String result) {
+		meterRegistry.counter(PARTY_WARMUP_METRIC, "result", result).increment();
+	}
+}
@@ -0,0 +1,63 @@
+package se.sundsvall.datawarehousereader.service.logic;
+
+import static java.util.Objects.nonNull;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Executes a lookup unless an identical lookup already is in flight, in which case the caller instead waits for and
+ * shares the result of the ongoing lookup
+ */
+@Component
+class PartyCoalescingTier implements PartyLookupTier {
+
+	static final String PARTY_LOOKUP_METRIC = "datawarehousereader.party.lookups";
+
+	private final MeterRegistry meterRegistry;
+
+	// Lookups currently in flight towards Party, concurrent requests for the same lookup share the same future
+	private final Map<PartyLookup, CompletableFuture<Optional<String>>> inFlightLookups = new ConcurrentHashMap<>();
+
+	PartyCoalescingTier(MeterRegistry meterRegistry) {
+		this.meterRegistry = meterRegistry;
+	}
+
+	@Override
+	public Optional<String> resolve(PartyLookup lookup, Supplier<Optional<String>> next) {
+		final var future = new CompletableFuture<Optional<String>>();
+		final var inFlight = inFlightLookups.putIfAbsent(lookup, future);
+		if (nonNull(inFlight)) {
+			countLookup(lookup, "coalesced");
+			try {
+				return inFlight.join();
+			} catch (CompletionException e) {
+				throw e.getCause() instanceof RuntimeException runtimeException ? runtimeException : e;
+			}
+		}
+
+		countLookup(lookup, "executed");
+		try {
+			final var result = next.get();
+			future.complete(result);
+			return result;
+		} catch (RuntimeException e) {
+			future.completeExceptionally(e);
+			throw e;
+		} finally {
+			inFlightLookups.remove(lookup, future);
+		}
+	}
+
+	private void countLookup(PartyLookup lookup, String result) {
+		meterRegistry.counter(PARTY_LOOKUP_METRIC, "operation", lookup.operation(), "result", result).increment();
+	}
+}
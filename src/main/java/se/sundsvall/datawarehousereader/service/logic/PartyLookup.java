@@ -0,0 +1,34 @@
+package se.sundsvall.datawarehousereader.service.logic;
+
+import static se.sundsvall.datawarehousereader.integration.party.configuration.PartyCacheConfiguration.LEGAL_IDS_CACHE;
+import static se.sundsvall.datawarehousereader.integration.party.configuration.PartyCacheConfiguration.PARTY_IDS_CACHE;
+
+import generated.se.sundsvall.party.PartyType;
+
+/**
+ * Lookup of a legalId by partyId, or of a partyId by legalId, for one party type
+ */
+record PartyLookup(String operation, PartyType partyType, String id) {
+
+	static final String LEGAL_ID = "legalId";
+	static final String PARTY_ID = "partyId";
+
+	static PartyLookup legalId(PartyType partyType, String partyId) {
+		return new PartyLookup(LEGAL_ID, partyType, partyId);
+	}
+
+	static PartyLookup partyId(PartyType partyType, String legalId) {
+		return new PartyLookup(PARTY_ID, partyType, legalId);
+	}
+
+	boolean isLegalIdLookup() {
+		return LEGAL_ID.equals(operation);
+	}
+
+	/**
+	 * @return name of the cache used by PartyClient for the lookup
+	 */
+	String cacheName() {
+		return isLegalIdLookup() ? LEGAL_IDS_CACHE : PARTY_IDS_CACHE;
+	}
+}
@@ -0,0 +1,63 @@
+package se.sundsvall.datawarehousereader.service.logic;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Resolves lookups towards Party through a fixed chain of tiers, where each tier either resolves the lookup itself or
+ * delegates to the next tier. The tiers are, from the outermost:
+ * <ol>
+ * <li>stale mappings, served when the lookup fails while the Party circuit breaker is open or half open</li>
+ * <li>the caches: refresh-ahead of cached mappings about to expire, the mapping store and the negative cache of
+ * lookups not found in Party</li>
+ * <li>coalescing of concurrent identical lookups into one call</li>
+ * </ol>
+ * The call at the end of the chain goes through PartyClient and its partyIds and legalIds caches.
+ */
+@Component
+class PartyLookupChain {
+
+	private final List<PartyLookupTier> tiers;
+
+	PartyLookupChain(PartyStaleTier staleTier, PartyCacheTier cacheTier, PartyCoalescingTier coalescingTier) {
+		this.tiers = List.of(staleTier, cacheTier, coalescingTier);
+	}
+
+	/**
+	 * @param lookup the lookup to resolve
+	 * @param call   call to Party, executed if no tier resolves the lookup
+	 * @return the legalId or partyId of the lookup, or empty if not found
+	 */
+	Optional<String> resolve(PartyLookup lookup, Supplier<Optional<String>> call) {
+		return resolve(0, lookup, call);
+	}
+
+	/**
+	 * @param lookup the lookup
+	 * @return the result of the lookup if held by any tier, without calling Party
+	 */
+	Optional<String> findKnown(PartyLookup lookup) {
+		return tiers.stream()
+			.map(tier -> tier.findKnown(lookup))
+			.flatMap(Optional::stream)
+			.findFirst();
+	}
+
+	/**
+	 * @param lookup the lookup
+	 * @return true if any tier knows that the lookup is not found in Party, without calling Party
+	 */
+	boolean isKnownNotFound(PartyLookup lookup) {
+		return tiers.stream().anyMatch(tier -> tier.isKnownNotFound(lookup));
+	}
+
+	private Optional<String> resolve(int index, PartyLookup lookup, Supplier<Optional<String>> call) {
+		if (index == tiers.size()) {
+			return call.get();
+		}
+		return tiers.get(index).resolve(lookup, () -> resolve(index + 1, lookup, call));
+	}
+}
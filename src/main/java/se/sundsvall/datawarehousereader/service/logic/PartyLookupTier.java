@@ -0,0 +1,35 @@
+package se.sundsvall.datawarehousereader.service.logic;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * One tier of the PartyLookupChain
+ */
+interface PartyLookupTier {
+
+	/**
+	 * Resolves a lookup, by this tier or by delegating to the next tier of the chain
+	 *
+	 * @param lookup the lookup to resolve
+	 * @param next   resolves the lookup through the remaining tiers, and in the end through Party
+	 * @return the legalId or partyId of the lookup, or empty if not found
+	 */
+	Optional<String> resolve(PartyLookup lookup, Supplier<Optional<String>> next);
+
+	/**
+	 * @param lookup the lookup
+	 * @return the result of the lookup if it is held by this tier, without calling Party
+	 */
+	default Optional<String> findKnown(PartyLookup lookup) {
+		return Optional.empty();
+	}
+
+	/**
+	 * @param lookup the lookup
+	 * @return true if this tier knows that the lookup is not found in Party, without calling Party
+	 */
+	default boolean isKnownNotFound(PartyLookup lookup) {
+		return false;
+	}
+}
@@ -0,0 +1,149 @@
+package se.sundsvall.datawarehousereader.service.logic;
+
+import java.util.Optional;
+
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+
+import generated.se.sundsvall.party.PartyType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import se.sundsvall.datawarehousereader.integration.party.configuration.PartyCacheProperties;
+import se.sundsvall.datawarehousereader.integration.party.configuration.PartyMappingStoreProperties;
+
+/**
+ * Bidirectional store of partyId <-> legalId mappings, a second and larger tier behind the size bounded partyIds and
+ * legalIds caches. The store consists of one Caffeine cache per direction, each bounded to the configured capacity and
+ * expiring mappings with the time to live of the partyIds and legalIds caches, so that both tiers agree on when a
+ * mapping expires.
+ *
+ * The two directions are kept in step by their removal listeners: when a mapping is replaced, evicted, expired or
+ * removed in one direction, the reverse mapping is removed from the other direction if it still points back.
+ */
+@Component
+public class PartyMappingStore {
+
+	static final String STORE_SIZE_METRIC = "datawarehousereader.party.store.size";
+	static final String STORE_EVICTIONS_METRIC = "datawarehousereader.party.store.evictions";
+
+	private record Key(PartyType partyType, String id) {}
+
+	private final int capacity;
+	private final Counter evictions;
+	private final Cache<Key, String> partyIds;
+	private final Cache<Key, String> legalIds;
+
+	public PartyMappingStore(PartyMappingStoreProperties properties, PartyCacheProperties cacheProperties, MeterRegistry meterRegistry) {
+		this.capacity = properties.enabled() ? properties.capacity() : 0;
+		this.evictions = meterRegistry.counter(STORE_EVICTIONS_METRIC);
+		this.partyIds = Caffeine.newBuilder()
+			.maximumSize(capacity)
+			.expireAfterWrite(cacheProperties.timeToLive())
+			// Run on the calling thread, to remove reverse mappings before the call returns
+			.executor(Runnable::run)
+			.removalListener((Key key, String partyId, RemovalCause cause) -> onRemoval(cause, key, partyId, this.legalIds))
+			.build();
+		this.legalIds = Caffeine.newBuilder()
+			.maximumSize(capacity)
+			.expireAfterWrite(cacheProperties.timeToLive())
+			.executor(Runnable::run)
+			.removalListener((Key key, String legalId, RemovalCause cause) -> onRemoval(cause, key, legalId, this.partyIds))
+			.build();
+
+		// The estimated size is read without locking, a scrape never blocks readers or writers of the store
+		meterRegistry.gauge(STORE_SIZE_METRIC, partyIds, Cache::estimatedSize);
+	}
+
+	/**
+	 * Returns the partyId mapped to sent in party type and legalId
+	 * @param partyType the type of party
+	 * @param legalId   the legalId to find partyId for
+	 * @return an optional containing the partyId, or optional.empty() if the store does not hold the mapping
+	 */
+	public Optional<String> findPartyId(PartyType partyType, String legalId) {
+		return capacity == 0 ? Optional.empty() : Optional.ofNullable(partyIds.getIfPresent(new Key(partyType, legalId)));
+	}
+
+	/**
+	 * Returns the legalId mapped to sent in party type and partyId
+	 * @param partyType the type of party
+	 * @param partyId   the partyId to find legalId for
+	 * @return an optional containing the legalId, or optional.empty() if the store does not hold the mapping
+	 */
+	public Optional<String> findLegalId(PartyType partyType, String partyId) {
+		return capacity == 0 ? Optional.empty() : Optional.ofNullable(legalIds.getIfPresent(new Key(partyType, partyId)));
+	}
+
+	/**
+	 * Stores the mapping between sent in legalId and partyId, replacing existing mappings for either of them
+	 * @param partyType the type of party
+	 * @param legalId   the legalId
+	 * @param partyId   the partyId
+	 */
+	public void put(PartyType partyType, String legalId, String partyId) {
+		if (capacity == 0) {
+			return;
+		}
+
+		partyIds.put(new Key(partyType, legalId), partyId);
+		legalIds.put(new Key(partyType, partyId), legalId);
+	}
+
+	/**
+	 * Removes the mapping for sent in party type and legalId, if held by the store
+	 * @param partyType the type of party
+	 * @param legalId   the legalId of the mapping to remove
+	 */
+	public void removeByLegalId(PartyType partyType, String legalId) {
+		if (capacity > 0) {
+			partyIds.invalidate(new Key(partyType, legalId));
+		}
+	}
+
+	/**
+	 * Removes the mapping for sent in party type and partyId, if held by the store
+	 * @param partyType the type of party
+	 * @param partyId   the partyId of the mapping to remove
+	 */
+	public void removeByPartyId(PartyType partyType, String partyId) {
+		if (capacity > 0) {
+			legalIds.invalidate(new Key(partyType, partyId));
+		}
+	}
+
+	/**
+	 * @return maximum number of mappings held by the store, 0 if the store is disabled
+	 */
+	public int capacity() {
+		return capacity;
+	}
+
+	/**
+	 * @return estimated number of mappings held by the store
+	 */
+	public long size() {
+		return partyIds.estimatedSize();
+	}
+
+	/**
+	 * Performs pending maintenance, as removal of expired mappings, which otherwise is done on access
+	 */
+	void cleanUp() {
+		partyIds.cleanUp();
+		legalIds.cleanUp();
+	}
+
+	private void onRemoval(RemovalCause cause, Key key, String value, Cache<Key, String> reverse) {
+		// The reverse mapping is removed explicitly, hence each evicted mapping is counted once
+		if (cause == RemovalCause.SIZE) {
+			evictions.increment();
+		}
+		if (key != null && value != null) {
+			// Only removed if still pointing back, as a replaced mapping may already have been written again
+			reverse.asMap().remove(new Key(key.partyType(), value), key.id());
+		}
+	}
+}
@@ -3,30 +3,226 @@ package se.sundsvall.datawarehousereader.service.logic;
 import static generated.se.sundsvall.party.PartyType.ENTERPRISE;
 import static generated.se.sundsvall.party.PartyType.PRIVATE;
 import static java.lang.String.format;
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import static java.util.concurrent.CompletableFuture.allOf;
+import static java.util.concurrent.CompletableFuture.supplyAsync;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
 import static org.zalando.problem.Problem.valueOf;
+import static org.zalando.problem.Status.GATEWAY_TIMEOUT;
 import static org.zalando.problem.Status.INTERNAL_SERVER_ERROR;
 import static org.zalando.problem.Status.NOT_FOUND;
+import static org.zalando.problem.Status.SERVICE_UNAVAILABLE;
+import static se.sundsvall.datawarehousereader.integration.party.configuration.PartyResolutionConfiguration.PARTY_RESOLUTION_EXECUTOR;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Component;
 
 import generated.se.sundsvall.party.PartyType;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import se.sundsvall.datawarehousereader.integration.party.PartyClient;
+import se.sundsvall.datawarehousereader.integration.party.configuration.PartyResolutionProperties;
 
+/**
+ * Translates between partyIds and legalIds. Each lookup is resolved through the PartyLookupChain, which holds the
+ * caching tiers in front of Party, within the configured resolution timeout.
+ */
 @Component
 public class PartyProvider {
 
+	static final String PARTY_RESOLUTION_METRIC = "datawarehousereader.party.resolution";
+	private static final String INTERRUPTED = "Interrupted while waiting for response from Party";
+	private static final String SATURATED = "Too many lookups towards Party in progress";
+	private static final String PARTY_ID_NOT_FOUND = "PartyId '%s' could not be found as a private customer or an enterprise customer";
+
 	@Autowired
 	private PartyClient partyClient;
 
+	@Autowired
+	@Qualifier(PARTY_RESOLUTION_EXECUTOR)
+	private ExecutorService partyResolutionExecutor;
+
+	@Autowired
+	private PartyResolutionProperties resolutionProperties;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Autowired
+	private PartyLookupChain lookupChain;
+
+	/**
+	 * Key used when resolving partyIds for several legalIds at once
+	 */
+	public record PartyKey(PartyType partyType, String legalId) {}
+
+	/**
+	 * Translates a partyId to legalId. A legalId held by the caches is returned without dispatching any lookup.
+	 * Otherwise the partyId is looked up as a private customer, and as an enterprise customer when not found as a
+	 * private customer or when the private lookup has not answered within the configured hedge delay. The first lookup
+	 * returning a legalId wins.
+	 *
+	 * @param partyId the partyId to translate
+	 * @return the legalId connected to the partyId
+	 * @throws org.zalando.problem.ThrowableProblem with status NOT_FOUND if partyId is not found as private customer or
+	 *                                             enterprise customer, or status GATEWAY_TIMEOUT if Party does not
+	 *                                             respond within the configured deadline, or status SERVICE_UNAVAILABLE if the
+	 *                                             executor has no room for the lookups
+	 */
 	public String translateToLegalId(String partyId) {
-		return partyClient.getLegalId(PRIVATE, partyId)
-			.or(() -> partyClient.getLegalId(ENTERPRISE, partyId))
-			.orElseThrow(() -> valueOf(NOT_FOUND, format("PartyId '%s' could not be found as a private customer or an enterprise customer", partyId)));
+		return await(lookupLegalId(partyId), deadline());
+	}
+
+	/**
+	 * Translates a list of partyIds to legalIds. All lookups are started concurrently and awaited within one common
+	 * deadline.
+	 *
+	 * @param partyIds the partyIds to translate
+	 * @return List<String> with legalIds in the same order as the sent in partyIds
+	 * @throws org.zalando.problem.ThrowableProblem with status NOT_FOUND if any partyId is not found as private customer
+	 *                                             or enterprise customer, or status GATEWAY_TIMEOUT if Party does not
+	 *                                             respond within the configured deadline, or status SERVICE_UNAVAILABLE if the
+	 *                                             executor has no room for the lookups
+	 */
+	public List<String> translateToLegalIds(List<String> partyIds) {
+		final var lookups = partyIds.stream()
+			.map(this::lookupLegalId)
+			.toList();
+
+		final var deadline = deadline();
+		return lookups.stream()
+			.map(lookup -> await(lookup, deadline))
+			.toList();
 	}
 	
 	public String translateToPartyId(PartyType partyType, String legalId) {
-		return partyClient.getPartyId(partyType, legalId)
+		return lookupChain.resolve(PartyLookup.partyId(partyType, legalId), () -> partyClient.getPartyId(partyType, legalId))
 			.orElseThrow(() -> valueOf(INTERNAL_SERVER_ERROR, "Could not determine partyId for customer connected to returned data"));
 	}
+
+	/**
+	 * Translates a collection of legalIds (for example all legalIds present on one page of data) to partyIds. Duplicate
+	 * keys are only resolved once and when more than one distinct key exists, the keys are resolved in parallel on a
+	 * bounded executor within the configured deadline. The time spent resolving the keys is reported as a metric.
+	 *
+	 * @param keys the keys to translate
+	 * @return Map<PartyKey, String> with the partyId for each distinct key
+	 * @throws org.zalando.problem.ThrowableProblem with status GATEWAY_TIMEOUT if the keys could not be resolved within the configured deadline,
+	 *                                             or status SERVICE_UNAVAILABLE if the executor has no room for the lookups
+	 */
+	public Map<PartyKey, String> translateToPartyIds(Collection<PartyKey> keys) {
+		final var distinctKeys = new LinkedHashSet<>(keys);
+		if (distinctKeys.isEmpty()) {
+			return Map.of();
+		}
+
+		final var sample = Timer.start(meterRegistry);
+		var outcome = "success";
+		try {
+			if (distinctKeys.size() == 1) {
+				final var key = distinctKeys.iterator().next();
+				return Map.of(key, translateToPartyId(key.partyType(), key.legalId()));
+			}
+			return resolveInParallel(List.copyOf(distinctKeys));
+		} catch (RuntimeException e) {
+			outcome = "failure";
+			throw e;
+		} finally {
+			sample.stop(meterRegistry.timer(PARTY_RESOLUTION_METRIC, "outcome", outcome));
+		}
+	}
+
+	private CompletableFuture<String> lookupLegalId(String partyId) {
+		final var known = lookupChain.findKnown(PartyLookup.legalId(PRIVATE, partyId)).or(() -> lookupChain.findKnown(PartyLookup.legalId(ENTERPRISE, partyId)));
+		if (known.isPresent()) {
+			return CompletableFuture.completedFuture(known.get());
+		}
+		if (lookupChain.isKnownNotFound(PartyLookup.legalId(PRIVATE, partyId)) && lookupChain.isKnownNotFound(PartyLookup.legalId(ENTERPRISE, partyId))) {
+			return CompletableFuture.failedFuture(valueOf(NOT_FOUND, format(PARTY_ID_NOT_FOUND, partyId)));
+		}
+
+		final var result = new CompletableFuture<String>();
+		final var privateLookup = lookupLegalId(PRIVATE, partyId, result);
+		// Started when the private lookup has completed without a legalId, or as a hedge when it is slow to answer
+		final var enterpriseLookup = privateLookup.<Void>handle((ignored, throwable) -> null)
+			.completeOnTimeout(null, resolutionProperties.hedgeDelay().toNanos(), NANOSECONDS)
+			.thenCompose(ignored -> result.isDone() ? CompletableFuture.<Void>completedFuture(null) : lookupLegalId(ENTERPRISE, partyId, result));
+
+		// Has no effect if one of the lookups already has completed the result with a legalId
+		allOf(privateLookup, enterpriseLookup).whenComplete((ignored, throwable) -> result.completeExceptionally(nonNull(throwable) ? throwable
+			: valueOf(NOT_FOUND, format(PARTY_ID_NOT_FOUND, partyId))));
+
+		return result;
+	}
+
+	private CompletableFuture<Void> lookupLegalId(PartyType partyType, String partyId, CompletableFuture<String> result) {
+		try {
+			return supplyAsync(() -> lookupChain.resolve(PartyLookup.legalId(partyType, partyId), () -> partyClient.getLegalId(partyType, partyId)), partyResolutionExecutor)
+				.thenAccept(legalId -> legalId.ifPresent(result::complete));
+		} catch (RejectedExecutionException e) {
+			return CompletableFuture.failedFuture(valueOf(SERVICE_UNAVAILABLE, SATURATED));
+		}
+	}
+
+	private Map<PartyKey, String> resolveInParallel(List<PartyKey> keys) {
+		final List<Callable<String>> tasks = keys.stream()
+			.<Callable<String>>map(key -> () -> translateToPartyId(key.partyType(), key.legalId()))
+			.toList();
+
+		final var deadline = deadline();
+		final List<Future<String>> futures;
+		try {
+			// Tasks not finished when the deadline is reached are cancelled by the executor
+			futures = partyResolutionExecutor.invokeAll(tasks, resolutionProperties.timeout().toNanos(), NANOSECONDS);
+		} catch (RejectedExecutionException e) {
+			// Tasks already submitted are cancelled by the executor
+			throw valueOf(SERVICE_UNAVAILABLE, SATURATED);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw valueOf(INTERNAL_SERVER_ERROR, INTERRUPTED);
+		}
+
+		final Map<PartyKey, String> partyIds = new HashMap<>();
+		for (int i = 0; i < keys.size(); i++) {
+			partyIds.put(keys.get(i), await(futures.get(i), deadline));
+		}
+		return partyIds;
+	}
+
+	private long deadline() {
+		return System.nanoTime() + resolutionProperties.timeout().toNanos();
+	}
+
+	private <T> T await(Future<T> future, long deadline) {
+		try {
+			return future.get(Math.max(0, deadline - System.nanoTime()), NANOSECONDS);
+		} catch (TimeoutException | CancellationException e) {
+			future.cancel(true);
+			throw valueOf(GATEWAY_TIMEOUT, format("Party did not respond within %s", resolutionProperties.timeout()));
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException runtimeException) {
+				throw runtimeException;
+			}
+			throw valueOf(INTERNAL_SERVER_ERROR, isNull(e.getCause()) ? e.getMessage() : e.getCause().getMessage());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw valueOf(INTERNAL_SERVER_ERROR, INTERRUPTED);
+		}
+	}
 }
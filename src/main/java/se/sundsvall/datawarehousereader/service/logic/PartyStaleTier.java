@@ -0,0 +1,73 @@
+package se.sundsvall.datawarehousereader.service.logic;
+
+import static java.util.Optional.ofNullable;
+import static se.sundsvall.datawarehousereader.integration.party.configuration.PartyCacheConfiguration.PARTY_STALE_CACHE;
+import static se.sundsvall.datawarehousereader.integration.party.configuration.PartyConfiguration.CLIENT_REGISTRATION_ID;
+
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker.State;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Remembers the last found mapping of each lookup in the stale cache, and serves it when the lookup fails while the
+ * circuit breaker for Party is open or half open, i.e. when Party is known to be degraded. Otherwise, or if no mapping
+ * is known, the failure is rethrown.
+ */
+@Component
+class PartyStaleTier implements PartyLookupTier {
+
+	static final String PARTY_STALE_METRIC = "datawarehousereader.party.stale";
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(PartyStaleTier.class);
+
+	private final CacheManager cacheManager;
+	private final CircuitBreakerRegistry circuitBreakerRegistry;
+	private final MeterRegistry meterRegistry;
+
+	PartyStaleTier(CacheManager cacheManager, CircuitBreakerRegistry circuitBreakerRegistry, MeterRegistry meterRegistry) {
+		this.cacheManager = cacheManager;
+		this.circuitBreakerRegistry = circuitBreakerRegistry;
+		this.meterRegistry = meterRegistry;
+	}
+
+	@Override
+	public Optional<String> resolve(PartyLookup lookup, Supplier<Optional<String>> next) {
+		final Optional<String> result;
+		try {
+			result = next.get();
+		} catch (RuntimeException e) {
+			return findStale(lookup, e);
+		}
+
+		// Only written when changed, as mappings served by the inner tiers pass here on every lookup
+		result.ifPresent(value -> ofNullable(cacheManager.getCache(PARTY_STALE_CACHE))
+			.filter(cache -> !Objects.equals(value, cache.get(lookup, String.class)))
+			.ifPresent(cache -> cache.put(lookup, value)));
+		return result;
+	}
+
+	private Optional<String> findStale(PartyLookup lookup, RuntimeException failure) {
+		final var state = circuitBreakerRegistry.circuitBreaker(CLIENT_REGISTRATION_ID).getState();
+		final Optional<String> stale = failure instanceof CallNotPermittedException || state == State.OPEN || state == State.HALF_OPEN
+			? ofNullable(cacheManager.getCache(PARTY_STALE_CACHE)).map(cache -> cache.get(lookup, String.class))
+			: Optional.empty();
+
+		if (stale.isEmpty()) {
+			throw failure;
+		}
+
+		LOGGER.warn("Party circuit breaker is {}, serving stale {} mapping for party type {}", state, lookup.operation(), lookup.partyType());
+		meterRegistry.counter(PARTY_STALE_METRIC, "operation", lookup.operation()).increment();
+		return stale;
+	}
+}
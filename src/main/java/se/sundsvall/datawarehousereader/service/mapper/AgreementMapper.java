@@ -1,41 +1,42 @@
 package se.sundsvall.datawarehousereader.service.mapper;
 
-import static java.util.Collections.emptyList;
 import static java.util.Optional.ofNullable;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.util.List;
+
+import javax.persistence.Tuple;
 
 import se.sundsvall.datawarehousereader.api.model.Category;
 import se.sundsvall.datawarehousereader.api.model.agreement.Agreement;
-import se.sundsvall.datawarehousereader.integration.stadsbacken.model.agreement.AgreementEntity;
+import se.sundsvall.datawarehousereader.integration.stadsbacken.support.Projection;
 import se.sundsvall.datawarehousereader.service.util.ServiceUtil;
 
 public class AgreementMapper {
 
 	private AgreementMapper() {}
 
-	public static List<Agreement> toAgreements(List<AgreementEntity> entities) {
-		return ofNullable(entities).orElse(emptyList()).stream()
-			.map(AgreementMapper::toAgreement)
-			.toList();
-	}
+	/**
+	 * Projects agreement rows straight into the API model, selecting only the mapped columns
+	 */
+	public static final Projection<Agreement> AGREEMENT_PROJECTION = Projection.of(AgreementMapper::toAgreement,
+		"customerId", "billingId", "agreementId", "uuid", "description", "category", "binding", "bindingRule", "mainAgreement",
+		"facilityId", "fromDate", "toDate");
 
-	private static Agreement toAgreement(AgreementEntity entity) {
+	private static Agreement toAgreement(Tuple tuple) {
 		return Agreement.create()
-			.withCustomerNumber(ServiceUtil.toString(entity.getCustomerId()))
-			.withBillingId(ServiceUtil.toString(entity.getBillingId()))
-			.withAgreementId(ServiceUtil.toString(entity.getAgreementId()))
-			.withPartyId(entity.getUuid())
-			.withDescription(entity.getDescription())
-			.withCategory(getCategory(entity.getCategory()))
-			.withBinding(Boolean.valueOf(entity.getBinding()))
-			.withBindingRule(entity.getBindingRule())
-			.withMainAgreement(Boolean.valueOf(entity.getMainAgreement()))
-			.withFacilityId(entity.getFacilityId())
-			.withFromDate(toLocalDate(entity.getFromDate()))
-			.withToDate(toLocalDate(entity.getToDate()));
+			.withCustomerNumber(ServiceUtil.toString(tuple.get("customerId", Integer.class)))
+			.withBillingId(ServiceUtil.toString(tuple.get("billingId", Integer.class)))
+			.withAgreementId(ServiceUtil.toString(tuple.get("agreementId", Integer.class)))
+			.withPartyId(tuple.get("uuid", String.class))
+			.withDescription(tuple.get("description", String.class))
+			.withCategory(getCategory(tuple.get("category", String.class)))
+			.withBinding(Boolean.valueOf(tuple.get("binding", String.class)))
+			.withBindingRule(tuple.get("bindingRule", String.class))
+			.withMainAgreement(Boolean.valueOf(tuple.get("mainAgreement", String.class)))
+			.withFacilityId(tuple.get("facilityId", String.class))
+			.withFromDate(toLocalDate(tuple.get("fromDate", LocalDateTime.class)))
+			.withToDate(toLocalDate(tuple.get("toDate", LocalDateTime.class)));
 	}
 
 	private static LocalDate toLocalDate(LocalDateTime localDateTime) {
@@ -4,6 +4,7 @@ import static java.util.Collections.emptyList;
 import static java.util.Optional.ofNullable;
 
 import java.util.List;
+import java.util.Map;
 
 import se.sundsvall.datawarehousereader.api.model.installedbase.InstalledBaseItem;
 import se.sundsvall.datawarehousereader.api.model.installedbase.InstalledBaseItemMetaData;
@@ -15,13 +16,19 @@ public class InstalledBaseMapper {
 
 	private InstalledBaseMapper() {}
 
-	public static List<InstalledBaseItem> toInstalledBaseItems(List<InstalledBaseItemEntity> entities) {
+	/**
+	 * Maps installed base items together with their metadata, read separately for all items in one go
+	 * @param entities the items to map
+	 * @param metaData metadata of the items keyed on internalId, or null if metadata is not included
+	 * @return List<InstalledBaseItem> with one item per entity, metaData of the items is null if metadata is not included
+	 */
+	public static List<InstalledBaseItem> toInstalledBaseItems(List<InstalledBaseItemEntity> entities, Map<Integer, List<InstalledBaseItemMetaDataEmbeddable>> metaData) {
 		return ofNullable(entities).orElse(emptyList()).stream()
-			.map(InstalledBaseMapper::toInstalledBaseItem)
+			.map(entity -> toInstalledBaseItem(entity, metaData))
 			.toList();
 	}
 
-	private static InstalledBaseItem toInstalledBaseItem(InstalledBaseItemEntity entity) {
+	private static InstalledBaseItem toInstalledBaseItem(InstalledBaseItemEntity entity, Map<Integer, List<InstalledBaseItemMetaDataEmbeddable>> metaData) {
 		return InstalledBaseItem.create()
 			.withCareOf(entity.getCareOf())
 			.withCity(entity.getCity())
@@ -30,7 +37,7 @@ public class InstalledBaseMapper {
 			.withDateFrom(entity.getDateFrom())
 			.withDateTo(entity.getDateTo())
 			.withFacilityId(entity.getFacilityId())
-			.withMetaData(toMetaDatas(entity.getMetaData()))
+			.withMetaData(ofNullable(metaData).map(value -> toMetaDatas(value.get(entity.getInternalId()))).orElse(null))
 			.withPlacementId(entity.getInternalId())
 			.withPostCode(entity.getPostCode())
 			.withPropertyDesignation(entity.getHouseName())
@@ -6,53 +6,60 @@ import static org.zalando.problem.Status.INTERNAL_SERVER_ERROR;
 import static se.sundsvall.datawarehousereader.Constants.UNKNOWN_CUSTOMER_TYPE;
 import static se.sundsvall.datawarehousereader.api.model.CustomerType.fromValue;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
 
+import javax.persistence.Tuple;
+
 import se.sundsvall.datawarehousereader.api.model.invoice.Invoice;
 import se.sundsvall.datawarehousereader.api.model.invoice.InvoiceDetail;
 import se.sundsvall.datawarehousereader.integration.stadsbacken.model.invoice.InvoiceDetailEntity;
-import se.sundsvall.datawarehousereader.integration.stadsbacken.model.invoice.InvoiceEntity;
+import se.sundsvall.datawarehousereader.integration.stadsbacken.support.Projection;
 import se.sundsvall.datawarehousereader.service.util.ServiceUtil;
 
 public class InvoiceMapper {
 
 	private InvoiceMapper() {}
 
-	public static List<Invoice> toInvoices(List<InvoiceEntity> entities) {
-		return ofNullable(entities).orElse(emptyList()).stream()
-			.map(InvoiceMapper::toInvoice)
-			.toList();
-	}
+	/**
+	 * Projects invoice rows straight into the API model, selecting only the mapped columns
+	 */
+	public static final Projection<Invoice> INVOICE_PROJECTION = Projection.of(InvoiceMapper::toInvoice,
+		"administration", "amountVatExcluded", "amountVatIncluded", "careOf", "city", "currency", "customerId", "customerType",
+		"dueDate", "facilityId", "invoiceDate", "invoiceDescription", "invoiceName", "invoiceNumber", "invoiceStatus", "invoiceType",
+		"ocrNumber", "organizationGroup", "organizationId", "postCode", "reversedVat", "rounding", "street", "totalAmount", "vat",
+		"vatEligibleAmount", "pdfAvailable");
 
-	private static Invoice toInvoice(InvoiceEntity entity) {
+	private static Invoice toInvoice(Tuple tuple) {
 		return Invoice.create()
-			.withAdministration(entity.getAdministration())
-			.withAmountVatExcluded(entity.getAmountVatExcluded())
-			.withAmountVatIncluded(entity.getAmountVatIncluded())
-			.withCareOf(entity.getCareOf())
-			.withCity(entity.getCity())
-			.withCurrency(entity.getCurrency())
-			.withCustomerNumber(ServiceUtil.toString(entity.getCustomerId()))
-			.withCustomerType(fromValue(entity.getCustomerType(), INTERNAL_SERVER_ERROR, UNKNOWN_CUSTOMER_TYPE))
-			.withDueDate(entity.getDueDate())
-			.withFacilityId(entity.getFacilityId())
-			.withInvoiceDate(entity.getInvoiceDate())
-			.withInvoiceDescription(entity.getInvoiceDescription())
-			.withInvoiceName(entity.getInvoiceName())
-			.withInvoiceNumber(entity.getInvoiceNumber())
-			.withInvoiceStatus(entity.getInvoiceStatus())
-			.withInvoiceType(entity.getInvoiceType())
-			.withOcrNumber(entity.getOcrNumber())
-			.withOrganizationGroup(entity.getOrganizationGroup())
-			.withOrganizationNumber(entity.getOrganizationId())
-			.withPostCode(entity.getPostCode())
-			.withReversedVat(entity.getReversedVat())
-			.withRounding(entity.getRounding())
-			.withStreet(entity.getStreet())
-			.withTotalAmount(entity.getTotalAmount())
-			.withVat(entity.getVat())
-			.withVatEligibleAmount(entity.getVatEligibleAmount())
-			.withPdfAvailable(entity.getPdfAvailable());
+			.withAdministration(tuple.get("administration", String.class))
+			.withAmountVatExcluded(tuple.get("amountVatExcluded", BigDecimal.class))
+			.withAmountVatIncluded(tuple.get("amountVatIncluded", BigDecimal.class))
+			.withCareOf(tuple.get("careOf", String.class))
+			.withCity(tuple.get("city", String.class))
+			.withCurrency(tuple.get("currency", String.class))
+			.withCustomerNumber(ServiceUtil.toString(tuple.get("customerId", Integer.class)))
+			.withCustomerType(fromValue(tuple.get("customerType", String.class), INTERNAL_SERVER_ERROR, UNKNOWN_CUSTOMER_TYPE))
+			.withDueDate(tuple.get("dueDate", LocalDate.class))
+			.withFacilityId(tuple.get("facilityId", String.class))
+			.withInvoiceDate(tuple.get("invoiceDate", LocalDate.class))
+			.withInvoiceDescription(tuple.get("invoiceDescription", String.class))
+			.withInvoiceName(tuple.get("invoiceName", String.class))
+			.withInvoiceNumber(tuple.get("invoiceNumber", Long.class))
+			.withInvoiceStatus(tuple.get("invoiceStatus", String.class))
+			.withInvoiceType(tuple.get("invoiceType", String.class))
+			.withOcrNumber(tuple.get("ocrNumber", Long.class))
+			.withOrganizationGroup(tuple.get("organizationGroup", String.class))
+			.withOrganizationNumber(tuple.get("organizationId", String.class))
+			.withPostCode(tuple.get("postCode", String.class))
+			.withReversedVat(tuple.get("reversedVat", Boolean.class))
+			.withRounding(tuple.get("rounding", BigDecimal.class))
+			.withStreet(tuple.get("street", String.class))
+			.withTotalAmount(tuple.get("totalAmount", BigDecimal.class))
+			.withVat(tuple.get("vat", BigDecimal.class))
+			.withVatEligibleAmount(tuple.get("vatEligibleAmount", BigDecimal.class))
+			.withPdfAvailable(tuple.get("pdfAvailable", Boolean.class));
 	}
 
 	public static List<InvoiceDetail> toDetails(List<InvoiceDetailEntity> entities) {
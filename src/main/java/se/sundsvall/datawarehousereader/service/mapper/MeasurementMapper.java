@@ -2,10 +2,18 @@ package se.sundsvall.datawarehousereader.service.mapper;
 
 import static java.util.Collections.emptyList;
 import static java.util.Optional.ofNullable;
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.toList;
 import static se.sundsvall.dept44.util.DateUtils.toOffsetDateTimeWithLocalOffset;
 
+import java.time.OffsetDateTime;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Objects;
+import java.util.stream.IntStream;
 
 import org.apache.commons.lang3.StringUtils;
 
@@ -15,6 +23,8 @@ import se.sundsvall.datawarehousereader.api.model.measurement.Aggregation;
 import se.sundsvall.datawarehousereader.api.model.measurement.Measurement;
 import se.sundsvall.datawarehousereader.api.model.measurement.MeasurementParameters;
 import se.sundsvall.datawarehousereader.api.model.measurement.MeasurementResponse;
+import se.sundsvall.datawarehousereader.api.model.measurement.MeasurementSeries;
+import se.sundsvall.datawarehousereader.api.model.measurement.MeasurementSeriesResponse;
 import se.sundsvall.datawarehousereader.integration.stadsbacken.model.measurement.DefaultMeasurementAttributesInterface;
 
 public class MeasurementMapper {
@@ -57,4 +67,89 @@ public class MeasurementMapper {
 				.withCount(measurements.size())
 				.withLimit(parameters.getLimit()));
 	}
+
+	public static MeasurementResponse toMeasurementResponse(MeasurementParameters parameters, boolean hasNext, List<Measurement> measurements) {
+		return MeasurementResponse.create()
+			.withMeasurements(measurements)
+			.withMetaData(MetaData.create()
+				.withPage(parameters.getPage())
+				.withSortBy(parameters.getSortBy())
+				.withSortDirection(parameters.getSortDirection())
+				.withHasNext(hasNext)
+				.withCount(measurements.size())
+				.withLimit(parameters.getLimit()));
+	}
+
+	public static MeasurementResponse toMeasurementResponse(MeasurementParameters parameters, String continuationToken, List<Measurement> measurements) {
+		return MeasurementResponse.create()
+			.withMeasurements(measurements)
+			.withMetaData(MetaData.create()
+				.withPage(parameters.getPage())
+				.withContinuationToken(continuationToken)
+				.withCount(measurements.size())
+				.withLimit(parameters.getLimit()));
+	}
+
+	/**
+	 * Creates a response containing the requested page of sent in measurements, with the total number of pages and
+	 * records. Used for results that are small enough to be fetched in full, such as closed periods served from cache.
+	 */
+	public static MeasurementResponse toPagedMeasurementResponse(MeasurementParameters parameters, List<Measurement> measurements) {
+		final var totalPages = (measurements.size() + parameters.getLimit() - 1) / parameters.getLimit();
+		return toMeasurementResponse(parameters, totalPages, measurements.size(), toPageContent(parameters, measurements));
+	}
+
+	/**
+	 * Creates a response containing the requested slice of sent in measurements, telling if there are more measurements
+	 * after the slice instead of the total number of pages and records.
+	 */
+	public static MeasurementResponse toSlicedMeasurementResponse(MeasurementParameters parameters, List<Measurement> measurements) {
+		final var hasNext = (long) parameters.getPage() * parameters.getLimit() < measurements.size();
+		return toMeasurementResponse(parameters, hasNext, toPageContent(parameters, measurements));
+	}
+
+	private static List<Measurement> toPageContent(MeasurementParameters parameters, List<Measurement> measurements) {
+		final var fromIndex = (int) Math.min((long) (parameters.getPage() - 1) * parameters.getLimit(), measurements.size());
+		final var toIndex = (int) Math.min((long) fromIndex + parameters.getLimit(), measurements.size());
+		return measurements.subList(fromIndex, toIndex);
+	}
+
+	public static MeasurementSeriesResponse toMeasurementSeriesResponse(MeasurementResponse response) {
+		return MeasurementSeriesResponse.create()
+			.withMetaData(response.getMetaData())
+			.withSeries(toMeasurementSeries(response.getMeasurements()));
+	}
+
+	/**
+	 * Groups measurements into series of points sharing party, facility, category, aggregation, measurement type
+	 * and unit. Order of series follows first occurrence and order of points within a series is kept.
+	 */
+	public static List<MeasurementSeries> toMeasurementSeries(List<Measurement> measurements) {
+		return ofNullable(measurements).orElse(emptyList()).stream()
+			.filter(Objects::nonNull)
+			.collect(groupingBy(measurement -> Arrays.asList(measurement.getPartyId(), measurement.getFacilityId(), measurement.getCategory(),
+				measurement.getAggregatedOn(), measurement.getMeasurementType(), measurement.getUnit()), LinkedHashMap::new, toList()))
+			.values().stream()
+			.map(MeasurementMapper::toSeries)
+			.toList();
+	}
+
+	private static MeasurementSeries toSeries(List<Measurement> points) {
+		final var first = points.get(0);
+		final var interpolated = new BitSet(points.size());
+		IntStream.range(0, points.size())
+			.filter(index -> points.get(index).getInterpolation() > 0)
+			.forEach(interpolated::set);
+
+		return MeasurementSeries.create()
+			.withPartyId(first.getPartyId())
+			.withFacilityId(first.getFacilityId())
+			.withCategory(first.getCategory())
+			.withAggregatedOn(first.getAggregatedOn())
+			.withMeasurementType(first.getMeasurementType())
+			.withUnit(first.getUnit())
+			.withTimestamps(points.stream().map(point -> ofNullable(point.getTimestamp()).map(OffsetDateTime::toEpochSecond).orElse(null)).toList())
+			.withValues(points.stream().map(Measurement::getValue).toList())
+			.withInterpolated(Base64.getEncoder().encodeToString(interpolated.toByteArray()));
+	}
 }
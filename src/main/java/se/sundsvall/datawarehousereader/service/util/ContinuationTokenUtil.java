@@ -0,0 +1,75 @@
+package se.sundsvall.datawarehousereader.service.util;
+
+import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.stream.Collectors.joining;
+import static org.apache.commons.lang3.StringUtils.isBlank;
+import static org.zalando.problem.Status.BAD_REQUEST;
+import static se.sundsvall.datawarehousereader.Constants.INVALID_CONTINUATION_TOKEN;
+
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+import org.springframework.data.domain.Slice;
+import org.zalando.problem.Problem;
+
+import se.sundsvall.datawarehousereader.integration.stadsbacken.specification.KeysetColumn;
+
+public class ContinuationTokenUtil {
+
+	private static final String SEPARATOR = ".";
+	private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+	private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+	private ContinuationTokenUtil() {}
+
+	/**
+	 * Method for creating a token pointing at the last entity in sent in slice. Keyset columns are
+	 * always part of the primary key of the view and can therefore never be null.
+	 * 
+	 * @param slice   the slice that has been read
+	 * @param columns the columns that make up the keyset
+	 * @return token for fetching next slice or null if there are no more slices to read
+	 */
+	public static <T> String toNextToken(Slice<T> slice, List<KeysetColumn<T>> columns) {
+		if (!slice.hasNext() || !slice.hasContent()) {
+			return null;
+		}
+
+		final var last = slice.getContent().get(slice.getNumberOfElements() - 1);
+		return columns.stream()
+			.map(column -> String.valueOf(column.extractor().apply(last)))
+			.map(value -> ENCODER.encodeToString(value.getBytes(UTF_8)))
+			.collect(joining(SEPARATOR));
+	}
+
+	/**
+	 * Method for decoding a token created by method toNextToken
+	 * 
+	 * @param token   the token to decode
+	 * @param columns the columns that make up the keyset
+	 * @return list of key values in the same order as the columns or null if token is blank
+	 * @throws org.zalando.problem.ThrowableProblem with status BAD_REQUEST if the token can not be decoded
+	 */
+	public static <T> List<Comparable<?>> toKey(String token, List<KeysetColumn<T>> columns) {
+		if (isBlank(token)) {
+			return null;
+		}
+
+		final var parts = token.trim().split("\\" + SEPARATOR, -1);
+		if (parts.length != columns.size()) {
+			throw Problem.valueOf(BAD_REQUEST, format(INVALID_CONTINUATION_TOKEN, token));
+		}
+
+		try {
+			final var key = new ArrayList<Comparable<?>>(parts.length);
+			for (int i = 0; i < parts.length; i++) {
+				key.add(columns.get(i).parser().apply(new String(DECODER.decode(parts[i]), UTF_8)));
+			}
+			return key;
+		} catch (RuntimeException e) {
+			throw Problem.valueOf(BAD_REQUEST, format(INVALID_CONTINUATION_TOKEN, token));
+		}
+	}
+}
@@ -0,0 +1,107 @@
+package se.sundsvall.datawarehousereader.service.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Arrays;
+
+import javax.crypto.Cipher;
+import javax.crypto.CipherInputStream;
+import javax.crypto.CipherOutputStream;
+import javax.crypto.SecretKey;
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.PBEKeySpec;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * Encrypts and authenticates streams with AES-256-GCM, using a key derived from a secret with PBKDF2-HMAC-SHA256 and
+ * a random salt. Encrypted streams start with the salt and a random nonce, followed by the ciphertext and the
+ * authentication tag, which is verified when the decrypting stream reaches its end.
+ *
+ * The key for encryption is derived once per instance, as derivation is deliberately slow. A new nonce is drawn for
+ * every encrypted stream.
+ */
+public class SecretCipher {
+
+	static final int SALT_LENGTH = 16;
+	static final int NONCE_LENGTH = 12;
+	private static final int ITERATIONS = 210_000;
+	private static final int KEY_LENGTH_BITS = 256;
+	private static final int TAG_LENGTH_BITS = 128;
+	private static final String KDF_ALGORITHM = "PBKDF2WithHmacSHA256";
+	private static final String KEY_ALGORITHM = "AES";
+	private static final String CIPHER_ALGORITHM = "AES/GCM/NoPadding";
+
+	private final char[] secret;
+	private final SecureRandom random = new SecureRandom();
+	private final byte[] salt = new byte[SALT_LENGTH];
+	private SecretKey key;
+
+	public SecretCipher(String secret) {
+		this.secret = secret.toCharArray();
+		random.nextBytes(salt);
+	}
+
+	/**
+	 * Writes the salt and a new nonce to sent in stream and returns a stream encrypting everything written to it. The
+	 * authentication tag is written when the returned stream is closed, which also closes sent in stream.
+	 *
+	 * @param output the stream to write the encrypted content to
+	 * @return stream encrypting content written to it
+	 * @throws IOException              if the salt or nonce could not be written
+	 * @throws GeneralSecurityException if the cipher could not be initialized
+	 */
+	public synchronized OutputStream encrypt(OutputStream output) throws IOException, GeneralSecurityException {
+		if (key == null) {
+			key = deriveKey(salt);
+		}
+		final var nonce = new byte[NONCE_LENGTH];
+		random.nextBytes(nonce);
+
+		output.write(salt);
+		output.write(nonce);
+		return new CipherOutputStream(output, cipher(Cipher.ENCRYPT_MODE, key, nonce));
+	}
+
+	/**
+	 * Reads the salt and nonce from sent in stream and returns a stream decrypting the remaining content. Reading fails
+	 * with an IOException if the content was not encrypted with the same secret or has been modified.
+	 *
+	 * @param input the stream to read the encrypted content from
+	 * @return stream decrypting the content of sent in stream
+	 * @throws IOException              if the salt or nonce could not be read
+	 * @throws GeneralSecurityException if the cipher could not be initialized
+	 */
+	public InputStream decrypt(InputStream input) throws IOException, GeneralSecurityException {
+		final var streamSalt = readFully(input, SALT_LENGTH);
+		final var nonce = readFully(input, NONCE_LENGTH);
+		final var streamKey = Arrays.equals(streamSalt, salt) && key != null ? key : deriveKey(streamSalt);
+		return new CipherInputStream(input, cipher(Cipher.DECRYPT_MODE, streamKey, nonce));
+	}
+
+	private SecretKey deriveKey(byte[] keySalt) throws GeneralSecurityException {
+		final var spec = new PBEKeySpec(secret, keySalt, ITERATIONS, KEY_LENGTH_BITS);
+		try {
+			return new SecretKeySpec(SecretKeyFactory.getInstance(KDF_ALGORITHM).generateSecret(spec).getEncoded(), KEY_ALGORITHM);
+		} finally {
+			spec.clearPassword();
+		}
+	}
+
+	private static Cipher cipher(int mode, SecretKey key, byte[] nonce) throws GeneralSecurityException {
+		final var cipher = Cipher.getInstance(CIPHER_ALGORITHM);
+		cipher.init(mode, key, new GCMParameterSpec(TAG_LENGTH_BITS, nonce));
+		return cipher;
+	}
+
+	private static byte[] readFully(InputStream input, int length) throws IOException {
+		final var bytes = input.readNBytes(length);
+		if (bytes.length != length) {
+			throw new IOException("Encrypted stream is truncated");
+		}
+		return bytes;
+	}
+}
@@ -3,10 +3,19 @@ package se.sundsvall.datawarehousereader.service.util;
 import static java.util.Collections.emptyList;
 import static java.util.Optional.ofNullable;
 import static org.apache.commons.lang3.StringUtils.containsNone;
+import static org.apache.commons.lang3.StringUtils.isAllBlank;
+import static org.zalando.problem.Status.BAD_REQUEST;
+import static se.sundsvall.datawarehousereader.Constants.FILTER_REQUIRED_FOR_AGGREGATION;
+import static se.sundsvall.datawarehousereader.Constants.PAGING_MODE_NOT_SUPPORTED;
 
 import java.util.List;
 import java.util.Objects;
 
+import org.zalando.problem.Problem;
+
+import se.sundsvall.datawarehousereader.api.model.PagingMode;
+import se.sundsvall.datawarehousereader.api.model.measurement.Aggregation;
+
 public class ServiceUtil {
 
 	private static final int PERSON_NUMBER_MIN_LENGTH = 4;
@@ -44,6 +53,37 @@ public class ServiceUtil {
 			.orElse(personNumber);
 	}
 
+	/**
+	 * Method for evaluating if a slice (page without total count) is requested. Resources that only
+	 * supports offset and slice paging use this method, hence a problem is thrown if keyset paging is
+	 * requested.
+	 * 
+	 * @param pagingMode
+	 * @return true if paging mode equals SLICE, false otherwise
+	 * @throws org.zalando.problem.ThrowableProblem with status BAD_REQUEST if paging mode equals KEYSET
+	 */
+	public static boolean isSliced(PagingMode pagingMode) {
+		if (pagingMode == PagingMode.KEYSET) {
+			throw Problem.valueOf(BAD_REQUEST, String.format(PAGING_MODE_NOT_SUPPORTED, pagingMode));
+		}
+		return pagingMode == PagingMode.SLICE;
+	}
+
+	/**
+	 * Method for verifying that a request for rolled up measurements is limited to a party or a facility, as a rollup
+	 * must read every measurement in range before the first bucket can be returned.
+	 * 
+	 * @param aggregation
+	 * @param legalId
+	 * @param facilityId
+	 * @throws org.zalando.problem.ThrowableProblem with status BAD_REQUEST if both legalId and facilityId are blank
+	 */
+	public static void requireRollupFilter(Aggregation aggregation, String legalId, String facilityId) {
+		if (isAllBlank(legalId, facilityId)) {
+			throw Problem.valueOf(BAD_REQUEST, String.format(FILTER_REQUIRED_FOR_AGGREGATION, aggregation));
+		}
+	}
+
 	/**
 	 * Method for converting Integer to String
 	 * 
@@ -114,6 +114,23 @@ class CustomerResourceTest {
 		assertThat(parameters.getOrganizationNumber()).isNull();
 		assertThat(parameters.getOrganizationName()).isNull();
 		assertThat(parameters.getPage()).isEqualTo(DEFAULT_PAGE);
+		assertThat(parameters.getResolvePartyIds()).isNull();
+	}
+
+	@Test
+	void getCustomerEngagementsWithoutResolvingPartyIds() {
+		when(serviceMock.getCustomerEngagements(any())).thenReturn(CustomerEngagementResponse.create());
+
+		webTestClient.get()
+			.uri("/customer/engagements?resolvePartyIds=false")
+			.exchange()
+			.expectStatus().isOk()
+			.expectHeader().contentType(APPLICATION_JSON)
+			.expectBody(CustomerEngagementResponse.class)
+			.isEqualTo(CustomerEngagementResponse.create());
+
+		verify(serviceMock).getCustomerEngagements(parametersCaptor.capture());
+		assertThat(parametersCaptor.getValue().getResolvePartyIds()).isFalse();
 	}
 
 	private MultiValueMap<String, String> createParameterMap(Integer page, Integer limit, String customerNumber, String customerOrgId, String organizationId, String organizationName) {
@@ -5,13 +5,25 @@ import static java.util.Optional.ofNullable;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.http.HttpHeaders.ACCEPT;
 import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
+import static org.springframework.http.MediaType.APPLICATION_NDJSON_VALUE;
+import static org.springframework.http.MediaType.APPLICATION_PROBLEM_JSON_VALUE;
+import static org.zalando.problem.Status.NOT_FOUND;
+import static se.sundsvall.datawarehousereader.api.MeasurementResource.APPLICATION_MEASUREMENT_SERIES_JSON_VALUE;
 
+import java.math.BigDecimal;
 import java.time.OffsetDateTime;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
 
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
@@ -23,12 +35,16 @@ import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.reactive.server.WebTestClient;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
+import org.zalando.problem.Problem;
 
 import se.sundsvall.datawarehousereader.Application;
 import se.sundsvall.datawarehousereader.api.model.Category;
 import se.sundsvall.datawarehousereader.api.model.measurement.Aggregation;
+import se.sundsvall.datawarehousereader.api.model.measurement.Measurement;
 import se.sundsvall.datawarehousereader.api.model.measurement.MeasurementParameters;
 import se.sundsvall.datawarehousereader.api.model.measurement.MeasurementResponse;
+import se.sundsvall.datawarehousereader.api.model.measurement.MeasurementSeries;
+import se.sundsvall.datawarehousereader.api.model.measurement.MeasurementSeriesResponse;
 import se.sundsvall.datawarehousereader.service.MeasurementService;
 
 @SpringBootTest(classes = Application.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
@@ -100,6 +116,127 @@ class MeasurementResourceTest {
 		assertThat(parameters.getToDateTime()).isEqualTo(TO_DATE_TIME);
 	}
 
+	@Test
+	void getMeasurementSeries() {
+		when(serviceMock.getMeasurementSeries(any(), any(), any())).thenReturn(MeasurementSeriesResponse.create()
+			.withSeries(List.of(MeasurementSeries.create()
+				.withFacilityId(FACILITY_ID)
+				.withTimestamps(List.of(1572566400L))
+				.withValues(List.of(BigDecimal.ONE))
+				.withInterpolated(""))));
+
+		webTestClient.get().uri("/measurements/{category}/{aggregateOn}", CATEGORY, AGGREGATION)
+			.header(ACCEPT, APPLICATION_MEASUREMENT_SERIES_JSON_VALUE)
+			.exchange()
+			.expectStatus().isOk()
+			.expectHeader().contentType(APPLICATION_MEASUREMENT_SERIES_JSON_VALUE)
+			.expectBody().json("{\"series\":[{\"facilityId\":\"facilityId\",\"timestamps\":[1572566400],\"values\":[1],\"interpolated\":\"\"}]}");
+
+		verify(serviceMock).getMeasurementSeries(eq(CATEGORY), eq(AGGREGATION), any());
+		verify(serviceMock, never()).getMeasurements(any(), any(), any());
+	}
+
+	@Test
+	void getMeasurementsWhenJsonIsPreferredOverSeries() {
+		when(serviceMock.getMeasurements(any(), any(), any())).thenReturn(MeasurementResponse.create());
+
+		webTestClient.get().uri("/measurements/{category}/{aggregateOn}", CATEGORY, AGGREGATION)
+			.header(ACCEPT, APPLICATION_JSON_VALUE + ", " + APPLICATION_MEASUREMENT_SERIES_JSON_VALUE + ";q=0.5")
+			.exchange()
+			.expectStatus().isOk()
+			.expectHeader().contentType(APPLICATION_JSON_VALUE)
+			.expectBody().json("{}");
+
+		verify(serviceMock, never()).getMeasurementSeries(any(), any(), any());
+	}
+
+	@Test
+	void exportMeasurements() {
+		doAnswer(invocation -> {
+			final Consumer<Measurement> consumer = invocation.getArgument(3);
+			consumer.accept(Measurement.create().withFacilityId("facility-1"));
+			consumer.accept(Measurement.create().withFacilityId("facility-2"));
+			return null;
+		}).when(serviceMock).exportMeasurements(any(), any(), any(), any());
+
+		final var body = webTestClient.get().uri(uriBuilder -> uriBuilder.path("/measurements/{category}/{aggregateOn}/export")
+			.queryParams(createParameterMap(null, null, PARTY_ID, FACILITY_ID, null, null))
+			.build(CATEGORY, AGGREGATION))
+			.exchange()
+			.expectStatus().isOk()
+			.expectHeader().contentType(APPLICATION_NDJSON_VALUE)
+			.expectBody(String.class)
+			.returnResult()
+			.getResponseBody();
+
+		verify(serviceMock).exportMeasurements(eq(CATEGORY), eq(AGGREGATION), parametersCaptor.capture(), any());
+		assertThat(parametersCaptor.getValue().getPartyId()).isEqualTo(PARTY_ID);
+		assertThat(parametersCaptor.getValue().getFacilityId()).isEqualTo(FACILITY_ID);
+		assertThat(body.split("\n"))
+			.hasSize(2)
+			.satisfiesExactly(
+				line -> assertThat(line).startsWith("{").contains("\"facilityId\":\"facility-1\""),
+				line -> assertThat(line).startsWith("{").contains("\"facilityId\":\"facility-2\""));
+	}
+
+	@Test
+	void exportMeasurementsWhenFailingBeforeFirstMeasurement() {
+		doThrow(Problem.valueOf(NOT_FOUND, "unknown partyId")).when(serviceMock).exportMeasurements(any(), any(), any(), any());
+
+		webTestClient.get().uri(uriBuilder -> uriBuilder.path("/measurements/{category}/{aggregateOn}/export")
+			.queryParams(createParameterMap(null, null, PARTY_ID, null, null, null))
+			.build(CATEGORY, AGGREGATION))
+			.exchange()
+			.expectStatus().isNotFound()
+			.expectHeader().contentType(APPLICATION_PROBLEM_JSON_VALUE)
+			.expectBody()
+			.jsonPath("$.detail").isEqualTo("unknown partyId");
+	}
+
+	@Test
+	void exportMeasurementsWhenFailingBeforeResponseIsCommitted() {
+		doAnswer(invocation -> {
+			final Consumer<Measurement> consumer = invocation.getArgument(3);
+			consumer.accept(Measurement.create().withFacilityId("facility-1"));
+			throw new IllegalStateException("connection lost");
+		}).when(serviceMock).exportMeasurements(any(), any(), any(), any());
+
+		final var body = webTestClient.get().uri(uriBuilder -> uriBuilder.path("/measurements/{category}/{aggregateOn}/export")
+			.build(CATEGORY, AGGREGATION))
+			.exchange()
+			.expectStatus().is5xxServerError()
+			.expectHeader().contentType(APPLICATION_PROBLEM_JSON_VALUE)
+			.expectBody(String.class)
+			.returnResult()
+			.getResponseBody();
+
+		assertThat(body).doesNotContain("facility-1");
+	}
+
+	@Test
+	void exportMeasurementsWhenFailingAfterResponseIsCommitted() {
+		final var measurements = IntStream.range(0, 1000).mapToObj(i -> Measurement.create().withFacilityId("facility-" + i)).toList();
+		doAnswer(invocation -> {
+			final Consumer<Measurement> consumer = invocation.getArgument(3);
+			measurements.forEach(consumer);
+			throw new IllegalStateException("connection lost");
+		}).when(serviceMock).exportMeasurements(any(), any(), any(), any());
+
+		final var body = webTestClient.get().uri(uriBuilder -> uriBuilder.path("/measurements/{category}/{aggregateOn}/export")
+			.build(CATEGORY, AGGREGATION))
+			.exchange()
+			.expectStatus().isOk()
+			.expectHeader().contentType(APPLICATION_NDJSON_VALUE)
+			.expectBody(String.class)
+			.returnResult()
+			.getResponseBody();
+
+		final var lines = body.split("\n");
+		assertThat(lines).hasSize(measurements.size() + 1);
+		assertThat(lines[measurements.size() - 1]).contains("\"facilityId\":\"facility-999\"");
+		assertThat(lines[measurements.size()]).contains("\"status\":500").doesNotContain("connection lost");
+	}
+
 	private MultiValueMap<String, String> createParameterMap(Integer page, Integer limit, String partyId, String facilityId, OffsetDateTime fromDateTime,
 		OffsetDateTime toDateTime) {
 
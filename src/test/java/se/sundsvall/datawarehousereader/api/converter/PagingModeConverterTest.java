@@ -0,0 +1,43 @@
+package se.sundsvall.datawarehousereader.api.converter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.zalando.problem.Status.BAD_REQUEST;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.zalando.problem.ThrowableProblem;
+
+import se.sundsvall.datawarehousereader.api.model.PagingMode;
+
+class PagingModeConverterTest {
+
+	private static final PagingModeConverter CONVERTER = new PagingModeConverter();
+
+	@ParameterizedTest
+	@EnumSource(PagingMode.class)
+	void testDefinedPagingModes(PagingMode pagingMode) {
+		assertThat(CONVERTER.convert(pagingMode.name())).isEqualTo(pagingMode);
+		assertThat(CONVERTER.convert(pagingMode.name().toLowerCase())).isEqualTo(pagingMode);
+	}
+
+	@Test
+	void testNullValue() {
+		assertThat(CONVERTER.convert(null)).isNull();
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = { "", " " })
+	void testEmptyValues(String pagingMode) {
+		assertThat(CONVERTER.convert(pagingMode)).isNull();
+	}
+
+	@Test
+	void testInvalidPagingMode() {
+		ThrowableProblem e = assertThrows(ThrowableProblem.class, () -> CONVERTER.convert("invalid-paging-mode"));
+		assertThat(e.getStatus()).isEqualTo(BAD_REQUEST);
+		assertThat(e.getMessage()).isEqualTo("Bad Request: Invalid value for enum PagingMode: invalid-paging-mode");
+	}
+}
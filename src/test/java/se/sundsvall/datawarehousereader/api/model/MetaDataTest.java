@@ -35,7 +35,9 @@ class MetaDataTest {
 		final var sortBy = List.of("someProperty");
 		final var sortDirection = Direction.DESC;
 		final var totalPages = 404;
-		final var totalRecords = 505;
+		final var totalRecords = 505L;
+		final var hasNext = true;
+		final var continuationToken = "continuationToken";
 
 		final var meta = MetaData.create()
 			.withCount(count)
@@ -44,7 +46,9 @@ class MetaDataTest {
 			.withSortBy(sortBy)
 			.withSortDirection(sortDirection)
 			.withTotalPages(totalPages)
-			.withTotalRecords(totalRecords);
+			.withTotalRecords(totalRecords)
+			.withHasNext(hasNext)
+			.withContinuationToken(continuationToken);
 
 		assertThat(meta.getCount()).isEqualTo(count);
 		assertThat(meta.getLimit()).isEqualTo(limit);
@@ -53,6 +57,8 @@ class MetaDataTest {
 		assertThat(meta.getSortDirection()).isEqualTo(sortDirection);
 		assertThat(meta.getTotalPages()).isEqualTo(totalPages);
 		assertThat(meta.getTotalRecords()).isEqualTo(totalRecords);
+		assertThat(meta.getHasNext()).isEqualTo(hasNext);
+		assertThat(meta.getContinuationToken()).isEqualTo(continuationToken);
 	}
 
 	@Test
@@ -61,14 +67,16 @@ class MetaDataTest {
 			.hasFieldOrPropertyWithValue("count", 0)
 			.hasFieldOrPropertyWithValue("limit", 0)
 			.hasFieldOrPropertyWithValue("page", 0)
-			.hasFieldOrPropertyWithValue("totalRecords", 0L)
-			.hasFieldOrPropertyWithValue("totalPages", 0);
+			.hasFieldOrPropertyWithValue("totalRecords", null)
+			.hasFieldOrPropertyWithValue("totalPages", null)
+			.hasFieldOrPropertyWithValue("hasNext", null);
 
 		assertThat(new MetaData())
 			.hasFieldOrPropertyWithValue("count", 0)
 			.hasFieldOrPropertyWithValue("limit", 0)
 			.hasFieldOrPropertyWithValue("page", 0)
-			.hasFieldOrPropertyWithValue("totalRecords", 0L)
-			.hasFieldOrPropertyWithValue("totalPages", 0);
+			.hasFieldOrPropertyWithValue("totalRecords", null)
+			.hasFieldOrPropertyWithValue("totalPages", null)
+			.hasFieldOrPropertyWithValue("hasNext", null);
 	}
 }
@@ -0,0 +1,23 @@
+package se.sundsvall.datawarehousereader.api.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static se.sundsvall.datawarehousereader.api.model.PagingMode.KEYSET;
+import static se.sundsvall.datawarehousereader.api.model.PagingMode.OFFSET;
+import static se.sundsvall.datawarehousereader.api.model.PagingMode.SLICE;
+
+import org.junit.jupiter.api.Test;
+
+class PagingModeTest {
+
+	@Test
+	void enums() {
+		assertThat(PagingMode.values()).containsExactlyInAnyOrder(OFFSET, SLICE, KEYSET);
+	}
+
+	@Test
+	void enumValues() {
+		assertThat(OFFSET).hasToString("OFFSET");
+		assertThat(SLICE).hasToString("SLICE");
+		assertThat(KEYSET).hasToString("KEYSET");
+	}
+}
@@ -21,6 +21,8 @@ import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import org.springframework.data.domain.Sort;
 
+import se.sundsvall.datawarehousereader.api.model.PagingMode;
+
 class AgreementParametersTest {
 
 	@BeforeAll
@@ -84,13 +86,15 @@ class AgreementParametersTest {
 	@Test
 	void testNoDirtOnCreatedBean() {
 		assertThat(AgreementParameters.create())
-			.hasAllNullFieldsOrPropertiesExcept("page", "limit", "sortDirection")
+			.hasAllNullFieldsOrPropertiesExcept("page", "limit", "sortDirection", "pagingMode")
+			.hasFieldOrPropertyWithValue("pagingMode", PagingMode.OFFSET)
 			.hasFieldOrPropertyWithValue("page", 1)
 			.hasFieldOrPropertyWithValue("limit", 100)
 			.hasFieldOrPropertyWithValue("sortDirection", Sort.DEFAULT_DIRECTION);
 
 		assertThat(new AgreementParameters())
-			.hasAllNullFieldsOrPropertiesExcept("page", "limit", "sortDirection")
+			.hasAllNullFieldsOrPropertiesExcept("page", "limit", "sortDirection", "pagingMode")
+			.hasFieldOrPropertyWithValue("pagingMode", PagingMode.OFFSET)
 			.hasFieldOrPropertyWithValue("page", 1)
 			.hasFieldOrPropertyWithValue("limit", 100)
 			.hasFieldOrPropertyWithValue("sortDirection", Sort.DEFAULT_DIRECTION);
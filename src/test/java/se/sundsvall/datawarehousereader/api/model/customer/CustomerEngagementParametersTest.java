@@ -14,6 +14,8 @@ import java.util.List;
 import org.junit.jupiter.api.Test;
 import org.springframework.data.domain.Sort;
 
+import se.sundsvall.datawarehousereader.api.model.PagingMode;
+
 class CustomerEngagementParametersTest {
 
 	@Test
@@ -37,24 +39,28 @@ class CustomerEngagementParametersTest {
 			.withCustomerNumber(customerNumber)
 			.withOrganizationName(organizationName)
 			.withOrganizationNumber(organizationNumber)
-			.withPartyId(partyId);
+			.withPartyId(partyId)
+			.withResolvePartyIds(false);
 
 		assertThat(customerParameters.getCustomerNumber()).isEqualTo(customerNumber);
 		assertThat(customerParameters.getOrganizationName()).isEqualTo(organizationName);
 		assertThat(customerParameters.getOrganizationNumber()).isEqualTo(organizationNumber);
 		assertThat(customerParameters.getPartyId()).isEqualTo(partyId);
+		assertThat(customerParameters.getResolvePartyIds()).isFalse();
 	}
 
 	@Test
 	void testNoDirtOnCreatedBean() {
 		assertThat(CustomerEngagementParameters.create())
-			.hasAllNullFieldsOrPropertiesExcept("page", "limit", "sortBy", "sortDirection")
+			.hasAllNullFieldsOrPropertiesExcept("page", "limit", "sortBy", "sortDirection", "pagingMode")
+			.hasFieldOrPropertyWithValue("pagingMode", PagingMode.OFFSET)
 			.hasFieldOrPropertyWithValue("page", 1)
 			.hasFieldOrPropertyWithValue("limit", 100)
 			.hasFieldOrPropertyWithValue("sortDirection", Sort.DEFAULT_DIRECTION);
 
 		assertThat(new CustomerEngagementParameters())
-			.hasAllNullFieldsOrPropertiesExcept("page", "limit", "sortBy", "sortDirection")
+			.hasAllNullFieldsOrPropertiesExcept("page", "limit", "sortBy", "sortDirection", "pagingMode")
+			.hasFieldOrPropertyWithValue("pagingMode", PagingMode.OFFSET)
 			.hasFieldOrPropertyWithValue("page", 1)
 			.hasFieldOrPropertyWithValue("limit", 100)
 			.hasFieldOrPropertyWithValue("sortDirection", Sort.DEFAULT_DIRECTION);
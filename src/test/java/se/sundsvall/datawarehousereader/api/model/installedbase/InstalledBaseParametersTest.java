@@ -12,6 +12,8 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import org.junit.jupiter.api.Test;
 import org.springframework.data.domain.Sort;
 
+import se.sundsvall.datawarehousereader.api.model.PagingMode;
+
 class InstalledBaseParametersTest {
 
 	@Test
@@ -27,13 +29,15 @@ class InstalledBaseParametersTest {
 	@Test
 	void testNoDirtOnCreatedBean() {
 		assertThat(InstalledBaseParameters.create())
-			.hasAllNullFieldsOrPropertiesExcept("page", "limit", "sortDirection")
+			.hasAllNullFieldsOrPropertiesExcept("page", "limit", "sortDirection", "pagingMode")
+			.hasFieldOrPropertyWithValue("pagingMode", PagingMode.OFFSET)
 			.hasFieldOrPropertyWithValue("page", 1)
 			.hasFieldOrPropertyWithValue("limit", 100)
 			.hasFieldOrPropertyWithValue("sortDirection", Sort.DEFAULT_DIRECTION);
 
 		assertThat(new InstalledBaseParameters())
-			.hasAllNullFieldsOrPropertiesExcept("page", "limit", "sortDirection")
+			.hasAllNullFieldsOrPropertiesExcept("page", "limit", "sortDirection", "pagingMode")
+			.hasFieldOrPropertyWithValue("pagingMode", PagingMode.OFFSET)
 			.hasFieldOrPropertyWithValue("page", 1)
 			.hasFieldOrPropertyWithValue("limit", 100)
 			.hasFieldOrPropertyWithValue("sortDirection", Sort.DEFAULT_DIRECTION);
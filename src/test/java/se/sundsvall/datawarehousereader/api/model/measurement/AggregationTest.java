@@ -4,6 +4,8 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static se.sundsvall.datawarehousereader.api.model.measurement.Aggregation.DAY;
 import static se.sundsvall.datawarehousereader.api.model.measurement.Aggregation.HOUR;
 import static se.sundsvall.datawarehousereader.api.model.measurement.Aggregation.MONTH;
+import static se.sundsvall.datawarehousereader.api.model.measurement.Aggregation.QUARTER;
+import static se.sundsvall.datawarehousereader.api.model.measurement.Aggregation.WEEK;
 import static se.sundsvall.datawarehousereader.api.model.measurement.Aggregation.YEAR;
 
 import org.junit.jupiter.api.Test;
@@ -12,14 +14,16 @@ class AggregationTest {
 
 	@Test
 	void enums() {
-		assertThat(Aggregation.values()).containsExactlyInAnyOrder(HOUR, DAY, MONTH, YEAR);
+		assertThat(Aggregation.values()).containsExactlyInAnyOrder(HOUR, DAY, WEEK, MONTH, QUARTER, YEAR);
 	}
 
 	@Test
 	void enumValues() {
 		assertThat(HOUR).hasToString("HOUR");
 		assertThat(DAY).hasToString("DAY");
+		assertThat(WEEK).hasToString("WEEK");
 		assertThat(MONTH).hasToString("MONTH");
+		assertThat(QUARTER).hasToString("QUARTER");
 		assertThat(YEAR).hasToString("YEAR");
 	}
 }
@@ -18,6 +18,8 @@ import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import org.springframework.data.domain.Sort;
 
+import se.sundsvall.datawarehousereader.api.model.PagingMode;
+
 class MeasurementParametersTest {
 
 	@BeforeAll
@@ -38,13 +40,15 @@ class MeasurementParametersTest {
 	@Test
 	void testNoDirtOnCreatedBean() {
 		assertThat(MeasurementParameters.create())
-			.hasAllNullFieldsOrPropertiesExcept("page", "limit", "sortBy", "sortDirection")
+			.hasAllNullFieldsOrPropertiesExcept("page", "limit", "sortBy", "sortDirection", "pagingMode")
+			.hasFieldOrPropertyWithValue("pagingMode", PagingMode.OFFSET)
 			.hasFieldOrPropertyWithValue("page", 1)
 			.hasFieldOrPropertyWithValue("limit", 100)
 			.hasFieldOrPropertyWithValue("sortDirection", Sort.DEFAULT_DIRECTION);
 
 		assertThat(new MeasurementParameters())
-			.hasAllNullFieldsOrPropertiesExcept("page", "limit", "sortBy", "sortDirection")
+			.hasAllNullFieldsOrPropertiesExcept("page", "limit", "sortBy", "sortDirection", "pagingMode")
+			.hasFieldOrPropertyWithValue("pagingMode", PagingMode.OFFSET)
 			.hasFieldOrPropertyWithValue("page", 1)
 			.hasFieldOrPropertyWithValue("limit", 100)
 			.hasFieldOrPropertyWithValue("sortDirection", Sort.DEFAULT_DIRECTION);
@@ -0,0 +1,48 @@
+package se.sundsvall.datawarehousereader.api.model.measurement;
+
+import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanConstructor;
+import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanEquals;
+import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanHashCode;
+import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanToString;
+import static com.google.code.beanmatchers.BeanMatchers.hasValidGettersAndSetters;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.CoreMatchers.allOf;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import se.sundsvall.datawarehousereader.api.model.MetaData;
+
+class MeasurementSeriesResponseTest {
+
+	@Test
+	void testBean() {
+		assertThat(MeasurementSeriesResponse.class, allOf(
+			hasValidBeanConstructor(),
+			hasValidGettersAndSetters(),
+			hasValidBeanHashCode(),
+			hasValidBeanEquals(),
+			hasValidBeanToString()));
+	}
+
+	@Test
+	void testCreatePattern() {
+		final var metaData = MetaData.create();
+		final var series = MeasurementSeries.create();
+
+		final var response = MeasurementSeriesResponse.create()
+			.withMetaData(metaData)
+			.withSeries(List.of(series));
+
+		assertThat(response.getMetaData()).isEqualTo(metaData);
+		assertThat(response.getSeries()).hasSize(1).contains(series);
+	}
+
+	@Test
+	void testNoDirtOnCreatedBean() {
+		assertThat(MeasurementSeriesResponse.create()).hasAllNullFieldsOrProperties();
+		assertThat(new MeasurementSeriesResponse()).hasAllNullFieldsOrProperties();
+	}
+}
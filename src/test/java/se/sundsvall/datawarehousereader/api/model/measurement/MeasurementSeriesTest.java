@@ -0,0 +1,70 @@
+package se.sundsvall.datawarehousereader.api.model.measurement;
+
+import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanConstructor;
+import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanEquals;
+import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanHashCode;
+import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanToString;
+import static com.google.code.beanmatchers.BeanMatchers.hasValidGettersAndSetters;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.CoreMatchers.allOf;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import se.sundsvall.datawarehousereader.api.model.Category;
+
+class MeasurementSeriesTest {
+
+	@Test
+	void testBean() {
+		assertThat(MeasurementSeries.class, allOf(
+			hasValidBeanConstructor(),
+			hasValidGettersAndSetters(),
+			hasValidBeanHashCode(),
+			hasValidBeanEquals(),
+			hasValidBeanToString()));
+	}
+
+	@Test
+	void testCreatePattern() {
+		final var partyId = "partyId";
+		final var facilityId = "facilityId";
+		final var category = Category.ELECTRICITY;
+		final var aggregatedOn = Aggregation.DAY;
+		final var measurementType = "measurementType";
+		final var unit = "unit";
+		final var timestamps = List.of(1572566400L, 1572652800L);
+		final var values = List.of(BigDecimal.ONE, BigDecimal.TEN);
+		final var interpolated = "Ag==";
+
+		final var series = MeasurementSeries.create()
+			.withPartyId(partyId)
+			.withFacilityId(facilityId)
+			.withCategory(category)
+			.withAggregatedOn(aggregatedOn)
+			.withMeasurementType(measurementType)
+			.withUnit(unit)
+			.withTimestamps(timestamps)
+			.withValues(values)
+			.withInterpolated(interpolated);
+
+		assertThat(series.getPartyId()).isEqualTo(partyId);
+		assertThat(series.getFacilityId()).isEqualTo(facilityId);
+		assertThat(series.getCategory()).isEqualTo(category);
+		assertThat(series.getAggregatedOn()).isEqualTo(aggregatedOn);
+		assertThat(series.getMeasurementType()).isEqualTo(measurementType);
+		assertThat(series.getUnit()).isEqualTo(unit);
+		assertThat(series.getTimestamps()).isEqualTo(timestamps);
+		assertThat(series.getValues()).isEqualTo(values);
+		assertThat(series.getInterpolated()).isEqualTo(interpolated);
+	}
+
+	@Test
+	void testNoDirtOnCreatedBean() {
+		assertThat(MeasurementSeries.create()).hasAllNullFieldsOrProperties();
+		assertThat(new MeasurementSeries()).hasAllNullFieldsOrProperties();
+	}
+}
@@ -0,0 +1,199 @@
+package se.sundsvall.datawarehousereader.integration.party;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.security.oauth2.core.AuthorizationGrantType.CLIENT_CREDENTIALS;
+import static org.springframework.security.oauth2.core.OAuth2AccessToken.TokenType.BEARER;
+import static se.sundsvall.datawarehousereader.integration.party.PartyTokenManager.TOKEN_AGE_METRIC;
+import static se.sundsvall.datawarehousereader.integration.party.PartyTokenManager.TOKEN_REFRESH_METRIC;
+import static se.sundsvall.datawarehousereader.integration.party.configuration.PartyConfiguration.CLIENT_REGISTRATION_ID;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.oauth2.client.endpoint.OAuth2AccessTokenResponseClient;
+import org.springframework.security.oauth2.client.endpoint.OAuth2ClientCredentialsGrantRequest;
+import org.springframework.security.oauth2.client.registration.ClientRegistration;
+import org.springframework.security.oauth2.client.registration.ClientRegistrationRepository;
+import org.springframework.security.oauth2.core.OAuth2AuthorizationException;
+import org.springframework.security.oauth2.core.OAuth2Error;
+import org.springframework.security.oauth2.core.endpoint.OAuth2AccessTokenResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import se.sundsvall.datawarehousereader.integration.party.configuration.PartyTokenProperties;
+
+@ExtendWith(MockitoExtension.class)
+class PartyTokenManagerTest {
+
+	private static final ClientRegistration CLIENT_REGISTRATION = ClientRegistration.withRegistrationId(CLIENT_REGISTRATION_ID)
+		.clientId("the-client-id")
+		.clientSecret("the-client-secret")
+		.authorizationGrantType(CLIENT_CREDENTIALS)
+		.tokenUri("http://localhost/token")
+		.build();
+
+	@Mock
+	private ClientRegistrationRepository clientRepositoryMock;
+
+	@Mock
+	private OAuth2AccessTokenResponseClient<OAuth2ClientCredentialsGrantRequest> tokenResponseClientMock;
+
+	@Spy
+	private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	@InjectMocks
+	private PartyTokenManager tokenManager;
+
+	@BeforeEach
+	void setup() {
+		ReflectionTestUtils.setField(tokenManager, "tokenResponseClient", tokenResponseClientMock);
+		ReflectionTestUtils.setField(tokenManager, "properties", new PartyTokenProperties(true, Duration.ofMinutes(2), Duration.ofSeconds(15)));
+		tokenManager.registerMetrics();
+	}
+
+	@Test
+	void getTokenFetchesTokenOnceWhileValid() {
+		when(clientRepositoryMock.findByRegistrationId(CLIENT_REGISTRATION_ID)).thenReturn(CLIENT_REGISTRATION);
+		when(tokenResponseClientMock.getTokenResponse(any())).thenReturn(tokenResponse("token", Duration.ofHours(1)));
+
+		assertThat(tokenManager.getToken()).isEqualTo("token");
+		assertThat(tokenManager.getToken()).isEqualTo("token");
+
+		verify(tokenResponseClientMock).getTokenResponse(any());
+		assertThat(meterRegistry.timer(TOKEN_REFRESH_METRIC, "trigger", "inline", "outcome", "success").count()).isOne();
+		assertThat(meterRegistry.get(TOKEN_AGE_METRIC).timeGauge().value(TimeUnit.SECONDS)).isGreaterThanOrEqualTo(0);
+	}
+
+	@Test
+	void getTokenFetchesNewTokenWhenExpired() {
+		when(clientRepositoryMock.findByRegistrationId(CLIENT_REGISTRATION_ID)).thenReturn(CLIENT_REGISTRATION);
+		when(tokenResponseClientMock.getTokenResponse(any()))
+			.thenReturn(tokenResponse("expiringToken", Duration.ofSeconds(30)))
+			.thenReturn(tokenResponse("token", Duration.ofHours(1)));
+
+		assertThat(tokenManager.getToken()).isEqualTo("expiringToken");
+		assertThat(tokenManager.getToken()).isEqualTo("token");
+	}
+
+	@Test
+	void getTokenFetchesNewTokenWhenInvalidated() {
+		when(clientRepositoryMock.findByRegistrationId(CLIENT_REGISTRATION_ID)).thenReturn(CLIENT_REGISTRATION);
+		when(tokenResponseClientMock.getTokenResponse(any()))
+			.thenReturn(tokenResponse("rejectedToken", Duration.ofHours(1)))
+			.thenReturn(tokenResponse("token", Duration.ofHours(1)));
+
+		assertThat(tokenManager.getToken()).isEqualTo("rejectedToken");
+		tokenManager.invalidate("someOtherToken");
+		assertThat(tokenManager.getToken()).isEqualTo("rejectedToken");
+		tokenManager.invalidate("rejectedToken");
+		assertThat(tokenManager.getToken()).isEqualTo("token");
+	}
+
+	@Test
+	void getTokenSharesOngoingRefresh() throws Exception {
+		final var started = new CountDownLatch(1);
+		final var release = new CountDownLatch(1);
+		when(clientRepositoryMock.findByRegistrationId(CLIENT_REGISTRATION_ID)).thenReturn(CLIENT_REGISTRATION);
+		when(tokenResponseClientMock.getTokenResponse(any())).thenAnswer(invocation -> {
+			started.countDown();
+			release.await(5, TimeUnit.SECONDS);
+			return tokenResponse("token", Duration.ofHours(1));
+		});
+		final var executor = Executors.newFixedThreadPool(2);
+		try {
+			final var first = executor.submit(tokenManager::getToken);
+			assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+			final var second = executor.submit(tokenManager::getToken);
+			Thread.sleep(100);
+			release.countDown();
+
+			assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("token");
+			assertThat(second.get(5, TimeUnit.SECONDS)).isEqualTo("token");
+			verify(tokenResponseClientMock).getTokenResponse(any());
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	void getTokenWhenTokenEndpointFails() {
+		when(clientRepositoryMock.findByRegistrationId(CLIENT_REGISTRATION_ID)).thenReturn(CLIENT_REGISTRATION);
+		when(tokenResponseClientMock.getTokenResponse(any())).thenThrow(new OAuth2AuthorizationException(new OAuth2Error("invalid_client")));
+
+		assertThrows(OAuth2AuthorizationException.class, tokenManager::getToken);
+		assertThat(meterRegistry.timer(TOKEN_REFRESH_METRIC, "trigger", "inline", "outcome", "failure").count()).isOne();
+	}
+
+	@Test
+	void refreshAheadRefreshesTokenAboutToExpire() {
+		when(clientRepositoryMock.findByRegistrationId(CLIENT_REGISTRATION_ID)).thenReturn(CLIENT_REGISTRATION);
+		when(tokenResponseClientMock.getTokenResponse(any()))
+			.thenReturn(tokenResponse("expiringToken", Duration.ofMinutes(2)))
+			.thenReturn(tokenResponse("token", Duration.ofHours(1)));
+
+		assertThat(tokenManager.getToken()).isEqualTo("expiringToken");
+		tokenManager.refreshAhead();
+		tokenManager.refreshAhead();
+
+		assertThat(tokenManager.getToken()).isEqualTo("token");
+		verify(tokenResponseClientMock, times(2)).getTokenResponse(any());
+		assertThat(meterRegistry.timer(TOKEN_REFRESH_METRIC, "trigger", "background", "outcome", "success").count()).isOne();
+	}
+
+	@Test
+	void refreshAheadWithoutToken() {
+		tokenManager.refreshAhead();
+
+		verifyNoInteractions(tokenResponseClientMock);
+	}
+
+	@Test
+	void refreshAheadWhenDisabled() {
+		when(clientRepositoryMock.findByRegistrationId(CLIENT_REGISTRATION_ID)).thenReturn(CLIENT_REGISTRATION);
+		when(tokenResponseClientMock.getTokenResponse(any())).thenReturn(tokenResponse("expiringToken", Duration.ofMinutes(2)));
+		ReflectionTestUtils.setField(tokenManager, "properties", new PartyTokenProperties(false, Duration.ofMinutes(2), Duration.ofSeconds(15)));
+
+		tokenManager.getToken();
+		tokenManager.refreshAhead();
+
+		verify(tokenResponseClientMock).getTokenResponse(any());
+	}
+
+	@Test
+	void refreshAheadWhenTokenEndpointFails() {
+		when(clientRepositoryMock.findByRegistrationId(CLIENT_REGISTRATION_ID)).thenReturn(CLIENT_REGISTRATION);
+		when(tokenResponseClientMock.getTokenResponse(any()))
+			.thenReturn(tokenResponse("expiringToken", Duration.ofMinutes(2)))
+			.thenThrow(new OAuth2AuthorizationException(new OAuth2Error("server_error")));
+
+		tokenManager.getToken();
+		tokenManager.refreshAhead();
+
+		assertThat(tokenManager.getToken()).isEqualTo("expiringToken");
+		assertThat(meterRegistry.timer(TOKEN_REFRESH_METRIC, "trigger", "background", "outcome", "failure").count()).isOne();
+	}
+
+	private static OAuth2AccessTokenResponse tokenResponse(String token, Duration expiresIn) {
+		return OAuth2AccessTokenResponse.withToken(token)
+			.tokenType(BEARER)
+			.expiresIn(expiresIn.toSeconds())
+			.build();
+	}
+}
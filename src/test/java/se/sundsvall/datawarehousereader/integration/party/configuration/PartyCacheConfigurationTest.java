@@ -0,0 +1,47 @@
+package se.sundsvall.datawarehousereader.integration.party.configuration;
+
+import static generated.se.sundsvall.party.PartyType.ENTERPRISE;
+import static generated.se.sundsvall.party.PartyType.PRIVATE;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static se.sundsvall.datawarehousereader.integration.party.configuration.PartyCacheConfiguration.toStoreRemoval;
+
+import java.util.function.BiConsumer;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.github.benmanes.caffeine.cache.RemovalCause;
+
+import generated.se.sundsvall.party.PartyType;
+
+@ExtendWith(MockitoExtension.class)
+class PartyCacheConfigurationTest {
+
+	@Mock
+	private BiConsumer<PartyType, String> removeMock;
+
+	@Test
+	void expiredAndExplicitRemovalsAreAppliedToStore() {
+		final var listener = toStoreRemoval(removeMock);
+
+		listener.onRemoval("PRIVATE:198001011234", "partyId", RemovalCause.EXPIRED);
+		listener.onRemoval("ENTERPRISE:partyId", "5565123456", RemovalCause.EXPLICIT);
+
+		verify(removeMock).accept(PRIVATE, "198001011234");
+		verify(removeMock).accept(ENTERPRISE, "partyId");
+	}
+
+	@Test
+	void sizeEvictionsAndReplacementsAreKeptInStore() {
+		final var listener = toStoreRemoval(removeMock);
+
+		listener.onRemoval("PRIVATE:198001011234", "partyId", RemovalCause.SIZE);
+		listener.onRemoval("PRIVATE:198001011234", "partyId", RemovalCause.REPLACED);
+		listener.onRemoval(null, null, RemovalCause.COLLECTED);
+
+		verifyNoInteractions(removeMock);
+	}
+}
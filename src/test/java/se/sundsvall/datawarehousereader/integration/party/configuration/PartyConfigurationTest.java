@@ -5,7 +5,9 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.http.HttpStatus.NOT_FOUND;
 import static se.sundsvall.datawarehousereader.integration.party.configuration.PartyConfiguration.CLIENT_REGISTRATION_ID;
+import static se.sundsvall.datawarehousereader.integration.party.configuration.PartyConfiguration.CONNECTION_POOL_METRIC_PREFIX;
 
+import java.time.Duration;
 import java.util.List;
 
 import org.junit.jupiter.api.Test;
@@ -18,11 +20,14 @@ import org.mockito.Mockito;
 import org.mockito.Spy;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
-import org.springframework.security.oauth2.client.registration.ClientRegistration;
-import org.springframework.security.oauth2.client.registration.ClientRegistrationRepository;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import feign.codec.ErrorDecoder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import se.sundsvall.datawarehousereader.integration.party.PartyTokenManager;
 import se.sundsvall.datawarehousereader.Application;
 import se.sundsvall.dept44.configuration.feign.FeignMultiCustomizer;
 import se.sundsvall.dept44.configuration.feign.decoder.ProblemErrorDecoder;
@@ -32,13 +37,10 @@ import se.sundsvall.dept44.configuration.feign.decoder.ProblemErrorDecoder;
 class PartyConfigurationTest {
 
 	@Mock
-	private ClientRegistrationRepository clientRepositoryMock;
-
-	@Mock
-	private ClientRegistration clientRegistrationMock;
+	private PartyProperties propertiesMock;
 
 	@Mock
-	private PartyProperties propertiesMock;
+	private PartyTokenManager tokenManagerMock;
 
 	@Spy
 	private FeignMultiCustomizer feignMultiCustomizerSpy;
@@ -49,6 +51,12 @@ class PartyConfigurationTest {
 	@Autowired
 	private PartyProperties properties;
 
+	@Autowired
+	private PartyConnectionPoolProperties connectionPoolProperties;
+
+	@Autowired
+	private PartyTokenProperties tokenProperties;
+
 	@InjectMocks
 	private PartyConfiguration configuration;
 
@@ -60,13 +68,12 @@ class PartyConfigurationTest {
 
 		when(propertiesMock.connectTimeout()).thenReturn(connectTimeout);
 		when(propertiesMock.readTimeout()).thenReturn(readTimeout);
-		when(clientRepositoryMock.findByRegistrationId(CLIENT_REGISTRATION_ID)).thenReturn(clientRegistrationMock);
 
 		// Mock static FeignMultiCustomizer to enable spy and to verify that static method is being called
 		try (MockedStatic<FeignMultiCustomizer> feignMultiCustomizerMock = Mockito.mockStatic(FeignMultiCustomizer.class)) {
 			feignMultiCustomizerMock.when(FeignMultiCustomizer::create).thenReturn(feignMultiCustomizerSpy);
 
-			configuration.feignBuilderCustomizer(clientRepositoryMock, propertiesMock);
+			configuration.feignBuilderCustomizer(propertiesMock);
 
 			feignMultiCustomizerMock.verify(FeignMultiCustomizer::create);
 		}
@@ -74,10 +81,8 @@ class PartyConfigurationTest {
 		// Verifications
 		verify(propertiesMock).connectTimeout();
 		verify(propertiesMock).readTimeout();
-		verify(clientRepositoryMock).findByRegistrationId(CLIENT_REGISTRATION_ID);
 		verify(feignMultiCustomizerSpy).withErrorDecoder(errorDecoderCaptor.capture());
 		verify(feignMultiCustomizerSpy).withRequestTimeoutsInSeconds(connectTimeout, readTimeout);
-		verify(feignMultiCustomizerSpy).withRetryableOAuth2InterceptorForClientRegistration(clientRegistrationMock);
 		verify(feignMultiCustomizerSpy).composeCustomizersToOne();
 
 		// Assert ErrorDecoder
@@ -87,9 +92,39 @@ class PartyConfigurationTest {
 			.hasFieldOrPropertyWithValue("integrationName", CLIENT_REGISTRATION_ID);
 	}
 
+	@Test
+	void testPartyFeignClient() {
+		final var meterRegistry = new SimpleMeterRegistry();
+
+		final var client = configuration.partyFeignClient(new PartyConnectionPoolProperties(5, 2, Duration.ofMinutes(1), Duration.ofSeconds(1), true), meterRegistry, tokenManagerMock);
+
+		assertThat(client).isInstanceOf(feign.okhttp.OkHttpClient.class);
+		final var okHttpClient = (OkHttpClient) ReflectionTestUtils.getField(client, "delegate");
+		assertThat(okHttpClient.protocols()).containsExactly(Protocol.HTTP_2, Protocol.HTTP_1_1);
+		assertThat(okHttpClient.interceptors()).hasExactlyElementsOfTypes(PartyConnectionLimiter.class, PartyTokenInterceptor.class);
+		assertThat(meterRegistry.get(CONNECTION_POOL_METRIC_PREFIX + ".connection.count").gauges()).hasSize(2);
+		assertThat(meterRegistry.get(CONNECTION_POOL_METRIC_PREFIX + ".connection.limit").gauge().value()).isEqualTo(2);
+		assertThat(meterRegistry.get(PartyConnectionLimiter.POOL_IN_USE_METRIC).gauge().value()).isZero();
+	}
+
+	@Test
+	void testPartyFeignClientWithoutHttp2() {
+		final var client = configuration.partyFeignClient(new PartyConnectionPoolProperties(5, 2, Duration.ofMinutes(1), Duration.ofSeconds(1), false), new SimpleMeterRegistry(), tokenManagerMock);
+
+		assertThat(((OkHttpClient) ReflectionTestUtils.getField(client, "delegate")).protocols()).containsExactly(Protocol.HTTP_1_1);
+	}
+
 	@Test
 	void testProperties() {
 		assertThat(properties.connectTimeout()).isEqualTo(5);
 		assertThat(properties.readTimeout()).isEqualTo(30);
+		assertThat(connectionPoolProperties.maxConnectionsPerRoute()).isEqualTo(20);
+		assertThat(connectionPoolProperties.maxIdleConnections()).isEqualTo(10);
+		assertThat(connectionPoolProperties.keepAlive()).isEqualTo(Duration.ofMinutes(5));
+		assertThat(connectionPoolProperties.acquireTimeout()).isEqualTo(Duration.ofSeconds(5));
+		assertThat(connectionPoolProperties.http2()).isTrue();
+		assertThat(tokenProperties.refreshAhead()).isFalse();
+		assertThat(tokenProperties.refreshBefore()).isEqualTo(Duration.ofMinutes(2));
+		assertThat(tokenProperties.checkInterval()).isEqualTo(Duration.ofSeconds(15));
 	}
 }
@@ -0,0 +1,121 @@
+package se.sundsvall.datawarehousereader.integration.party.configuration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static se.sundsvall.datawarehousereader.integration.party.configuration.PartyConnectionLimiter.POOL_IN_USE_METRIC;
+import static se.sundsvall.datawarehousereader.integration.party.configuration.PartyConnectionLimiter.POOL_WAIT_METRIC;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import okhttp3.Interceptor.Chain;
+import okhttp3.MediaType;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+@ExtendWith(MockitoExtension.class)
+class PartyConnectionLimiterTest {
+
+	private static final Request REQUEST = new Request.Builder().url("http://localhost:8080/api-party/PRIVATE/123/partyId").build();
+
+	@Mock
+	private Chain chainMock;
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	@Test
+	void interceptWithinLimit() throws Exception {
+		final var limiter = new PartyConnectionLimiter(1, Duration.ofSeconds(1), meterRegistry);
+		when(chainMock.request()).thenReturn(REQUEST);
+		when(chainMock.proceed(REQUEST)).thenReturn(response());
+
+		limiter.intercept(chainMock).close();
+		try (var response = limiter.intercept(chainMock)) {
+			assertThat(response.code()).isEqualTo(200);
+		}
+
+		verify(chainMock, times(2)).proceed(REQUEST);
+		assertThat(meterRegistry.get(POOL_WAIT_METRIC).timer().count()).isEqualTo(2);
+		assertThat(meterRegistry.get(POOL_IN_USE_METRIC).gauge().value()).isZero();
+	}
+
+	@Test
+	void interceptWhenLimitIsReached() throws Exception {
+		final var limiter = new PartyConnectionLimiter(1, Duration.ofMillis(50), meterRegistry);
+		final var inFlight = new CountDownLatch(1);
+		final var release = new CountDownLatch(1);
+		when(chainMock.request()).thenReturn(REQUEST);
+		when(chainMock.proceed(REQUEST)).thenAnswer(invocation -> {
+			inFlight.countDown();
+			release.await(5, TimeUnit.SECONDS);
+			return response();
+		});
+		final var executor = Executors.newSingleThreadExecutor();
+		try {
+			final var ongoing = executor.submit(() -> limiter.intercept(chainMock));
+			assertThat(inFlight.await(5, TimeUnit.SECONDS)).isTrue();
+			assertThat(meterRegistry.get(POOL_IN_USE_METRIC).gauge().value()).isOne();
+
+			assertThat(assertThrows(IOException.class, () -> limiter.intercept(chainMock)).getMessage()).startsWith("Timed out after PT0.05S");
+
+			release.countDown();
+			try (var response = ongoing.get(5, TimeUnit.SECONDS)) {
+				assertThat(response.code()).isEqualTo(200);
+			}
+			assertThat(meterRegistry.get(POOL_IN_USE_METRIC).gauge().value()).isZero();
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	void interceptHoldsPermitUntilBodyIsClosed() throws Exception {
+		final var limiter = new PartyConnectionLimiter(1, Duration.ofMillis(50), meterRegistry);
+		when(chainMock.request()).thenReturn(REQUEST);
+		when(chainMock.proceed(REQUEST)).thenReturn(response());
+
+		final var response = limiter.intercept(chainMock);
+		assertThat(meterRegistry.get(POOL_IN_USE_METRIC).gauge().value()).isOne();
+		assertThat(assertThrows(IOException.class, () -> limiter.intercept(chainMock)).getMessage()).startsWith("Timed out after PT0.05S");
+
+		assertThat(response.body().string()).isEqualTo("partyId");
+		response.close();
+
+		assertThat(meterRegistry.get(POOL_IN_USE_METRIC).gauge().value()).isZero();
+	}
+
+	@Test
+	void interceptReleasesPermitWhenRequestFails() throws Exception {
+		final var limiter = new PartyConnectionLimiter(1, Duration.ofMillis(50), meterRegistry);
+		when(chainMock.request()).thenReturn(REQUEST);
+		when(chainMock.proceed(REQUEST)).thenThrow(new IOException("Connection refused"));
+
+		assertThrows(IOException.class, () -> limiter.intercept(chainMock));
+
+		assertThat(meterRegistry.get(POOL_IN_USE_METRIC).gauge().value()).isZero();
+	}
+
+	private static Response response() {
+		return new Response.Builder()
+			.request(REQUEST)
+			.protocol(Protocol.HTTP_1_1)
+			.code(200)
+			.message("OK")
+			.body(ResponseBody.create(MediaType.parse("text/plain"), "partyId"))
+			.build();
+	}
+}
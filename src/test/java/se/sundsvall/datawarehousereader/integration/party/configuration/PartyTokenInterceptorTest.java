@@ -0,0 +1,87 @@
+package se.sundsvall.datawarehousereader.integration.party.configuration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.oauth2.core.OAuth2AuthorizationException;
+import org.springframework.security.oauth2.core.OAuth2Error;
+
+import okhttp3.Interceptor.Chain;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import se.sundsvall.datawarehousereader.integration.party.PartyTokenManager;
+
+@ExtendWith(MockitoExtension.class)
+class PartyTokenInterceptorTest {
+
+	private static final Request REQUEST = new Request.Builder().url("http://localhost:8080/api-party/PRIVATE/123/partyId").build();
+
+	@Mock
+	private PartyTokenManager tokenManagerMock;
+
+	@Mock
+	private Chain chainMock;
+
+	@Captor
+	private ArgumentCaptor<Request> requestCaptor;
+
+	@Test
+	void interceptAddsToken() throws Exception {
+		when(chainMock.request()).thenReturn(REQUEST);
+		when(tokenManagerMock.getToken()).thenReturn("token");
+		when(chainMock.proceed(any())).thenReturn(response(200));
+
+		assertThat(new PartyTokenInterceptor(tokenManagerMock).intercept(chainMock).code()).isEqualTo(200);
+
+		verify(chainMock).proceed(requestCaptor.capture());
+		assertThat(requestCaptor.getValue().header("Authorization")).isEqualTo("Bearer token");
+	}
+
+	@Test
+	void interceptRetriesOnceWithNewTokenWhenRejected() throws Exception {
+		when(chainMock.request()).thenReturn(REQUEST);
+		when(tokenManagerMock.getToken()).thenReturn("rejectedToken", "newToken");
+		when(chainMock.proceed(any())).thenReturn(response(401), response(401));
+
+		assertThat(new PartyTokenInterceptor(tokenManagerMock).intercept(chainMock).code()).isEqualTo(401);
+
+		verify(tokenManagerMock).invalidate("rejectedToken");
+		verify(chainMock, times(2)).proceed(requestCaptor.capture());
+		assertThat(requestCaptor.getAllValues()).extracting(request -> request.header("Authorization")).containsExactly("Bearer rejectedToken", "Bearer newToken");
+	}
+
+	@Test
+	void interceptWhenTokenCanNotBeFetched() {
+		when(tokenManagerMock.getToken()).thenThrow(new OAuth2AuthorizationException(new OAuth2Error("invalid_client")));
+
+		final var exception = assertThrows(IOException.class, () -> new PartyTokenInterceptor(tokenManagerMock).intercept(chainMock));
+
+		assertThat(exception).hasMessage("Could not fetch access token for Party").hasCauseInstanceOf(OAuth2AuthorizationException.class);
+		verifyNoInteractions(chainMock);
+	}
+
+	private static Response response(int code) {
+		return new Response.Builder()
+			.request(REQUEST)
+			.protocol(Protocol.HTTP_1_1)
+			.code(code)
+			.message("message")
+			.body(ResponseBody.create(null, ""))
+			.build();
+	}
+}
@@ -4,7 +4,9 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.groups.Tuple.tuple;
 import static se.sundsvall.datawarehousereader.api.model.Category.DISTRICT_HEATING;
 import static se.sundsvall.datawarehousereader.api.model.Category.ELECTRICITY;
+import static se.sundsvall.datawarehousereader.service.mapper.AgreementMapper.AGREEMENT_PROJECTION;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -12,8 +14,10 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.test.context.ActiveProfiles;
 
+import se.sundsvall.datawarehousereader.api.model.agreement.Agreement;
 import se.sundsvall.datawarehousereader.api.model.agreement.AgreementParameters;
 import se.sundsvall.datawarehousereader.integration.stadsbacken.model.agreement.AgreementEntity;
 
@@ -259,4 +263,52 @@ class AgreementRepositoryTest {
 				tuple("B94F5BC6-7D29-443B-A055-C66851D3FD36", "198402012345", 632737, "735999109450512012", "El", 2046329, 41426, "Fastpris 2 år", "true", "false", null, LocalDateTime.of(2016, 11, 29, 0, 0, 0), LocalDateTime.of(2019, 9, 3, 0, 0,
 					0)));
 	}
+
+	@Test
+	void getProjectedAgreementByAgreeementId() {
+		final var page = repository.findAllProjectedByParameters(AgreementParameters.create().withAgreementId("41426"), null,
+			PageRequest.of(0, 100), AGREEMENT_PROJECTION);
+
+		assertThat(page.getNumber()).isZero();
+		assertThat(page.getNumberOfElements()).isEqualTo(1);
+		assertThat(page.getTotalPages()).isEqualTo(1);
+		assertThat(page.getTotalElements()).isEqualTo(1);
+		assertThat(page.getContent())
+			.extracting(Agreement::getPartyId,
+				Agreement::getCustomerNumber,
+				Agreement::getFacilityId,
+				Agreement::getCategory,
+				Agreement::getBillingId,
+				Agreement::getAgreementId,
+				Agreement::getDescription,
+				Agreement::getMainAgreement,
+				Agreement::getBinding,
+				Agreement::getBindingRule,
+				Agreement::getFromDate,
+				Agreement::getToDate)
+			.containsExactly(
+				tuple("B94F5BC6-7D29-443B-A055-C66851D3FD36", "632737", "735999109450512012", ELECTRICITY, "2046329", "41426", "Fastpris 2 år", true, false, null, LocalDate.of(2016, 11, 29), LocalDate.of(2019, 9, 3)));
+	}
+
+	@Test
+	void getProjectedAgreementsByCategorySliced() {
+		final var parameters = AgreementParameters.create().withCategory(List.of(DISTRICT_HEATING));
+
+		final var firstSlice = repository.findAllSlicedProjectedByParameters(parameters, null, PageRequest.of(0, 10, Sort.by("agreementId")), AGREEMENT_PROJECTION);
+		final var lastSlice = repository.findAllSlicedProjectedByParameters(parameters, null, PageRequest.of(1, 10, Sort.by("agreementId")), AGREEMENT_PROJECTION);
+
+		assertThat(firstSlice.getNumberOfElements()).isEqualTo(10);
+		assertThat(firstSlice.hasNext()).isTrue();
+		assertThat(lastSlice.getNumberOfElements()).isEqualTo(3);
+		assertThat(lastSlice.hasNext()).isFalse();
+		assertThat(firstSlice.getContent()).extracting(Agreement::getCategory).containsOnly(DISTRICT_HEATING);
+		assertThat(lastSlice.getContent()).extracting(Agreement::getCategory).containsOnly(DISTRICT_HEATING);
+	}
+
+	@Test
+	void findDistinctCustomerOrgIdsByUuid() {
+		assertThat(repository.findDistinctCustomerOrgIdsByUuid("10e69eb7-3cb4-442f-8cdb-2e998080dbb1", PageRequest.ofSize(2))).containsExactly("197706010123");
+		assertThat(repository.findDistinctCustomerOrgIdsByUuid("336EC35A-3335-4FA3-B792-60061222B0E9", PageRequest.ofSize(2))).containsExactlyInAnyOrder("193807289012", "198905089012");
+		assertThat(repository.findDistinctCustomerOrgIdsByUuid("8B718423-8840-4CE5-AB95-642DD876C887", PageRequest.ofSize(2))).isEmpty();
+	}
 }
@@ -14,6 +14,7 @@ import org.springframework.test.context.ActiveProfiles;
 
 import se.sundsvall.datawarehousereader.api.model.customer.CustomerEngagementParameters;
 import se.sundsvall.datawarehousereader.integration.stadsbacken.model.customer.CustomerEntity;
+import se.sundsvall.datawarehousereader.integration.stadsbacken.model.customer.CustomerOrgId;
 
 /**
  * Customer repository tests.
@@ -173,4 +174,22 @@ class CustomerRepositoryTest {
 			.containsExactly(
 				tuple(10335, "5534567890", "Enterprise", "5565027223", "Sundsvall Elnät"));
 	}
+
+	@Test
+	void findDistinctCustomerOrgIdsAfter() {
+		final var first = repository.findDistinctCustomerOrgIdsAfter("", "", PageRequest.ofSize(3));
+		final var second = repository.findDistinctCustomerOrgIdsAfter("5512345678", "Enterprise", PageRequest.ofSize(3));
+
+		assertThat(first)
+			.extracting(CustomerOrgId::getCustomerOrgId, CustomerOrgId::getCustomerType)
+			.containsExactly(
+				tuple("197706010123", "Private"),
+				tuple("2020001000", "Enterprise"),
+				tuple("5512345678", "Enterprise"));
+		assertThat(second)
+			.extracting(CustomerOrgId::getCustomerOrgId, CustomerOrgId::getCustomerType)
+			.containsExactly(
+				tuple("5523456789", "Enterprise"),
+				tuple("5534567890", "Enterprise"));
+	}
 }
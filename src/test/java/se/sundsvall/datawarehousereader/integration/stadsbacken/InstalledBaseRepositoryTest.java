@@ -4,6 +4,9 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.groups.Tuple.tuple;
 import static se.sundsvall.datawarehousereader.integration.stadsbacken.mapper.InstalledBaseMapper.toExample;
 
+import java.util.List;
+import java.util.stream.IntStream;
+
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -48,6 +51,21 @@ class InstalledBaseRepositoryTest {
 		assertThat(page.getContent()).hasSize(100);
 	}
 
+	@Test
+	void getSlicedInstalledBaseNoFilters() {
+		final var slice = repository.findAllSliced(toExample(InstalledBaseParameters.create()), PageRequest.of(2, 100));
+
+		assertThat(slice.getNumber()).isEqualTo(2);
+		assertThat(slice.getNumberOfElements()).isEqualTo(100);
+		assertThat(slice.hasNext()).isTrue();
+
+		final var lastSlice = repository.findAllSliced(toExample(InstalledBaseParameters.create()), PageRequest.of(3, 100));
+
+		assertThat(lastSlice.getNumber()).isEqualTo(3);
+		assertThat(lastSlice.getNumberOfElements()).isEqualTo(22);
+		assertThat(lastSlice.hasNext()).isFalse();
+	}
+
 	@Test
 	void getInstalledBaseByCustomerId() {
 		final var page = repository.findAll(toExample(createParameters("38308", null, null)), PageRequest.of(0, 100));
@@ -70,8 +88,8 @@ class InstalledBaseRepositoryTest {
 				tuple("Privat företag AB", "Sundsvall Energi AB", 38308, 1886, "9412001019", "Gatan 66", "Elhandel"),
 				tuple("Privat företag AB", "Sundsvall Energi AB", 38308, 498, "38308", "", "Avfallsvåg"));
 
-		assertThat(page.getContent().get(0).getMetaData()).isEmpty();
-		assertThat(page.getContent().get(1).getMetaData()).containsExactly(createMetaDataPost("Sundsvall Energi AB", "Nätområde", "netarea", "location", "Sollentuna"));
+		assertThat(metaDataOf(page.getContent().get(0))).isEmpty();
+		assertThat(metaDataOf(page.getContent().get(1))).containsExactly(createMetaDataPost("Sundsvall Energi AB", "Nätområde", "netarea", "location", "Sollentuna"));
 	}
 
 	@Test
@@ -94,7 +112,7 @@ class InstalledBaseRepositoryTest {
 				InstalledBaseItemEntity::getType)
 			.containsExactly(tuple("Privat företag AB", "Sundsvall Energi AB", 38308, null, 498, "38308", "Avfallsvåg"));
 
-		assertThat(page.getContent().get(0).getMetaData()).isEmpty();
+		assertThat(metaDataOf(page.getContent().get(0))).isEmpty();
 	}
 
 	@Test
@@ -123,10 +141,10 @@ class InstalledBaseRepositoryTest {
 				tuple("Fräscha fastigheter AB", "SUNDSVALL", "Sundsvall Energi AB", 600606, 3620, "9140205031", "85350", "Gatan 10", "Elhandel"),
 				tuple("Fräscha fastigheter AB", "SUNDSVALL", "Sundsvall Energi AB", 600606, 3621, "9140205056", "85350", "Gatan 14", "Elhandel"));
 
-		assertThat(page.getContent().get(0).getMetaData()).containsExactly(createMetaDataPost("Sundsvall Energi AB", "Nätområde", "netarea", "location", "Täby"));
-		assertThat(page.getContent().get(1).getMetaData()).containsExactly(createMetaDataPost("Sundsvall Energi AB", "Nätområde", "netarea", "location", "Täby"));
-		assertThat(page.getContent().get(2).getMetaData()).containsExactly(createMetaDataPost("Sundsvall Energi AB", "Nätområde", "netarea", "location", "Täby"));
-		assertThat(page.getContent().get(3).getMetaData()).containsExactly(createMetaDataPost("Sundsvall Energi AB", "Nätområde", "netarea", "location", "Halmstad"));
+		assertThat(metaDataOf(page.getContent().get(0))).containsExactly(createMetaDataPost("Sundsvall Energi AB", "Nätområde", "netarea", "location", "Täby"));
+		assertThat(metaDataOf(page.getContent().get(1))).containsExactly(createMetaDataPost("Sundsvall Energi AB", "Nätområde", "netarea", "location", "Täby"));
+		assertThat(metaDataOf(page.getContent().get(2))).containsExactly(createMetaDataPost("Sundsvall Energi AB", "Nätområde", "netarea", "location", "Täby"));
+		assertThat(metaDataOf(page.getContent().get(3))).containsExactly(createMetaDataPost("Sundsvall Energi AB", "Nätområde", "netarea", "location", "Halmstad"));
 	}
 
 	@Test
@@ -150,7 +168,44 @@ class InstalledBaseRepositoryTest {
 				InstalledBaseItemEntity::getType)
 			.containsExactly(tuple("Fastighetsförmedling AB", "Sundsvall Energi AB", 10335, "Ankeborg 2", 2658, "9111003092", "Gatan 27", "Elhandel"));
 
-		assertThat(page.getContent().get(0).getMetaData()).containsExactly(createMetaDataPost("Sundsvall Energi AB", "Nätområde", "netarea", "location", "Malmö-Burlöv"));
+		assertThat(metaDataOf(page.getContent().get(0))).containsExactly(createMetaDataPost("Sundsvall Energi AB", "Nätområde", "netarea", "location", "Malmö-Burlöv"));
+	}
+
+	@Test
+	void findMetaDataByInternalIdsForPage() {
+		final var page = repository.findAll(toExample(InstalledBaseParameters.create()), PageRequest.of(0, 1000));
+		final var internalIds = page.getContent().stream().map(InstalledBaseItemEntity::getInternalId).toList();
+
+		final var metaData = repository.findMetaDataByInternalIds(internalIds);
+
+		assertThat(internalIds).hasSize(322).containsAll(metaData.keySet());
+		assertThat(metaData.get(1886)).containsExactly(createMetaDataPost("Sundsvall Energi AB", "Nätområde", "netarea", "location", "Sollentuna"));
+		assertThat(metaData.get(2658)).containsExactly(createMetaDataPost("Sundsvall Energi AB", "Nätområde", "netarea", "location", "Malmö-Burlöv"));
+		assertThat(metaData).doesNotContainKey(498);
+	}
+
+	@Test
+	void findMetaDataByInternalIdsInSeveralBatches() {
+		final var internalIds = IntStream.rangeClosed(1, 3 * InstalledBaseRepository.METADATA_BATCH_SIZE).boxed().toList();
+
+		final var metaData = repository.findMetaDataByInternalIds(internalIds);
+
+		assertThat(metaData.get(57)).hasSize(3);
+		assertThat(metaData.get(1886)).containsExactly(createMetaDataPost("Sundsvall Energi AB", "Nätområde", "netarea", "location", "Sollentuna"));
+		assertThat(metaData.get(2658)).containsExactly(createMetaDataPost("Sundsvall Energi AB", "Nätområde", "netarea", "location", "Malmö-Burlöv"));
+		assertThat(metaData).doesNotContainKey(498);
+	}
+
+	@Test
+	void findMetaDataByInternalIdsWithoutIds() {
+		assertThat(repository.findMetaDataByInternalIds(List.of())).isEmpty();
+	}
+
+	/**
+	 * Metadata is not loaded with the item, but read for the item by internalId
+	 */
+	private List<InstalledBaseItemMetaDataEmbeddable> metaDataOf(InstalledBaseItemEntity entity) {
+		return repository.findMetaDataByInternalIds(List.of(entity.getInternalId())).getOrDefault(entity.getInternalId(), List.of());
 	}
 
 	private static InstalledBaseParameters createParameters(String customerNumber, String company, String facilityId) {
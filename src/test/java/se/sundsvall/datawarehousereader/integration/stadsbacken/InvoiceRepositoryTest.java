@@ -3,6 +3,9 @@ package se.sundsvall.datawarehousereader.integration.stadsbacken;
 import static java.util.Optional.ofNullable;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.groups.Tuple.tuple;
+import static se.sundsvall.datawarehousereader.integration.stadsbacken.support.QueryMetrics.QUERY_ALLOCATED_METRIC;
+import static se.sundsvall.datawarehousereader.integration.stadsbacken.support.QueryMetrics.QUERY_ROWS_METRIC;
+import static se.sundsvall.datawarehousereader.service.mapper.InvoiceMapper.INVOICE_PROJECTION;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -12,9 +15,15 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import se.sundsvall.datawarehousereader.api.model.invoice.Invoice;
 import se.sundsvall.datawarehousereader.api.model.invoice.InvoiceParameters;
+import se.sundsvall.datawarehousereader.integration.stadsbacken.configuration.QueryTuningProperties.QueryTuning;
 import se.sundsvall.datawarehousereader.integration.stadsbacken.model.invoice.InvoiceEntity;
 
 /**
@@ -29,6 +38,9 @@ class InvoiceRepositoryTest {
 	@Autowired
 	private InvoiceRepository repository;
 
+	@Autowired
+	private MeterRegistry meterRegistry;
+
 	@Test
 	void getInvoiceNoMatch() {
 		assertThat(repository.findAllByParameters(createParameters("UnknownAdminstrationGroup", null, null, null, null, null, null), PageRequest.of(0, 100))).isEmpty();
@@ -391,6 +403,53 @@ class InvoiceRepositoryTest {
 								"El", "139349898.pdf"));
 	}
 
+	@Test
+	void getProjectedInvoiceByAdminstration() {
+		final var parameters = createParameters("Sundsvall Energi AB ", null, null, null, null, null, null);
+
+		final var page = repository.findAllProjectedByParameters(parameters, PageRequest.of(1, 5, Sort.by("invoiceNumber")), INVOICE_PROJECTION);
+
+		assertThat(page.getNumber()).isEqualTo(1);
+		assertThat(page.getNumberOfElements()).isEqualTo(4);
+		assertThat(page.getTotalPages()).isEqualTo(2);
+		assertThat(page.getTotalElements()).isEqualTo(9);
+		assertThat(repository.findAllProjectedByParameters(parameters, PageRequest.of(0, 100), INVOICE_PROJECTION).getContent())
+			.extracting(Invoice::getInvoiceNumber, Invoice::getOrganizationNumber, Invoice::getCustomerNumber, Invoice::getFacilityId, Invoice::getAmountVatIncluded, Invoice::getDueDate)
+			.containsExactlyInAnyOrderElementsOf(repository.findAllByParameters(parameters, PageRequest.of(0, 100)).getContent().stream()
+				.map(entity -> tuple(entity.getInvoiceNumber(), entity.getOrganizationId(), String.valueOf(entity.getCustomerId()), entity.getFacilityId(), entity.getAmountVatIncluded(), entity.getDueDate()))
+				.toList());
+	}
+
+	@Test
+	void getProjectedInvoiceByAdminstrationSliced() {
+		final var parameters = createParameters("Sundsvall Energi AB ", null, null, null, null, null, null);
+
+		final var slice = repository.findAllSlicedProjectedByParameters(parameters, PageRequest.of(1, 5, Sort.by("invoiceNumber")), INVOICE_PROJECTION);
+
+		assertThat(slice.getNumber()).isEqualTo(1);
+		assertThat(slice.getNumberOfElements()).isEqualTo(4);
+		assertThat(slice.hasNext()).isFalse();
+		assertThat(slice.getContent()).extracting(Invoice::getAdministration).containsOnly("Sundsvall Energi AB");
+	}
+
+	@Test
+	void queryTuningOfRepository() {
+		assertThat(ReflectionTestUtils.getField(AopTestUtils.getUltimateTargetObject(repository), "queryTuning"))
+			.isEqualTo(new QueryTuning(1000, 1000, true));
+	}
+
+	@Test
+	void getInvoiceRecordsRowsAndAllocationPerQuery() {
+		final var rowsBefore = meterRegistry.summary(QUERY_ROWS_METRIC, "repository", "invoiceRepository", "method", "findAll").totalAmount();
+		final var countBefore = meterRegistry.summary(QUERY_ALLOCATED_METRIC, "repository", "invoiceRepository", "method", "findAll").count();
+
+		repository.findAllByParameters(InvoiceParameters.create(), PageRequest.of(0, 100));
+
+		assertThat(meterRegistry.summary(QUERY_ROWS_METRIC, "repository", "invoiceRepository", "method", "findAll").totalAmount() - rowsBefore).isEqualTo(100);
+		assertThat(meterRegistry.summary(QUERY_ALLOCATED_METRIC, "repository", "invoiceRepository", "method", "findAll").count() - countBefore).isOne();
+		assertThat(meterRegistry.find(QUERY_ROWS_METRIC).tag("method", "findAllByParameters").summary()).isNull();
+	}
+
 	private static InvoiceParameters createParameters(String adminstration, List<String> customerNumber, LocalDate dueDateFrom, LocalDate dueDateTo, Long invoiceNumber, Long ocrNumber, List<String> facilityId) {
 		InvoiceParameters parameters = InvoiceParameters.create();
 		parameters.setAdministration(adminstration);
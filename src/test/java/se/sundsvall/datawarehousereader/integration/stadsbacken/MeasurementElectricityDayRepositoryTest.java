@@ -8,12 +8,18 @@ import static org.springframework.data.domain.Sort.Direction.DESC;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.List;
 
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
+import org.hibernate.Session;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
 
 import se.sundsvall.datawarehousereader.integration.stadsbacken.model.measurement.MeasurementElectricityDayEntity;
 
@@ -29,6 +35,9 @@ class MeasurementElectricityDayRepositoryTest {
 	@Autowired
 	private MeasurementElectricityDayRepository repository;
 
+	@PersistenceContext
+	private EntityManager entityManager;
+
 	@Test
 	void testResponseMeasurementsForOneDay() {
 		final var customerOrgNbr = "5534567890";
@@ -150,6 +159,62 @@ class MeasurementElectricityDayRepositoryTest {
 				tuple(customerOrgNbr, facilityId, "Energy", Integer.valueOf(0), LocalDate.of(2019, 7, 4).atStartOfDay(), "MWh", toBigDecimal(0), null));
 	}
 
+	@Test
+	void testKeysetPagingOfResponse() {
+		final var customerOrgNbr = "5534567890";
+		final var facilityId = "735999109112501170";
+		final var dateTimeFrom = LocalDate.of(2019, 7, 3).atStartOfDay();
+		final var dateTimeTo = LocalDate.of(2019, 7, 4).atStartOfDay();
+
+		final var firstSlice = repository.findAllMatchingAfter(customerOrgNbr, facilityId, dateTimeFrom, dateTimeTo, null, 4);
+
+		assertThat(firstSlice.hasNext()).isTrue();
+		assertThat(firstSlice.getContent())
+			.extracting(MeasurementElectricityDayEntity::getMeasurementTimestamp, MeasurementElectricityDayEntity::getUsage)
+			.containsExactly(
+				tuple(LocalDate.of(2019, 7, 3).atStartOfDay(), toBigDecimal(0)),
+				tuple(LocalDate.of(2019, 7, 3).atStartOfDay(), toBigDecimal(0.03)),
+				tuple(LocalDate.of(2019, 7, 3).atStartOfDay(), toBigDecimal(2.25)),
+				tuple(LocalDate.of(2019, 7, 4).atStartOfDay(), toBigDecimal(0)));
+
+		final var last = firstSlice.getContent().get(3);
+		final List<Comparable<?>> lastKey = List.of(last.getFacilityId(), last.getMeasurementTimestamp(), last.getFeedType(), last.getUnit(), last.getInterpolation(), last.getUsage(), last.getCustomerOrgId());
+		final var secondSlice = repository.findAllMatchingAfter(customerOrgNbr, facilityId, dateTimeFrom, dateTimeTo, lastKey, 4);
+
+		assertThat(secondSlice.hasNext()).isFalse();
+		assertThat(secondSlice.getContent())
+			.extracting(MeasurementElectricityDayEntity::getMeasurementTimestamp, MeasurementElectricityDayEntity::getUsage)
+			.containsExactly(
+				tuple(LocalDate.of(2019, 7, 4).atStartOfDay(), toBigDecimal(0.04)),
+				tuple(LocalDate.of(2019, 7, 4).atStartOfDay(), toBigDecimal(2.25)));
+	}
+
+	@Test
+	@Transactional
+	void testEntitiesAreReadOnly() {
+		final var page = repository.findAllMatching("5534567890", "735999109112501170", null, null, PageRequest.of(0, 100));
+
+		// Entities are immutable, hence loaded read-only (without snapshot for dirty checking) even in a read-write transaction
+		final var session = entityManager.unwrap(Session.class);
+		assertThat(page.getContent()).isNotEmpty().allMatch(session::isReadOnly);
+	}
+
+	@Test
+	@Transactional(readOnly = true)
+	void testStreamOfResponse() {
+		final var customerOrgNbr = "5534567890";
+		final var facilityId = "735999109112501170";
+		final var dateTimeFrom = LocalDate.of(2019, 7, 3).atStartOfDay();
+		final var dateTimeTo = LocalDate.of(2019, 7, 6).atStartOfDay();
+
+		try (var stream = repository.streamAllMatching(customerOrgNbr, facilityId, dateTimeFrom, dateTimeTo, by(DESC, "measurementTimestamp"))) {
+			assertThat(stream.toList())
+				.hasSize(9)
+				.extracting(MeasurementElectricityDayEntity::getMeasurementTimestamp)
+				.isSortedAccordingTo((a, b) -> b.compareTo(a));
+		}
+	}
+
 	@Test
 	void testResponseWithHitsBeforeDate() {
 		final var dateTimeTo = LocalDate.of(2019, 6, 1).atStartOfDay();
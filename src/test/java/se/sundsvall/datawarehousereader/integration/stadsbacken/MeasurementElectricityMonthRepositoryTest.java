@@ -1,10 +1,14 @@
 package se.sundsvall.datawarehousereader.integration.stadsbacken;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.assertj.core.groups.Tuple.tuple;
 import static org.springframework.data.domain.Sort.by;
 import static org.springframework.data.domain.Sort.Direction.ASC;
 import static org.springframework.data.domain.Sort.Direction.DESC;
+import static org.zalando.problem.Status.BAD_REQUEST;
+import static se.sundsvall.datawarehousereader.api.model.measurement.Aggregation.QUARTER;
+import static se.sundsvall.datawarehousereader.api.model.measurement.Aggregation.YEAR;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -14,8 +18,10 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.ActiveProfiles;
+import org.zalando.problem.ThrowableProblem;
 
 import se.sundsvall.datawarehousereader.integration.stadsbacken.model.measurement.MeasurementElectricityMonthEntity;
+import se.sundsvall.datawarehousereader.integration.stadsbacken.model.measurement.MeasurementRollup;
 
 /**
  * MeasurementElectricityMonth repository tests.
@@ -232,6 +238,93 @@ class MeasurementElectricityMonthRepositoryTest {
 		assertThat(page.getTotalPages()).isEqualTo(5); // A total of 408 entries divided in slices of 100 equals 5 pages
 	}
 
+	@Test
+	void testRollupToQuarter() {
+		final var customerOrgNbr = "5512345678";
+		final var facilityId = "735999109112501170";
+		final var dateTimeFrom = LocalDate.of(2016, 1, 1).atStartOfDay();
+		final var dateTimeTo = LocalDate.of(2016, 12, 31).atStartOfDay();
+
+		final var rollups = repository.findAllRolledUpMatching(customerOrgNbr, facilityId, dateTimeFrom, dateTimeTo, QUARTER, by(DESC, "measurementTimestamp"));
+
+		assertThat(rollups)
+			.extracting(
+				MeasurementRollup::getFacilityId,
+				MeasurementRollup::getFeedType,
+				MeasurementRollup::getUnit,
+				MeasurementRollup::getMeasurementTimestamp,
+				MeasurementRollup::getUsage,
+				MeasurementRollup::getInterpolation)
+			.containsExactly(
+				tuple(facilityId, "Energy", "kWh", LocalDate.of(2016, 10, 1).atStartOfDay(), toBigDecimal(1291.32), 0),
+				tuple(facilityId, "Energy", "kWh", LocalDate.of(2016, 7, 1).atStartOfDay(), toBigDecimal(910), 0),
+				tuple(facilityId, "Energy", "kWh", LocalDate.of(2016, 4, 1).atStartOfDay(), toBigDecimal(1157), 0),
+				tuple(facilityId, "Energy", "kWh", LocalDate.of(2016, 1, 1).atStartOfDay(), toBigDecimal(1315), 0));
+	}
+
+	@Test
+	void testRollupToYear() {
+		final var customerOrgNbr = "5512345678";
+		final var facilityId = "735999109112501170";
+		final var dateTimeFrom = LocalDate.of(2016, 1, 1).atStartOfDay();
+		final var dateTimeTo = LocalDate.of(2017, 12, 31).atStartOfDay();
+
+		final var rollups = repository.findAllRolledUpMatching(customerOrgNbr, facilityId, dateTimeFrom, dateTimeTo, YEAR, by(ASC, "measurementTimestamp"));
+
+		assertThat(rollups)
+			.extracting(MeasurementRollup::getMeasurementTimestamp, MeasurementRollup::getUsage, MeasurementRollup::getUuid)
+			.containsExactly(
+				tuple(LocalDate.of(2016, 1, 1).atStartOfDay(), toBigDecimal(4673.32), null),
+				tuple(LocalDate.of(2017, 1, 1).atStartOfDay(), toBigDecimal(5247.01), null));
+	}
+
+	@Test
+	void testRollupPagedInDatabase() {
+		final var customerOrgNbr = "5512345678";
+		final var facilityId = "735999109112501170";
+		final var dateTimeFrom = LocalDate.of(2016, 1, 1).atStartOfDay();
+		final var dateTimeTo = LocalDate.of(2016, 12, 31).atStartOfDay();
+
+		final var page = repository.findAllRolledUpMatching(customerOrgNbr, facilityId, dateTimeFrom, dateTimeTo, QUARTER, PageRequest.of(1, 3, by(DESC, "measurementTimestamp")));
+
+		assertThat(page.getTotalElements()).isEqualTo(4);
+		assertThat(page.getTotalPages()).isEqualTo(2);
+		assertThat(page.getContent())
+			.extracting(MeasurementRollup::getMeasurementTimestamp, MeasurementRollup::getUsage)
+			.containsExactly(tuple(LocalDate.of(2016, 1, 1).atStartOfDay(), toBigDecimal(1315)));
+
+		// A full first page can not tell the total, which then is counted in the database
+		final var firstPage = repository.findAllRolledUpMatching(customerOrgNbr, facilityId, dateTimeFrom, dateTimeTo, QUARTER, PageRequest.of(0, 3, by(DESC, "measurementTimestamp")));
+
+		assertThat(firstPage.getTotalElements()).isEqualTo(4);
+		assertThat(firstPage.getContent()).hasSize(3);
+
+		final var emptyPage = repository.findAllRolledUpMatching(customerOrgNbr, facilityId, dateTimeFrom.minusYears(10), dateTimeTo.minusYears(10), QUARTER, PageRequest.of(1, 3));
+
+		assertThat(emptyPage.getTotalElements()).isZero();
+
+		final var slice = repository.findAllSlicedRolledUpMatching(customerOrgNbr, facilityId, dateTimeFrom, dateTimeTo, QUARTER, PageRequest.of(0, 3, by(DESC, "measurementTimestamp")));
+
+		assertThat(slice.hasNext()).isTrue();
+		assertThat(slice.getContent())
+			.extracting(MeasurementRollup::getMeasurementTimestamp)
+			.containsExactly(
+				LocalDate.of(2016, 10, 1).atStartOfDay(),
+				LocalDate.of(2016, 7, 1).atStartOfDay(),
+				LocalDate.of(2016, 4, 1).atStartOfDay());
+	}
+
+	@Test
+	void testRollupWithUnsupportedSort() {
+		final var pageable = PageRequest.of(0, 10, by(ASC, "customerOrgId"));
+
+		assertThatThrownBy(() -> repository.findAllRolledUpMatching("5512345678", null, null, null, YEAR, pageable))
+			.isInstanceOfSatisfying(ThrowableProblem.class, problem -> {
+				assertThat(problem.getStatus()).isEqualTo(BAD_REQUEST);
+				assertThat(problem.getDetail()).isEqualTo("Invalid sort property: customerOrgId");
+			});
+	}
+
 	private static BigDecimal toBigDecimal(double value) {
 		return BigDecimal.valueOf(value).setScale(10);
 	}
@@ -0,0 +1,156 @@
+package se.sundsvall.datawarehousereader.integration.stadsbacken;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.groups.Tuple.tuple;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.data.domain.Sort.by;
+import static org.springframework.data.domain.Sort.Direction.ASC;
+import static org.springframework.data.domain.Sort.Direction.DESC;
+import static org.zalando.problem.Status.BAD_REQUEST;
+import static se.sundsvall.datawarehousereader.integration.stadsbacken.model.measurement.MeasurementView.DISTRICT_HEATING_MONTH;
+import static se.sundsvall.datawarehousereader.integration.stadsbacken.model.measurement.MeasurementView.ELECTRICITY_DAY;
+import static se.sundsvall.datawarehousereader.integration.stadsbacken.model.measurement.MeasurementView.ELECTRICITY_MONTH;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.function.UnaryOperator;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.context.ActiveProfiles;
+import org.zalando.problem.ThrowableProblem;
+
+import se.sundsvall.datawarehousereader.api.model.measurement.Measurement;
+import se.sundsvall.datawarehousereader.api.model.measurement.MeasurementMetaData;
+import se.sundsvall.datawarehousereader.service.mapper.MeasurementMapper;
+
+/**
+ * MeasurementJdbcRepository tests, verifying that measurements read with JDBC equal those read through the JPA
+ * repositories and MeasurementMapper.
+ * 
+ * @see src/test/resources/db/scripts/testdata.sql for data setup.
+ */
+@SpringBootTest
+@ActiveProfiles("junit")
+class MeasurementJdbcRepositoryTest {
+
+	private static final String CUSTOMER_ORG_NBR = "5534567890";
+
+	@Autowired
+	private MeasurementJdbcRepository repository;
+
+	@Autowired
+	private MeasurementElectricityDayRepository electricityDayRepository;
+
+	@Autowired
+	private MeasurementElectricityMonthRepository electricityMonthRepository;
+
+	@Autowired
+	private MeasurementDistrictHeatingMonthRepository districtHeatingMonthRepository;
+
+	@Test
+	void findAllMatchingForDayEqualsJpa() {
+		final var dateTimeFrom = LocalDate.of(2019, 7, 3).atStartOfDay();
+		final var dateTimeTo = LocalDate.of(2019, 7, 6).atStartOfDay();
+		final var pageable = PageRequest.of(1, 2, by(DESC, "measurementTimestamp", "feedType", "unit"));
+
+		final var page = repository.findAllMatching(ELECTRICITY_DAY, CUSTOMER_ORG_NBR, "735999109112501170", dateTimeFrom, dateTimeTo, pageable, UnaryOperator.identity());
+		final var expected = electricityDayRepository.findAllMatching(CUSTOMER_ORG_NBR, "735999109112501170", dateTimeFrom, dateTimeTo, pageable);
+
+		assertThat(page.getTotalElements()).isEqualTo(expected.getTotalElements());
+		assertThat(page.getContent()).hasSize(2).isEqualTo(expected.getContent().stream().map(MeasurementMapper::toMeasurement).toList());
+	}
+
+	@Test
+	void findAllMatchingForMonthEqualsJpa() {
+		final var pageable = PageRequest.of(0, 100, by(ASC, "measurementTimestamp", "facilityId", "feedType", "unit"));
+
+		final var page = repository.findAllMatching(ELECTRICITY_MONTH, CUSTOMER_ORG_NBR, null, null, null, pageable, UnaryOperator.identity());
+		final var expected = electricityMonthRepository.findAllMatching(CUSTOMER_ORG_NBR, null, null, null, pageable);
+
+		assertThat(page.getTotalElements()).isEqualTo(expected.getTotalElements());
+		assertThat(page.getContent()).isNotEmpty().isEqualTo(expected.getContent().stream().map(MeasurementMapper::toMeasurement).toList());
+	}
+
+	@Test
+	void findAllMatchingForDistrictHeatingReadsMetaData() {
+		final var dateTimeFrom = LocalDate.of(2017, 9, 1).atStartOfDay();
+		final var dateTimeTo = LocalDate.of(2017, 9, 30).atStartOfDay();
+
+		final var page = repository.findAllMatching(DISTRICT_HEATING_MONTH, CUSTOMER_ORG_NBR, "735999109141107350", dateTimeFrom, dateTimeTo, PageRequest.of(0, 100), UnaryOperator.identity());
+
+		assertThat(page.getContent()).hasSize(1);
+		assertThat(page.getContent().get(0).getValue()).isEqualByComparingTo("17.33");
+		assertThat(page.getContent().get(0).getMetaData())
+			.extracting(MeasurementMetaData::getKey, MeasurementMetaData::getValue)
+			.containsExactly(
+				tuple("readingSequence", "534497"),
+				tuple("feedTypeId", "0"));
+	}
+
+	@Test
+	void findAllMatchingForDistrictHeatingSortedOnMetaDataEqualsJpa() {
+		final var pageable = PageRequest.of(0, 100, by(ASC, "feedTypeId").and(by(DESC, "readingSequence")));
+
+		final var page = repository.findAllMatching(DISTRICT_HEATING_MONTH, CUSTOMER_ORG_NBR, null, null, null, pageable, UnaryOperator.identity());
+		final var expected = districtHeatingMonthRepository.findAllMatching(CUSTOMER_ORG_NBR, null, null, null, pageable);
+
+		assertThat(page.getTotalElements()).isEqualTo(expected.getTotalElements());
+		assertThat(page.getContent())
+			.extracting(measurement -> measurement.getMetaData().get(0).getValue())
+			.hasSizeGreaterThan(1)
+			.containsExactlyElementsOf(expected.getContent().stream().map(entity -> String.valueOf(entity.getReadingSequence())).toList());
+	}
+
+	@Test
+	void sortOnMetaDataOfOtherViewIsRejected() {
+		final var pageable = PageRequest.of(0, 10, by(ASC, "readingSequence"));
+		final var identity = UnaryOperator.<Measurement>identity();
+
+		final var problem = assertThrows(ThrowableProblem.class, () -> repository.findAllMatching(ELECTRICITY_DAY, CUSTOMER_ORG_NBR, null, null, null, pageable, identity));
+
+		assertThat(problem.getStatus()).isEqualTo(BAD_REQUEST);
+		assertThat(problem.getDetail()).isEqualTo("Invalid sort property: readingSequence");
+	}
+
+	@Test
+	void findAllSlicedMatching() {
+		final var dateTimeFrom = LocalDate.of(2019, 7, 3).atStartOfDay();
+		final var dateTimeTo = LocalDate.of(2019, 7, 4).atStartOfDay();
+
+		final var first = repository.findAllSlicedMatching(ELECTRICITY_DAY, CUSTOMER_ORG_NBR, "735999109112501170", dateTimeFrom, dateTimeTo, PageRequest.of(0, 2, by(ASC, "measurementTimestamp")), UnaryOperator.identity());
+		final var total = repository.findAllMatching(ELECTRICITY_DAY, CUSTOMER_ORG_NBR, "735999109112501170", dateTimeFrom, dateTimeTo, Pageable.unpaged(), UnaryOperator.identity());
+		final var last = repository.findAllSlicedMatching(ELECTRICITY_DAY, CUSTOMER_ORG_NBR, "735999109112501170", dateTimeFrom, dateTimeTo, PageRequest.of(0, (int) total.getTotalElements(), by(ASC, "measurementTimestamp")), UnaryOperator.identity());
+
+		assertThat(first.getContent()).hasSize(2);
+		assertThat(first.hasNext()).isTrue();
+		assertThat(last.getContent()).hasSize((int) total.getTotalElements());
+		assertThat(last.hasNext()).isFalse();
+	}
+
+	@Test
+	void streamAllMatchingAppliesDecorator() {
+		final var measurements = new ArrayList<Measurement>();
+
+		repository.streamAllMatching(ELECTRICITY_DAY, CUSTOMER_ORG_NBR, "735999109112501170", LocalDate.of(2019, 7, 3).atStartOfDay(), LocalDate.of(2019, 7, 6).atStartOfDay(),
+			by(ASC, "measurementTimestamp"), measurement -> measurement.withFacilityId("decorated"), measurements::add);
+
+		assertThat(measurements).hasSize(9)
+			.allSatisfy(measurement -> assertThat(measurement.getFacilityId()).isEqualTo("decorated"));
+		assertThat(measurements).extracting(Measurement::getTimestamp).isSorted();
+	}
+
+	@Test
+	void sortOnUnknownPropertyIsRejected() {
+		final var pageable = PageRequest.of(0, 10, by(ASC, "measurementTimestamp; drop table x"));
+		final var identity = UnaryOperator.<Measurement>identity();
+
+		final var problem = assertThrows(ThrowableProblem.class, () -> repository.findAllMatching(ELECTRICITY_DAY, CUSTOMER_ORG_NBR, null, null, null, pageable, identity));
+
+		assertThat(problem.getStatus()).isEqualTo(BAD_REQUEST);
+		assertThat(problem.getDetail()).isEqualTo("Invalid sort property: measurementTimestamp; drop table x");
+	}
+}
@@ -0,0 +1,110 @@
+package se.sundsvall.datawarehousereader.integration.stadsbacken;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static se.sundsvall.datawarehousereader.api.model.Category.ELECTRICITY;
+import static se.sundsvall.datawarehousereader.api.model.measurement.Aggregation.DAY;
+import static se.sundsvall.datawarehousereader.integration.stadsbacken.model.measurement.MeasurementView.ELECTRICITY_DAY;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import se.sundsvall.datawarehousereader.api.model.measurement.Measurement;
+import se.sundsvall.datawarehousereader.api.model.measurement.MeasurementParameters;
+import se.sundsvall.datawarehousereader.service.mapper.MeasurementMapper;
+
+/**
+ * Benchmark of heap allocated, CPU time and wall time used when reading one page of 1000 rows from
+ * vMeasurementElectricityDay into decorated measurements, through the JPA repository and MeasurementMapper and through
+ * MeasurementJdbcRepository. Only run when the system property benchmark is set to true, for example:
+ * mvn test -Dtest=MeasurementReadBenchmarkTest -Dbenchmark=true
+ */
+@SpringBootTest
+@ActiveProfiles("junit")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class MeasurementReadBenchmarkTest {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(MeasurementReadBenchmarkTest.class);
+	private static final String CUSTOMER_ORG_ID = "benchmark";
+	private static final String PARTY_ID = "partyId";
+	private static final int PAGE_SIZE = 1000;
+	private static final int WARMUP_ITERATIONS = 50;
+	private static final int MEASURED_ITERATIONS = 100;
+
+	@Autowired
+	private MeasurementElectricityDayRepository repository;
+
+	@Autowired
+	private MeasurementJdbcRepository jdbcRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private record Result(String mode, double allocatedKilobytes, double cpuMillis, double wallMillis) {}
+
+	@BeforeEach
+	void setup() {
+		final var firstDay = LocalDate.of(2001, 1, 1).atStartOfDay();
+		jdbcTemplate.batchUpdate("insert into kundinfo.vMeasurementElectricityDay (customerorgid, facilityId, feedType, isInterpolted, Date, unit, Usage) values (?, ?, 'Energy', 0, ?, 'kWh', ?)",
+			IntStream.range(0, PAGE_SIZE)
+				.mapToObj(i -> new Object[] { CUSTOMER_ORG_ID, "735999109112501170", Timestamp.valueOf(firstDay.plusHours(i)), BigDecimal.valueOf(i, 2) })
+				.toList());
+	}
+
+	@AfterEach
+	void teardown() {
+		jdbcTemplate.update("delete from kundinfo.vMeasurementElectricityDay where customerorgid = ?", CUSTOMER_ORG_ID);
+	}
+
+	@Test
+	void benchmarkPageOfMeasurements() {
+		final var pageable = PageRequest.of(0, PAGE_SIZE, Sort.by("measurementTimestamp"));
+		final var parameters = MeasurementParameters.create();
+		parameters.setPartyId(PARTY_ID);
+
+		final var results = new Result[] {
+			measure("jpa", () -> MeasurementMapper.toMeasurements(repository.findAllSlicedMatching(CUSTOMER_ORG_ID, null, null, null, pageable).getContent(), parameters, DAY, ELECTRICITY)),
+			measure("jdbc", () -> jdbcRepository.findAllSlicedMatching(ELECTRICITY_DAY, CUSTOMER_ORG_ID, null, null, null, pageable,
+				measurement -> MeasurementMapper.decorateMeasurement(measurement, PARTY_ID, DAY, ELECTRICITY)).getContent())
+		};
+
+		LOGGER.info("Reading {} rows per page, mean of {} pages:", PAGE_SIZE, MEASURED_ITERATIONS);
+		Arrays.stream(results).forEach(result -> LOGGER.info(String.format("%-6s %10.1f KB allocated %8.2f ms CPU %8.2f ms wall",
+			result.mode(), result.allocatedKilobytes(), result.cpuMillis(), result.wallMillis())));
+	}
+
+	private Result measure(String mode, Supplier<List<Measurement>> page) {
+		final var threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+		IntStream.range(0, WARMUP_ITERATIONS).forEach(i -> assertThat(page.get()).hasSize(PAGE_SIZE));
+
+		final var allocatedBefore = threadBean.getCurrentThreadAllocatedBytes();
+		final var cpuBefore = threadBean.getCurrentThreadCpuTime();
+		final var wallBefore = System.nanoTime();
+		for (var i = 0; i < MEASURED_ITERATIONS; i++) {
+			page.get();
+		}
+		final var wall = System.nanoTime() - wallBefore;
+		final var allocated = threadBean.getCurrentThreadAllocatedBytes() - allocatedBefore;
+		final var cpu = threadBean.getCurrentThreadCpuTime() - cpuBefore;
+
+		return new Result(mode, allocated / 1024d / MEASURED_ITERATIONS, cpu / 1_000_000d / MEASURED_ITERATIONS, wall / 1_000_000d / MEASURED_ITERATIONS);
+	}
+}
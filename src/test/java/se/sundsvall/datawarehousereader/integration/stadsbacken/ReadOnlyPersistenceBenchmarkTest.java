@@ -0,0 +1,136 @@
+package se.sundsvall.datawarehousereader.integration.stadsbacken;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.function.IntSupplier;
+import java.util.stream.IntStream;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import se.sundsvall.datawarehousereader.integration.stadsbacken.model.measurement.MeasurementElectricityDayEntity;
+
+/**
+ * Benchmark of heap allocated, CPU time used and entity snapshots retained when reading one page of 1000 rows from
+ * vMeasurementElectricityDay, in a read-write transaction, in a read-only transaction (the mode used by all
+ * repositories) and in a stateless session (no persistence context at all, as lower bound). Only run when the system
+ * property benchmark is set to true, for example: mvn test -Dtest=ReadOnlyPersistenceBenchmarkTest -Dbenchmark=true
+ */
+@SpringBootTest
+@ActiveProfiles("junit")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class ReadOnlyPersistenceBenchmarkTest {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(ReadOnlyPersistenceBenchmarkTest.class);
+	private static final String CUSTOMER_ORG_ID = "benchmark";
+	private static final int PAGE_SIZE = 1000;
+	private static final int WARMUP_ITERATIONS = 50;
+	private static final int MEASURED_ITERATIONS = 100;
+
+	@Autowired
+	private MeasurementElectricityDayRepository repository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	private record Result(String mode, double allocatedKilobytes, double cpuMillis, long snapshots) {}
+
+	@BeforeEach
+	void setup() {
+		final var firstDay = LocalDate.of(2001, 1, 1).atStartOfDay();
+		jdbcTemplate.batchUpdate("insert into kundinfo.vMeasurementElectricityDay (customerorgid, facilityId, feedType, isInterpolted, Date, unit, Usage) values (?, ?, 'Energy', 0, ?, 'kWh', ?)",
+			IntStream.range(0, PAGE_SIZE)
+				.mapToObj(i -> new Object[] { CUSTOMER_ORG_ID, "735999109112501170", Timestamp.valueOf(firstDay.plusHours(i)), BigDecimal.valueOf(i, 2) })
+				.toList());
+	}
+
+	@AfterEach
+	void teardown() {
+		jdbcTemplate.update("delete from kundinfo.vMeasurementElectricityDay where customerorgid = ?", CUSTOMER_ORG_ID);
+	}
+
+	@Test
+	void benchmarkPageOfMeasurements() {
+		final var results = new Result[] {
+			measure("read-write transaction", () -> inTransaction(false)),
+			measure("read-only transaction", () -> inTransaction(true)),
+			measure("stateless session", this::inStatelessSession)
+		};
+
+		LOGGER.info("Reading {} rows per page, mean of {} pages:", PAGE_SIZE, MEASURED_ITERATIONS);
+		Arrays.stream(results).forEach(result -> LOGGER.info(String.format("%-24s %10.1f KB allocated %8.2f ms CPU %6d snapshots retained",
+			result.mode(), result.allocatedKilobytes(), result.cpuMillis(), result.snapshots())));
+
+		assertThat(results[1].snapshots()).isZero();
+	}
+
+	private Result measure(String mode, IntSupplier page) {
+		final var threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+		IntStream.range(0, WARMUP_ITERATIONS).forEach(i -> page.getAsInt());
+
+		var snapshots = 0L;
+		final var allocatedBefore = threadBean.getCurrentThreadAllocatedBytes();
+		final var cpuBefore = threadBean.getCurrentThreadCpuTime();
+		for (var i = 0; i < MEASURED_ITERATIONS; i++) {
+			snapshots = page.getAsInt();
+		}
+		final var allocated = threadBean.getCurrentThreadAllocatedBytes() - allocatedBefore;
+		final var cpu = threadBean.getCurrentThreadCpuTime() - cpuBefore;
+
+		return new Result(mode, allocated / 1024d / MEASURED_ITERATIONS, cpu / 1_000_000d / MEASURED_ITERATIONS, snapshots);
+	}
+
+	/**
+	 * Reads one page through the repository and returns the number of entity snapshots held by the persistence context
+	 */
+	private int inTransaction(boolean readOnly) {
+		final var template = new TransactionTemplate(transactionManager);
+		template.setReadOnly(readOnly);
+		return template.execute(status -> {
+			final var slice = repository.findAllSlicedMatching(CUSTOMER_ORG_ID, null, null, null, PageRequest.of(0, PAGE_SIZE));
+			assertThat(slice.getNumberOfElements()).isEqualTo(PAGE_SIZE);
+
+			return (int) Arrays.stream(entityManager.unwrap(SessionImplementor.class).getPersistenceContext().reentrantSafeEntityEntries())
+				.filter(entry -> entry.getValue().getLoadedState() != null)
+				.count();
+		});
+	}
+
+	private int inStatelessSession() {
+		try (var session = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).openStatelessSession()) {
+			final var entities = session.createQuery("from MeasurementElectricityDayEntity e where e.customerOrgId = :customerOrgId", MeasurementElectricityDayEntity.class)
+				.setParameter("customerOrgId", CUSTOMER_ORG_ID)
+				.setMaxResults(PAGE_SIZE)
+				.list();
+			assertThat(entities).hasSize(PAGE_SIZE);
+			return 0;
+		}
+	}
+}
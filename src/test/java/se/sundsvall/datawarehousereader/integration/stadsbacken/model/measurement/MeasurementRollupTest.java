@@ -0,0 +1,74 @@
+package se.sundsvall.datawarehousereader.integration.stadsbacken.model.measurement;
+
+import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanConstructor;
+import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanEquals;
+import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanHashCode;
+import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanToString;
+import static com.google.code.beanmatchers.BeanMatchers.hasValidGettersAndSetters;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.AllOf.allOf;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import com.google.code.beanmatchers.BeanMatchers;
+
+class MeasurementRollupTest {
+
+	@BeforeAll
+	static void setup() {
+		BeanMatchers.registerValueGenerator(() -> LocalDateTime.now().plusSeconds(new Random().nextInt()), LocalDateTime.class);
+	}
+
+	@Test
+	void testBean() {
+		assertThat(MeasurementRollup.class, allOf(
+			hasValidBeanConstructor(),
+			hasValidGettersAndSetters(),
+			hasValidBeanHashCode(),
+			hasValidBeanEquals(),
+			hasValidBeanToString()));
+	}
+
+	@Test
+	void testBuilderMethods() {
+		final var customerOrgId = "customerOrgId";
+		final var facilityId = "facilityId";
+		final var feedType = "feedType";
+		final var interpolation = Integer.valueOf(543210);
+		final var measurementTimestamp = LocalDateTime.now();
+		final var unit = "unit";
+		final var usage = BigDecimal.valueOf(123.456);
+		final var uuid = "uuid";
+
+		final var rollup = MeasurementRollup.create()
+			.withCustomerOrgId(customerOrgId)
+			.withFacilityId(facilityId)
+			.withFeedType(feedType)
+			.withInterpolation(interpolation)
+			.withMeasurementTimestamp(measurementTimestamp)
+			.withUnit(unit)
+			.withUsage(usage)
+			.withUuid(uuid);
+
+		assertThat(rollup.getCustomerOrgId()).isEqualTo(customerOrgId);
+		assertThat(rollup.getFacilityId()).isEqualTo(facilityId);
+		assertThat(rollup.getFeedType()).isEqualTo(feedType);
+		assertThat(rollup.getInterpolation()).isEqualTo(interpolation);
+		assertThat(rollup.getMeasurementTimestamp()).isEqualTo(measurementTimestamp);
+		assertThat(rollup.getUnit()).isEqualTo(unit);
+		assertThat(rollup.getUsage()).isEqualTo(usage);
+		assertThat(rollup.getUuid()).isEqualTo(uuid);
+	}
+
+	@Test
+	void testNoDirtOnCreatedBean() {
+		assertThat(MeasurementRollup.create()).hasAllNullFieldsOrProperties();
+		assertThat(new MeasurementRollup()).hasAllNullFieldsOrProperties();
+	}
+}
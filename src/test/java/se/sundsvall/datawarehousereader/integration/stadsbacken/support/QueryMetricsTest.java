@@ -0,0 +1,71 @@
+package se.sundsvall.datawarehousereader.integration.stadsbacken.support;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static se.sundsvall.datawarehousereader.integration.stadsbacken.support.QueryMetrics.QUERY_ALLOCATED_METRIC;
+import static se.sundsvall.datawarehousereader.integration.stadsbacken.support.QueryMetrics.QUERY_ROWS_METRIC;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class QueryMetricsTest {
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	private final QueryMetrics queryMetrics = new QueryMetrics(meterRegistry);
+
+	@Test
+	void recordPage() {
+		final var page = new PageImpl<>(List.of("a", "b", "c"), PageRequest.of(0, 3), 10);
+		final var allocatedBefore = queryMetrics.allocatedBytes();
+
+		assertThat(queryMetrics.record("invoiceRepository", "findAll", allocatedBefore, page)).isSameAs(page);
+
+		final var rows = meterRegistry.get(QUERY_ROWS_METRIC).tags("repository", "invoiceRepository", "method", "findAll").summary();
+		assertThat(rows.count()).isOne();
+		assertThat(rows.totalAmount()).isEqualTo(3);
+		assertThat(meterRegistry.get(QUERY_ALLOCATED_METRIC).tags("repository", "invoiceRepository", "method", "findAll").summary().count()).isOne();
+	}
+
+	@Test
+	void recordStreamWhenClosed() {
+		@SuppressWarnings("unchecked")
+		final var stream = (Stream<String>) queryMetrics.record("measurementElectricityDayRepository", "streamAll", queryMetrics.allocatedBytes(), Stream.of("a", "b"));
+
+		assertThat(meterRegistry.find(QUERY_ROWS_METRIC).summary()).isNull();
+
+		try (stream) {
+			assertThat(stream.toList()).containsExactly("a", "b");
+		}
+
+		assertThat(meterRegistry.get(QUERY_ROWS_METRIC).tags("repository", "measurementElectricityDayRepository", "method", "streamAll").summary().totalAmount()).isEqualTo(2);
+		assertThat(meterRegistry.find(QUERY_ALLOCATED_METRIC).summary()).isNull();
+	}
+
+	@Test
+	void recordResultWithoutRows() {
+		queryMetrics.record("invoiceRepository", "count", queryMetrics.allocatedBytes(), 10L);
+
+		assertThat(meterRegistry.find(QUERY_ROWS_METRIC).summary()).isNull();
+		assertThat(meterRegistry.get(QUERY_ALLOCATED_METRIC).summary().count()).isOne();
+	}
+
+	@Test
+	void countRows() {
+		assertThat(QueryMetrics.countRows(new SliceImpl<>(List.of(1, 2)))).hasValue(2);
+		assertThat(QueryMetrics.countRows(List.of(1, 2, 3))).hasValue(3);
+		assertThat(QueryMetrics.countRows(Map.of(1, List.of("a", "b"), 2, List.of("c")))).hasValue(3);
+		assertThat(QueryMetrics.countRows(Optional.of(1))).hasValue(1);
+		assertThat(QueryMetrics.countRows(Optional.empty())).hasValue(0);
+		assertThat(QueryMetrics.countRows(10L)).isEmpty();
+		assertThat(QueryMetrics.countRows(null)).isEmpty();
+	}
+}
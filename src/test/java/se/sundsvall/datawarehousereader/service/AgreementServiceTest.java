@@ -8,6 +8,7 @@ import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.data.domain.Sort.unsorted;
+import static se.sundsvall.datawarehousereader.service.mapper.AgreementMapper.AGREEMENT_PROJECTION;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -22,12 +23,14 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
 import se.sundsvall.datawarehousereader.api.model.Category;
+import se.sundsvall.datawarehousereader.api.model.PagingMode;
+import se.sundsvall.datawarehousereader.api.model.agreement.Agreement;
 import se.sundsvall.datawarehousereader.api.model.agreement.AgreementParameters;
 import se.sundsvall.datawarehousereader.integration.stadsbacken.AgreementRepository;
-import se.sundsvall.datawarehousereader.integration.stadsbacken.model.agreement.AgreementEntity;
-import se.sundsvall.datawarehousereader.service.logic.PartyProvider;
+import se.sundsvall.datawarehousereader.service.logic.LegalIdProvider;
 
 @ExtendWith(MockitoExtension.class)
 class AgreementServiceTest {
@@ -35,13 +38,15 @@ class AgreementServiceTest {
 	private AgreementRepository repositoryMock;
 
 	@Mock
-	private PartyProvider partyProviderMock;
+	private LegalIdProvider legalIdProviderMock;
 
 	@Mock
-	private Page<AgreementEntity> pageMock;
+	private Page<Agreement> pageMock;
 
 	@Mock
-	private AgreementEntity entityMock;
+	private Slice<Agreement> sliceMock;
+
+	private final Agreement agreement = Agreement.create().withAgreementId("1337");
 
 	@InjectMocks
 	private AgreementService service;
@@ -51,15 +56,15 @@ class AgreementServiceTest {
 
 	@Test
 	void testWithEmptyParameters() {
-		when(repositoryMock.findAllByParameters(ArgumentMatchers.any(), isNull(), any(Pageable.class))).thenReturn(pageMock);
-		when(pageMock.getContent()).thenReturn(List.of(entityMock));
+		when(repositoryMock.findAllProjectedByParameters(ArgumentMatchers.any(), isNull(), any(Pageable.class), eq(AGREEMENT_PROJECTION))).thenReturn(pageMock);
+		when(pageMock.getContent()).thenReturn(List.of(agreement));
 		when(pageMock.getTotalPages()).thenReturn(1);
 		when(pageMock.getTotalElements()).thenReturn(1L);
 
 		final var response = service.getAgreements(AgreementParameters.create());
 
-		verify(partyProviderMock, never()).translateToLegalId("partyId");
-		verify(repositoryMock).findAllByParameters(eq(AgreementParameters.create()), isNull(), pageableCaptor.capture());
+		verify(legalIdProviderMock, never()).translateToLegalId("partyId");
+		verify(repositoryMock).findAllProjectedByParameters(eq(AgreementParameters.create()), isNull(), pageableCaptor.capture(), eq(AGREEMENT_PROJECTION));
 
 		assertThat(pageableCaptor.getValue().getPageNumber()).isZero();
 		assertThat(pageableCaptor.getValue().getPageSize()).isEqualTo(100);
@@ -69,7 +74,7 @@ class AgreementServiceTest {
 		assertThat(response.getMetaData().getPage()).isEqualTo(1);
 		assertThat(response.getMetaData().getTotalPages()).isEqualTo(1);
 		assertThat(response.getMetaData().getTotalRecords()).isEqualTo(1);
-		assertThat(response.getAgreements()).hasSize(1);
+		assertThat(response.getAgreements()).containsExactly(agreement);
 	}
 
 	@Test
@@ -91,16 +96,16 @@ class AgreementServiceTest {
 		params.setLimit(limit);
 		params.setPage(page);
 
-		when(partyProviderMock.translateToLegalId("partyId")).thenReturn("legalId");
-		when(repositoryMock.findAllByParameters(ArgumentMatchers.any(), eq("legalId"), any(Pageable.class))).thenReturn(pageMock);
-		when(pageMock.getContent()).thenReturn(List.of(entityMock));
+		when(legalIdProviderMock.translateToLegalId("partyId")).thenReturn("legalId");
+		when(repositoryMock.findAllProjectedByParameters(ArgumentMatchers.any(), eq("legalId"), any(Pageable.class), eq(AGREEMENT_PROJECTION))).thenReturn(pageMock);
+		when(pageMock.getContent()).thenReturn(List.of(agreement));
 		when(pageMock.getTotalPages()).thenReturn(2);
 		when(pageMock.getTotalElements()).thenReturn(2L);
 
 		final var response = service.getAgreements(params);
 
-		verify(partyProviderMock).translateToLegalId("partyId");
-		verify(repositoryMock).findAllByParameters(eq(params), eq("legalId"), pageableCaptor.capture());
+		verify(legalIdProviderMock).translateToLegalId("partyId");
+		verify(repositoryMock).findAllProjectedByParameters(eq(params), eq("legalId"), pageableCaptor.capture(), eq(AGREEMENT_PROJECTION));
 
 		assertThat(pageableCaptor.getValue().getPageNumber()).isEqualTo(page - 1);
 		assertThat(pageableCaptor.getValue().getPageSize()).isEqualTo(limit);
@@ -111,12 +116,12 @@ class AgreementServiceTest {
 		assertThat(response.getMetaData().getPage()).isEqualTo(page);
 		assertThat(response.getMetaData().getTotalPages()).isEqualTo(2);
 		assertThat(response.getMetaData().getTotalRecords()).isEqualTo(2);
-		assertThat(response.getAgreements()).hasSize(1);
+		assertThat(response.getAgreements()).containsExactly(agreement);
 	}
 
 	@Test
 	void testForPageLargerThanResultsMaxPage() {
-		when(repositoryMock.findAllByParameters(any(), any(), any(Pageable.class))).thenReturn(pageMock);
+		when(repositoryMock.findAllProjectedByParameters(any(), any(), any(Pageable.class), eq(AGREEMENT_PROJECTION))).thenReturn(pageMock);
 		when(pageMock.getTotalPages()).thenReturn(1);
 		when(pageMock.getTotalElements()).thenReturn(1L);
 
@@ -125,8 +130,8 @@ class AgreementServiceTest {
 
 		final var response = service.getAgreements(params);
 
-		verify(partyProviderMock, never()).translateToLegalId("partyId");
-		verify(repositoryMock).findAllByParameters(eq(params), isNull(), pageableCaptor.capture());
+		verify(legalIdProviderMock, never()).translateToLegalId("partyId");
+		verify(repositoryMock).findAllProjectedByParameters(eq(params), isNull(), pageableCaptor.capture(), eq(AGREEMENT_PROJECTION));
 
 		assertThat(response.getMetaData().getCount()).isZero();
 		assertThat(response.getMetaData().getLimit()).isEqualTo(100);
@@ -135,4 +140,29 @@ class AgreementServiceTest {
 		assertThat(response.getMetaData().getTotalRecords()).isEqualTo(1);
 		assertThat(response.getAgreements()).isEmpty();
 	}
+
+	@Test
+	void testSlicedPaging() {
+		final var parameters = AgreementParameters.create();
+		parameters.setPagingMode(PagingMode.SLICE);
+		parameters.setPage(3);
+
+		when(repositoryMock.findAllSlicedProjectedByParameters(any(), isNull(), any(Pageable.class), eq(AGREEMENT_PROJECTION))).thenReturn(sliceMock);
+		when(sliceMock.getContent()).thenReturn(List.of(agreement));
+		when(sliceMock.hasNext()).thenReturn(true);
+
+		final var response = service.getAgreements(parameters);
+
+		verify(repositoryMock).findAllSlicedProjectedByParameters(eq(parameters), isNull(), pageableCaptor.capture(), eq(AGREEMENT_PROJECTION));
+		verify(repositoryMock, never()).findAllProjectedByParameters(any(), any(), any(), any());
+
+		assertThat(pageableCaptor.getValue().getPageNumber()).isEqualTo(2);
+		assertThat(pageableCaptor.getValue().getPageSize()).isEqualTo(100);
+		assertThat(response.getMetaData().getCount()).isEqualTo(1);
+		assertThat(response.getMetaData().getPage()).isEqualTo(3);
+		assertThat(response.getMetaData().getHasNext()).isTrue();
+		assertThat(response.getMetaData().getTotalPages()).isNull();
+		assertThat(response.getMetaData().getTotalRecords()).isNull();
+		assertThat(response.getAgreements()).containsExactly(agreement);
+	}
 }
@@ -2,7 +2,6 @@ package se.sundsvall.datawarehousereader.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
@@ -10,6 +9,7 @@ import static org.springframework.data.domain.Sort.sort;
 import static se.sundsvall.datawarehousereader.service.mapper.CustomerMapper.toPartyType;
 
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.stream.Stream;
 
@@ -26,13 +26,17 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
 import generated.se.sundsvall.party.PartyType;
 import se.sundsvall.datawarehousereader.api.model.CustomerType;
+import se.sundsvall.datawarehousereader.api.model.PagingMode;
+import se.sundsvall.datawarehousereader.api.model.customer.CustomerEngagement;
 import se.sundsvall.datawarehousereader.api.model.customer.CustomerEngagementParameters;
 import se.sundsvall.datawarehousereader.integration.stadsbacken.CustomerRepository;
 import se.sundsvall.datawarehousereader.integration.stadsbacken.model.customer.CustomerEntity;
 import se.sundsvall.datawarehousereader.service.logic.PartyProvider;
+import se.sundsvall.datawarehousereader.service.logic.PartyProvider.PartyKey;
 
 @ExtendWith(MockitoExtension.class)
 class CustomerServiceTest {
@@ -48,6 +52,9 @@ class CustomerServiceTest {
 	@Mock
 	private Page<CustomerEntity> pageMock;
 
+	@Mock
+	private Slice<CustomerEntity> sliceMock;
+
 	@Mock
 	private CustomerEntity entityMock;
 
@@ -73,11 +80,11 @@ class CustomerServiceTest {
 		when(entityMock.getCustomerOrgId()).thenReturn("customerOrgId");
 		when(pageMock.getTotalPages()).thenReturn(1);
 		when(pageMock.getTotalElements()).thenReturn(1L);
-		when(partyProviderMock.translateToPartyId(eq(partyType), any())).thenReturn(RANDOM_UUID);
+		when(partyProviderMock.translateToPartyIds(List.of(new PartyKey(partyType, "customerOrgId")))).thenReturn(Map.of(new PartyKey(partyType, "customerOrgId"), RANDOM_UUID));
 
 		final var response = service.getCustomerEngagements(CustomerEngagementParameters.create());
 
-		verify(partyProviderMock).translateToPartyId(eq(partyType), any());
+		verify(partyProviderMock).translateToPartyIds(List.of(new PartyKey(partyType, "customerOrgId")));
 		verify(repositoryMock).findAllByParameters(customerParameterCaptor.capture(), customerOrgIdsCaptor.capture(), pageableCaptor.capture());
 
 		assertThat(customerOrgIdsCaptor.getValue()).isEmpty();
@@ -111,7 +118,7 @@ class CustomerServiceTest {
 		when(entityMock.getCustomerOrgId()).thenReturn(legalId);
 		when(pageMock.getTotalPages()).thenReturn(2);
 		when(pageMock.getTotalElements()).thenReturn(2L);
-		when(partyProviderMock.translateToLegalId(partyId)).thenReturn(legalId);
+		when(partyProviderMock.translateToLegalIds(List.of(partyId))).thenReturn(List.of(legalId));
 
 		params.setCustomerNumber(customerNumber);
 		params.setPartyId(List.of(partyId));
@@ -122,8 +129,8 @@ class CustomerServiceTest {
 
 		final var response = service.getCustomerEngagements(params);
 
-		verify(partyProviderMock).translateToLegalId(partyId);
-		verify(partyProviderMock).translateToPartyId(toPartyType(CustomerType.PRIVATE), legalId);
+		verify(partyProviderMock).translateToLegalIds(List.of(partyId));
+		verify(partyProviderMock).translateToPartyIds(List.of(new PartyKey(toPartyType(CustomerType.PRIVATE), legalId)));
 		verify(repositoryMock).findAllByParameters(customerParameterCaptor.capture(), customerOrgIdsCaptor.capture(), pageableCaptor.capture());
 
 		assertThat(customerParameterCaptor.getValue().getCustomerNumber()).isEqualTo(customerNumber);
@@ -168,6 +175,42 @@ class CustomerServiceTest {
 		assertThat(pageableCaptor.getValue().getSort()).isEqualTo(sort(CustomerEntity.class).by(CustomerEntity::getCustomerOrgId));
 	}
 
+	@Test
+	void testPartyIdsAreResolvedOncePerDistinctLegalId() {
+		final var enterprise = CustomerEntity.create().withCustomerId(1).withCustomerOrgId("5565-123456").withCustomerType(CustomerType.ENTERPRISE.getStadsbackenTranslation());
+		final var sameEnterprise = CustomerEntity.create().withCustomerId(2).withCustomerOrgId("5565123456").withCustomerType(CustomerType.ENTERPRISE.getStadsbackenTranslation());
+		final var withoutOrgId = CustomerEntity.create().withCustomerId(3).withCustomerType(CustomerType.PRIVATE.getStadsbackenTranslation());
+		final var partyKey = new PartyKey(PartyType.ENTERPRISE, "5565123456");
+
+		when(repositoryMock.findAllByParameters(any(CustomerEngagementParameters.class), ArgumentMatchers.<List<String>>any(), any(Pageable.class))).thenReturn(pageMock);
+		when(pageMock.getContent()).thenReturn(List.of(enterprise, sameEnterprise, withoutOrgId));
+		when(pageMock.getTotalPages()).thenReturn(1);
+		when(partyProviderMock.translateToPartyIds(List.of(partyKey))).thenReturn(Map.of(partyKey, RANDOM_UUID));
+
+		final var response = service.getCustomerEngagements(CustomerEngagementParameters.create());
+
+		verify(partyProviderMock).translateToPartyIds(List.of(partyKey));
+		assertThat(response.getCustomerEngagements()).extracting(CustomerEngagement::getPartyId).containsExactly(RANDOM_UUID, RANDOM_UUID, null);
+		assertThat(response.getCustomerEngagements()).extracting(CustomerEngagement::getCustomerOrgNumber).containsOnlyNulls();
+	}
+
+	@Test
+	void testNoCallToPartyServiceWhenResolvePartyIdsIsFalse() {
+		final var enterprise = CustomerEntity.create().withCustomerId(1).withCustomerOrgId("5565123456").withCustomerType(CustomerType.ENTERPRISE.getStadsbackenTranslation());
+		final var privateCustomer = CustomerEntity.create().withCustomerId(2).withCustomerOrgId("197001011234").withCustomerType(CustomerType.PRIVATE.getStadsbackenTranslation());
+
+		when(repositoryMock.findAllByParameters(any(CustomerEngagementParameters.class), ArgumentMatchers.<List<String>>any(), any(Pageable.class))).thenReturn(pageMock);
+		when(pageMock.getContent()).thenReturn(List.of(enterprise, privateCustomer));
+		when(pageMock.getTotalPages()).thenReturn(1);
+
+		final var response = service.getCustomerEngagements(CustomerEngagementParameters.create().withResolvePartyIds(false));
+
+		verifyNoInteractions(partyProviderMock);
+		assertThat(response.getCustomerEngagements()).extracting(CustomerEngagement::getCustomerNumber).containsExactly("1", "2");
+		assertThat(response.getCustomerEngagements()).extracting(CustomerEngagement::getPartyId).containsOnlyNulls();
+		assertThat(response.getCustomerEngagements()).extracting(CustomerEngagement::getCustomerOrgNumber).containsOnlyNulls();
+	}
+
 	@Test
 	void testForPageLargerThanResultsMaxPage() {
 
@@ -194,4 +237,31 @@ class CustomerServiceTest {
 			Arguments.of(CustomerType.PRIVATE, PartyType.PRIVATE),
 			Arguments.of(CustomerType.ENTERPRISE, PartyType.ENTERPRISE));
 	}
+
+	@Test
+	void testSlicedPaging() {
+		final var parameters = CustomerEngagementParameters.create();
+		parameters.setPagingMode(PagingMode.SLICE);
+
+		when(repositoryMock.findAllSlicedByParameters(any(CustomerEngagementParameters.class), ArgumentMatchers.<List<String>>any(), any(Pageable.class))).thenReturn(sliceMock);
+		when(sliceMock.getContent()).thenReturn(List.of(entityMock));
+		when(sliceMock.hasNext()).thenReturn(false);
+		when(entityMock.getCustomerType()).thenReturn(CustomerType.ENTERPRISE.getStadsbackenTranslation());
+		when(entityMock.getCustomerOrgId()).thenReturn("customerOrgId");
+		when(partyProviderMock.translateToPartyIds(List.of(new PartyKey(PartyType.ENTERPRISE, "customerOrgId")))).thenReturn(Map.of(new PartyKey(PartyType.ENTERPRISE, "customerOrgId"), RANDOM_UUID));
+
+		final var response = service.getCustomerEngagements(parameters);
+
+		verify(repositoryMock).findAllSlicedByParameters(customerParameterCaptor.capture(), customerOrgIdsCaptor.capture(), pageableCaptor.capture());
+
+		assertThat(customerOrgIdsCaptor.getValue()).isEmpty();
+		assertThat(pageableCaptor.getValue().getPageNumber()).isZero();
+		assertThat(response.getMetaData().getCount()).isEqualTo(1);
+		assertThat(response.getMetaData().getHasNext()).isFalse();
+		assertThat(response.getMetaData().getTotalPages()).isNull();
+		assertThat(response.getMetaData().getTotalRecords()).isNull();
+		assertThat(response.getCustomerEngagements()).hasSize(1);
+		assertThat(response.getCustomerEngagements().get(0).getPartyId()).isEqualTo(RANDOM_UUID);
+		assertThat(response.getCustomerEngagements().get(0).getCustomerOrgNumber()).isNull();
+	}
 }
@@ -1,14 +1,18 @@
 package se.sundsvall.datawarehousereader.service;
 
 import static java.lang.Integer.parseInt;
+import static java.util.Collections.emptyMap;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.data.domain.Sort.unsorted;
 import static se.sundsvall.datawarehousereader.service.mapper.InstalledBaseMapper.toInstalledBaseItems;
 
 import java.util.List;
+import java.util.Map;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -21,10 +25,14 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Example;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
+import se.sundsvall.datawarehousereader.api.model.PagingMode;
+import se.sundsvall.datawarehousereader.api.model.installedbase.InstalledBaseItemMetaData;
 import se.sundsvall.datawarehousereader.api.model.installedbase.InstalledBaseParameters;
 import se.sundsvall.datawarehousereader.integration.stadsbacken.InstalledBaseRepository;
 import se.sundsvall.datawarehousereader.integration.stadsbacken.model.installedbase.InstalledBaseItemEntity;
+import se.sundsvall.datawarehousereader.integration.stadsbacken.model.installedbase.InstalledBaseItemMetaDataEmbeddable;
 
 @ExtendWith(MockitoExtension.class)
 class InstalledBaseServiceTest {
@@ -34,6 +42,9 @@ class InstalledBaseServiceTest {
 	@Mock
 	private Page<InstalledBaseItemEntity> pageMock;
 
+	@Mock
+	private Slice<InstalledBaseItemEntity> sliceMock;
+
 	@Mock
 	private InstalledBaseItemEntity entityMock;
 
@@ -56,6 +67,7 @@ class InstalledBaseServiceTest {
 		final var response = service.getInstalledBase(InstalledBaseParameters.create());
 
 		verify(repositoryMock).findAll(exampleCaptor.capture(), pageableCaptor.capture());
+		verify(repositoryMock).findMetaDataByInternalIds(anyList());
 
 		assertThat(exampleCaptor.getValue().getProbe()).hasAllNullFieldsOrProperties();
 		assertThat(pageableCaptor.getValue().getPageNumber()).isZero();
@@ -66,7 +78,7 @@ class InstalledBaseServiceTest {
 		assertThat(response.getMetaData().getPage()).isEqualTo(1);
 		assertThat(response.getMetaData().getTotalPages()).isEqualTo(1);
 		assertThat(response.getMetaData().getTotalRecords()).isEqualTo(1);
-		assertThat(response.getInstalledBase()).isEqualTo(toInstalledBaseItems(List.of(entityMock)));
+		assertThat(response.getInstalledBase()).isEqualTo(toInstalledBaseItems(List.of(entityMock), emptyMap()));
 	}
 
 	@Test
@@ -120,7 +132,7 @@ class InstalledBaseServiceTest {
 		assertThat(response.getMetaData().getPage()).isEqualTo(page);
 		assertThat(response.getMetaData().getTotalPages()).isEqualTo(2);
 		assertThat(response.getMetaData().getTotalRecords()).isEqualTo(2);
-		assertThat(response.getInstalledBase()).isEqualTo(toInstalledBaseItems(List.of(entityMock)));
+		assertThat(response.getInstalledBase()).isEqualTo(toInstalledBaseItems(List.of(entityMock), emptyMap()));
 	}
 
 	@Test
@@ -134,6 +146,7 @@ class InstalledBaseServiceTest {
 		final var response = service.getInstalledBase(params);
 
 		verify(repositoryMock).findAll(ArgumentMatchers.<Example<InstalledBaseItemEntity>>any(), any(Pageable.class));
+		verify(repositoryMock, never()).findMetaDataByInternalIds(anyList());
 
 		assertThat(response.getMetaData().getCount()).isZero();
 		assertThat(response.getMetaData().getLimit()).isEqualTo(100);
@@ -142,4 +155,62 @@ class InstalledBaseServiceTest {
 		assertThat(response.getMetaData().getTotalRecords()).isEqualTo(1);
 		assertThat(response.getInstalledBase()).isEmpty();
 	}
+
+	@Test
+	void testSlicedPaging() {
+		final var parameters = InstalledBaseParameters.create();
+		parameters.setPagingMode(PagingMode.SLICE);
+
+		when(repositoryMock.findAllSliced(ArgumentMatchers.<Example<InstalledBaseItemEntity>>any(), any(Pageable.class))).thenReturn(sliceMock);
+		when(sliceMock.getContent()).thenReturn(List.of(entityMock));
+		when(sliceMock.hasNext()).thenReturn(true);
+
+		final var response = service.getInstalledBase(parameters);
+
+		verify(repositoryMock).findAllSliced(exampleCaptor.capture(), pageableCaptor.capture());
+
+		assertThat(exampleCaptor.getValue().getProbe()).hasAllNullFieldsOrProperties();
+		assertThat(pageableCaptor.getValue().getPageNumber()).isZero();
+		assertThat(pageableCaptor.getValue().getPageSize()).isEqualTo(100);
+		assertThat(response.getMetaData().getCount()).isEqualTo(1);
+		assertThat(response.getMetaData().getHasNext()).isTrue();
+		assertThat(response.getMetaData().getTotalPages()).isNull();
+		assertThat(response.getMetaData().getTotalRecords()).isNull();
+		assertThat(response.getInstalledBase()).isEqualTo(toInstalledBaseItems(List.of(entityMock), emptyMap()));
+	}
+
+	@Test
+	void testMetaDataIsReadForAllItemsInOneCall() {
+		final var metaData = new InstalledBaseItemMetaDataEmbeddable();
+		metaData.setKey("key");
+		when(repositoryMock.findAll(ArgumentMatchers.<Example<InstalledBaseItemEntity>>any(), any(Pageable.class))).thenReturn(pageMock);
+		when(pageMock.getContent()).thenReturn(List.of(InstalledBaseItemEntity.create().withInternalId(1), InstalledBaseItemEntity.create().withInternalId(2)));
+		when(pageMock.getTotalPages()).thenReturn(1);
+		when(repositoryMock.findMetaDataByInternalIds(List.of(1, 2))).thenReturn(Map.of(2, List.of(metaData)));
+
+		final var response = service.getInstalledBase(InstalledBaseParameters.create());
+
+		verify(repositoryMock).findMetaDataByInternalIds(List.of(1, 2));
+
+		assertThat(response.getInstalledBase()).hasSize(2);
+		assertThat(response.getInstalledBase().get(0).getMetaData()).isEmpty();
+		assertThat(response.getInstalledBase().get(1).getMetaData()).extracting(InstalledBaseItemMetaData::getKey).containsExactly("key");
+	}
+
+	@Test
+	void testMetaDataNotIncluded() {
+		final var parameters = InstalledBaseParameters.create();
+		parameters.setPagingMode(PagingMode.SLICE);
+		parameters.setIncludeMetaData(false);
+
+		when(repositoryMock.findAllSliced(ArgumentMatchers.<Example<InstalledBaseItemEntity>>any(), any(Pageable.class))).thenReturn(sliceMock);
+		when(sliceMock.getContent()).thenReturn(List.of(entityMock));
+
+		final var response = service.getInstalledBase(parameters);
+
+		verify(repositoryMock, never()).findMetaDataByInternalIds(anyList());
+
+		assertThat(response.getInstalledBase()).hasSize(1);
+		assertThat(response.getInstalledBase().get(0).getMetaData()).isNull();
+	}
 }
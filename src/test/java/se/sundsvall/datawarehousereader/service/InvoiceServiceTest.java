@@ -4,11 +4,12 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.data.domain.Sort.sort;
+import static se.sundsvall.datawarehousereader.service.mapper.InvoiceMapper.INVOICE_PROJECTION;
 import static se.sundsvall.datawarehousereader.service.mapper.InvoiceMapper.toDetails;
-import static se.sundsvall.datawarehousereader.service.mapper.InvoiceMapper.toInvoices;
 
 import java.time.LocalDate;
 import java.util.Collections;
@@ -23,10 +24,13 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.zalando.problem.Status;
 import org.zalando.problem.ThrowableProblem;
 
 import se.sundsvall.datawarehousereader.api.model.CustomerType;
+import se.sundsvall.datawarehousereader.api.model.PagingMode;
+import se.sundsvall.datawarehousereader.api.model.invoice.Invoice;
 import se.sundsvall.datawarehousereader.api.model.invoice.InvoiceParameters;
 import se.sundsvall.datawarehousereader.integration.stadsbacken.InvoiceDetailRepository;
 import se.sundsvall.datawarehousereader.integration.stadsbacken.InvoiceRepository;
@@ -42,10 +46,12 @@ class InvoiceServiceTest {
 	private InvoiceDetailRepository invoiceDetailRepositoryMock;
 
 	@Mock
-	private Page<InvoiceEntity> pageMock;
+	private Page<Invoice> pageMock;
 
 	@Mock
-	private InvoiceEntity entityMock;
+	private Slice<Invoice> sliceMock;
+
+	private final Invoice invoice = Invoice.create().withInvoiceNumber(1337L);
 
 	@InjectMocks
 	private InvoiceService service;
@@ -58,17 +64,17 @@ class InvoiceServiceTest {
 
 	@Test
 	void testWithEmptyParameters() {
-		when(invoiceRepositoryMock.findAllByParameters(any(InvoiceParameters.class), any(Pageable.class))).thenReturn(pageMock);
-		when(pageMock.getContent()).thenReturn(List.of(entityMock));
+		when(invoiceRepositoryMock.findAllProjectedByParameters(any(InvoiceParameters.class), any(Pageable.class), eq(INVOICE_PROJECTION))).thenReturn(pageMock);
+		when(pageMock.getContent()).thenReturn(List.of(invoice));
 		when(pageMock.getTotalPages()).thenReturn(1);
 		when(pageMock.getTotalElements()).thenReturn(1L);
 
 		final var response = service.getInvoices(InvoiceParameters.create());
 
-		verify(invoiceRepositoryMock).findAllByParameters(parametersCaptor.capture(), pageableCaptor.capture());
+		verify(invoiceRepositoryMock).findAllProjectedByParameters(parametersCaptor.capture(), pageableCaptor.capture(), eq(INVOICE_PROJECTION));
 
 		assertThat(parametersCaptor.getValue())
-			.hasAllNullFieldsOrPropertiesExcept("page", "limit", "sortBy", "sortDirection")
+			.hasAllNullFieldsOrPropertiesExcept("page", "limit", "sortBy", "sortDirection", "pagingMode")
 			.extracting(InvoiceParameters::getPage, InvoiceParameters::getLimit)
 			.isEqualTo(List.of(1, 100));
 		assertThat(pageableCaptor.getValue().getPageNumber()).isZero();
@@ -79,13 +85,13 @@ class InvoiceServiceTest {
 		assertThat(response.getMetaData().getPage()).isEqualTo(1);
 		assertThat(response.getMetaData().getTotalPages()).isEqualTo(1);
 		assertThat(response.getMetaData().getTotalRecords()).isEqualTo(1);
-		assertThat(response.getInvoices()).isEqualTo(toInvoices(List.of(entityMock)));
+		assertThat(response.getInvoices()).containsExactly(invoice);
 	}
 
 	@Test
 	void testWithAllParametersSet() {
-		when(invoiceRepositoryMock.findAllByParameters(any(InvoiceParameters.class), any(Pageable.class))).thenReturn(pageMock);
-		when(pageMock.getContent()).thenReturn(List.of(entityMock));
+		when(invoiceRepositoryMock.findAllProjectedByParameters(any(InvoiceParameters.class), any(Pageable.class), eq(INVOICE_PROJECTION))).thenReturn(pageMock);
+		when(pageMock.getContent()).thenReturn(List.of(invoice));
 		when(pageMock.getTotalPages()).thenReturn(2);
 		when(pageMock.getTotalElements()).thenReturn(2L);
 
@@ -124,7 +130,7 @@ class InvoiceServiceTest {
 		params.setPage(page);
 
 		final var response = service.getInvoices(params);
-		verify(invoiceRepositoryMock).findAllByParameters(parametersCaptor.capture(), pageableCaptor.capture());
+		verify(invoiceRepositoryMock).findAllProjectedByParameters(parametersCaptor.capture(), pageableCaptor.capture(), eq(INVOICE_PROJECTION));
 
 		assertThat(parametersCaptor.getValue()).usingRecursiveComparison().isEqualTo(params);
 		assertThat(pageableCaptor.getValue().getPageNumber()).isEqualTo(page - 1);
@@ -135,12 +141,12 @@ class InvoiceServiceTest {
 		assertThat(response.getMetaData().getPage()).isEqualTo(2);
 		assertThat(response.getMetaData().getTotalPages()).isEqualTo(2);
 		assertThat(response.getMetaData().getTotalRecords()).isEqualTo(2);
-		assertThat(response.getInvoices()).isEqualTo(toInvoices(List.of(entityMock)));
+		assertThat(response.getInvoices()).containsExactly(invoice);
 	}
 
 	@Test
 	void testForPageLargerThanResultsMaxPage() {
-		when(invoiceRepositoryMock.findAllByParameters(any(InvoiceParameters.class), any(Pageable.class))).thenReturn(pageMock);
+		when(invoiceRepositoryMock.findAllProjectedByParameters(any(InvoiceParameters.class), any(Pageable.class), eq(INVOICE_PROJECTION))).thenReturn(pageMock);
 		when(pageMock.getTotalPages()).thenReturn(1);
 		when(pageMock.getTotalElements()).thenReturn(1L);
 
@@ -148,7 +154,7 @@ class InvoiceServiceTest {
 		params.setPage(2);
 		final var response = service.getInvoices(params);
 
-		verify(invoiceRepositoryMock).findAllByParameters(any(InvoiceParameters.class), any(Pageable.class));
+		verify(invoiceRepositoryMock).findAllProjectedByParameters(any(InvoiceParameters.class), any(Pageable.class), eq(INVOICE_PROJECTION));
 
 		assertThat(response.getMetaData().getCount()).isZero();
 		assertThat(response.getMetaData().getLimit()).isEqualTo(100);
@@ -216,4 +222,27 @@ class InvoiceServiceTest {
 		assertThat(exception.getMessage()).isEqualTo("Not Found: No invoicedetails found for invoice issuer '1234567890' and invoicenumber '1337'");
 		assertThat(exception.getDetail()).isEqualTo("No invoicedetails found for invoice issuer '1234567890' and invoicenumber '1337'");
 	}
+
+	@Test
+	void testSlicedPaging() {
+		final var parameters = InvoiceParameters.create();
+		parameters.setPagingMode(PagingMode.SLICE);
+
+		when(invoiceRepositoryMock.findAllSlicedProjectedByParameters(any(InvoiceParameters.class), any(Pageable.class), eq(INVOICE_PROJECTION))).thenReturn(sliceMock);
+		when(sliceMock.getContent()).thenReturn(List.of(invoice));
+		when(sliceMock.hasNext()).thenReturn(true);
+
+		final var response = service.getInvoices(parameters);
+
+		verify(invoiceRepositoryMock).findAllSlicedProjectedByParameters(parametersCaptor.capture(), pageableCaptor.capture(), eq(INVOICE_PROJECTION));
+
+		assertThat(parametersCaptor.getValue()).isSameAs(parameters);
+		assertThat(pageableCaptor.getValue().getPageNumber()).isZero();
+		assertThat(pageableCaptor.getValue().getSort()).isEqualTo(sort(InvoiceEntity.class).by(InvoiceEntity::getInvoiceDate));
+		assertThat(response.getMetaData().getCount()).isEqualTo(1);
+		assertThat(response.getMetaData().getHasNext()).isTrue();
+		assertThat(response.getMetaData().getTotalPages()).isNull();
+		assertThat(response.getMetaData().getTotalRecords()).isNull();
+		assertThat(response.getInvoices()).containsExactly(invoice);
+	}
 }
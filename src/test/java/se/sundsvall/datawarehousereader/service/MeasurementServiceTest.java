@@ -2,6 +2,9 @@ package se.sundsvall.datawarehousereader.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
@@ -12,7 +15,10 @@ import static se.sundsvall.datawarehousereader.api.model.Category.WASTE_MANAGEME
 import static se.sundsvall.datawarehousereader.api.model.measurement.Aggregation.DAY;
 import static se.sundsvall.datawarehousereader.api.model.measurement.Aggregation.MONTH;
 
+import java.math.BigDecimal;
 import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.function.Consumer;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -21,11 +27,13 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.zalando.problem.ThrowableProblem;
 
+import se.sundsvall.datawarehousereader.api.model.MetaData;
+import se.sundsvall.datawarehousereader.api.model.measurement.Measurement;
 import se.sundsvall.datawarehousereader.api.model.measurement.MeasurementParameters;
 import se.sundsvall.datawarehousereader.api.model.measurement.MeasurementResponse;
 import se.sundsvall.datawarehousereader.service.logic.DistrictHeatingMeasurementProvider;
 import se.sundsvall.datawarehousereader.service.logic.ElectricityMeasurementProvider;
-import se.sundsvall.datawarehousereader.service.logic.PartyProvider;
+import se.sundsvall.datawarehousereader.service.logic.LegalIdProvider;
 
 @ExtendWith(MockitoExtension.class)
 class MeasurementServiceTest {
@@ -37,7 +45,10 @@ class MeasurementServiceTest {
 	private ElectricityMeasurementProvider electricityMeasurementProviderMock;
 
 	@Mock
-	private PartyProvider partyProviderMock;
+	private LegalIdProvider legalIdProviderMock;
+
+	@Mock
+	private Consumer<Measurement> consumerMock;
 
 	@InjectMocks
 	private MeasurementService service;
@@ -62,7 +73,7 @@ class MeasurementServiceTest {
 		verify(districtHeatingMeasurementProviderMock).getMeasurements(null, aggregateOn, fromDateTimeLocal, toDateTimeLocal, searchParams);
 
 		assertThat(measurementResponse).isNotNull().isEqualTo(MeasurementResponse.create());
-		verifyNoInteractions(partyProviderMock);
+		verifyNoInteractions(legalIdProviderMock);
 	}
 
 	@Test
@@ -81,13 +92,13 @@ class MeasurementServiceTest {
 		searchParams.setToDateTime(toDateTimeOffset);
 		searchParams.setPartyId("partyId");
 
-		when(partyProviderMock.translateToLegalId(partyId)).thenReturn(legalId);
+		when(legalIdProviderMock.translateToLegalId(partyId)).thenReturn(legalId);
 		when(districtHeatingMeasurementProviderMock.getMeasurements(legalId, aggregateOn, fromDateTimeLocal, toDateTimeLocal, searchParams)).thenReturn(MeasurementResponse.create());
 
 		final var measurementResponse = service.getMeasurements(category, aggregateOn, searchParams);
 
 		verify(districtHeatingMeasurementProviderMock).getMeasurements(legalId, aggregateOn, fromDateTimeLocal, toDateTimeLocal, searchParams);
-		verify(partyProviderMock).translateToLegalId(partyId);
+		verify(legalIdProviderMock).translateToLegalId(partyId);
 
 		assertThat(measurementResponse).isNotNull().isEqualTo(MeasurementResponse.create());
 	}
@@ -112,7 +123,33 @@ class MeasurementServiceTest {
 		verify(electricityMeasurementProviderMock).getMeasurements(null, aggregateOn, fromDateTimeLocal, toDateTimeLocal, searchParams);
 
 		assertThat(measurementResponse).isNotNull().isEqualTo(MeasurementResponse.create());
-		verifyNoInteractions(partyProviderMock);
+		verifyNoInteractions(legalIdProviderMock);
+	}
+
+	@Test
+	void testGetMeasurementSeries() {
+		final var category = ELECTRICITY;
+		final var aggregateOn = DAY;
+		final var searchParams = MeasurementParameters.create();
+		final var metaData = MetaData.create();
+
+		when(electricityMeasurementProviderMock.getMeasurements(null, aggregateOn, null, null, searchParams)).thenReturn(MeasurementResponse.create()
+			.withMetaData(metaData)
+			.withMeasurements(List.of(
+				Measurement.create().withFacilityId("facilityId").withValue(BigDecimal.ONE),
+				Measurement.create().withFacilityId("facilityId").withValue(BigDecimal.TEN))));
+
+		final var seriesResponse = service.getMeasurementSeries(category, aggregateOn, searchParams);
+
+		verify(electricityMeasurementProviderMock).getMeasurements(null, aggregateOn, null, null, searchParams);
+
+		assertThat(seriesResponse.getMetaData()).isEqualTo(metaData);
+		assertThat(seriesResponse.getSeries()).hasSize(1)
+			.allSatisfy(series -> {
+				assertThat(series.getFacilityId()).isEqualTo("facilityId");
+				assertThat(series.getValues()).containsExactly(BigDecimal.ONE, BigDecimal.TEN);
+			});
+		verifyNoInteractions(legalIdProviderMock, districtHeatingMeasurementProviderMock);
 	}
 
 	@Test
@@ -135,7 +172,7 @@ class MeasurementServiceTest {
 		verify(electricityMeasurementProviderMock).getMeasurements(null, aggregateOn, fromDateTimeLocal, toDateTimeLocal, searchParams);
 
 		assertThat(measurementResponse).isNotNull().isEqualTo(MeasurementResponse.create());
-		verifyNoInteractions(partyProviderMock);
+		verifyNoInteractions(legalIdProviderMock);
 	}
 
 	@Test
@@ -148,6 +185,46 @@ class MeasurementServiceTest {
 		assertThat(e.getStatus()).isEqualTo(NOT_IMPLEMENTED);
 		assertThat(e.getMessage()).isEqualTo("Not Implemented: category 'WASTE_MANAGEMENT'");
 
-		verifyNoInteractions(partyProviderMock, electricityMeasurementProviderMock, districtHeatingMeasurementProviderMock);
+		verifyNoInteractions(legalIdProviderMock, electricityMeasurementProviderMock, districtHeatingMeasurementProviderMock);
+	}
+
+	@Test
+	void testExportMeasurementsElectricity() {
+		final var partyId = "partyId";
+		final var legalId = "legalId";
+		final var fromDateTimeOffset = OffsetDateTime.now().minusMonths(1L);
+		final var searchParams = MeasurementParameters.create();
+
+		searchParams.setPartyId(partyId);
+		searchParams.setFromDateTime(fromDateTimeOffset);
+
+		when(legalIdProviderMock.translateToLegalId(partyId)).thenReturn(legalId);
+
+		service.exportMeasurements(ELECTRICITY, DAY, searchParams, consumerMock);
+
+		verify(legalIdProviderMock).translateToLegalId(partyId);
+		verify(electricityMeasurementProviderMock).streamMeasurements(eq(legalId), eq(DAY), eq(fromDateTimeOffset.toLocalDateTime()), isNull(), eq(searchParams), eq(consumerMock));
+		verifyNoInteractions(districtHeatingMeasurementProviderMock);
+	}
+
+	@Test
+	void testExportMeasurementsDistrictHeating() {
+		final var searchParams = MeasurementParameters.create();
+
+		service.exportMeasurements(DISTRICT_HEATING, MONTH, searchParams, consumerMock);
+
+		verify(districtHeatingMeasurementProviderMock).streamMeasurements(isNull(), eq(MONTH), isNull(), isNull(), eq(searchParams), any());
+		verifyNoInteractions(electricityMeasurementProviderMock, legalIdProviderMock);
+	}
+
+	@Test
+	void testExportMeasurementsForNotImplementedCategory() {
+		final var searchParams = MeasurementParameters.create();
+
+		final var e = assertThrows(ThrowableProblem.class, () -> service.exportMeasurements(WASTE_MANAGEMENT, MONTH, searchParams, consumerMock));
+
+		assertThat(e.getStatus()).isEqualTo(NOT_IMPLEMENTED);
+		assertThat(e.getMessage()).isEqualTo("Not Implemented: category 'WASTE_MANAGEMENT'");
+		verifyNoInteractions(districtHeatingMeasurementProviderMock, electricityMeasurementProviderMock, consumerMock);
 	}
 }
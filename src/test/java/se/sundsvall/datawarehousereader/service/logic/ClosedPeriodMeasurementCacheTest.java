@@ -0,0 +1,162 @@
+package se.sundsvall.datawarehousereader.service.logic;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.data.domain.Sort.by;
+import static org.springframework.data.domain.Sort.Direction.ASC;
+import static org.springframework.data.domain.Sort.Direction.DESC;
+import static se.sundsvall.datawarehousereader.api.model.Category.ELECTRICITY;
+import static se.sundsvall.datawarehousereader.api.model.measurement.Aggregation.MONTH;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import se.sundsvall.datawarehousereader.integration.stadsbacken.configuration.ClosedPeriodCacheProperties;
+import se.sundsvall.datawarehousereader.integration.stadsbacken.model.measurement.MeasurementElectricityMonthEntity;
+import se.sundsvall.datawarehousereader.service.logic.ClosedPeriodMeasurementCache.RangeQuery;
+
+@ExtendWith(MockitoExtension.class)
+class ClosedPeriodMeasurementCacheTest {
+
+	private static final YearMonth CURRENT_MONTH = YearMonth.now();
+
+	@Spy
+	private CacheManager cacheManager = new ConcurrentMapCacheManager(ClosedPeriodMeasurementCache.CACHE_NAME);
+
+	@InjectMocks
+	private ClosedPeriodMeasurementCache cache;
+
+	@BeforeEach
+	void setup() {
+		ReflectionTestUtils.setField(cache, "properties", new ClosedPeriodCacheProperties(Duration.ofHours(24), 100000, 3));
+	}
+
+	@Test
+	void coversClosedPeriod() {
+		final var closedPeriod = CURRENT_MONTH.minusMonths(1).atEndOfMonth().atStartOfDay();
+
+		assertThat(cache.coversClosedPeriod("legalId", null, null)).isFalse();
+		assertThat(cache.coversClosedPeriod("legalId", null, CURRENT_MONTH.atDay(1).atStartOfDay())).isFalse();
+		assertThat(cache.coversClosedPeriod("legalId", null, closedPeriod)).isTrue();
+		assertThat(cache.coversClosedPeriod(null, "facilityId", closedPeriod)).isTrue();
+		assertThat(cache.coversClosedPeriod(null, null, closedPeriod)).isFalse();
+	}
+
+	@Test
+	void findAllForClosedPeriodIsOnlyQueriedOnce() {
+		final var fromDateTime = CURRENT_MONTH.minusMonths(3).atDay(1).atStartOfDay();
+		final var toDateTime = CURRENT_MONTH.minusMonths(2).atDay(1).atStartOfDay();
+		final var query = new RecordingQuery(
+			entity(CURRENT_MONTH.minusMonths(3), "1"),
+			entity(CURRENT_MONTH.minusMonths(2), "2"),
+			entity(CURRENT_MONTH.minusMonths(1), "3"));
+
+		final var first = cache.findAll(ELECTRICITY, MONTH, "legalId", "facilityId", fromDateTime, toDateTime, by(ASC, "measurementTimestamp"), query);
+		final var second = cache.findAll(ELECTRICITY, MONTH, "legalId", "facilityId", fromDateTime, toDateTime, by(ASC, "measurementTimestamp"), query);
+
+		assertThat(first).hasValueSatisfying(entities -> assertThat(entities).extracting(MeasurementElectricityMonthEntity::getFacilityId).containsExactly("1", "2"));
+		assertThat(second).isEqualTo(first);
+		assertThat(query.ranges).containsExactly(List.of(fromDateTime, CURRENT_MONTH.minusMonths(1).atDay(1).atStartOfDay()));
+	}
+
+	@Test
+	void findAllWithOpenPeriodAlwaysQueriesOpenPeriod() {
+		final var fromDateTime = CURRENT_MONTH.minusMonths(1).atDay(1).atStartOfDay();
+		final var openPeriodStart = CURRENT_MONTH.atDay(1).atStartOfDay();
+		final var query = new RecordingQuery(
+			entity(CURRENT_MONTH.minusMonths(1), "closed"),
+			entity(CURRENT_MONTH, "open"));
+
+		cache.findAll(ELECTRICITY, MONTH, "legalId", null, fromDateTime, null, by(DESC, "measurementTimestamp"), query);
+		final var result = cache.findAll(ELECTRICITY, MONTH, "legalId", null, fromDateTime, null, by(DESC, "measurementTimestamp"), query);
+
+		assertThat(result).hasValueSatisfying(entities -> assertThat(entities).extracting(MeasurementElectricityMonthEntity::getFacilityId).containsExactly("open", "closed"));
+		assertThat(query.ranges).containsExactly(
+			List.of(fromDateTime, openPeriodStart),
+			List.of(openPeriodStart),
+			List.of(openPeriodStart));
+	}
+
+	@Test
+	void findAllFiltersCachedMonthsOnRequestedRange() {
+		final var month = CURRENT_MONTH.minusMonths(2);
+		final var query = new RecordingQuery(
+			entity(month, "start").withMeasurementTimestamp(month.atDay(1).atStartOfDay()),
+			entity(month, "middle").withMeasurementTimestamp(month.atDay(15).atStartOfDay()));
+
+		final var result = cache.findAll(ELECTRICITY, MONTH, "legalId", null, month.atDay(10).atStartOfDay(), month.atEndOfMonth().atStartOfDay(), by(ASC, "measurementTimestamp"), query);
+
+		assertThat(result).hasValueSatisfying(entities -> assertThat(entities).extracting(MeasurementElectricityMonthEntity::getFacilityId).containsExactly("middle"));
+	}
+
+	@Test
+	void findAllWithTooManyRowsInMissingMonthsIsNotCached() {
+		final var month = CURRENT_MONTH.minusMonths(2);
+		final var fromDateTime = month.atDay(1).atStartOfDay();
+		final var toDateTime = month.atEndOfMonth().atStartOfDay();
+		final var query = new RecordingQuery(entity(month, "1"), entity(month, "2"), entity(month, "3"), entity(month, "4"));
+
+		assertThat(cache.findAll(ELECTRICITY, MONTH, "legalId", null, fromDateTime, toDateTime, by(ASC, "measurementTimestamp"), query)).isEmpty();
+		assertThat(cache.findAll(ELECTRICITY, MONTH, "legalId", null, fromDateTime, toDateTime, by(ASC, "measurementTimestamp"), query)).isEmpty();
+
+		// Read again on second call, as nothing was cached
+		assertThat(query.limits).containsExactly(4, 4);
+	}
+
+	@Test
+	void findAllWithTooManyRowsIncludingOpenPeriod() {
+		final var closedMonth = CURRENT_MONTH.minusMonths(1);
+		final var openPeriodTimestamp = CURRENT_MONTH.atDay(2).atStartOfDay();
+		final var query = new RecordingQuery(entity(closedMonth, "1"), entity(closedMonth, "2"),
+			entity(CURRENT_MONTH, "3").withMeasurementTimestamp(openPeriodTimestamp), entity(CURRENT_MONTH, "4").withMeasurementTimestamp(openPeriodTimestamp));
+
+		assertThat(cache.findAll(ELECTRICITY, MONTH, "legalId", null, closedMonth.atDay(1).atStartOfDay(), null, by(ASC, "measurementTimestamp"), query)).isEmpty();
+
+		// The closed month holds two rows, hence the open period is read with room for one row more than allowed
+		assertThat(query.limits).containsExactly(4, 2);
+	}
+
+	private static MeasurementElectricityMonthEntity entity(YearMonth month, String facilityId) {
+		return MeasurementElectricityMonthEntity.create()
+			.withFacilityId(facilityId)
+			.withMeasurementTimestamp(month.atDay(1).atStartOfDay());
+	}
+
+	/**
+	 * Query answering with at most limit entities within sent in range, recording the requested ranges (null values
+	 * excluded) and limits
+	 */
+	private static class RecordingQuery implements RangeQuery<MeasurementElectricityMonthEntity> {
+
+		private final List<MeasurementElectricityMonthEntity> entities;
+		private final List<List<LocalDateTime>> ranges = new ArrayList<>();
+		private final List<Integer> limits = new ArrayList<>();
+
+		RecordingQuery(MeasurementElectricityMonthEntity... entities) {
+			this.entities = List.of(entities);
+		}
+
+		@Override
+		public List<MeasurementElectricityMonthEntity> find(LocalDateTime from, LocalDateTime to, int limit) {
+			ranges.add(to == null ? List.of(from) : List.of(from, to));
+			limits.add(limit);
+			return entities.stream()
+				.filter(entity -> !entity.getMeasurementTimestamp().isBefore(from))
+				.filter(entity -> to == null || !entity.getMeasurementTimestamp().isAfter(to))
+				.limit(limit)
+				.toList();
+		}
+	}
+}
@@ -3,18 +3,34 @@ package se.sundsvall.datawarehousereader.service.logic;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.data.domain.Sort.by;
 import static org.springframework.data.domain.Sort.Direction.ASC;
+import static org.zalando.problem.Status.BAD_REQUEST;
 import static org.zalando.problem.Status.NOT_IMPLEMENTED;
+import static se.sundsvall.datawarehousereader.api.model.Category.DISTRICT_HEATING;
 import static se.sundsvall.datawarehousereader.api.model.measurement.Aggregation.HOUR;
 import static se.sundsvall.datawarehousereader.api.model.measurement.Aggregation.MONTH;
+import static se.sundsvall.datawarehousereader.api.model.measurement.Aggregation.QUARTER;
+import static se.sundsvall.datawarehousereader.api.model.measurement.Aggregation.WEEK;
+import static se.sundsvall.datawarehousereader.api.model.measurement.Aggregation.YEAR;
+import static se.sundsvall.datawarehousereader.integration.stadsbacken.model.measurement.MeasurementView.DISTRICT_HEATING_MONTH;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -24,13 +40,21 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.domain.Sort;
 import org.zalando.problem.ThrowableProblem;
 
+import se.sundsvall.datawarehousereader.api.model.PagingMode;
+import se.sundsvall.datawarehousereader.api.model.measurement.Measurement;
 import se.sundsvall.datawarehousereader.api.model.measurement.MeasurementParameters;
 import se.sundsvall.datawarehousereader.integration.stadsbacken.MeasurementDistrictHeatingMonthRepository;
+import se.sundsvall.datawarehousereader.integration.stadsbacken.MeasurementJdbcRepository;
 import se.sundsvall.datawarehousereader.integration.stadsbacken.model.measurement.MeasurementDistrictHeatingMonthEntity;
+import se.sundsvall.datawarehousereader.integration.stadsbacken.model.measurement.MeasurementRollup;
 
 @ExtendWith(MockitoExtension.class)
 class DistrictHeatingMeasurementProviderTest {
@@ -41,6 +65,9 @@ class DistrictHeatingMeasurementProviderTest {
 	@Mock
 	private Page<MeasurementDistrictHeatingMonthEntity> pageMock;
 
+	@Mock
+	private Slice<MeasurementDistrictHeatingMonthEntity> sliceMock;
+
 	@Mock
 	private MeasurementDistrictHeatingMonthEntity entityMock;
 
@@ -59,6 +86,15 @@ class DistrictHeatingMeasurementProviderTest {
 	@Captor
 	private ArgumentCaptor<LocalDateTime> toDateCaptor;
 
+	@Mock
+	private ClosedPeriodMeasurementCache closedPeriodCacheMock;
+
+	@Mock
+	private MeasurementJdbcRepository measurementJdbcRepositoryMock;
+
+	@Mock
+	private MeasurementReaderSelector measurementReaderSelectorMock;
+
 	@InjectMocks
 	private DistrictHeatingMeasurementProvider provider;
 
@@ -162,6 +198,41 @@ class DistrictHeatingMeasurementProviderTest {
 
 	}
 
+	@Test
+	void testKeysetPaging() {
+		final var searchParams = MeasurementParameters.create();
+		searchParams.setPagingMode(PagingMode.KEYSET);
+		searchParams.setLimit(1);
+
+		when(districtHeatingMonthRepositoryMock.findAllMatchingAfter(any(), any(), any(), any(), any(), anyInt())).thenReturn(sliceMock);
+		when(sliceMock.getContent()).thenReturn(List.of(entityMock));
+		when(sliceMock.hasNext()).thenReturn(true);
+		when(entityMock.getFacilityId()).thenReturn("facilityId");
+		when(entityMock.getMeasurementTimestamp()).thenReturn(LocalDateTime.of(2022, 1, 1, 0, 0));
+		when(entityMock.getReadingSequence()).thenReturn(1);
+		when(entityMock.getCustomerOrgId()).thenReturn("customerOrgId");
+
+		final var response = provider.getMeasurements(null, MONTH, null, null, searchParams);
+
+		verify(districtHeatingMonthRepositoryMock).findAllMatchingAfter(isNull(), isNull(), isNull(), isNull(), isNull(), eq(1));
+
+		assertThat(response.getMetaData().getCount()).isEqualTo(1);
+		assertThat(response.getMetaData().getLimit()).isEqualTo(1);
+		assertThat(response.getMetaData().getTotalPages()).isNull();
+		assertThat(response.getMetaData().getTotalRecords()).isNull();
+		assertThat(response.getMetaData().getContinuationToken()).isNotBlank();
+		assertThat(response.getMeasurements()).hasSize(1);
+
+		// Feed token back and verify that it is decoded into the last seen key
+		searchParams.setContinuationToken(response.getMetaData().getContinuationToken());
+		when(sliceMock.hasNext()).thenReturn(false);
+
+		final var lastResponse = provider.getMeasurements(null, MONTH, null, null, searchParams);
+
+		verify(districtHeatingMonthRepositoryMock).findAllMatchingAfter(isNull(), isNull(), isNull(), isNull(), eq(List.of("facilityId", LocalDateTime.of(2022, 1, 1, 0, 0), 1, "customerOrgId")), eq(1));
+		assertThat(lastResponse.getMetaData().getContinuationToken()).isNull();
+	}
+
 	@Test
 	void testProblemIsThrownWhenNotSupportedAggregation() {
 		final var searchParams = MeasurementParameters.create();
@@ -172,4 +243,272 @@ class DistrictHeatingMeasurementProviderTest {
 
 		verifyNoInteractions(districtHeatingMonthRepositoryMock);
 	}
+
+	@Test
+	void testSlicedPaging() {
+		final var searchParams = MeasurementParameters.create();
+		searchParams.setPagingMode(PagingMode.SLICE);
+
+		when(districtHeatingMonthRepositoryMock.findAllSlicedMatching(any(), any(), any(), any(), any())).thenReturn(sliceMock);
+		when(sliceMock.getContent()).thenReturn(List.of(entityMock));
+		when(sliceMock.hasNext()).thenReturn(false);
+
+		final var response = provider.getMeasurements(null, MONTH, null, null, searchParams);
+
+		verify(districtHeatingMonthRepositoryMock).findAllSlicedMatching(any(), any(), any(), any(), pageableCaptor.capture());
+
+		assertThat(pageableCaptor.getValue().getPageNumber()).isZero();
+		assertThat(pageableCaptor.getValue().getPageSize()).isEqualTo(100);
+		assertThat(response.getMetaData().getCount()).isEqualTo(1);
+		assertThat(response.getMetaData().getHasNext()).isFalse();
+		assertThat(response.getMetaData().getTotalPages()).isNull();
+		assertThat(response.getMetaData().getTotalRecords()).isNull();
+		assertThat(response.getMeasurements()).hasSize(1);
+	}
+
+	@Test
+	void testStreamMeasurements() {
+		final var searchParams = MeasurementParameters.create();
+		final var measurements = new ArrayList<Measurement>();
+		final var readingSequence = Integer.valueOf(22);
+
+		when(districtHeatingMonthRepositoryMock.streamAllMatching(any(), any(), any(), any(), any())).thenReturn(Stream.of(entityMock));
+		when(entityMock.getReadingSequence()).thenReturn(readingSequence);
+
+		provider.streamMeasurements(null, MONTH, null, null, searchParams, measurements::add);
+
+		verify(districtHeatingMonthRepositoryMock).streamAllMatching(null, null, null, null, by(ASC, "measurementTimestamp"));
+
+		assertThat(measurements).hasSize(1);
+		assertThat(measurements.get(0).getAggregatedOn()).isEqualTo(MONTH);
+		assertThat(measurements.get(0).getMetaData().get(0).getValue()).isEqualTo(readingSequence.toString());
+	}
+
+	@Test
+	void testStreamMeasurementsForNotSupportedAggregation() {
+		final var searchParams = MeasurementParameters.create();
+
+		ThrowableProblem e = assertThrows(ThrowableProblem.class, () -> provider.streamMeasurements(null, HOUR, null, null, searchParams, measurement -> {}));
+		assertThat(e.getStatus()).isEqualTo(NOT_IMPLEMENTED);
+		assertThat(e.getMessage()).isEqualTo("Not Implemented: aggregation 'HOUR' and category 'DISTRICT_HEATING'");
+
+		verifyNoInteractions(districtHeatingMonthRepositoryMock);
+	}
+
+	@Test
+	void testRolledUpToYear() {
+		final var searchParams = MeasurementParameters.create();
+		searchParams.setPagingMode(PagingMode.SLICE);
+		searchParams.setLimit(1);
+
+		when(districtHeatingMonthRepositoryMock.findAllSlicedRolledUpMatching(any(), any(), any(), any(), any(), any()))
+			.thenReturn(new SliceImpl<>(List.of(MeasurementRollup.create()), PageRequest.of(0, 1), true));
+
+		final var response = provider.getMeasurements("legalId", YEAR, null, null, searchParams);
+
+		verify(districtHeatingMonthRepositoryMock).findAllSlicedRolledUpMatching("legalId", null, null, null, YEAR, PageRequest.of(0, 1, by(ASC, "measurementTimestamp")));
+
+		assertThat(response.getMetaData().getCount()).isEqualTo(1);
+		assertThat(response.getMetaData().getHasNext()).isTrue();
+		assertThat(response.getMeasurements()).hasSize(1)
+			.allSatisfy(measurement -> {
+				assertThat(measurement.getAggregatedOn()).isEqualTo(YEAR);
+				assertThat(measurement.getMetaData()).isNull();
+			});
+	}
+
+	@Test
+	void testRolledUpToQuarter() {
+		final var searchParams = MeasurementParameters.create();
+		searchParams.setFacilityId("facilityId");
+		searchParams.setPage(3);
+		searchParams.setLimit(1);
+
+		when(districtHeatingMonthRepositoryMock.findAllRolledUpMatching(any(), any(), any(), any(), any(), any(Pageable.class)))
+			.thenReturn(new PageImpl<>(List.of(), PageRequest.of(2, 1), 2));
+
+		final var response = provider.getMeasurements(null, QUARTER, null, null, searchParams);
+
+		verify(districtHeatingMonthRepositoryMock).findAllRolledUpMatching(null, "facilityId", null, null, QUARTER, PageRequest.of(2, 1, by(ASC, "measurementTimestamp")));
+
+		assertThat(response.getMetaData().getCount()).isZero();
+		assertThat(response.getMetaData().getTotalPages()).isEqualTo(2);
+		assertThat(response.getMetaData().getTotalRecords()).isEqualTo(2);
+		assertThat(response.getMeasurements()).isEmpty();
+	}
+
+	@Test
+	void testRolledUpWithoutPartyOrFacility() {
+		final var searchParams = MeasurementParameters.create();
+
+		ThrowableProblem e = assertThrows(ThrowableProblem.class, () -> provider.getMeasurements(null, YEAR, null, null, searchParams));
+		assertThat(e.getStatus()).isEqualTo(BAD_REQUEST);
+		assertThat(e.getMessage()).isEqualTo("Bad Request: Aggregation YEAR requires partyId or facilityId");
+
+		e = assertThrows(ThrowableProblem.class, () -> provider.streamMeasurements(null, QUARTER, null, null, searchParams, measurement -> {}));
+		assertThat(e.getStatus()).isEqualTo(BAD_REQUEST);
+		assertThat(e.getMessage()).isEqualTo("Bad Request: Aggregation QUARTER requires partyId or facilityId");
+
+		verifyNoInteractions(districtHeatingMonthRepositoryMock);
+	}
+
+	@Test
+	void testRolledUpWithKeysetPaging() {
+		final var searchParams = MeasurementParameters.create();
+		searchParams.setPagingMode(PagingMode.KEYSET);
+
+		ThrowableProblem e = assertThrows(ThrowableProblem.class, () -> provider.getMeasurements(null, QUARTER, null, null, searchParams));
+		assertThat(e.getStatus()).isEqualTo(BAD_REQUEST);
+		assertThat(e.getMessage()).isEqualTo("Bad Request: Paging mode KEYSET is not supported for aggregation QUARTER");
+
+		verifyNoInteractions(districtHeatingMonthRepositoryMock);
+	}
+
+	@Test
+	void testProblemIsThrownForWeek() {
+		final var searchParams = MeasurementParameters.create();
+
+		ThrowableProblem e = assertThrows(ThrowableProblem.class, () -> provider.getMeasurements(null, WEEK, null, null, searchParams));
+		assertThat(e.getStatus()).isEqualTo(NOT_IMPLEMENTED);
+		assertThat(e.getMessage()).isEqualTo("Not Implemented: aggregation 'WEEK' and category 'DISTRICT_HEATING'");
+
+		verifyNoInteractions(districtHeatingMonthRepositoryMock);
+	}
+
+	@Test
+	void testStreamMeasurementsRolledUpToQuarter() {
+		final var searchParams = MeasurementParameters.create();
+		final var measurements = new ArrayList<Measurement>();
+
+		when(districtHeatingMonthRepositoryMock.findAllRolledUpMatching(any(), any(), any(), any(), any(), any(Sort.class))).thenReturn(List.of(MeasurementRollup.create()));
+
+		provider.streamMeasurements("legalId", QUARTER, null, null, searchParams, measurements::add);
+
+		verify(districtHeatingMonthRepositoryMock).findAllRolledUpMatching("legalId", null, null, null, QUARTER, by(ASC, "measurementTimestamp"));
+		assertThat(measurements).hasSize(1)
+			.allSatisfy(measurement -> assertThat(measurement.getAggregatedOn()).isEqualTo(QUARTER));
+	}
+
+	@Test
+	void testClosedPeriodIsServedThroughCache() {
+		final var searchParams = MeasurementParameters.create();
+		searchParams.setFacilityId("facilityId");
+		searchParams.setLimit(1);
+		final var fromDateTime = LocalDateTime.now().minusYears(1);
+		final var toDateTime = LocalDateTime.now();
+
+		when(closedPeriodCacheMock.coversClosedPeriod("legalId", "facilityId", fromDateTime)).thenReturn(true);
+		when(closedPeriodCacheMock.findAll(any(), any(), any(), any(), any(), any(), any(), any())).thenAnswer(invocation -> {
+			final ClosedPeriodMeasurementCache.RangeQuery<?> query = invocation.getArgument(7);
+			return Optional.of(query.find(fromDateTime, toDateTime, 5001));
+		});
+		when(districtHeatingMonthRepositoryMock.findAllSlicedMatching(any(), any(), any(), any(), any())).thenReturn(new SliceImpl<>(List.of(entityMock, entityMock)));
+
+		final var response = provider.getMeasurements("legalId", MONTH, fromDateTime, toDateTime, searchParams);
+
+		verify(closedPeriodCacheMock).findAll(eq(DISTRICT_HEATING), eq(MONTH), eq("legalId"), eq("facilityId"), eq(fromDateTime), eq(toDateTime), eq(by(ASC, "measurementTimestamp")), any());
+		verify(districtHeatingMonthRepositoryMock).findAllSlicedMatching("legalId", "facilityId", fromDateTime, toDateTime, PageRequest.of(0, 5001));
+		verify(districtHeatingMonthRepositoryMock, never()).findAllMatching(any(), any(), any(), any(), any());
+
+		assertThat(response.getMetaData().getCount()).isEqualTo(1);
+		assertThat(response.getMetaData().getTotalPages()).isEqualTo(2);
+		assertThat(response.getMetaData().getTotalRecords()).isEqualTo(2);
+		assertThat(response.getMeasurements()).hasSize(1);
+	}
+
+	@Test
+	void testSlicedClosedPeriodIsServedThroughCache() {
+		final var searchParams = MeasurementParameters.create();
+		searchParams.setFacilityId("facilityId");
+		searchParams.setLimit(1);
+		searchParams.setPagingMode(PagingMode.SLICE);
+		final var fromDateTime = LocalDateTime.now().minusYears(1);
+		final var toDateTime = LocalDateTime.now();
+
+		when(closedPeriodCacheMock.coversClosedPeriod("legalId", "facilityId", fromDateTime)).thenReturn(true);
+		when(closedPeriodCacheMock.findAll(any(), any(), any(), any(), any(), any(), any(), any())).thenAnswer(invocation -> {
+			final ClosedPeriodMeasurementCache.RangeQuery<?> query = invocation.getArgument(7);
+			return Optional.of(query.find(fromDateTime, toDateTime, 5001));
+		});
+		when(districtHeatingMonthRepositoryMock.findAllSlicedMatching(any(), any(), any(), any(), any())).thenReturn(new SliceImpl<>(List.of(entityMock, entityMock)));
+
+		final var response = provider.getMeasurements("legalId", MONTH, fromDateTime, toDateTime, searchParams);
+
+		verify(districtHeatingMonthRepositoryMock).findAllSlicedMatching("legalId", "facilityId", fromDateTime, toDateTime, PageRequest.of(0, 5001));
+		verify(districtHeatingMonthRepositoryMock, never()).findAllMatching(any(), any(), any(), any(), any());
+
+		assertThat(response.getMetaData().getCount()).isEqualTo(1);
+		assertThat(response.getMetaData().getHasNext()).isTrue();
+		assertThat(response.getMetaData().getTotalPages()).isNull();
+		assertThat(response.getMetaData().getTotalRecords()).isNull();
+		assertThat(response.getMeasurements()).hasSize(1);
+	}
+
+	@Test
+	void testClosedPeriodTooLargeForCacheIsPagedInDatabase() {
+		final var searchParams = MeasurementParameters.create();
+		searchParams.setFacilityId("facilityId");
+		final var fromDateTime = LocalDateTime.now().minusYears(1);
+		final var toDateTime = LocalDateTime.now();
+
+		when(closedPeriodCacheMock.coversClosedPeriod("legalId", "facilityId", fromDateTime)).thenReturn(true);
+		when(closedPeriodCacheMock.findAll(any(), any(), any(), any(), any(), any(), any(), any())).thenReturn(Optional.empty());
+		when(districtHeatingMonthRepositoryMock.findAllMatching(any(), any(), any(), any(), any(Pageable.class))).thenReturn(new PageImpl<>(List.of(entityMock), PageRequest.of(0, 100), 20000));
+
+		final var response = provider.getMeasurements("legalId", MONTH, fromDateTime, toDateTime, searchParams);
+
+		verify(districtHeatingMonthRepositoryMock).findAllMatching("legalId", "facilityId", fromDateTime, toDateTime, PageRequest.of(0, 100, by(ASC, "measurementTimestamp")));
+		assertThat(response.getMetaData().getTotalRecords()).isEqualTo(20000);
+		assertThat(response.getMeasurements()).hasSize(1);
+	}
+
+	@Test
+	void testReadThroughJdbc() {
+		final var searchParams = MeasurementParameters.create();
+		searchParams.setPage(2);
+		searchParams.setLimit(10);
+
+		when(measurementReaderSelectorMock.useJdbc()).thenReturn(true);
+		when(measurementJdbcRepositoryMock.findAllMatching(eq(DISTRICT_HEATING_MONTH), any(), any(), any(), any(), any(), any())).thenAnswer(invocation -> {
+			final UnaryOperator<Measurement> decorator = invocation.getArgument(6);
+			return new PageImpl<>(List.of(decorator.apply(Measurement.create())), PageRequest.of(1, 10), 11);
+		});
+
+		final var response = provider.getMeasurements("legalId", MONTH, null, null, searchParams);
+
+		verify(measurementJdbcRepositoryMock).findAllMatching(eq(DISTRICT_HEATING_MONTH), eq("legalId"), isNull(), isNull(), isNull(), pageableCaptor.capture(), any());
+		verifyNoInteractions(districtHeatingMonthRepositoryMock);
+
+		assertThat(pageableCaptor.getValue().getPageNumber()).isEqualTo(1);
+		assertThat(pageableCaptor.getValue().getPageSize()).isEqualTo(10);
+		assertThat(response.getMetaData().getCount()).isEqualTo(1);
+		assertThat(response.getMetaData().getTotalPages()).isEqualTo(2);
+		assertThat(response.getMetaData().getTotalRecords()).isEqualTo(11);
+		assertThat(response.getMeasurements()).hasSize(1).allSatisfy(measurement -> {
+			assertThat(measurement.getAggregatedOn()).isEqualTo(MONTH);
+			assertThat(measurement.getCategory()).isEqualTo(DISTRICT_HEATING);
+		});
+	}
+
+	@Test
+	void testStreamMeasurementsThroughJdbc() {
+		final var searchParams = MeasurementParameters.create();
+		final var measurements = new ArrayList<Measurement>();
+
+		when(measurementReaderSelectorMock.useJdbc()).thenReturn(true);
+		doAnswer(invocation -> {
+			final UnaryOperator<Measurement> decorator = invocation.getArgument(6);
+			final Consumer<Measurement> consumer = invocation.getArgument(7);
+			consumer.accept(decorator.apply(Measurement.create()));
+			return null;
+		}).when(measurementJdbcRepositoryMock).streamAllMatching(eq(DISTRICT_HEATING_MONTH), any(), any(), any(), any(), any(), any(), any());
+
+		provider.streamMeasurements(null, MONTH, null, null, searchParams, measurements::add);
+
+		verifyNoInteractions(districtHeatingMonthRepositoryMock);
+
+		assertThat(measurements).hasSize(1);
+		assertThat(measurements.get(0).getAggregatedOn()).isEqualTo(MONTH);
+		assertThat(measurements.get(0).getCategory()).isEqualTo(DISTRICT_HEATING);
+	}
 }
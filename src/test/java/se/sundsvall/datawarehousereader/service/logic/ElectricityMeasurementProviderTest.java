@@ -4,18 +4,34 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.data.domain.Sort.by;
 import static org.springframework.data.domain.Sort.Direction.ASC;
+import static org.zalando.problem.Status.BAD_REQUEST;
 import static org.zalando.problem.Status.NOT_IMPLEMENTED;
+import static se.sundsvall.datawarehousereader.api.model.Category.ELECTRICITY;
 import static se.sundsvall.datawarehousereader.api.model.measurement.Aggregation.DAY;
 import static se.sundsvall.datawarehousereader.api.model.measurement.Aggregation.HOUR;
 import static se.sundsvall.datawarehousereader.api.model.measurement.Aggregation.MONTH;
+import static se.sundsvall.datawarehousereader.api.model.measurement.Aggregation.QUARTER;
+import static se.sundsvall.datawarehousereader.api.model.measurement.Aggregation.WEEK;
+import static se.sundsvall.datawarehousereader.api.model.measurement.Aggregation.YEAR;
+import static se.sundsvall.datawarehousereader.integration.stadsbacken.model.measurement.MeasurementView.ELECTRICITY_DAY;
+import static se.sundsvall.datawarehousereader.integration.stadsbacken.model.measurement.MeasurementView.ELECTRICITY_MONTH;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -25,14 +41,23 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
 import org.zalando.problem.ThrowableProblem;
 
+import se.sundsvall.datawarehousereader.api.model.PagingMode;
+import se.sundsvall.datawarehousereader.api.model.measurement.Measurement;
 import se.sundsvall.datawarehousereader.api.model.measurement.MeasurementParameters;
 import se.sundsvall.datawarehousereader.integration.stadsbacken.MeasurementElectricityDayRepository;
 import se.sundsvall.datawarehousereader.integration.stadsbacken.MeasurementElectricityMonthRepository;
+import se.sundsvall.datawarehousereader.integration.stadsbacken.MeasurementJdbcRepository;
 import se.sundsvall.datawarehousereader.integration.stadsbacken.model.measurement.MeasurementElectricityDayEntity;
 import se.sundsvall.datawarehousereader.integration.stadsbacken.model.measurement.MeasurementElectricityMonthEntity;
+import se.sundsvall.datawarehousereader.integration.stadsbacken.model.measurement.MeasurementRollup;
 
 @ExtendWith(MockitoExtension.class)
 class ElectricityMeasurementProviderTest {
@@ -49,6 +74,9 @@ class ElectricityMeasurementProviderTest {
 	@Mock
 	private Page<MeasurementElectricityDayEntity> pageDayMock;
 
+	@Mock
+	private Slice<MeasurementElectricityDayEntity> sliceDayMock;
+
 	@Mock
 	private MeasurementElectricityMonthEntity entityMonthMock;
 
@@ -70,6 +98,15 @@ class ElectricityMeasurementProviderTest {
 	@Captor
 	private ArgumentCaptor<LocalDateTime> toDateCaptor;
 
+	@Mock
+	private ClosedPeriodMeasurementCache closedPeriodCacheMock;
+
+	@Mock
+	private MeasurementJdbcRepository measurementJdbcRepositoryMock;
+
+	@Mock
+	private MeasurementReaderSelector measurementReaderSelectorMock;
+
 	@InjectMocks
 	private ElectricityMeasurementProvider provider;
 
@@ -260,4 +297,324 @@ class ElectricityMeasurementProviderTest {
 
 		verifyNoInteractions(electricityMonthRepositoryMock);
 	}
+
+	@Test
+	void testSlicedPagingForDay() {
+		final var searchParams = MeasurementParameters.create();
+		searchParams.setPagingMode(PagingMode.SLICE);
+
+		when(electricityDayRepositoryMock.findAllSlicedMatching(any(), any(), any(), any(), any())).thenReturn(sliceDayMock);
+		when(sliceDayMock.getContent()).thenReturn(List.of(entityDayMock));
+		when(sliceDayMock.hasNext()).thenReturn(true);
+
+		final var response = provider.getMeasurements(null, DAY, null, null, searchParams);
+
+		verify(electricityDayRepositoryMock).findAllSlicedMatching(any(), any(), any(), any(), pageableCaptor.capture());
+		verifyNoInteractions(electricityMonthRepositoryMock);
+
+		assertThat(pageableCaptor.getValue().getPageNumber()).isZero();
+		assertThat(pageableCaptor.getValue().getPageSize()).isEqualTo(100);
+		assertThat(pageableCaptor.getValue().getSort()).isEqualTo(by(ASC, "measurementTimestamp"));
+		assertThat(response.getMetaData().getCount()).isEqualTo(1);
+		assertThat(response.getMetaData().getHasNext()).isTrue();
+		assertThat(response.getMetaData().getTotalPages()).isNull();
+		assertThat(response.getMetaData().getTotalRecords()).isNull();
+		assertThat(response.getMeasurements()).hasSize(1);
+	}
+
+	@Test
+	void testStreamMeasurementsForMonth() {
+		final var searchParams = MeasurementParameters.create();
+		final var measurements = new ArrayList<Measurement>();
+
+		when(electricityMonthRepositoryMock.streamAllMatching(any(), any(), any(), any(), any())).thenReturn(Stream.of(entityMonthMock, entityMonthMock));
+
+		provider.streamMeasurements(null, MONTH, null, null, searchParams, measurements::add);
+
+		verify(electricityMonthRepositoryMock).streamAllMatching(null, null, null, null, by(ASC, "measurementTimestamp"));
+		verifyNoInteractions(electricityDayRepositoryMock);
+
+		assertThat(measurements).hasSize(2)
+			.allSatisfy(measurement -> {
+				assertThat(measurement.getAggregatedOn()).isEqualTo(MONTH);
+				assertThat(measurement.getCategory()).isEqualTo(ELECTRICITY);
+			});
+	}
+
+	@Test
+	void testStreamMeasurementsForNotImplementedAggregation() {
+		final var searchParams = MeasurementParameters.create();
+		final var measurements = new ArrayList<Measurement>();
+
+		ThrowableProblem e = assertThrows(ThrowableProblem.class, () -> provider.streamMeasurements(null, HOUR, null, null, searchParams, measurements::add));
+		assertThat(e.getStatus()).isEqualTo(NOT_IMPLEMENTED);
+		assertThat(e.getMessage()).isEqualTo("Not Implemented: aggregation 'HOUR' and category 'ELECTRICITY'");
+
+		assertThat(measurements).isEmpty();
+		verifyNoInteractions(electricityDayRepositoryMock, electricityMonthRepositoryMock);
+	}
+
+	@Test
+	void testRolledUpToWeek() {
+		final var partyId = "partyId";
+		final var searchParams = MeasurementParameters.create();
+		searchParams.setPartyId(partyId);
+		searchParams.setLimit(2);
+
+		when(electricityDayRepositoryMock.findAllRolledUpMatching(any(), any(), any(), any(), eq(WEEK), any(Pageable.class)))
+			.thenReturn(new PageImpl<>(List.of(MeasurementRollup.create(), MeasurementRollup.create()), PageRequest.of(0, 2), 3));
+
+		final var response = provider.getMeasurements("legalId", WEEK, null, null, searchParams);
+
+		verify(electricityDayRepositoryMock).findAllRolledUpMatching("legalId", null, null, null, WEEK, PageRequest.of(0, 2, by(ASC, "measurementTimestamp")));
+		verifyNoInteractions(electricityMonthRepositoryMock);
+
+		assertThat(response.getMetaData().getCount()).isEqualTo(2);
+		assertThat(response.getMetaData().getTotalPages()).isEqualTo(2);
+		assertThat(response.getMetaData().getTotalRecords()).isEqualTo(3);
+		assertThat(response.getMeasurements()).hasSize(2)
+			.allSatisfy(measurement -> {
+				assertThat(measurement.getAggregatedOn()).isEqualTo(WEEK);
+				assertThat(measurement.getCategory()).isEqualTo(ELECTRICITY);
+				assertThat(measurement.getPartyId()).isEqualTo(partyId);
+			});
+	}
+
+	@Test
+	void testRolledUpToQuarterAndYear() {
+		final var searchParams = MeasurementParameters.create();
+		searchParams.setFacilityId("facilityId");
+
+		when(electricityMonthRepositoryMock.findAllRolledUpMatching(any(), any(), any(), any(), any(), any(Pageable.class))).thenReturn(new PageImpl<>(List.of(MeasurementRollup.create())));
+
+		assertThat(provider.getMeasurements(null, QUARTER, null, null, searchParams).getMeasurements()).extracting(Measurement::getAggregatedOn).containsExactly(QUARTER);
+		assertThat(provider.getMeasurements(null, YEAR, null, null, searchParams).getMeasurements()).extracting(Measurement::getAggregatedOn).containsExactly(YEAR);
+
+		verify(electricityMonthRepositoryMock).findAllRolledUpMatching(null, "facilityId", null, null, QUARTER, PageRequest.of(0, 100, by(ASC, "measurementTimestamp")));
+		verify(electricityMonthRepositoryMock).findAllRolledUpMatching(null, "facilityId", null, null, YEAR, PageRequest.of(0, 100, by(ASC, "measurementTimestamp")));
+		verifyNoInteractions(electricityDayRepositoryMock);
+	}
+
+	@Test
+	void testRolledUpSliced() {
+		final var searchParams = MeasurementParameters.create();
+		searchParams.setPagingMode(PagingMode.SLICE);
+		searchParams.setLimit(1);
+
+		when(electricityMonthRepositoryMock.findAllSlicedRolledUpMatching(any(), any(), any(), any(), any(), any()))
+			.thenReturn(new SliceImpl<>(List.of(MeasurementRollup.create()), PageRequest.of(0, 1), true));
+
+		final var response = provider.getMeasurements("legalId", YEAR, null, null, searchParams);
+
+		verify(electricityMonthRepositoryMock).findAllSlicedRolledUpMatching("legalId", null, null, null, YEAR, PageRequest.of(0, 1, by(ASC, "measurementTimestamp")));
+		verifyNoInteractions(electricityDayRepositoryMock);
+
+		assertThat(response.getMetaData().getCount()).isOne();
+		assertThat(response.getMetaData().getHasNext()).isTrue();
+		assertThat(response.getMeasurements()).extracting(Measurement::getAggregatedOn).containsExactly(YEAR);
+	}
+
+	@Test
+	void testRolledUpWithoutPartyOrFacility() {
+		final var searchParams = MeasurementParameters.create();
+
+		ThrowableProblem e = assertThrows(ThrowableProblem.class, () -> provider.getMeasurements(null, WEEK, null, null, searchParams));
+		assertThat(e.getStatus()).isEqualTo(BAD_REQUEST);
+		assertThat(e.getMessage()).isEqualTo("Bad Request: Aggregation WEEK requires partyId or facilityId");
+
+		e = assertThrows(ThrowableProblem.class, () -> provider.streamMeasurements(null, QUARTER, null, null, searchParams, measurement -> {}));
+		assertThat(e.getStatus()).isEqualTo(BAD_REQUEST);
+		assertThat(e.getMessage()).isEqualTo("Bad Request: Aggregation QUARTER requires partyId or facilityId");
+
+		verifyNoInteractions(electricityDayRepositoryMock, electricityMonthRepositoryMock);
+	}
+
+	@Test
+	void testRolledUpWithKeysetPaging() {
+		final var searchParams = MeasurementParameters.create();
+		searchParams.setPagingMode(PagingMode.KEYSET);
+
+		ThrowableProblem e = assertThrows(ThrowableProblem.class, () -> provider.getMeasurements(null, YEAR, null, null, searchParams));
+		assertThat(e.getStatus()).isEqualTo(BAD_REQUEST);
+		assertThat(e.getMessage()).isEqualTo("Bad Request: Paging mode KEYSET is not supported for aggregation YEAR");
+
+		verifyNoInteractions(electricityDayRepositoryMock, electricityMonthRepositoryMock);
+	}
+
+	@Test
+	void testStreamMeasurementsRolledUpToWeek() {
+		final var searchParams = MeasurementParameters.create();
+		final var measurements = new ArrayList<Measurement>();
+
+		when(electricityDayRepositoryMock.findAllRolledUpMatching(any(), any(), any(), any(), any(), any(Sort.class))).thenReturn(List.of(MeasurementRollup.create(), MeasurementRollup.create()));
+
+		provider.streamMeasurements("legalId", WEEK, null, null, searchParams, measurements::add);
+
+		verify(electricityDayRepositoryMock).findAllRolledUpMatching("legalId", null, null, null, WEEK, by(ASC, "measurementTimestamp"));
+		verifyNoInteractions(electricityMonthRepositoryMock);
+
+		assertThat(measurements).hasSize(2)
+			.allSatisfy(measurement -> assertThat(measurement.getAggregatedOn()).isEqualTo(WEEK));
+	}
+
+	@Test
+	void testClosedPeriodIsServedThroughCache() {
+		final var searchParams = MeasurementParameters.create();
+		searchParams.setFacilityId("facilityId");
+		searchParams.setLimit(1);
+		final var fromDateTime = LocalDateTime.now().minusYears(1);
+		final var toDateTime = LocalDateTime.now();
+
+		when(closedPeriodCacheMock.coversClosedPeriod("legalId", "facilityId", fromDateTime)).thenReturn(true);
+		when(closedPeriodCacheMock.findAll(any(), any(), any(), any(), any(), any(), any(), any())).thenAnswer(invocation -> {
+			final ClosedPeriodMeasurementCache.RangeQuery<?> query = invocation.getArgument(7);
+			return Optional.of(query.find(fromDateTime, toDateTime, 5001));
+		});
+		when(electricityMonthRepositoryMock.findAllSlicedMatching(any(), any(), any(), any(), any())).thenReturn(new SliceImpl<>(List.of(entityMonthMock, entityMonthMock)));
+
+		final var response = provider.getMeasurements("legalId", MONTH, fromDateTime, toDateTime, searchParams);
+
+		verify(closedPeriodCacheMock).findAll(eq(ELECTRICITY), eq(MONTH), eq("legalId"), eq("facilityId"), eq(fromDateTime), eq(toDateTime), eq(by(ASC, "measurementTimestamp")), any());
+		verify(electricityMonthRepositoryMock).findAllSlicedMatching("legalId", "facilityId", fromDateTime, toDateTime, PageRequest.of(0, 5001));
+		verify(electricityMonthRepositoryMock, never()).findAllMatching(any(), any(), any(), any(), any());
+
+		assertThat(response.getMetaData().getCount()).isEqualTo(1);
+		assertThat(response.getMetaData().getTotalPages()).isEqualTo(2);
+		assertThat(response.getMetaData().getTotalRecords()).isEqualTo(2);
+		assertThat(response.getMeasurements()).hasSize(1);
+	}
+
+	@Test
+	void testSlicedClosedPeriodIsServedThroughCache() {
+		final var searchParams = MeasurementParameters.create();
+		searchParams.setFacilityId("facilityId");
+		searchParams.setLimit(1);
+		searchParams.setPagingMode(PagingMode.SLICE);
+		final var fromDateTime = LocalDateTime.now().minusYears(1);
+		final var toDateTime = LocalDateTime.now();
+
+		when(closedPeriodCacheMock.coversClosedPeriod("legalId", "facilityId", fromDateTime)).thenReturn(true);
+		when(closedPeriodCacheMock.findAll(any(), any(), any(), any(), any(), any(), any(), any())).thenAnswer(invocation -> {
+			final ClosedPeriodMeasurementCache.RangeQuery<?> query = invocation.getArgument(7);
+			return Optional.of(query.find(fromDateTime, toDateTime, 5001));
+		});
+		when(electricityMonthRepositoryMock.findAllSlicedMatching(any(), any(), any(), any(), any())).thenReturn(new SliceImpl<>(List.of(entityMonthMock, entityMonthMock)));
+
+		final var response = provider.getMeasurements("legalId", MONTH, fromDateTime, toDateTime, searchParams);
+
+		verify(electricityMonthRepositoryMock).findAllSlicedMatching("legalId", "facilityId", fromDateTime, toDateTime, PageRequest.of(0, 5001));
+		verify(electricityMonthRepositoryMock, never()).findAllMatching(any(), any(), any(), any(), any());
+
+		assertThat(response.getMetaData().getCount()).isEqualTo(1);
+		assertThat(response.getMetaData().getHasNext()).isTrue();
+		assertThat(response.getMetaData().getTotalPages()).isNull();
+		assertThat(response.getMetaData().getTotalRecords()).isNull();
+		assertThat(response.getMeasurements()).hasSize(1);
+	}
+
+	@Test
+	void testClosedPeriodTooLargeForCacheIsPagedInDatabase() {
+		final var searchParams = MeasurementParameters.create();
+		searchParams.setFacilityId("facilityId");
+		final var fromDateTime = LocalDateTime.now().minusYears(1);
+		final var toDateTime = LocalDateTime.now();
+
+		when(closedPeriodCacheMock.coversClosedPeriod("legalId", "facilityId", fromDateTime)).thenReturn(true);
+		when(closedPeriodCacheMock.findAll(any(), any(), any(), any(), any(), any(), any(), any())).thenReturn(Optional.empty());
+		when(electricityMonthRepositoryMock.findAllMatching(any(), any(), any(), any(), any(Pageable.class))).thenReturn(new PageImpl<>(List.of(entityMonthMock), PageRequest.of(0, 100), 20000));
+
+		final var response = provider.getMeasurements("legalId", MONTH, fromDateTime, toDateTime, searchParams);
+
+		verify(electricityMonthRepositoryMock).findAllMatching("legalId", "facilityId", fromDateTime, toDateTime, PageRequest.of(0, 100, by(ASC, "measurementTimestamp")));
+		assertThat(response.getMetaData().getTotalRecords()).isEqualTo(20000);
+		assertThat(response.getMeasurements()).hasSize(1);
+	}
+
+	@Test
+	void testDayReadThroughJdbc() {
+		final var searchParams = MeasurementParameters.create();
+		searchParams.setPartyId("partyId");
+
+		when(measurementReaderSelectorMock.useJdbc()).thenReturn(true);
+		when(measurementJdbcRepositoryMock.findAllMatching(eq(ELECTRICITY_DAY), any(), any(), any(), any(), any(), any())).thenAnswer(invocation -> {
+			final UnaryOperator<Measurement> decorator = invocation.getArgument(6);
+			return new PageImpl<>(List.of(decorator.apply(Measurement.create())), PageRequest.of(0, 100), 1);
+		});
+
+		final var response = provider.getMeasurements("legalId", DAY, null, null, searchParams);
+
+		verify(measurementJdbcRepositoryMock).findAllMatching(eq(ELECTRICITY_DAY), eq("legalId"), isNull(), isNull(), isNull(), pageableCaptor.capture(), any());
+		verifyNoInteractions(electricityDayRepositoryMock, electricityMonthRepositoryMock);
+
+		assertThat(pageableCaptor.getValue().getPageNumber()).isZero();
+		assertThat(pageableCaptor.getValue().getPageSize()).isEqualTo(100);
+		assertThat(pageableCaptor.getValue().getSort()).isEqualTo(by(ASC, "measurementTimestamp"));
+		assertThat(response.getMetaData().getCount()).isEqualTo(1);
+		assertThat(response.getMetaData().getTotalPages()).isEqualTo(1);
+		assertThat(response.getMetaData().getTotalRecords()).isEqualTo(1);
+		assertThat(response.getMeasurements()).hasSize(1).allSatisfy(measurement -> {
+			assertThat(measurement.getPartyId()).isEqualTo("partyId");
+			assertThat(measurement.getAggregatedOn()).isEqualTo(DAY);
+			assertThat(measurement.getCategory()).isEqualTo(ELECTRICITY);
+		});
+	}
+
+	@Test
+	void testSlicedMonthReadThroughJdbc() {
+		final var searchParams = MeasurementParameters.create();
+		searchParams.setPagingMode(PagingMode.SLICE);
+
+		when(measurementReaderSelectorMock.useJdbc()).thenReturn(true);
+		when(measurementJdbcRepositoryMock.findAllSlicedMatching(eq(ELECTRICITY_MONTH), any(), any(), any(), any(), any(), any())).thenAnswer(invocation -> {
+			final UnaryOperator<Measurement> decorator = invocation.getArgument(6);
+			return new SliceImpl<>(List.of(decorator.apply(Measurement.create())), PageRequest.of(0, 100), true);
+		});
+
+		final var response = provider.getMeasurements(null, MONTH, null, null, searchParams);
+
+		verifyNoInteractions(electricityDayRepositoryMock, electricityMonthRepositoryMock);
+
+		assertThat(response.getMetaData().getCount()).isEqualTo(1);
+		assertThat(response.getMetaData().getHasNext()).isTrue();
+		assertThat(response.getMetaData().getTotalPages()).isNull();
+		assertThat(response.getMeasurements()).hasSize(1)
+			.allSatisfy(measurement -> assertThat(measurement.getAggregatedOn()).isEqualTo(MONTH));
+	}
+
+	@Test
+	void testStreamMeasurementsForDayThroughJdbc() {
+		final var searchParams = MeasurementParameters.create();
+		final var measurements = new ArrayList<Measurement>();
+
+		when(measurementReaderSelectorMock.useJdbc()).thenReturn(true);
+		doAnswer(invocation -> {
+			final UnaryOperator<Measurement> decorator = invocation.getArgument(6);
+			final Consumer<Measurement> consumer = invocation.getArgument(7);
+			consumer.accept(decorator.apply(Measurement.create()));
+			consumer.accept(decorator.apply(Measurement.create()));
+			return null;
+		}).when(measurementJdbcRepositoryMock).streamAllMatching(eq(ELECTRICITY_DAY), any(), any(), any(), any(), any(), any(), any());
+
+		provider.streamMeasurements(null, DAY, null, null, searchParams, measurements::add);
+
+		verify(measurementJdbcRepositoryMock).streamAllMatching(eq(ELECTRICITY_DAY), isNull(), isNull(), isNull(), isNull(), eq(by(ASC, "measurementTimestamp")), any(), any());
+		verifyNoInteractions(electricityDayRepositoryMock, electricityMonthRepositoryMock);
+
+		assertThat(measurements).hasSize(2)
+			.allSatisfy(measurement -> {
+				assertThat(measurement.getAggregatedOn()).isEqualTo(DAY);
+				assertThat(measurement.getCategory()).isEqualTo(ELECTRICITY);
+			});
+	}
+
+	@Test
+	void testRolledUpIsNotReadThroughJdbc() {
+		final var searchParams = MeasurementParameters.create();
+
+		when(electricityDayRepositoryMock.findAllRolledUpMatching(any(), any(), any(), any(), any(), any(Pageable.class))).thenReturn(Page.empty());
+
+		provider.getMeasurements("legalId", WEEK, null, null, searchParams);
+
+		verifyNoInteractions(measurementReaderSelectorMock, measurementJdbcRepositoryMock);
+	}
 }
@@ -0,0 +1,71 @@
+package se.sundsvall.datawarehousereader.service.logic;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static se.sundsvall.datawarehousereader.service.logic.LegalIdProvider.LEGAL_ID_LOOKUP_METRIC;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import se.sundsvall.datawarehousereader.integration.stadsbacken.AgreementRepository;
+
+@ExtendWith(MockitoExtension.class)
+class LegalIdProviderTest {
+
+	private static final String PARTY_ID = "81471222-5798-11e9-ae24-57fa13b361e1";
+
+	@Mock
+	private AgreementRepository agreementRepositoryMock;
+
+	@Mock
+	private PartyProvider partyProviderMock;
+
+	@Spy
+	private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	@InjectMocks
+	private LegalIdProvider provider;
+
+	@Test
+	void translateToLegalIdFromDataWarehouse() {
+		when(agreementRepositoryMock.findDistinctCustomerOrgIdsByUuid(PARTY_ID, PageRequest.ofSize(2))).thenReturn(List.of("legalId"));
+
+		assertThat(provider.translateToLegalId(PARTY_ID)).isEqualTo("legalId");
+
+		verifyNoInteractions(partyProviderMock);
+		assertThat(meterRegistry.counter(LEGAL_ID_LOOKUP_METRIC, "source", "datawarehouse").count()).isOne();
+	}
+
+	@ParameterizedTest
+	@MethodSource("fallbackArguments")
+	void translateToLegalIdFallsBackToParty(List<String> customerOrgIds) {
+		when(agreementRepositoryMock.findDistinctCustomerOrgIdsByUuid(PARTY_ID, PageRequest.ofSize(2))).thenReturn(customerOrgIds);
+		when(partyProviderMock.translateToLegalId(PARTY_ID)).thenReturn("legalIdFromParty");
+
+		assertThat(provider.translateToLegalId(PARTY_ID)).isEqualTo("legalIdFromParty");
+
+		verify(partyProviderMock).translateToLegalId(PARTY_ID);
+		assertThat(meterRegistry.counter(LEGAL_ID_LOOKUP_METRIC, "source", "party").count()).isOne();
+	}
+
+	private static Stream<Arguments> fallbackArguments() {
+		return Stream.of(
+			Arguments.of(List.of()),
+			Arguments.of(List.of("legalId1", "legalId2")));
+	}
+}
@@ -0,0 +1,42 @@
+package se.sundsvall.datawarehousereader.service.logic;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import se.sundsvall.datawarehousereader.integration.stadsbacken.configuration.MeasurementReaderProperties;
+
+class MeasurementReaderSelectorTest {
+
+	private final MeasurementReaderSelector selector = new MeasurementReaderSelector();
+
+	@Test
+	void useJdbcWithNoShare() {
+		ReflectionTestUtils.setField(selector, "properties", new MeasurementReaderProperties(0));
+
+		assertThat(countJdbc(1000)).isZero();
+	}
+
+	@Test
+	void useJdbcWithFullShare() {
+		ReflectionTestUtils.setField(selector, "properties", new MeasurementReaderProperties(1));
+
+		assertThat(countJdbc(1000)).isEqualTo(1000);
+	}
+
+	@Test
+	void useJdbcWithPartialShare() {
+		ReflectionTestUtils.setField(selector, "properties", new MeasurementReaderProperties(0.25));
+
+		assertThat(countJdbc(10000)).isBetween(2000L, 3000L);
+	}
+
+	private long countJdbc(int requests) {
+		return IntStream.range(0, requests)
+			.filter(i -> selector.useJdbc())
+			.count();
+	}
+}
@@ -0,0 +1,172 @@
+package se.sundsvall.datawarehousereader.service.logic;
+
+import static generated.se.sundsvall.party.PartyType.ENTERPRISE;
+import static generated.se.sundsvall.party.PartyType.PRIVATE;
+import static java.util.concurrent.TimeUnit.MINUTES;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static se.sundsvall.datawarehousereader.integration.party.configuration.PartyCacheConfiguration.LEGAL_IDS_CACHE;
+import static se.sundsvall.datawarehousereader.integration.party.configuration.PartyCacheConfiguration.PARTY_IDS_CACHE;
+import static se.sundsvall.datawarehousereader.integration.party.configuration.PartyCacheConfiguration.createIdCache;
+import static se.sundsvall.datawarehousereader.service.logic.PartyCacheRefresher.PARTY_CACHE_REFRESH_METRIC;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import se.sundsvall.datawarehousereader.integration.party.PartyClient;
+import se.sundsvall.datawarehousereader.integration.party.configuration.PartyCacheProperties;
+import se.sundsvall.datawarehousereader.integration.party.configuration.PartyCacheProperties.Refresh;
+
+@ExtendWith(MockitoExtension.class)
+class PartyCacheRefresherTest {
+
+	private static final Duration TIME_TO_LIVE = Duration.ofHours(1);
+
+	@Mock
+	private PartyClient partyClientMock;
+
+	@Mock
+	private PartyMappingStore mappingStoreMock;
+
+	@Spy
+	private CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+
+	@Spy
+	private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	@InjectMocks
+	private PartyCacheRefresher refresher;
+
+	private ExecutorService executor;
+
+	@BeforeEach
+	void setup() {
+		cacheManager.registerCustomCache(PARTY_IDS_CACHE, createIdCache(TIME_TO_LIVE, 100));
+		cacheManager.registerCustomCache(LEGAL_IDS_CACHE, createIdCache(TIME_TO_LIVE, 100));
+		executor = Executors.newSingleThreadExecutor();
+		ReflectionTestUtils.setField(refresher, "refreshExecutor", executor);
+		ReflectionTestUtils.setField(refresher, "properties", properties(true));
+	}
+
+	@AfterEach
+	void teardown() {
+		executor.shutdownNow();
+	}
+
+	@Test
+	void refreshPartyIdIfStaleWithStaleEntry() {
+		writeEntry(PARTY_IDS_CACHE, "PRIVATE:legalId", "partyId", 10);
+		when(partyClientMock.refreshPartyId(PRIVATE, "legalId")).thenReturn(Optional.of("newPartyId"));
+
+		refresher.refreshPartyIdIfStale(PRIVATE, "legalId");
+
+		verify(partyClientMock, timeout(1000)).refreshPartyId(PRIVATE, "legalId");
+		verify(mappingStoreMock, timeout(1000)).put(PRIVATE, "legalId", "newPartyId");
+	}
+
+	@Test
+	void refreshPartyIdIfStaleWithEntryNoLongerFound() throws Exception {
+		writeEntry(PARTY_IDS_CACHE, "PRIVATE:legalId", "partyId", 10);
+		when(partyClientMock.refreshPartyId(PRIVATE, "legalId")).thenReturn(Optional.empty());
+
+		refresher.refreshPartyIdIfStale(PRIVATE, "legalId");
+
+		verify(partyClientMock, timeout(1000)).refreshPartyId(PRIVATE, "legalId");
+		executor.shutdown();
+		executor.awaitTermination(5, SECONDS);
+		assertThat(cacheManager.getCache(PARTY_IDS_CACHE).get("PRIVATE:legalId")).isNull();
+		verifyNoInteractions(mappingStoreMock);
+	}
+
+	@Test
+	void refreshLegalIdIfStaleWithStaleEntry() {
+		writeEntry(LEGAL_IDS_CACHE, "ENTERPRISE:partyId", "legalId", 10);
+		when(partyClientMock.refreshLegalId(ENTERPRISE, "partyId")).thenReturn(Optional.of("legalId"));
+
+		refresher.refreshLegalIdIfStale(ENTERPRISE, "partyId");
+
+		verify(partyClientMock, timeout(1000)).refreshLegalId(ENTERPRISE, "partyId");
+		verify(mappingStoreMock, timeout(1000)).put(ENTERPRISE, "legalId", "partyId");
+	}
+
+	@Test
+	void refreshFailureKeepsCurrentValue() throws Exception {
+		writeEntry(PARTY_IDS_CACHE, "PRIVATE:legalId", "partyId", 10);
+		when(partyClientMock.refreshPartyId(PRIVATE, "legalId")).thenThrow(new IllegalStateException("Party is down"));
+
+		refresher.refreshPartyIdIfStale(PRIVATE, "legalId");
+
+		verify(partyClientMock, timeout(1000)).refreshPartyId(PRIVATE, "legalId");
+		executor.shutdown();
+		executor.awaitTermination(5, SECONDS);
+		assertThat(cacheManager.getCache(PARTY_IDS_CACHE).get("PRIVATE:legalId", String.class)).isEqualTo("partyId");
+		assertThat(meterRegistry.get(PARTY_CACHE_REFRESH_METRIC).tag("result", "failure").counter().count()).isOne();
+	}
+
+	@Test
+	void noRefreshForFreshEntry() {
+		writeEntry(PARTY_IDS_CACHE, "PRIVATE:legalId", "partyId", 55);
+
+		refresher.refreshPartyIdIfStale(PRIVATE, "legalId");
+
+		verifyNoInteractions(partyClientMock);
+	}
+
+	@Test
+	void noRefreshForMissingEntry() {
+		refresher.refreshPartyIdIfStale(PRIVATE, "legalId");
+
+		verifyNoInteractions(partyClientMock);
+	}
+
+	@Test
+	void noRefreshWhenDisabled() {
+		ReflectionTestUtils.setField(refresher, "properties", properties(false));
+		writeEntry(PARTY_IDS_CACHE, "PRIVATE:legalId", "partyId", 10);
+
+		refresher.refreshPartyIdIfStale(PRIVATE, "legalId");
+
+		verifyNoInteractions(partyClientMock);
+	}
+
+	@Test
+	void refreshPointIsSpreadWithinJitter() {
+		final var afterWrite = Duration.ofMinutes(30).toNanos();
+		final var refreshPoints = IntStream.range(0, 1000)
+			.mapToObj(i -> "PRIVATE:" + (5560000000L + i))
+			.map(refresher::refreshPoint)
+			.toList();
+
+		assertThat(refreshPoints).allSatisfy(refreshPoint -> assertThat(refreshPoint).isBetween((long) (afterWrite * 0.8), afterWrite));
+		assertThat(refreshPoints.stream().distinct().count()).isGreaterThan(900);
+	}
+
+	private void writeEntry(String cacheName, String key, String value, long minutesLeft) {
+		((CaffeineCache) cacheManager.getCache(cacheName)).getNativeCache().policy().expireVariably().orElseThrow().put(key, value, minutesLeft, MINUTES);
+	}
+
+	private static PartyCacheProperties properties(boolean refreshEnabled) {
+		return new PartyCacheProperties(TIME_TO_LIVE, 100, null, new Refresh(refreshEnabled, Duration.ofMinutes(30), 0.2, 1, 10));
+	}
+}
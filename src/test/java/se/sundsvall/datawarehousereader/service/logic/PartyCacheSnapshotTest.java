@@ -0,0 +1,134 @@
+package se.sundsvall.datawarehousereader.service.logic;
+
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
+import static java.util.concurrent.TimeUnit.MINUTES;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static se.sundsvall.datawarehousereader.integration.party.configuration.PartyCacheConfiguration.LEGAL_IDS_CACHE;
+import static se.sundsvall.datawarehousereader.integration.party.configuration.PartyCacheConfiguration.PARTY_IDS_CACHE;
+import static se.sundsvall.datawarehousereader.integration.party.configuration.PartyCacheConfiguration.createIdCache;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.github.benmanes.caffeine.cache.Cache;
+
+import se.sundsvall.datawarehousereader.integration.party.configuration.PartyCacheProperties;
+import se.sundsvall.datawarehousereader.integration.party.configuration.PartyCacheProperties.Snapshot;
+
+class PartyCacheSnapshotTest {
+
+	private static final String SECRET = "the-secret";
+
+	@TempDir
+	private Path tempDir;
+
+	@Test
+	void saveAndRestore() {
+		final var properties = properties(true);
+		final var source = cacheManager();
+		source.getCache(PARTY_IDS_CACHE).put("PRIVATE:legalId", "partyId");
+		source.getCache(LEGAL_IDS_CACHE).put("ENTERPRISE:partyId", "legalId");
+		nativeCache(source, LEGAL_IDS_CACHE).policy().expireVariably().orElseThrow().put("PRIVATE:partyId", "privateLegalId", 10, SECONDS);
+
+		snapshot(source, properties).saveOnShutdown();
+
+		final var target = cacheManager();
+		snapshot(target, properties).restore();
+
+		assertThat(target.getCache(PARTY_IDS_CACHE).get("PRIVATE:legalId", String.class)).isEqualTo("partyId");
+		assertThat(target.getCache(LEGAL_IDS_CACHE).get("ENTERPRISE:partyId", String.class)).isEqualTo("legalId");
+		assertThat(target.getCache(LEGAL_IDS_CACHE).get("PRIVATE:partyId", String.class)).isEqualTo("privateLegalId");
+
+		// Restored entries keep their original point of expiry
+		assertThat(nativeCache(target, LEGAL_IDS_CACHE).policy().expireVariably().orElseThrow().getExpiresAfter("PRIVATE:partyId", SECONDS).getAsLong()).isBetween(1L, 10L);
+		assertThat(nativeCache(target, PARTY_IDS_CACHE).policy().expireVariably().orElseThrow().getExpiresAfter("PRIVATE:legalId", MINUTES).getAsLong()).isBetween(50L, 60L);
+	}
+
+	@Test
+	void saveAndRestoreWhenDisabled() {
+		final var properties = properties(false);
+		final var source = cacheManager();
+		source.getCache(PARTY_IDS_CACHE).put("PRIVATE:legalId", "partyId");
+
+		snapshot(source, properties).saveOnSchedule();
+
+		assertThat(properties.snapshot().path()).doesNotExist();
+	}
+
+	@Test
+	void snapshotIsEncrypted() throws IOException {
+		final var properties = properties(true);
+		final var source = cacheManager();
+		source.getCache(PARTY_IDS_CACHE).put("PRIVATE:198001011234", "partyId");
+
+		snapshot(source, properties).saveOnSchedule();
+
+		assertThat(new String(Files.readAllBytes(properties.snapshot().path()), ISO_8859_1)).doesNotContain("198001011234", "partyId", PARTY_IDS_CACHE);
+
+		// A snapshot written with another secret is not restored
+		final var target = cacheManager();
+		snapshot(target, properties(true, properties.snapshot().path(), "other-secret")).restore();
+
+		assertThat(nativeCache(target, PARTY_IDS_CACHE).asMap()).isEmpty();
+	}
+
+	@Test
+	void saveWithoutPathOrSecret() {
+		final var source = cacheManager();
+		source.getCache(PARTY_IDS_CACHE).put("PRIVATE:legalId", "partyId");
+
+		final var withoutPath = snapshot(source, properties(true, null, SECRET));
+		final var withoutSecret = snapshot(source, properties(true, tempDir.resolve("party-cache.snapshot"), null));
+
+		withoutPath.saveOnShutdown();
+		withoutSecret.saveOnShutdown();
+
+		assertThat(withoutPath.isConfigured()).isFalse();
+		assertThat(withoutSecret.isConfigured()).isFalse();
+		assertThat(tempDir).isEmptyDirectory();
+	}
+
+	@Test
+	void restoreWithoutSnapshot() {
+		final var target = cacheManager();
+
+		snapshot(target, properties(true)).restore();
+
+		assertThat(nativeCache(target, PARTY_IDS_CACHE).asMap()).isEmpty();
+	}
+
+	private PartyCacheProperties properties(boolean enabled) {
+		return properties(enabled, tempDir.resolve("party-cache.snapshot"), SECRET);
+	}
+
+	private static PartyCacheProperties properties(boolean enabled, Path path, String secret) {
+		return new PartyCacheProperties(Duration.ofHours(1), 100, new Snapshot(enabled, path, secret, Duration.ofMinutes(15)), null);
+	}
+
+	private static CaffeineCacheManager cacheManager() {
+		final var cacheManager = new CaffeineCacheManager();
+		cacheManager.registerCustomCache(PARTY_IDS_CACHE, createIdCache(Duration.ofHours(1), 100));
+		cacheManager.registerCustomCache(LEGAL_IDS_CACHE, createIdCache(Duration.ofHours(1), 100));
+		return cacheManager;
+	}
+
+	private static Cache<Object, Object> nativeCache(CaffeineCacheManager cacheManager, String cacheName) {
+		return ((CaffeineCache) cacheManager.getCache(cacheName)).getNativeCache();
+	}
+
+	private static PartyCacheSnapshot snapshot(CaffeineCacheManager cacheManager, PartyCacheProperties properties) {
+		final var snapshot = new PartyCacheSnapshot();
+		ReflectionTestUtils.setField(snapshot, "cacheManager", cacheManager);
+		ReflectionTestUtils.setField(snapshot, "properties", properties);
+		return snapshot;
+	}
+}
@@ -0,0 +1,182 @@
+package se.sundsvall.datawarehousereader.service.logic;
+
+import static generated.se.sundsvall.party.PartyType.ENTERPRISE;
+import static generated.se.sundsvall.party.PartyType.PRIVATE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+import static org.zalando.problem.Status.INTERNAL_SERVER_ERROR;
+import static se.sundsvall.datawarehousereader.integration.party.configuration.PartyCacheConfiguration.PARTY_IDS_CACHE;
+import static se.sundsvall.datawarehousereader.service.logic.PartyCacheWarmer.PARTY_WARMUP_METRIC;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.zalando.problem.Problem;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import se.sundsvall.datawarehousereader.integration.party.PartyClient;
+import se.sundsvall.datawarehousereader.integration.party.configuration.PartyCacheProperties;
+import se.sundsvall.datawarehousereader.integration.party.configuration.PartyWarmUpProperties;
+import se.sundsvall.datawarehousereader.integration.stadsbacken.CustomerRepository;
+import se.sundsvall.datawarehousereader.integration.stadsbacken.model.customer.CustomerOrgId;
+
+@ExtendWith(MockitoExtension.class)
+class PartyCacheWarmerTest {
+
+	private static final PageRequest BATCH = PageRequest.ofSize(2);
+
+	@Mock
+	private CustomerRepository customerRepositoryMock;
+
+	@Mock
+	private PartyClient partyClientMock;
+
+	@Mock
+	private PartyMappingStore mappingStoreMock;
+
+	@Spy
+	private CacheManager cacheManager = new ConcurrentMapCacheManager(PARTY_IDS_CACHE);
+
+	@Spy
+	private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	@InjectMocks
+	private PartyCacheWarmer warmer;
+
+	private record Customer(String getCustomerOrgId, String getCustomerType) implements CustomerOrgId {}
+
+	@BeforeEach
+	void setup() {
+		ReflectionTestUtils.setField(warmer, "warmUpExecutor", new SyncTaskExecutor());
+		ReflectionTestUtils.setField(warmer, "cacheProperties", cacheProperties(100));
+	}
+
+	@Test
+	void warmUpResolvesPairsNotCached() {
+		ReflectionTestUtils.setField(warmer, "properties", properties(true, 100));
+		when(mappingStoreMock.capacity()).thenReturn(1000);
+		when(mappingStoreMock.findPartyId(any(), anyString())).thenReturn(Optional.empty());
+		when(partyClientMock.getPartyId(PRIVATE, "197706010123")).thenReturn(Optional.of("privatePartyId"));
+		when(partyClientMock.getPartyId(ENTERPRISE, "5512345678")).thenReturn(Optional.empty());
+		cacheManager.getCache(PARTY_IDS_CACHE).put("ENTERPRISE:5523456789", "cachedPartyId");
+		when(customerRepositoryMock.findDistinctCustomerOrgIdsAfter("", "", BATCH))
+			.thenReturn(List.of(new Customer("19770601-0123", "Private"), new Customer("5512345678", "Enterprise")));
+		when(customerRepositoryMock.findDistinctCustomerOrgIdsAfter("5512345678", "Enterprise", BATCH))
+			.thenReturn(List.of(new Customer("5523456789", "Enterprise"), new Customer("5534567890", "Unknown")));
+		when(customerRepositoryMock.findDistinctCustomerOrgIdsAfter("5534567890", "Unknown", BATCH)).thenReturn(List.of());
+
+		warmer.warmUp();
+
+		verify(partyClientMock).getPartyId(PRIVATE, "197706010123");
+		verify(partyClientMock).getPartyId(ENTERPRISE, "5512345678");
+		verifyNoMoreInteractions(partyClientMock);
+		verify(mappingStoreMock).put(PRIVATE, "197706010123", "privatePartyId");
+		assertThat(meterRegistry.counter(PARTY_WARMUP_METRIC, "result", "resolved").count()).isOne();
+		assertThat(meterRegistry.counter(PARTY_WARMUP_METRIC, "result", "notFound").count()).isOne();
+		assertThat(meterRegistry.counter(PARTY_WARMUP_METRIC, "result", "skipped").count()).isEqualTo(2);
+	}
+
+	@Test
+	void warmUpStopsAtMaximumCalls() {
+		ReflectionTestUtils.setField(warmer, "properties", properties(true, 1));
+		when(mappingStoreMock.capacity()).thenReturn(1000);
+		when(mappingStoreMock.findPartyId(any(), anyString())).thenReturn(Optional.empty());
+		when(partyClientMock.getPartyId(PRIVATE, "197706010123")).thenReturn(Optional.of("privatePartyId"));
+		when(customerRepositoryMock.findDistinctCustomerOrgIdsAfter("", "", BATCH))
+			.thenReturn(List.of(new Customer("19770601-0123", "Private"), new Customer("5512345678", "Enterprise")));
+
+		warmer.warmUp();
+
+		verify(partyClientMock).getPartyId(PRIVATE, "197706010123");
+		verifyNoMoreInteractions(partyClientMock);
+		verify(customerRepositoryMock).findDistinctCustomerOrgIdsAfter("", "", BATCH);
+		verifyNoMoreInteractions(customerRepositoryMock);
+	}
+
+	@Test
+	void warmUpStopsAtCacheSize() {
+		ReflectionTestUtils.setField(warmer, "properties", properties(true, 100));
+		ReflectionTestUtils.setField(warmer, "cacheProperties", cacheProperties(1));
+		when(mappingStoreMock.capacity()).thenReturn(0);
+		when(mappingStoreMock.findPartyId(any(), anyString())).thenReturn(Optional.empty());
+		when(partyClientMock.getPartyId(PRIVATE, "197706010123")).thenReturn(Optional.of("privatePartyId"));
+		when(customerRepositoryMock.findDistinctCustomerOrgIdsAfter("", "", BATCH))
+			.thenReturn(List.of(new Customer("19770601-0123", "Private"), new Customer("5512345678", "Enterprise")));
+
+		warmer.warmUp();
+
+		verify(partyClientMock).getPartyId(PRIVATE, "197706010123");
+		verifyNoMoreInteractions(partyClientMock);
+	}
+
+	@Test
+	void warmUpCountsFailedResolutions() {
+		ReflectionTestUtils.setField(warmer, "properties", properties(true, 100));
+		when(mappingStoreMock.capacity()).thenReturn(1000);
+		when(mappingStoreMock.findPartyId(ENTERPRISE, "5512345678")).thenReturn(Optional.empty());
+		when(customerRepositoryMock.findDistinctCustomerOrgIdsAfter("", "", BATCH)).thenReturn(List.of(new Customer("5512345678", "Enterprise")));
+		when(partyClientMock.getPartyId(ENTERPRISE, "5512345678")).thenThrow(Problem.valueOf(INTERNAL_SERVER_ERROR));
+
+		warmer.warmUp();
+
+		assertThat(meterRegistry.counter(PARTY_WARMUP_METRIC, "result", "failed").count()).isOne();
+		assertThat(meterRegistry.counter(PARTY_WARMUP_METRIC, "result", "resolved").count()).isZero();
+	}
+
+	@Test
+	void warmUpWhenDisabled() {
+		ReflectionTestUtils.setField(warmer, "properties", properties(false, 100));
+
+		warmer.warmUp();
+		warmer.warmUpInBackground();
+
+		verifyNoInteractions(customerRepositoryMock, partyClientMock);
+	}
+
+	@Test
+	void warmUpStopsAtStoreCapacity() {
+		ReflectionTestUtils.setField(warmer, "properties", properties(true, 100));
+		ReflectionTestUtils.setField(warmer, "cacheProperties", cacheProperties(1));
+		when(mappingStoreMock.capacity()).thenReturn(2);
+		when(mappingStoreMock.findPartyId(any(), anyString())).thenReturn(Optional.empty());
+		when(partyClientMock.getPartyId(PRIVATE, "197706010123")).thenReturn(Optional.of("privatePartyId"));
+		when(partyClientMock.getPartyId(ENTERPRISE, "5512345678")).thenReturn(Optional.of("enterprisePartyId"));
+		when(customerRepositoryMock.findDistinctCustomerOrgIdsAfter("", "", BATCH))
+			.thenReturn(List.of(new Customer("19770601-0123", "Private"), new Customer("5512345678", "Enterprise")));
+		when(customerRepositoryMock.findDistinctCustomerOrgIdsAfter("5512345678", "Enterprise", BATCH))
+			.thenReturn(List.of(new Customer("5523456789", "Enterprise")));
+
+		warmer.warmUp();
+
+		verify(partyClientMock).getPartyId(PRIVATE, "197706010123");
+		verify(partyClientMock).getPartyId(ENTERPRISE, "5512345678");
+		verifyNoMoreInteractions(partyClientMock);
+	}
+
+	private static PartyCacheProperties cacheProperties(long maximumSize) {
+		return new PartyCacheProperties(Duration.ofHours(1), maximumSize, null, null);
+	}
+
+	private static PartyWarmUpProperties properties(boolean enabled, int maximumCalls) {
+		return new PartyWarmUpProperties(enabled, "-", 2, 1000, 2, maximumCalls, Duration.ofMinutes(1));
+	}
+}
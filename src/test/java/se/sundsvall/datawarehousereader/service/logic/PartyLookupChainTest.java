@@ -0,0 +1,92 @@
+package se.sundsvall.datawarehousereader.service.logic;
+
+import static generated.se.sundsvall.party.PartyType.PRIVATE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class PartyLookupChainTest {
+
+	private static final PartyLookup LOOKUP = PartyLookup.partyId(PRIVATE, "legalId");
+
+	@Mock
+	private PartyStaleTier staleTierMock;
+
+	@Mock
+	private PartyCacheTier cacheTierMock;
+
+	@Mock
+	private PartyCoalescingTier coalescingTierMock;
+
+	@Mock
+	private Supplier<Optional<String>> callMock;
+
+	private PartyLookupChain chain;
+
+	@BeforeEach
+	void setup() {
+		chain = new PartyLookupChain(staleTierMock, cacheTierMock, coalescingTierMock);
+	}
+
+	@Test
+	void resolveThroughAllTiersInOrder() {
+		for (final var tier : new PartyLookupTier[] { staleTierMock, cacheTierMock, coalescingTierMock }) {
+			when(tier.resolve(eq(LOOKUP), any())).thenAnswer(PartyLookupChainTest::delegate);
+		}
+		when(callMock.get()).thenReturn(Optional.of("partyId"));
+
+		assertThat(chain.resolve(LOOKUP, callMock)).hasValue("partyId");
+
+		final var inOrder = inOrder(staleTierMock, cacheTierMock, coalescingTierMock, callMock);
+		inOrder.verify(staleTierMock).resolve(eq(LOOKUP), any());
+		inOrder.verify(cacheTierMock).resolve(eq(LOOKUP), any());
+		inOrder.verify(coalescingTierMock).resolve(eq(LOOKUP), any());
+		inOrder.verify(callMock).get();
+	}
+
+	@Test
+	void resolveStopsAtTierHoldingResult() {
+		when(staleTierMock.resolve(eq(LOOKUP), any())).thenAnswer(PartyLookupChainTest::delegate);
+		when(cacheTierMock.resolve(eq(LOOKUP), any())).thenReturn(Optional.of("storedPartyId"));
+
+		assertThat(chain.resolve(LOOKUP, callMock)).hasValue("storedPartyId");
+
+		verifyNoInteractions(coalescingTierMock, callMock);
+	}
+
+	@Test
+	void findKnown() {
+		when(cacheTierMock.findKnown(LOOKUP)).thenReturn(Optional.of("storedPartyId"));
+
+		assertThat(chain.findKnown(LOOKUP)).hasValue("storedPartyId");
+
+		verify(cacheTierMock).findKnown(LOOKUP);
+	}
+
+	@Test
+	void isKnownNotFound() {
+		when(cacheTierMock.isKnownNotFound(LOOKUP)).thenReturn(true);
+
+		assertThat(chain.isKnownNotFound(LOOKUP)).isTrue();
+	}
+
+	@SuppressWarnings("unchecked")
+	private static Optional<String> delegate(InvocationOnMock invocation) {
+		return ((Supplier<Optional<String>>) invocation.getArgument(1)).get();
+	}
+}
@@ -0,0 +1,135 @@
+package se.sundsvall.datawarehousereader.service.logic;
+
+import static generated.se.sundsvall.party.PartyType.ENTERPRISE;
+import static generated.se.sundsvall.party.PartyType.PRIVATE;
+import static java.util.UUID.randomUUID;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import se.sundsvall.datawarehousereader.integration.party.configuration.PartyCacheProperties;
+import se.sundsvall.datawarehousereader.integration.party.configuration.PartyMappingStoreProperties;
+
+class PartyMappingStoreTest {
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	@Test
+	void putAndFindInBothDirections() {
+		final var store = store(10, Duration.ofHours(1));
+		final var partyId = randomUUID().toString();
+
+		store.put(PRIVATE, "0012345678", partyId);
+
+		assertThat(store.findPartyId(PRIVATE, "0012345678")).hasValue(partyId);
+		assertThat(store.findLegalId(PRIVATE, partyId)).hasValue("0012345678");
+		assertThat(store.findPartyId(ENTERPRISE, "0012345678")).isEmpty();
+		assertThat(store.findLegalId(ENTERPRISE, partyId)).isEmpty();
+		assertThat(store.findPartyId(PRIVATE, "12345678")).isEmpty();
+		assertThat(store.size()).isOne();
+		assertThat(meterRegistry.get(PartyMappingStore.STORE_SIZE_METRIC).gauge().value()).isOne();
+	}
+
+	@Test
+	void putWithAnyLegalIdFormat() {
+		final var store = store(10, Duration.ofHours(1));
+		final var partyId = randomUUID().toString();
+
+		store.put(ENTERPRISE, "556512-3456", partyId);
+
+		assertThat(store.findPartyId(ENTERPRISE, "556512-3456")).hasValue(partyId);
+		assertThat(store.findLegalId(ENTERPRISE, partyId)).hasValue("556512-3456");
+	}
+
+	@Test
+	void putReplacesExistingMappings() {
+		final var store = store(10, Duration.ofHours(1));
+		final var partyId = randomUUID().toString();
+		final var newPartyId = randomUUID().toString();
+
+		store.put(PRIVATE, "198001011234", partyId);
+		store.put(PRIVATE, "198001011234", newPartyId);
+
+		assertThat(store.findPartyId(PRIVATE, "198001011234")).hasValue(newPartyId);
+		assertThat(store.findLegalId(PRIVATE, newPartyId)).hasValue("198001011234");
+		assertThat(store.findLegalId(PRIVATE, partyId)).isEmpty();
+
+		store.put(PRIVATE, "198001019876", newPartyId);
+
+		assertThat(store.findPartyId(PRIVATE, "198001019876")).hasValue(newPartyId);
+		assertThat(store.findLegalId(PRIVATE, newPartyId)).hasValue("198001019876");
+		assertThat(store.findPartyId(PRIVATE, "198001011234")).isEmpty();
+		assertThat(store.size()).isOne();
+	}
+
+	@Test
+	void removeMappings() {
+		final var store = store(10, Duration.ofHours(1));
+		final var partyId = randomUUID().toString();
+		final var otherPartyId = randomUUID().toString();
+		store.put(PRIVATE, "198001011234", partyId);
+		store.put(ENTERPRISE, "5565123456", otherPartyId);
+
+		store.removeByLegalId(ENTERPRISE, "198001011234");
+		store.removeByPartyId(PRIVATE, otherPartyId);
+		assertThat(store.size()).isEqualTo(2);
+
+		store.removeByLegalId(PRIVATE, "198001011234");
+		store.removeByPartyId(ENTERPRISE, otherPartyId);
+
+		assertThat(store.findPartyId(PRIVATE, "198001011234")).isEmpty();
+		assertThat(store.findLegalId(PRIVATE, partyId)).isEmpty();
+		assertThat(store.findPartyId(ENTERPRISE, "5565123456")).isEmpty();
+		assertThat(store.findLegalId(ENTERPRISE, otherPartyId)).isEmpty();
+		assertThat(store.size()).isZero();
+	}
+
+	@Test
+	void mappingsAreEvictedWhenFull() {
+		final var capacity = 100;
+		final var store = store(capacity, Duration.ofHours(1));
+
+		IntStream.range(0, capacity * 5).forEach(i -> store.put(i % 2 == 0 ? PRIVATE : ENTERPRISE, String.valueOf(5560000000L + i), randomUUID().toString()));
+		store.cleanUp();
+
+		assertThat(store.size()).isLessThanOrEqualTo(capacity);
+		assertThat(meterRegistry.get(PartyMappingStore.STORE_EVICTIONS_METRIC).counter().count()).isGreaterThanOrEqualTo(capacity * 4);
+	}
+
+	@Test
+	void expiredMappingsAreNotReturned() {
+		final var store = store(10, Duration.ZERO);
+		final var partyId = randomUUID().toString();
+
+		store.put(PRIVATE, "198001011234", partyId);
+		store.cleanUp();
+
+		assertThat(store.findPartyId(PRIVATE, "198001011234")).isEmpty();
+		assertThat(store.findLegalId(PRIVATE, partyId)).isEmpty();
+		assertThat(store.size()).isZero();
+		assertThat(meterRegistry.get(PartyMappingStore.STORE_SIZE_METRIC).gauge().value()).isZero();
+	}
+
+	@Test
+	void disabledStore() {
+		final var store = new PartyMappingStore(new PartyMappingStoreProperties(false, 10), cacheProperties(Duration.ofHours(1)), meterRegistry);
+
+		store.put(PRIVATE, "198001011234", randomUUID().toString());
+
+		assertThat(store.findPartyId(PRIVATE, "198001011234")).isEmpty();
+		assertThat(store.capacity()).isZero();
+		assertThat(store.size()).isZero();
+	}
+
+	private PartyMappingStore store(int capacity, Duration timeToLive) {
+		return new PartyMappingStore(new PartyMappingStoreProperties(true, capacity), cacheProperties(timeToLive), meterRegistry);
+	}
+
+	private static PartyCacheProperties cacheProperties(Duration timeToLive) {
+		return new PartyCacheProperties(timeToLive, 100, null, null);
+	}
+}
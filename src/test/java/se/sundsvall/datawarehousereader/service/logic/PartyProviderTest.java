@@ -3,29 +3,64 @@ package se.sundsvall.datawarehousereader.service.logic;
 import static generated.se.sundsvall.party.PartyType.ENTERPRISE;
 import static generated.se.sundsvall.party.PartyType.PRIVATE;
 import static java.util.UUID.randomUUID;
+import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
-import static org.mockito.quality.Strictness.LENIENT;
+import static org.zalando.problem.Status.BAD_GATEWAY;
+import static org.zalando.problem.Status.GATEWAY_TIMEOUT;
 import static org.zalando.problem.Status.INTERNAL_SERVER_ERROR;
 import static org.zalando.problem.Status.NOT_FOUND;
+import static org.zalando.problem.Status.SERVICE_UNAVAILABLE;
+import static se.sundsvall.datawarehousereader.integration.party.configuration.PartyCacheConfiguration.LEGAL_IDS_CACHE;
+import static se.sundsvall.datawarehousereader.integration.party.configuration.PartyCacheConfiguration.PARTY_IDS_CACHE;
+import static se.sundsvall.datawarehousereader.integration.party.configuration.PartyCacheConfiguration.PARTY_NOT_FOUND_CACHE;
+import static se.sundsvall.datawarehousereader.integration.party.configuration.PartyCacheConfiguration.PARTY_STALE_CACHE;
+import static se.sundsvall.datawarehousereader.integration.party.configuration.PartyConfiguration.CLIENT_REGISTRATION_ID;
+import static se.sundsvall.datawarehousereader.service.logic.PartyCoalescingTier.PARTY_LOOKUP_METRIC;
+import static se.sundsvall.datawarehousereader.service.logic.PartyProvider.PARTY_RESOLUTION_METRIC;
+import static se.sundsvall.datawarehousereader.service.logic.PartyStaleTier.PARTY_STALE_METRIC;
 
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.EnumSource;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.mockito.junit.jupiter.MockitoSettings;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.zalando.problem.Problem;
 import org.zalando.problem.ThrowableProblem;
 
 import generated.se.sundsvall.party.PartyType;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import se.sundsvall.datawarehousereader.integration.party.PartyClient;
+import se.sundsvall.datawarehousereader.integration.party.configuration.PartyResolutionProperties;
+import se.sundsvall.datawarehousereader.service.logic.PartyProvider.PartyKey;
 
 @ExtendWith(MockitoExtension.class)
 class PartyProviderTest {
@@ -35,31 +70,105 @@ class PartyProviderTest {
 	@Mock
 	private PartyClient partyClientMock;
 
+	@Mock
+	private PartyResolutionProperties resolutionPropertiesMock;
+
+	@Mock
+	private PartyMappingStore mappingStoreMock;
+
+	@Mock
+	private PartyCacheRefresher cacheRefresherMock;
+
+	@Spy
+	private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	@Spy
+	private CacheManager cacheManager = new ConcurrentMapCacheManager(PARTY_IDS_CACHE, LEGAL_IDS_CACHE, PARTY_NOT_FOUND_CACHE, PARTY_STALE_CACHE);
+
+	@Spy
+	private CircuitBreakerRegistry circuitBreakerRegistry = CircuitBreakerRegistry.ofDefaults();
+
 	@InjectMocks
 	private PartyProvider provider;
 
+	private ExecutorService executor;
+
+	@BeforeEach
+	void setup() {
+		executor = Executors.newFixedThreadPool(2);
+		ReflectionTestUtils.setField(provider, "partyResolutionExecutor", executor);
+		ReflectionTestUtils.setField(provider, "lookupChain", new PartyLookupChain(
+			new PartyStaleTier(cacheManager, circuitBreakerRegistry, meterRegistry),
+			new PartyCacheTier(cacheRefresherMock, mappingStoreMock, cacheManager),
+			new PartyCoalescingTier(meterRegistry)));
+	}
+
+	@AfterEach
+	void teardown() {
+		executor.shutdownNow();
+	}
+
+	@Test
+	void translateToLegalIdForPrivateCustomer() {
+		when(resolutionPropertiesMock.timeout()).thenReturn(Duration.ofSeconds(10));
+		when(resolutionPropertiesMock.hedgeDelay()).thenReturn(Duration.ofSeconds(10));
+		when(partyClientMock.getLegalId(PRIVATE, UUID)).thenReturn(Optional.of(LEGAL_ID));
+
+		assertThat(provider.translateToLegalId(UUID)).isEqualTo(LEGAL_ID);
+
+		// The enterprise lookup is only made when the partyId is not found as a private customer
+		verify(partyClientMock).getLegalId(PRIVATE, UUID);
+		verify(partyClientMock, never()).getLegalId(ENTERPRISE, UUID);
+	}
+
+	@Test
+	void translateToLegalIdForEnterpriseCustomer() {
+		when(resolutionPropertiesMock.timeout()).thenReturn(Duration.ofSeconds(10));
+		when(resolutionPropertiesMock.hedgeDelay()).thenReturn(Duration.ofSeconds(10));
+		when(partyClientMock.getLegalId(PRIVATE, UUID)).thenReturn(Optional.empty());
+		when(partyClientMock.getLegalId(ENTERPRISE, UUID)).thenReturn(Optional.of(LEGAL_ID));
+
+		assertThat(provider.translateToLegalId(UUID)).isEqualTo(LEGAL_ID);
+
+		final var inOrder = inOrder(partyClientMock);
+		inOrder.verify(partyClientMock).getLegalId(PRIVATE, UUID);
+		inOrder.verify(partyClientMock).getLegalId(ENTERPRISE, UUID);
+	}
+
 	@ParameterizedTest
 	@EnumSource(PartyType.class)
-	@MockitoSettings(strictness = LENIENT)
-	void translateToLegalId(PartyType partyType) {
-		when(partyClientMock.getLegalId(partyType, UUID)).thenReturn(Optional.of(LEGAL_ID));
+	void translateToLegalIdFromCache(PartyType partyType) {
+		when(resolutionPropertiesMock.timeout()).thenReturn(Duration.ofSeconds(10));
+		cacheManager.getCache(LEGAL_IDS_CACHE).put(partyType.name() + ":" + UUID, LEGAL_ID);
 
 		assertThat(provider.translateToLegalId(UUID)).isEqualTo(LEGAL_ID);
 
-		switch (partyType) {
-			case PRIVATE -> {
-				verify(partyClientMock).getLegalId(PRIVATE, UUID);
-				verify(partyClientMock, never()).getLegalId(ENTERPRISE, UUID);
-			}
-			case ENTERPRISE -> {
-				verify(partyClientMock).getLegalId(PRIVATE, UUID);
-				verify(partyClientMock).getLegalId(ENTERPRISE, UUID);
-			}
+		verify(cacheRefresherMock).refreshLegalIdIfStale(partyType, UUID);
+		verifyNoInteractions(partyClientMock);
+	}
+
+	@Test
+	void translateToLegalIdHedgesSlowLookup() throws Exception {
+		final var latch = new CountDownLatch(1);
+		when(resolutionPropertiesMock.timeout()).thenReturn(Duration.ofSeconds(10));
+		when(resolutionPropertiesMock.hedgeDelay()).thenReturn(Duration.ofMillis(10));
+		when(partyClientMock.getLegalId(PRIVATE, UUID)).thenAnswer(invocation -> {
+			latch.await();
+			return Optional.empty();
+		});
+		when(partyClientMock.getLegalId(ENTERPRISE, UUID)).thenReturn(Optional.of(LEGAL_ID));
+
+		try {
+			assertThat(provider.translateToLegalId(UUID)).isEqualTo(LEGAL_ID);
+		} finally {
+			latch.countDown();
 		}
 	}
 
 	@Test
 	void translateToLegalIdWhenPartyIdNotFound() {
+		when(resolutionPropertiesMock.timeout()).thenReturn(Duration.ofSeconds(10));
+
 		final var exception = assertThrows(ThrowableProblem.class, () -> provider.translateToLegalId(UUID));
 
 		assertThat(exception.getStatus()).isEqualTo(NOT_FOUND);
@@ -69,6 +178,17 @@ class PartyProviderTest {
 		verify(partyClientMock).getLegalId(ENTERPRISE, UUID);
 	}
 
+	@Test
+	void translateToLegalIds() {
+		when(resolutionPropertiesMock.timeout()).thenReturn(Duration.ofSeconds(10));
+		when(resolutionPropertiesMock.hedgeDelay()).thenReturn(Duration.ofSeconds(10));
+		when(partyClientMock.getLegalId(PRIVATE, "privatePartyId")).thenReturn(Optional.of("privateLegalId"));
+		when(partyClientMock.getLegalId(PRIVATE, "enterprisePartyId")).thenReturn(Optional.empty());
+		when(partyClientMock.getLegalId(ENTERPRISE, "enterprisePartyId")).thenReturn(Optional.of("enterpriseLegalId"));
+
+		assertThat(provider.translateToLegalIds(List.of("enterprisePartyId", "privatePartyId"))).containsExactly("enterpriseLegalId", "privateLegalId");
+	}
+
 	@ParameterizedTest
 	@EnumSource(PartyType.class)
 	void translateToPartyId(PartyType partyType) {
@@ -89,4 +209,240 @@ class PartyProviderTest {
 
 		verify(partyClientMock).getPartyId(partyType, LEGAL_ID);
 	}
+
+	@Test
+	void translateToPartyIdsResolvesEachDistinctKeyOnce() {
+		final var privateKey = new PartyKey(PRIVATE, "privateLegalId");
+		final var enterpriseKey = new PartyKey(ENTERPRISE, "enterpriseLegalId");
+
+		when(resolutionPropertiesMock.timeout()).thenReturn(Duration.ofSeconds(10));
+		when(partyClientMock.getPartyId(PRIVATE, "privateLegalId")).thenReturn(Optional.of("privatePartyId"));
+		when(partyClientMock.getPartyId(ENTERPRISE, "enterpriseLegalId")).thenReturn(Optional.of("enterprisePartyId"));
+
+		final var result = provider.translateToPartyIds(List.of(privateKey, enterpriseKey, privateKey));
+
+		assertThat(result).containsExactlyInAnyOrderEntriesOf(Map.of(privateKey, "privatePartyId", enterpriseKey, "enterprisePartyId"));
+		assertThat(meterRegistry.get(PARTY_RESOLUTION_METRIC).tag("outcome", "success").timer().count()).isOne();
+		verify(partyClientMock).getPartyId(PRIVATE, "privateLegalId");
+		verify(partyClientMock).getPartyId(ENTERPRISE, "enterpriseLegalId");
+	}
+
+	@Test
+	void translateToPartyIdsWithSingleKey() {
+		final var key = new PartyKey(PRIVATE, LEGAL_ID);
+
+		when(partyClientMock.getPartyId(PRIVATE, LEGAL_ID)).thenReturn(Optional.of(UUID));
+
+		assertThat(provider.translateToPartyIds(List.of(key, key))).containsExactlyEntriesOf(Map.of(key, UUID));
+
+		verify(partyClientMock).getPartyId(PRIVATE, LEGAL_ID);
+		verifyNoInteractions(resolutionPropertiesMock);
+	}
+
+	@Test
+	void translateToPartyIdsWithNoKeys() {
+		assertThat(provider.translateToPartyIds(List.of())).isEmpty();
+
+		verifyNoInteractions(partyClientMock);
+		assertThat(meterRegistry.find(PARTY_RESOLUTION_METRIC).timer()).isNull();
+	}
+
+	@Test
+	void translateToPartyIdsWhenLegalIdNotFound() {
+		when(resolutionPropertiesMock.timeout()).thenReturn(Duration.ofSeconds(10));
+		when(partyClientMock.getPartyId(PRIVATE, "legalId1")).thenReturn(Optional.of(UUID));
+		when(partyClientMock.getPartyId(PRIVATE, "legalId2")).thenReturn(Optional.empty());
+
+		final var keys = List.of(new PartyKey(PRIVATE, "legalId1"), new PartyKey(PRIVATE, "legalId2"));
+		final var exception = assertThrows(ThrowableProblem.class, () -> provider.translateToPartyIds(keys));
+
+		assertThat(exception.getStatus()).isEqualTo(INTERNAL_SERVER_ERROR);
+		assertThat(exception.getMessage()).isEqualTo("Internal Server Error: Could not determine partyId for customer connected to returned data");
+		assertThat(meterRegistry.get(PARTY_RESOLUTION_METRIC).tag("outcome", "failure").timer().count()).isOne();
+	}
+
+	@Test
+	void translateToPartyIdsWhenDeadlineIsExceeded() {
+		when(resolutionPropertiesMock.timeout()).thenReturn(Duration.ofMillis(100));
+		when(partyClientMock.getPartyId(eq(PRIVATE), any())).thenAnswer(invocation -> {
+			Thread.sleep(5000);
+			return Optional.of(UUID);
+		});
+
+		final var keys = List.of(new PartyKey(PRIVATE, "legalId1"), new PartyKey(PRIVATE, "legalId2"));
+		final var exception = assertThrows(ThrowableProblem.class, () -> provider.translateToPartyIds(keys));
+
+		assertThat(exception.getStatus()).isEqualTo(GATEWAY_TIMEOUT);
+		assertThat(exception.getMessage()).isEqualTo("Gateway Timeout: Party did not respond within PT0.1S");
+	}
+
+	@Test
+	void translateToPartyIdsWhenExecutorIsSaturated() {
+		when(resolutionPropertiesMock.timeout()).thenReturn(Duration.ofSeconds(10));
+		executor.shutdownNow();
+
+		final var keys = List.of(new PartyKey(PRIVATE, "legalId1"), new PartyKey(PRIVATE, "legalId2"));
+		final var exception = assertThrows(ThrowableProblem.class, () -> provider.translateToPartyIds(keys));
+
+		assertThat(exception.getStatus()).isEqualTo(SERVICE_UNAVAILABLE);
+		verifyNoInteractions(partyClientMock);
+	}
+
+	@Test
+	void translateToLegalIdWhenExecutorIsSaturated() {
+		when(resolutionPropertiesMock.timeout()).thenReturn(Duration.ofSeconds(10));
+		executor.shutdownNow();
+
+		final var exception = assertThrows(ThrowableProblem.class, () -> provider.translateToLegalId(UUID));
+
+		assertThat(exception.getStatus()).isEqualTo(SERVICE_UNAVAILABLE);
+		verifyNoInteractions(partyClientMock);
+	}
+
+	@Test
+	void translateToPartyIdCoalescesConcurrentLookups() throws Exception {
+		final var latch = new CountDownLatch(1);
+		when(partyClientMock.getPartyId(PRIVATE, LEGAL_ID)).thenAnswer(invocation -> {
+			latch.await();
+			return Optional.of(UUID);
+		});
+
+		final var first = CompletableFuture.supplyAsync(() -> provider.translateToPartyId(PRIVATE, LEGAL_ID), executor);
+		final var second = CompletableFuture.supplyAsync(() -> provider.translateToPartyId(PRIVATE, LEGAL_ID), executor);
+
+		// Release the lookup in flight first when the second request has joined it
+		final var coalesced = meterRegistry.counter(PARTY_LOOKUP_METRIC, "operation", "partyId", "result", "coalesced");
+		final var waitUntil = System.currentTimeMillis() + 5000;
+		while (coalesced.count() < 1 && System.currentTimeMillis() < waitUntil) {
+			Thread.sleep(10);
+		}
+		latch.countDown();
+
+		assertThat(first.get(5, SECONDS)).isEqualTo(UUID);
+		assertThat(second.get(5, SECONDS)).isEqualTo(UUID);
+		assertThat(coalesced.count()).isOne();
+		assertThat(meterRegistry.counter(PARTY_LOOKUP_METRIC, "operation", "partyId", "result", "executed").count()).isOne();
+		verify(partyClientMock).getPartyId(PRIVATE, LEGAL_ID);
+	}
+
+	@Test
+	void translateToPartyIdDoesNotCoalesceSequentialLookups() {
+		when(partyClientMock.getPartyId(PRIVATE, LEGAL_ID)).thenReturn(Optional.of(UUID));
+
+		assertThat(provider.translateToPartyId(PRIVATE, LEGAL_ID)).isEqualTo(UUID);
+		assertThat(provider.translateToPartyId(PRIVATE, LEGAL_ID)).isEqualTo(UUID);
+
+		assertThat(meterRegistry.counter(PARTY_LOOKUP_METRIC, "operation", "partyId", "result", "executed").count()).isEqualTo(2);
+		verify(partyClientMock, times(2)).getPartyId(PRIVATE, LEGAL_ID);
+	}
+
+	@Test
+	void translateToLegalIdRemembersNotFound() {
+		when(resolutionPropertiesMock.timeout()).thenReturn(Duration.ofSeconds(10));
+
+		assertThat(assertThrows(ThrowableProblem.class, () -> provider.translateToLegalId(UUID)).getStatus()).isEqualTo(NOT_FOUND);
+		assertThat(assertThrows(ThrowableProblem.class, () -> provider.translateToLegalId(UUID)).getStatus()).isEqualTo(NOT_FOUND);
+
+		verify(partyClientMock).getLegalId(PRIVATE, UUID);
+		verify(partyClientMock).getLegalId(ENTERPRISE, UUID);
+	}
+
+	@Test
+	void translateToPartyIdRemembersNotFound() {
+		assertThat(assertThrows(ThrowableProblem.class, () -> provider.translateToPartyId(PRIVATE, LEGAL_ID)).getStatus()).isEqualTo(INTERNAL_SERVER_ERROR);
+		assertThat(assertThrows(ThrowableProblem.class, () -> provider.translateToPartyId(PRIVATE, LEGAL_ID)).getStatus()).isEqualTo(INTERNAL_SERVER_ERROR);
+
+		verify(partyClientMock).getPartyId(PRIVATE, LEGAL_ID);
+	}
+
+	@Test
+	void translateToPartyIdDoesNotRememberFailures() {
+		when(partyClientMock.getPartyId(PRIVATE, LEGAL_ID)).thenThrow(Problem.valueOf(BAD_GATEWAY, "Party is down"));
+
+		assertThrows(ThrowableProblem.class, () -> provider.translateToPartyId(PRIVATE, LEGAL_ID));
+		assertThrows(ThrowableProblem.class, () -> provider.translateToPartyId(PRIVATE, LEGAL_ID));
+
+		verify(partyClientMock, times(2)).getPartyId(PRIVATE, LEGAL_ID);
+	}
+
+	@Test
+	void translateToPartyIdFromMappingStore() {
+		when(mappingStoreMock.findPartyId(PRIVATE, LEGAL_ID)).thenReturn(Optional.of(UUID));
+
+		assertThat(provider.translateToPartyId(PRIVATE, LEGAL_ID)).isEqualTo(UUID);
+
+		verify(cacheRefresherMock).refreshPartyIdIfStale(PRIVATE, LEGAL_ID);
+		verifyNoInteractions(partyClientMock);
+	}
+
+	@Test
+	void translateToLegalIdFromMappingStore() {
+		when(mappingStoreMock.findLegalId(PRIVATE, UUID)).thenReturn(Optional.empty());
+		when(mappingStoreMock.findLegalId(ENTERPRISE, UUID)).thenReturn(Optional.of(LEGAL_ID));
+
+		assertThat(provider.translateToLegalId(UUID)).isEqualTo(LEGAL_ID);
+
+		verifyNoInteractions(partyClientMock);
+	}
+
+	@Test
+	void translateToPartyIdWritesToMappingStore() {
+		when(partyClientMock.getPartyId(ENTERPRISE, LEGAL_ID)).thenReturn(Optional.of(UUID));
+
+		assertThat(provider.translateToPartyId(ENTERPRISE, LEGAL_ID)).isEqualTo(UUID);
+
+		verify(mappingStoreMock).put(ENTERPRISE, LEGAL_ID, UUID);
+	}
+
+	@Test
+	void translateToPartyIdServesStaleMappingWhenCircuitBreakerIsOpen() {
+		final var circuitBreaker = circuitBreakerRegistry.circuitBreaker(CLIENT_REGISTRATION_ID);
+		when(partyClientMock.getPartyId(PRIVATE, LEGAL_ID))
+			.thenReturn(Optional.of(UUID))
+			.thenThrow(CallNotPermittedException.createCallNotPermittedException(circuitBreaker));
+
+		assertThat(provider.translateToPartyId(PRIVATE, LEGAL_ID)).isEqualTo(UUID);
+		circuitBreaker.transitionToOpenState();
+
+		assertThat(provider.translateToPartyId(PRIVATE, LEGAL_ID)).isEqualTo(UUID);
+		assertThat(meterRegistry.counter(PARTY_STALE_METRIC, "operation", "partyId").count()).isOne();
+	}
+
+	@Test
+	void translateToPartyIdDoesNotServeStaleMappingWhenCircuitBreakerIsClosed() {
+		when(partyClientMock.getPartyId(PRIVATE, LEGAL_ID))
+			.thenReturn(Optional.of(UUID))
+			.thenThrow(Problem.valueOf(BAD_GATEWAY, "Party is down"));
+
+		assertThat(provider.translateToPartyId(PRIVATE, LEGAL_ID)).isEqualTo(UUID);
+
+		assertThat(assertThrows(ThrowableProblem.class, () -> provider.translateToPartyId(PRIVATE, LEGAL_ID)).getStatus()).isEqualTo(BAD_GATEWAY);
+		assertThat(meterRegistry.counter(PARTY_STALE_METRIC, "operation", "partyId").count()).isZero();
+	}
+
+	@Test
+	void translateToLegalIdServesStaleMappingWhenCircuitBreakerIsHalfOpen() {
+		final var circuitBreaker = circuitBreakerRegistry.circuitBreaker(CLIENT_REGISTRATION_ID);
+		when(resolutionPropertiesMock.timeout()).thenReturn(Duration.ofSeconds(10));
+		when(resolutionPropertiesMock.hedgeDelay()).thenReturn(Duration.ofSeconds(10));
+		when(partyClientMock.getLegalId(PRIVATE, UUID))
+			.thenReturn(Optional.of(LEGAL_ID))
+			.thenThrow(Problem.valueOf(BAD_GATEWAY, "Party is down"));
+
+		assertThat(provider.translateToLegalId(UUID)).isEqualTo(LEGAL_ID);
+		circuitBreaker.transitionToOpenState();
+		circuitBreaker.transitionToHalfOpenState();
+
+		assertThat(provider.translateToLegalId(UUID)).isEqualTo(LEGAL_ID);
+		assertThat(meterRegistry.counter(PARTY_STALE_METRIC, "operation", "legalId").count()).isOne();
+	}
+
+	@Test
+	void translateToPartyIdWithoutStaleMappingWhenCircuitBreakerIsOpen() {
+		final var circuitBreaker = circuitBreakerRegistry.circuitBreaker(CLIENT_REGISTRATION_ID);
+		circuitBreaker.transitionToOpenState();
+		when(partyClientMock.getPartyId(PRIVATE, LEGAL_ID)).thenThrow(CallNotPermittedException.createCallNotPermittedException(circuitBreaker));
+
+		assertThrows(CallNotPermittedException.class, () -> provider.translateToPartyId(PRIVATE, LEGAL_ID));
+	}
 }
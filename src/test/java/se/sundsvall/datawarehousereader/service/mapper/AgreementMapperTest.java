@@ -1,21 +1,29 @@
 package se.sundsvall.datawarehousereader.service.mapper;
 
 import org.junit.jupiter.api.Test;
+import org.springframework.util.ReflectionUtils;
 
 import se.sundsvall.datawarehousereader.api.model.Category;
 import se.sundsvall.datawarehousereader.api.model.agreement.Agreement;
 import se.sundsvall.datawarehousereader.integration.stadsbacken.model.agreement.AgreementEntity;
 
 import java.time.LocalDate;
-import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
+import javax.persistence.Tuple;
+
 import static java.lang.String.valueOf;
+import static java.util.Map.entry;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.groups.Tuple.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 import static se.sundsvall.datawarehousereader.api.model.Category.ELECTRICITY;
-import static se.sundsvall.datawarehousereader.service.mapper.AgreementMapper.toAgreements;
+import static se.sundsvall.datawarehousereader.service.mapper.AgreementMapper.AGREEMENT_PROJECTION;
 
 class AgreementMapperTest {
 
@@ -34,33 +42,29 @@ class AgreementMapperTest {
 	private static final LocalDate TO_DATE = LocalDate.now();
 
 	@Test
-	void toAgreementsWithNull() {
-		assertThat( toAgreements(null)).isEmpty();
+	void agreementProjectionSelectsEntityAttributes() {
+		assertThat(AGREEMENT_PROJECTION.attributes())
+			.doesNotHaveDuplicates()
+			.allSatisfy(attribute -> assertThat(ReflectionUtils.findField(AgreementEntity.class, attribute)).isNotNull());
 	}
 
 	@Test
-	void toAgreementsWithEmptyList() {
-		assertThat(toAgreements(Collections.emptyList())).isEmpty();
-	}
+	void agreementProjectionWithAllParameters() {
+		final var tuple = toTuple(Map.ofEntries(
+			entry("customerId", CUSTOMER_ID),
+			entry("agreementId", AGREEMENT_ID),
+			entry("billingId", BILLING_ID),
+			entry("category", CATEGORY.toStadsbackenValue()),
+			entry("mainAgreement", MAIN_AGREEMENT.toString()),
+			entry("binding", BINDING.toString()),
+			entry("bindingRule", BINDING_RULE),
+			entry("uuid", PARTY_ID),
+			entry("facilityId", FACILITY_ID),
+			entry("description", DESCRIPTION),
+			entry("fromDate", FROM_DATE.atStartOfDay()),
+			entry("toDate", TO_DATE.atStartOfDay())));
 
-	@Test
-	void toAgreementsWithAllParameters() {
-		final var entity = AgreementEntity.create()
-			.withCustomerId(CUSTOMER_ID)
-			.withCustomerOrgId(CUSTOMER_ORG_ID)
-			.withAgreementId(AGREEMENT_ID)
-			.withBillingId(BILLING_ID)
-			.withCategory(CATEGORY.toStadsbackenValue())
-			.withMainAgreement(MAIN_AGREEMENT.toString())
-			.withBinding(BINDING.toString())
-			.withBindingRule(BINDING_RULE)
-			.withUuid(PARTY_ID)
-			.withFacilityId(FACILITY_ID)
-			.withDescription(DESCRIPTION)
-			.withFromDate(FROM_DATE.atStartOfDay())
-			.withToDate(TO_DATE.atStartOfDay());
-
-		final var result = toAgreements(List.of(entity));
+		final var result = List.of(AGREEMENT_PROJECTION.mapper().apply(tuple));
 
 		assertThat(result)
 			.hasSize(1)
@@ -91,4 +95,25 @@ class AgreementMapperTest {
 				DESCRIPTION,
 				FACILITY_ID));
 	}
+
+	@Test
+	void agreementProjectionWithNullValues() {
+		final var result = AGREEMENT_PROJECTION.mapper().apply(toTuple(Map.of("agreementId", AGREEMENT_ID)));
+
+		assertThat(result.getAgreementId()).isEqualTo(AGREEMENT_ID.toString());
+		assertThat(result.getCustomerNumber()).isNull();
+		assertThat(result.getCategory()).isNull();
+		assertThat(result.getBinding()).isFalse();
+		assertThat(result.getFromDate()).isNull();
+		assertThat(result.getToDate()).isNull();
+	}
+
+	/**
+	 * Stubs a tuple holding the given values, failing like the persistence provider on values of unexpected type
+	 */
+	private static Tuple toTuple(Map<String, Object> values) {
+		final var tuple = mock(Tuple.class);
+		when(tuple.get(anyString(), any())).thenAnswer(invocation -> invocation.<Class<?>>getArgument(1).cast(values.get(invocation.<String>getArgument(0))));
+		return tuple;
+	}
 }
@@ -6,6 +6,7 @@ import static se.sundsvall.datawarehousereader.service.mapper.InstalledBaseMappe
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 import org.junit.jupiter.api.Test;
 
@@ -32,16 +33,16 @@ class InstalledBaseMapperTest {
 
 	@Test
 	void toInstalledBaseItemsWithNull() {
-		assertThat(toInstalledBaseItems(null)).isEmpty();
+		assertThat(toInstalledBaseItems(null, Map.of())).isEmpty();
 	}
 	
 	@Test
 	void toInstalledBaseItemsWithEmptyList() {
-		assertThat(toInstalledBaseItems(Collections.emptyList())).isEmpty();
+		assertThat(toInstalledBaseItems(Collections.emptyList(), Map.of())).isEmpty();
 	}
 	
 	@Test 
-	void toInstalledBaseItemsWithMetaDataNull() {
+	void toInstalledBaseItemsWithoutMetaData() {
 		final var entity = InstalledBaseItemEntity.create()
 				.withCareOf(CARE_OF)
 				.withCity(CITY)
@@ -54,7 +55,7 @@ class InstalledBaseMapperTest {
 				.withStreet(STREET)
 				.withType(TYPE);
 		
-		final var result = toInstalledBaseItems(List.of(entity));
+		final var result = toInstalledBaseItems(List.of(entity), Map.of());
 		
 		assertThat(result)
 		.hasSize(1)
@@ -92,14 +93,13 @@ class InstalledBaseMapperTest {
 				.withCompany(COMPANY)
 				.withCustomerId(CUSTOMER_ID)
 			.withHouseName(HOUSE_NAME)
-				.withMetaData(List.of(createEmbeddableMetaData()))
 				.withFacilityId(FACILITY_ID)
 				.withInternalId(INTERNAL_ID)
 				.withPostCode(POST_CODE)
 				.withStreet(STREET)
 				.withType(TYPE);
 		
-		final var result = toInstalledBaseItems(List.of(entity));
+		final var result = toInstalledBaseItems(List.of(entity), Map.of(INTERNAL_ID, List.of(createEmbeddableMetaData())));
 		
 		assertThat(result)
 		.hasSize(1)
@@ -140,6 +140,18 @@ class InstalledBaseMapperTest {
 				META_VALUE));
 	}
 	
+	@Test
+	void toInstalledBaseItemsWithMetaDataNotIncluded() {
+		final var entity = InstalledBaseItemEntity.create()
+			.withInternalId(INTERNAL_ID);
+
+		final var result = toInstalledBaseItems(List.of(entity), null);
+
+		assertThat(result).hasSize(1);
+		assertThat(result.get(0).getPlacementId()).isEqualTo(INTERNAL_ID);
+		assertThat(result.get(0).getMetaData()).isNull();
+	}
+
 	private static InstalledBaseItemMetaDataEmbeddable createEmbeddableMetaData() {
 		InstalledBaseItemMetaDataEmbeddable embeddable = new InstalledBaseItemMetaDataEmbeddable();
 		embeddable.setCompany(COMPANY);
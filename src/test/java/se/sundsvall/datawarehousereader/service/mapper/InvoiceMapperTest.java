@@ -1,14 +1,24 @@
 package se.sundsvall.datawarehousereader.service.mapper;
 
+import static java.util.Map.entry;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.groups.Tuple.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static se.sundsvall.datawarehousereader.service.mapper.InvoiceMapper.INVOICE_PROJECTION;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+
+import javax.persistence.Tuple;
 
 import org.junit.jupiter.api.Test;
+import org.springframework.util.ReflectionUtils;
 
 import se.sundsvall.datawarehousereader.api.model.CustomerType;
 import se.sundsvall.datawarehousereader.api.model.invoice.Invoice;
@@ -58,47 +68,44 @@ class InvoiceMapperTest {
 	private static final String STREET = "street";
 
 	@Test
-	void toInvoicesWithNull() {
-		assertThat(InvoiceMapper.toInvoices(null)).isEmpty();
+	void invoiceProjectionSelectsEntityAttributes() {
+		assertThat(INVOICE_PROJECTION.attributes())
+			.doesNotHaveDuplicates()
+			.allSatisfy(attribute -> assertThat(ReflectionUtils.findField(InvoiceEntity.class, attribute)).isNotNull());
 	}
 
 	@Test
-	void toInvoicesWithEmptyList() {
-		assertThat(InvoiceMapper.toInvoices(Collections.emptyList())).isEmpty();
-	}
-
-	@Test
-	void toInvoices() {
-		final var entity = new InvoiceEntity();
-		entity.setAdministration(ADMINISTRATION);
-		entity.setAmountVatExcluded(AMOUNT_VAT_EXCLUDED);
-		entity.setAmountVatIncluded(AMOUNT_VAT_INCLUDED);
-		entity.setCareOf(CARE_OF);
-		entity.setCity(CITY);
-		entity.setCurrency(CURRENCY);
-		entity.setCustomerId(CUSTOMER_ID);
-		entity.setCustomerType(CUSTOMER_TYPE.getStadsbackenTranslation());
-		entity.setDueDate(DUE_DATE);
-		entity.setFacilityId(FACILITY_ID);
-		entity.setInvoiceDate(INVOICE_DATE);
-		entity.setInvoiceDescription(INVOICE_DESCRIPTION);
-		entity.setInvoiceName(INVOICE_NAME);
-		entity.setInvoiceNumber(INVOICE_NUMBER);
-		entity.setInvoiceStatus(INVOICE_STATUS);
-		entity.setInvoiceType(INVOICE_TYPE);
-		entity.setOcrNumber(OCR_NUMBER);
-		entity.setOrganizationGroup(ORGANIZATION_GROUP);
-		entity.setOrganizationId(ORGANIZATION_ID);
-		entity.setPostCode(POSTAL_CODE);
-		entity.setReversedVat(REVERSED_VAT);
-		entity.setRounding(ROUNDING);
-		entity.setStreet(STREET);
-		entity.setTotalAmount(TOTAL_AMOUNT);
-		entity.setVat(VAT);
-		entity.setVatEligibleAmount(VAT_ELIGIBLE_AMOUNT);
-		entity.setPdfAvailable(PDF_AVAILABLE);
-
-		final var result = InvoiceMapper.toInvoices(List.of(entity));
+	void invoiceProjection() {
+		final var tuple = toTuple(Map.ofEntries(
+			entry("administration", ADMINISTRATION),
+			entry("amountVatExcluded", AMOUNT_VAT_EXCLUDED),
+			entry("amountVatIncluded", AMOUNT_VAT_INCLUDED),
+			entry("careOf", CARE_OF),
+			entry("city", CITY),
+			entry("currency", CURRENCY),
+			entry("customerId", CUSTOMER_ID),
+			entry("customerType", CUSTOMER_TYPE.getStadsbackenTranslation()),
+			entry("dueDate", DUE_DATE),
+			entry("facilityId", FACILITY_ID),
+			entry("invoiceDate", INVOICE_DATE),
+			entry("invoiceDescription", INVOICE_DESCRIPTION),
+			entry("invoiceName", INVOICE_NAME),
+			entry("invoiceNumber", INVOICE_NUMBER),
+			entry("invoiceStatus", INVOICE_STATUS),
+			entry("invoiceType", INVOICE_TYPE),
+			entry("ocrNumber", OCR_NUMBER),
+			entry("organizationGroup", ORGANIZATION_GROUP),
+			entry("organizationId", ORGANIZATION_ID),
+			entry("postCode", POSTAL_CODE),
+			entry("reversedVat", REVERSED_VAT),
+			entry("rounding", ROUNDING),
+			entry("street", STREET),
+			entry("totalAmount", TOTAL_AMOUNT),
+			entry("vat", VAT),
+			entry("vatEligibleAmount", VAT_ELIGIBLE_AMOUNT),
+			entry("pdfAvailable", PDF_AVAILABLE)));
+
+		final var result = List.of(INVOICE_PROJECTION.mapper().apply(tuple));
 
 		assertThat(result)
 			.hasSize(1)
@@ -224,4 +231,13 @@ class InvoiceMapperTest {
 				VAT,
 				VAT_RATE));
 	}
+
+	/**
+	 * Stubs a tuple holding the given values, failing like the persistence provider on values of unexpected type
+	 */
+	private static Tuple toTuple(Map<String, Object> values) {
+		final var tuple = mock(Tuple.class);
+		when(tuple.get(anyString(), any())).thenAnswer(invocation -> invocation.<Class<?>>getArgument(1).cast(values.get(invocation.<String>getArgument(0))));
+		return tuple;
+	}
 }
@@ -6,21 +6,32 @@ import static se.sundsvall.datawarehousereader.api.model.Category.ELECTRICITY;
 import static se.sundsvall.datawarehousereader.api.model.measurement.Aggregation.DAY;
 import static se.sundsvall.datawarehousereader.api.model.measurement.Aggregation.MONTH;
 import static se.sundsvall.datawarehousereader.service.mapper.MeasurementMapper.toMeasurementResponse;
+import static se.sundsvall.datawarehousereader.service.mapper.MeasurementMapper.toMeasurementSeries;
+import static se.sundsvall.datawarehousereader.service.mapper.MeasurementMapper.toMeasurementSeriesResponse;
 import static se.sundsvall.datawarehousereader.service.mapper.MeasurementMapper.toMeasurements;
+import static se.sundsvall.datawarehousereader.service.mapper.MeasurementMapper.toPagedMeasurementResponse;
+import static se.sundsvall.datawarehousereader.service.mapper.MeasurementMapper.toSlicedMeasurementResponse;
 import static se.sundsvall.dept44.util.DateUtils.toOffsetDateTimeWithLocalOffset;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
 import java.util.Collections;
 import java.util.List;
+import java.util.stream.IntStream;
 
 import org.junit.jupiter.api.Test;
 import org.springframework.data.domain.Sort.Direction;
 
 import se.sundsvall.datawarehousereader.api.model.Category;
+import se.sundsvall.datawarehousereader.api.model.MetaData;
+import se.sundsvall.datawarehousereader.api.model.PagingMode;
 import se.sundsvall.datawarehousereader.api.model.measurement.Aggregation;
 import se.sundsvall.datawarehousereader.api.model.measurement.Measurement;
 import se.sundsvall.datawarehousereader.api.model.measurement.MeasurementParameters;
+import se.sundsvall.datawarehousereader.api.model.measurement.MeasurementResponse;
+import se.sundsvall.datawarehousereader.api.model.measurement.MeasurementSeries;
 import se.sundsvall.datawarehousereader.integration.stadsbacken.model.measurement.MeasurementElectricityMonthEntity;
 
 class MeasurementMapperTest {
@@ -88,7 +99,7 @@ class MeasurementMapperTest {
 		final var sortDirection = Direction.DESC;
 		final var parameters = MeasurementParameters.create();
 		final var totalPages = 20;
-		final var totalElements = 200;
+		final var totalElements = 200L;
 		parameters.setPage(page);
 		parameters.setLimit(limit);
 		parameters.setSortBy(sortBy);
@@ -107,6 +118,129 @@ class MeasurementMapperTest {
 		assertThat(result.getMetaData().getCount()).isEqualTo(measurements.size());
 	}
 
+	@Test
+	void testToPagedMeasurementResponse() {
+		final var parameters = MeasurementParameters.create();
+		parameters.setPage(2);
+		parameters.setLimit(2);
+		final var measurements = createMeasurements(5);
+
+		final var result = toPagedMeasurementResponse(parameters, measurements);
+
+		assertThat(result.getMeasurements()).containsExactlyElementsOf(measurements.subList(2, 4));
+		assertThat(result.getMetaData().getPage()).isEqualTo(2);
+		assertThat(result.getMetaData().getLimit()).isEqualTo(2);
+		assertThat(result.getMetaData().getCount()).isEqualTo(2);
+		assertThat(result.getMetaData().getTotalPages()).isEqualTo(3);
+		assertThat(result.getMetaData().getTotalRecords()).isEqualTo(5L);
+		assertThat(result.getMetaData().getHasNext()).isNull();
+	}
+
+	@Test
+	void testToPagedMeasurementResponseForPageAfterLastPage() {
+		final var parameters = MeasurementParameters.create();
+		parameters.setPage(4);
+		parameters.setLimit(2);
+
+		final var result = toPagedMeasurementResponse(parameters, createMeasurements(5));
+
+		assertThat(result.getMeasurements()).isEmpty();
+		assertThat(result.getMetaData().getCount()).isZero();
+		assertThat(result.getMetaData().getTotalPages()).isEqualTo(3);
+		assertThat(result.getMetaData().getTotalRecords()).isEqualTo(5L);
+	}
+
+	@Test
+	void testToSlicedMeasurementResponse() {
+		final var parameters = MeasurementParameters.create();
+		parameters.setPage(2);
+		parameters.setLimit(2);
+		parameters.setPagingMode(PagingMode.SLICE);
+		final var measurements = createMeasurements(4);
+
+		final var result = toSlicedMeasurementResponse(parameters, measurements);
+
+		assertThat(result.getMeasurements()).containsExactlyElementsOf(measurements.subList(2, 4));
+		assertThat(result.getMetaData().getHasNext()).isFalse();
+		assertThat(result.getMetaData().getTotalPages()).isNull();
+		assertThat(result.getMetaData().getTotalRecords()).isNull();
+
+		parameters.setPage(1);
+		assertThat(toSlicedMeasurementResponse(parameters, measurements).getMetaData().getHasNext()).isTrue();
+	}
+
+	@Test
+	void testToMeasurementSeries() {
+		final var timestamp = OffsetDateTime.of(2019, 11, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+		final var measurements = List.of(
+			createMeasurement("facility-1", "kWh", timestamp, BigDecimal.ONE, 0),
+			createMeasurement("facility-2", "kWh", timestamp, BigDecimal.TEN, 1),
+			createMeasurement("facility-1", "kWh", timestamp.plusDays(1), BigDecimal.valueOf(2), 3),
+			createMeasurement("facility-1", "MWh", timestamp, BigDecimal.ZERO, 0),
+			createMeasurement("facility-1", "kWh", timestamp.plusDays(2), BigDecimal.ONE, 1));
+
+		final var series = toMeasurementSeries(measurements);
+
+		assertThat(series)
+			.extracting(
+				MeasurementSeries::getFacilityId,
+				MeasurementSeries::getUnit,
+				MeasurementSeries::getTimestamps,
+				MeasurementSeries::getValues,
+				MeasurementSeries::getInterpolated)
+			.containsExactly(
+				tuple("facility-1", "kWh", List.of(1572566400L, 1572652800L, 1572739200L), List.of(BigDecimal.ONE, BigDecimal.valueOf(2), BigDecimal.ONE), "Bg=="),
+				tuple("facility-2", "kWh", List.of(1572566400L), List.of(BigDecimal.TEN), "AQ=="),
+				tuple("facility-1", "MWh", List.of(1572566400L), List.of(BigDecimal.ZERO), ""));
+		assertThat(series).allSatisfy(measurementSeries -> {
+			assertThat(measurementSeries.getPartyId()).isEqualTo(UUID);
+			assertThat(measurementSeries.getCategory()).isEqualTo(ELECTRICITY);
+			assertThat(measurementSeries.getAggregatedOn()).isEqualTo(DAY);
+			assertThat(measurementSeries.getMeasurementType()).isEqualTo(FEED_TYPE);
+		});
+	}
+
+	@Test
+	void testToMeasurementSeriesWithNull() {
+		assertThat(toMeasurementSeries(null)).isEmpty();
+	}
+
+	@Test
+	void testToMeasurementSeriesResponse() {
+		final var metaData = MetaData.create().withCount(1);
+		final var response = MeasurementResponse.create()
+			.withMetaData(metaData)
+			.withMeasurements(List.of(createMeasurement(FACILITY_ID, UNIT, null, USAGE, 0)));
+
+		final var result = toMeasurementSeriesResponse(response);
+
+		assertThat(result.getMetaData()).isSameAs(metaData);
+		assertThat(result.getSeries()).hasSize(1)
+			.allSatisfy(measurementSeries -> {
+				assertThat(measurementSeries.getTimestamps()).containsExactly((Long) null);
+				assertThat(measurementSeries.getValues()).containsExactly(USAGE);
+			});
+	}
+
+	private Measurement createMeasurement(String facilityId, String unit, OffsetDateTime timestamp, BigDecimal value, int interpolation) {
+		return Measurement.create()
+			.withPartyId(UUID)
+			.withCategory(ELECTRICITY)
+			.withAggregatedOn(DAY)
+			.withMeasurementType(FEED_TYPE)
+			.withFacilityId(facilityId)
+			.withUnit(unit)
+			.withTimestamp(timestamp)
+			.withValue(value)
+			.withInterpolation(interpolation);
+	}
+
+	private List<Measurement> createMeasurements(int count) {
+		return IntStream.range(0, count)
+			.mapToObj(i -> Measurement.create().withFacilityId(FACILITY_ID + i))
+			.toList();
+	}
+
 	private MeasurementElectricityMonthEntity createEntity() {
 		final var entity = new MeasurementElectricityMonthEntity();
 		entity.setUnit(UNIT);
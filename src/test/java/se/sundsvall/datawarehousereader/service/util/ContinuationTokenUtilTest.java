@@ -0,0 +1,62 @@
+package se.sundsvall.datawarehousereader.service.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.zalando.problem.Status.BAD_REQUEST;
+import static se.sundsvall.datawarehousereader.integration.stadsbacken.specification.MeasurementElectricityDaySpecification.KEYSET_COLUMNS;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.NullAndEmptySource;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+import org.zalando.problem.ThrowableProblem;
+
+import se.sundsvall.datawarehousereader.integration.stadsbacken.model.measurement.MeasurementElectricityDayEntity;
+
+class ContinuationTokenUtilTest {
+
+	private static final MeasurementElectricityDayEntity ENTITY = MeasurementElectricityDayEntity.create()
+		.withFacilityId("735999109112501170")
+		.withMeasurementTimestamp(LocalDateTime.of(2019, 7, 3, 0, 0))
+		.withFeedType("Energy")
+		.withUnit("MWh")
+		.withInterpolation(0)
+		.withUsage(new BigDecimal("2.2500000000"))
+		.withCustomerOrgId("5534567890");
+
+	@Test
+	void testTokenRoundTrip() {
+		final var token = ContinuationTokenUtil.toNextToken(new SliceImpl<>(List.of(ENTITY), PageRequest.of(0, 1), true), KEYSET_COLUMNS);
+
+		assertThat(token).isNotBlank().doesNotContain("=", "/", "+");
+		assertThat(ContinuationTokenUtil.toKey(token, KEYSET_COLUMNS)).containsExactly(
+			"735999109112501170", LocalDateTime.of(2019, 7, 3, 0, 0), "Energy", "MWh", 0, new BigDecimal("2.2500000000"), "5534567890");
+	}
+
+	@Test
+	void testNoTokenWhenLastSlice() {
+		assertThat(ContinuationTokenUtil.toNextToken(new SliceImpl<>(List.of(ENTITY), PageRequest.of(0, 1), false), KEYSET_COLUMNS)).isNull();
+	}
+
+	@ParameterizedTest
+	@NullAndEmptySource
+	@ValueSource(strings = { " " })
+	void testNoKeyForBlankToken(String token) {
+		assertThat(ContinuationTokenUtil.toKey(token, KEYSET_COLUMNS)).isNull();
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = { "invalid", "a.b.c.d.e.f.g", "!!.!!.!!.!!.!!.!!.!!" })
+	void testInvalidToken(String token) {
+		final var e = assertThrows(ThrowableProblem.class, () -> ContinuationTokenUtil.toKey(token, KEYSET_COLUMNS));
+
+		assertThat(e.getStatus()).isEqualTo(BAD_REQUEST);
+		assertThat(e.getMessage()).isEqualTo("Bad Request: Invalid value for continuationToken: " + token);
+	}
+}
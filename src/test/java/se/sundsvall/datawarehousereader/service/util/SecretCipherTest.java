@@ -0,0 +1,78 @@
+package se.sundsvall.datawarehousereader.service.util;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static se.sundsvall.datawarehousereader.service.util.SecretCipher.NONCE_LENGTH;
+import static se.sundsvall.datawarehousereader.service.util.SecretCipher.SALT_LENGTH;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.security.GeneralSecurityException;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+class SecretCipherTest {
+
+	private static final String CONTENT = "PRIVATE:198001011234";
+
+	@Test
+	void encryptAndDecrypt() throws Exception {
+		final var encrypted = encrypt(new SecretCipher("the-secret"), CONTENT);
+
+		assertThat(new String(encrypted, UTF_8)).doesNotContain(CONTENT);
+		assertThat(decrypt(new SecretCipher("the-secret"), encrypted)).isEqualTo(CONTENT);
+	}
+
+	@Test
+	void encryptUsesNewNonceAndSaltPerInstance() throws Exception {
+		final var cipher = new SecretCipher("the-secret");
+		final var first = encrypt(cipher, CONTENT);
+		final var second = encrypt(cipher, CONTENT);
+		final var other = encrypt(new SecretCipher("the-secret"), CONTENT);
+
+		assertThat(Arrays.copyOf(first, SALT_LENGTH)).isEqualTo(Arrays.copyOf(second, SALT_LENGTH)).isNotEqualTo(Arrays.copyOf(other, SALT_LENGTH));
+		assertThat(Arrays.copyOfRange(first, SALT_LENGTH, SALT_LENGTH + NONCE_LENGTH)).isNotEqualTo(Arrays.copyOfRange(second, SALT_LENGTH, SALT_LENGTH + NONCE_LENGTH));
+		assertThat(decrypt(cipher, second)).isEqualTo(CONTENT);
+	}
+
+	@Test
+	void decryptWithOtherSecret() throws Exception {
+		final var encrypted = encrypt(new SecretCipher("the-secret"), CONTENT);
+		final var cipher = new SecretCipher("other-secret");
+
+		assertThrows(IOException.class, () -> decrypt(cipher, encrypted));
+	}
+
+	@Test
+	void decryptModifiedContent() throws Exception {
+		final var encrypted = encrypt(new SecretCipher("the-secret"), CONTENT);
+		encrypted[encrypted.length - 1] ^= 1;
+		final var cipher = new SecretCipher("the-secret");
+
+		assertThrows(IOException.class, () -> decrypt(cipher, encrypted));
+	}
+
+	@Test
+	void decryptTruncatedContent() {
+		final var cipher = new SecretCipher("the-secret");
+
+		assertThrows(IOException.class, () -> decrypt(cipher, new byte[SALT_LENGTH]));
+	}
+
+	private static byte[] encrypt(SecretCipher cipher, String content) throws IOException, GeneralSecurityException {
+		final var bytes = new ByteArrayOutputStream();
+		try (var output = cipher.encrypt(bytes)) {
+			output.write(content.getBytes(UTF_8));
+		}
+		return bytes.toByteArray();
+	}
+
+	private static String decrypt(SecretCipher cipher, byte[] encrypted) throws IOException, GeneralSecurityException {
+		try (var input = cipher.decrypt(new ByteArrayInputStream(encrypted))) {
+			return new String(input.readAllBytes(), UTF_8);
+		}
+	}
+}
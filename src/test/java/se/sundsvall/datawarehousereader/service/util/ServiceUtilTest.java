@@ -1,10 +1,17 @@
 package se.sundsvall.datawarehousereader.service.util;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.zalando.problem.Status.BAD_REQUEST;
 
 import java.util.List;
 
 import org.junit.jupiter.api.Test;
+import org.zalando.problem.ThrowableProblem;
+
+import se.sundsvall.datawarehousereader.api.model.PagingMode;
+import se.sundsvall.datawarehousereader.api.model.measurement.Aggregation;
 
 class ServiceUtilTest {
 
@@ -90,4 +97,30 @@ class ServiceUtilTest {
 		assertThat(ServiceUtil.toString(nullBoolean)).isNull();
 		assertThat(ServiceUtil.toString(Boolean.TRUE)).isEqualTo("true");
 	}
+
+	@Test
+	void testIsSliced() {
+		assertThat(ServiceUtil.isSliced(null)).isFalse();
+		assertThat(ServiceUtil.isSliced(PagingMode.OFFSET)).isFalse();
+		assertThat(ServiceUtil.isSliced(PagingMode.SLICE)).isTrue();
+	}
+
+	@Test
+	void testIsSlicedOnKeyset() {
+		final var e = assertThrows(ThrowableProblem.class, () -> ServiceUtil.isSliced(PagingMode.KEYSET));
+
+		assertThat(e.getStatus()).isEqualTo(BAD_REQUEST);
+		assertThat(e.getMessage()).isEqualTo("Bad Request: Paging mode KEYSET is not supported for this resource");
+	}
+
+	@Test
+	void testRequireRollupFilter() {
+		assertDoesNotThrow(() -> ServiceUtil.requireRollupFilter(Aggregation.YEAR, "legalId", null));
+		assertDoesNotThrow(() -> ServiceUtil.requireRollupFilter(Aggregation.YEAR, null, "facilityId"));
+
+		final var e = assertThrows(ThrowableProblem.class, () -> ServiceUtil.requireRollupFilter(Aggregation.WEEK, null, " "));
+
+		assertThat(e.getStatus()).isEqualTo(BAD_REQUEST);
+		assertThat(e.getMessage()).isEqualTo("Bad Request: Aggregation WEEK requires partyId or facilityId");
+	}
 }